@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -18,92 +18,89 @@
 
 package boofcv.alg.descriptor;
 
-import boofcv.misc.PerformerBase;
-import boofcv.misc.ProfileOperation;
 import boofcv.struct.feature.TupleDesc_B;
+import org.openjdk.jmh.annotations.*;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.TimeUnit;
 
 /**
+ * Compares different ways of computing the hamming distance between pairs of binary descriptors
+ *
  * @author Peter Abeles
  */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value=1)
 public class BenchmarkDescriptorDistance {
 
-	static final long TEST_TIME = 1000;
-	static Random rand = new Random(234234);
-	static int NUM_FEATURES = 5000;
+	int NUM_FEATURES = 5000;
+
+	List<TupleDesc_B> binaryA = new ArrayList<>();
+	List<TupleDesc_B> binaryB = new ArrayList<>();
 
-	static List<TupleDesc_B>  binaryA = new ArrayList<>();
-	static List<TupleDesc_B>  binaryB = new ArrayList<>();
+	HammingTable16 table = new HammingTable16();
 
-	static {
+	@Setup
+	public void setup() {
+		Random rand = new Random(234234);
 		for (int i = 0; i < NUM_FEATURES; i++) {
-			binaryA.add(randomFeature());
-			binaryB.add(randomFeature());
+			binaryA.add(randomFeature(rand));
+			binaryB.add(randomFeature(rand));
 		}
 	}
 
-	public static class HammingTable extends PerformerBase {
-
-		HammingTable16 table = new HammingTable16();
-
-		@Override
-		public void process() {
-			for (int i = 0; i < binaryA.size(); i++) {
-				tableScore(binaryA.get(i),binaryB.get(i));
-			}
+	@Benchmark
+	public int hammingTable() {
+		int total = 0;
+		for (int i = 0; i < binaryA.size(); i++) {
+			total += tableScore(binaryA.get(i),binaryB.get(i));
 		}
+		return total;
+	}
 
-		private int tableScore(TupleDesc_B a, TupleDesc_B b) {
-			int score = 0;
-
-			for( int i = 0; i < a.data.length; i++ ) {
-				int dataA = a.data[i];
-				int dataB = b.data[i];
-
-				score += table.lookup( (short)dataA , (short)dataB );
-				score += table.lookup( (short)(dataA >> 16) , (short)(dataB >> 16) );
-			}
-
-			return score;
+	@Benchmark
+	public int hammingEquationOld() {
+		int total = 0;
+		for (int i = 0; i < binaryA.size(); i++) {
+			total += ExperimentalDescriptorDistance.hamming(binaryA.get(i),binaryB.get(i));
 		}
+		return total;
 	}
 
-	public static class HammingEquationOld extends PerformerBase {
-		@Override
-		public void process() {
-			for (int i = 0; i < binaryA.size(); i++) {
-				ExperimentalDescriptorDistance.hamming(binaryA.get(i),binaryB.get(i));
-			}
+	@Benchmark
+	public int hammingEquation() {
+		int total = 0;
+		for (int i = 0; i < binaryA.size(); i++) {
+			total += DescriptorDistance.hamming(binaryA.get(i),binaryB.get(i));
 		}
+		return total;
 	}
 
-	public static class HammingEquation extends PerformerBase {
-		@Override
-		public void process() {
-			for (int i = 0; i < binaryA.size(); i++) {
-				DescriptorDistance.hamming(binaryA.get(i),binaryB.get(i));
-			}
+	private int tableScore(TupleDesc_B a, TupleDesc_B b) {
+		int score = 0;
+
+		for( int i = 0; i < a.data.length; i++ ) {
+			int dataA = a.data[i];
+			int dataB = b.data[i];
+
+			score += table.lookup( (short)dataA , (short)dataB );
+			score += table.lookup( (short)(dataA >> 16) , (short)(dataB >> 16) );
 		}
+
+		return score;
 	}
 
-	private static TupleDesc_B randomFeature() {
+	private static TupleDesc_B randomFeature( Random rand ) {
 		TupleDesc_B feat = new TupleDesc_B(512);
 		for (int j = 0; j < feat.data.length; j++) {
 			feat.data[j] = rand.nextInt();
 		}
 		return feat;
 	}
-
-	public static void main(String[] args) {
-		System.out.println("Larger numbers are better");
-
-		ProfileOperation.printOpsPerSec(new HammingTable(),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new HammingEquationOld(),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new HammingEquation(),TEST_TIME);
-	}
-
-
 }
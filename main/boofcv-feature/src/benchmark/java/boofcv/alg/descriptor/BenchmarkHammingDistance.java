@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.descriptor;
+
+import boofcv.struct.feature.PackedTupleArray_B;
+import boofcv.struct.feature.TupleDesc_B;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Computes the hamming distance between every pair of descriptors in two sets of BRIEF descriptors
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value=1)
+public class BenchmarkHammingDistance {
+
+	@Param({"1000", "5000"})
+	public int numFeatures;
+
+	@Param({"512"})
+	public int numBits;
+
+	TupleDesc_B[] listA;
+	TupleDesc_B[] listB;
+
+	PackedTupleArray_B packedA;
+	PackedTupleArray_B packedB;
+
+	@Setup
+	public void setup() {
+		Random rand = new Random(234234);
+		listA = createSet(rand);
+		listB = createSet(rand);
+
+		packedA = new PackedTupleArray_B(numBits);
+		packedB = new PackedTupleArray_B(numBits);
+		for (int i = 0; i < numFeatures; i++) {
+			packedA.append(listA[i]);
+			packedB.append(listB[i]);
+		}
+	}
+
+	private TupleDesc_B[] createSet( Random rand ) {
+		TupleDesc_B[] ret = new TupleDesc_B[numFeatures];
+		for (int i = 0; i < numFeatures; i++) {
+			ret[i] = new TupleDesc_B(numBits);
+			for (int j = 0; j < ret[i].data.length; j++) {
+				ret[i].data[j] = rand.nextInt();
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * The bit twiddling hamming distance which was used before Integer.bitCount
+	 */
+	@Benchmark
+	public int objects_twiddle() {
+		int total = 0;
+		for (int i = 0; i < numFeatures; i++) {
+			TupleDesc_B a = listA[i];
+			for (int j = 0; j < numFeatures; j++) {
+				TupleDesc_B b = listB[j];
+				for (int k = 0; k < a.data.length; k++) {
+					int v = a.data[k] ^ b.data[k];
+					v = v - ((v >> 1) & 0x55555555);
+					v = (v & 0x33333333) + ((v >> 2) & 0x33333333);
+					total += ((v + (v >> 4) & 0xF0F0F0F) * 0x1010101) >> 24;
+				}
+			}
+		}
+		return total;
+	}
+
+	@Benchmark
+	public int objects_bitCount() {
+		int total = 0;
+		for (int i = 0; i < numFeatures; i++) {
+			TupleDesc_B a = listA[i];
+			for (int j = 0; j < numFeatures; j++) {
+				total += DescriptorDistance.hamming(a,listB[j]);
+			}
+		}
+		return total;
+	}
+
+	@Benchmark
+	public int packed_long() {
+		int total = 0;
+		for (int i = 0; i < numFeatures; i++) {
+			for (int j = 0; j < numFeatures; j++) {
+				total += DescriptorDistance.hamming(packedA,i,packedB,j);
+			}
+		}
+		return total;
+	}
+}
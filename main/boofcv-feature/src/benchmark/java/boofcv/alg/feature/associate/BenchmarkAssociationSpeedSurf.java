@@ -25,71 +25,78 @@ import boofcv.factory.feature.associate.FactoryAssociation;
 import boofcv.factory.feature.detdesc.FactoryDetectDescribe;
 import boofcv.io.UtilIO;
 import boofcv.io.image.ConvertBufferedImage;
-import boofcv.misc.Performer;
-import boofcv.misc.ProfileOperation;
 import boofcv.struct.feature.TupleDesc_F64;
 import boofcv.struct.image.GrayF32;
 import org.ddogleg.struct.FastQueue;
+import org.openjdk.jmh.annotations.*;
 
 import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
-
+import java.util.concurrent.TimeUnit;
 
 /**
+ * Associates SURF features detected in two real images
+ *
  * @author Peter Abeles
  */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value=1)
 public class BenchmarkAssociationSpeedSurf {
 
 	static final String image1 = UtilIO.pathExample("apartment_building_01.jpg");
 	static final String image2 = UtilIO.pathExample("apartment_building_02.jpg");
 
-
-	static final long TEST_TIME = 1000;
-
 	FastQueue<TupleDesc_F64> listA;
 	FastQueue<TupleDesc_F64> listB;
 
-	DetectDescribePoint<GrayF32,TupleDesc_F64> detector;
+	AssociateDescription<TupleDesc_F64> greedy;
+	AssociateDescription<TupleDesc_F64> greedyBackwards;
+	AssociateDescription<TupleDesc_F64> randomForest;
 
-	public BenchmarkAssociationSpeedSurf() {
-		detector = (DetectDescribePoint)FactoryDetectDescribe.surfStable(null, null, null, GrayF32.class);
-		listA = createSet(image1);
-		listB = createSet(image2);
-		
-		System.out.println("Size A = "+listA.size()+"  B = "+listB.size());
-	}
+	@Setup
+	public void setup() {
+		DetectDescribePoint<GrayF32,TupleDesc_F64> detector =
+				(DetectDescribePoint)FactoryDetectDescribe.surfStable(null, null, null, GrayF32.class);
+		listA = createSet(detector,image1);
+		listB = createSet(detector,image2);
 
-	public Performer createProfile( String name, AssociateDescription<TupleDesc_F64> alg ) {
-		return new General(name,alg);
-	}
-
-	public class General implements Performer {
+		ScoreAssociation<TupleDesc_F64> score = FactoryAssociation.scoreEuclidean(TupleDesc_F64.class,true);
+		int DOF = detector.createDescription().size();
 
-		AssociateDescription<TupleDesc_F64> alg;
-		String name;
+		greedy = FactoryAssociation.greedy(score, Double.MAX_VALUE,  false);
+		greedyBackwards = FactoryAssociation.greedy(score, Double.MAX_VALUE,  true);
+		randomForest = FactoryAssociation.kdRandomForest(null,DOF, 500, 15, 5, 1233445565);
+	}
 
-		public General(String name, AssociateDescription<TupleDesc_F64> alg) {
-			this.alg = alg;
-			this.name = name;
-		}
+	@Benchmark
+	public void greedy() {
+		associate(greedy);
+	}
 
-		@Override
-		public void process() {
-			alg.setSource(listA);
-			alg.setDestination(listB);
-			alg.associate();
-		}
+	@Benchmark
+	public void greedyBackwards() {
+		associate(greedyBackwards);
+	}
 
-		@Override
-		public String getName() {
-			return name;
-		}
+	@Benchmark
+	public void randomForest() {
+		associate(randomForest);
 	}
 
-	private FastQueue<TupleDesc_F64> createSet( String imageName ) {
+	private void associate( AssociateDescription<TupleDesc_F64> alg ) {
+		alg.setSource(listA);
+		alg.setDestination(listB);
+		alg.associate();
+	}
 
+	private static FastQueue<TupleDesc_F64> createSet( DetectDescribePoint<GrayF32,TupleDesc_F64> detector,
+													   String imageName ) {
 		try {
 			BufferedImage image = ImageIO.read(new File(imageName));
 			GrayF32 gray = ConvertBufferedImage.convertFrom(image, (GrayF32) null);
@@ -97,31 +104,14 @@ public class BenchmarkAssociationSpeedSurf {
 			FastQueue<TupleDesc_F64> ret = new FastQueue<>(10, TupleDesc_F64.class, false);
 
 			detector.detect(gray);
-			
+
 			for( int i = 0; i < detector.getNumberOfFeatures(); i++ ) {
 				ret.add( detector.getDescription(i).copy() );
 			}
-			
+
 			return ret;
-			
 		} catch (IOException e) {
 			throw new RuntimeException(e);
 		}
 	}
-
-	public static void main( String argsp[ ] ) {
-		BenchmarkAssociationSpeedSurf app = new BenchmarkAssociationSpeedSurf();
-
-		ScoreAssociation<TupleDesc_F64> score = FactoryAssociation.scoreEuclidean(TupleDesc_F64.class,true);
-		
-		int DOF = app.detector.createDescription().size();
-
-		ProfileOperation.printOpsPerSec(app.createProfile("Greedy",
-				FactoryAssociation.greedy(score, Double.MAX_VALUE,  false)),TEST_TIME);
-		ProfileOperation.printOpsPerSec(app.createProfile("Greedy Backwards",
-				FactoryAssociation.greedy(score, Double.MAX_VALUE,  true)),TEST_TIME);
-		ProfileOperation.printOpsPerSec(app.createProfile("Random Forest",
-				FactoryAssociation.kdRandomForest(null,DOF, 500, 15, 5, 1233445565)),TEST_TIME);
-		
-	}
 }
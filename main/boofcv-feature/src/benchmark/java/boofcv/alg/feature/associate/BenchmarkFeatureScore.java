@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -18,96 +18,108 @@
 
 package boofcv.alg.feature.associate;
 
-import boofcv.abst.feature.associate.ScoreAssociateHamming_B;
-import boofcv.abst.feature.associate.ScoreAssociateNccFeature;
-import boofcv.abst.feature.associate.ScoreAssociation;
-import boofcv.misc.Performer;
-import boofcv.misc.PerformerBase;
-import boofcv.misc.ProfileOperation;
+import boofcv.abst.feature.associate.*;
 import boofcv.struct.feature.*;
 import org.ddogleg.struct.FastQueue;
+import org.openjdk.jmh.annotations.*;
 
 import java.util.Random;
-
+import java.util.concurrent.TimeUnit;
 
 /**
  * Compares different scoring functions.
  *
  * @author Peter Abeles
  */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value=1)
 public class BenchmarkFeatureScore {
 
-	static final long TEST_TIME = 1000;
-	static final Random rand = new Random(234234);
-	static final int NUM_FEATURES = 2000;
+	@Param({"500", "2000"})
+	public int numFeatures;
 
 	static final int DOF_TUPLE = 64;
 	static final int DOF_BRIEF = 512;
 
-	static final FastQueue<TupleDesc_F64> listA = createSet();
-	static final FastQueue<TupleDesc_F64> listB = createSet();
-
-	static final FastQueue<TupleDesc_B> briefA = createBriefSet();
-	static final FastQueue<TupleDesc_B> briefB = createBriefSet();
-
-	static final FastQueue<NccFeature> nccA = createNccSet();
-	static final FastQueue<NccFeature> nccB = createNccSet();
-
-	public static class General implements Performer {
-
-		ScoreAssociation alg;
-		String name;
-
-		public General(String name, ScoreAssociation alg) {
-			this.alg = alg;
-			this.name = name;
-		}
-
-		@Override
-		public void process() {
-			for( int i = 0; i < listA.size; i++ )
-				for( int j = 0; j < listB.size; j++ )
-					alg.score(listA.data[i],listB.data[j]);
-		}
-
-		@Override
-		public String getName() {
-			return name;
-		}
+	FastQueue<TupleDesc_F64> listA;
+	FastQueue<TupleDesc_F64> listB;
+
+	FastQueue<TupleDesc_B> briefA;
+	FastQueue<TupleDesc_B> briefB;
+
+	FastQueue<NccFeature> nccA;
+	FastQueue<NccFeature> nccB;
+
+	ScoreAssociation<TupleDesc_F64> correlation = new ScoreAssociateCorrelation();
+	ScoreAssociation<TupleDesc_F64> euclidean = new ScoreAssociateEuclidean_F64();
+	ScoreAssociation<TupleDesc_F64> euclideanSq = new ScoreAssociateEuclideanSq_F64();
+	ScoreAssociateHamming_B hamming = new ScoreAssociateHamming_B();
+	ScoreAssociateNccFeature ncc = new ScoreAssociateNccFeature();
+
+	@Setup
+	public void setup() {
+		Random rand = new Random(234234);
+		listA = createSet(rand);
+		listB = createSet(rand);
+		briefA = createBriefSet(rand);
+		briefB = createBriefSet(rand);
+		nccA = createNccSet(rand);
+		nccB = createNccSet(rand);
 	}
 
-	public static class Brief extends PerformerBase {
+	@Benchmark
+	public double correlation() {
+		return scoreAll(correlation);
+	}
 
-		ScoreAssociateHamming_B scorer = new ScoreAssociateHamming_B();
+	@Benchmark
+	public double euclidean() {
+		return scoreAll(euclidean);
+	}
 
-		@Override
-		public void process() {
-			for( int i = 0; i < briefA.size; i++ )
-				for( int j = 0; j < briefB.size; j++ )
-					scorer.score(briefA.data[i],briefB.data[j]);
-		}
+	@Benchmark
+	public double euclideanSq() {
+		return scoreAll(euclideanSq);
 	}
 
-	public static class Ncc extends PerformerBase {
+	@Benchmark
+	public double brief() {
+		double total = 0;
+		for( int i = 0; i < briefA.size; i++ )
+			for( int j = 0; j < briefB.size; j++ )
+				total += hamming.score(briefA.data[i],briefB.data[j]);
+		return total;
+	}
 
-		ScoreAssociateNccFeature scorer = new ScoreAssociateNccFeature();
+	@Benchmark
+	public double ncc() {
+		double total = 0;
+		for( int i = 0; i < nccA.size; i++ )
+			for( int j = 0; j < nccB.size; j++ )
+				total += ncc.score(nccA.data[i],nccB.data[j]);
+		return total;
+	}
 
-		@Override
-		public void process() {
-			for( int i = 0; i < nccA.size; i++ )
-				for( int j = 0; j < nccB.size; j++ )
-					scorer.score(nccA.data[i],nccB.data[j]);
-		}
+	private double scoreAll( ScoreAssociation<TupleDesc_F64> alg ) {
+		double total = 0;
+		for( int i = 0; i < listA.size; i++ )
+			for( int j = 0; j < listB.size; j++ )
+				total += alg.score(listA.data[i],listB.data[j]);
+		return total;
 	}
 
-	private static FastQueue<TupleDesc_F64> createSet() {
+	private FastQueue<TupleDesc_F64> createSet( Random rand ) {
 		FastQueue<TupleDesc_F64> ret = new FastQueue<TupleDesc_F64>(10,TupleDesc_F64.class, true) {
 			@Override
 			protected TupleDesc_F64 createInstance() {
 				return new TupleDesc_F64(DOF_TUPLE);
 			}
 		};
-		for( int i = 0; i < NUM_FEATURES; i++ ) {
+		for( int i = 0; i < numFeatures; i++ ) {
 			TupleDesc_F64 t = ret.grow();
 			for( int j = 0; j < DOF_TUPLE; j++ ) {
 				t.value[j] = (rand.nextDouble()-0.5)*20;
@@ -116,10 +128,10 @@ public class BenchmarkFeatureScore {
 		return ret;
 	}
 
-	private static FastQueue<TupleDesc_B> createBriefSet() {
+	private FastQueue<TupleDesc_B> createBriefSet( Random rand ) {
 		FastQueue<TupleDesc_B> ret = new BriefFeatureQueue(DOF_BRIEF);
 
-		for( int i = 0; i < NUM_FEATURES; i++ ) {
+		for( int i = 0; i < numFeatures; i++ ) {
 			TupleDesc_B t = ret.grow();
 			for( int j = 0; j < t.data.length; j++ ) {
 				t.data[j] = rand.nextInt();
@@ -128,10 +140,10 @@ public class BenchmarkFeatureScore {
 		return ret;
 	}
 
-	private static FastQueue<NccFeature> createNccSet() {
+	private FastQueue<NccFeature> createNccSet( Random rand ) {
 		FastQueue<NccFeature> ret = new NccFeatureQueue(DOF_TUPLE);
 
-		for( int i = 0; i < NUM_FEATURES; i++ ) {
+		for( int i = 0; i < numFeatures; i++ ) {
 			NccFeature t = ret.grow();
 			for( int j = 0; j < t.value.length; j++ ) {
 				t.value[j] = (rand.nextDouble()-0.5)*20;
@@ -141,17 +153,4 @@ public class BenchmarkFeatureScore {
 		}
 		return ret;
 	}
-
-	public static void main( String argsp[ ] ) {
-		System.out.println("=========  Profile Description Length "+ DOF_TUPLE +" ========== Num Features "+NUM_FEATURES);
-		System.out.println();
-
-		// the "fastest" seems to always be the first one tested
-//		ProfileOperation.printOpsPerSec(new General("Correlation", new ScoreAssociateCorrelation()),TEST_TIME);
-//		ProfileOperation.printOpsPerSec(new General("Euclidean", new ScoreAssociateEuclidean_F64()),TEST_TIME);
-//		ProfileOperation.printOpsPerSec(new General("Euclidean Sq", new ScoreAssociateEuclideanSq_F64()),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new Brief(),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new Ncc(),TEST_TIME);
-
-	}
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -22,102 +22,71 @@ import boofcv.abst.feature.dense.DescribeImageDense;
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.factory.feature.dense.ConfigDenseHoG;
 import boofcv.factory.feature.dense.FactoryDescribeImageDense;
-import boofcv.misc.PerformerBase;
-import boofcv.misc.ProfileOperation;
 import boofcv.struct.feature.TupleDesc_F64;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.ImageType;
+import org.openjdk.jmh.annotations.*;
 
 import java.util.Random;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author Peter Abeles
  */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value=1)
 public class BenchmarkDenseDescribe {
-
-	int width = 640;
-	int height = 480;
-
-	static final long TEST_TIME = 1000;
-	static Random rand = new Random(234234);
-
-	GrayF32 gray = new GrayF32(width, height);
-
-	public BenchmarkDenseDescribe() {
-		GImageMiscOps.fillUniform( gray , rand , 0 , 200);
-	}
-
-	public class HoGFast extends PerformerBase {
-
-		DescribeImageDense<GrayF32, TupleDesc_F64> alg;
-
-		public HoGFast() {
-			ConfigDenseHoG config = new ConfigDenseHoG();
-			config.fastVariant = true;
-			alg = FactoryDescribeImageDense.hog(config, ImageType.single(GrayF32.class));
-		}
-
-		@Override
-		public void process() {
-			alg.process(gray);
-		}
+	@Param({"640", "1920"})
+	public int width;
+
+	GrayF32 gray = new GrayF32(1,1);
+
+	DescribeImageDense<GrayF32, TupleDesc_F64> hogFast;
+	DescribeImageDense<GrayF32, TupleDesc_F64> hog =
+			FactoryDescribeImageDense.hog(null, ImageType.single(GrayF32.class));
+	DescribeImageDense<GrayF32, TupleDesc_F64> surfFast =
+			FactoryDescribeImageDense.surfFast(null, GrayF32.class);
+	DescribeImageDense<GrayF32, TupleDesc_F64> surfStable =
+			FactoryDescribeImageDense.surfStable(null, GrayF32.class);
+	DescribeImageDense<GrayF32, TupleDesc_F64> sift =
+			FactoryDescribeImageDense.sift(null, GrayF32.class);
+
+	@Setup
+	public void setup() {
+		gray.reshape(width,width*3/4);
+		GImageMiscOps.fillUniform( gray , new Random(234234) , 0 , 200);
+
+		ConfigDenseHoG config = new ConfigDenseHoG();
+		config.fastVariant = true;
+		hogFast = FactoryDescribeImageDense.hog(config, ImageType.single(GrayF32.class));
 	}
 
-	public class HoG extends PerformerBase {
-		DescribeImageDense<GrayF32, TupleDesc_F64> alg =
-				FactoryDescribeImageDense.hog(null, ImageType.single(GrayF32.class));
-
-		@Override
-		public void process() {
-			alg.process(gray);
-		}
+	@Benchmark
+	public void hogFast() {
+		hogFast.process(gray);
 	}
 
-	public class SURF_FAST extends PerformerBase {
-		DescribeImageDense<GrayF32, TupleDesc_F64> alg =
-				FactoryDescribeImageDense.surfFast(null, GrayF32.class);
-
-		@Override
-		public void process() {
-			alg.process(gray);
-		}
+	@Benchmark
+	public void hog() {
+		hog.process(gray);
 	}
 
-	public class SURF_STABLE extends PerformerBase {
-		DescribeImageDense<GrayF32, TupleDesc_F64> alg =
-				FactoryDescribeImageDense.surfStable(null, GrayF32.class);
-
-		@Override
-		public void process() {
-			alg.process(gray);
-		}
+	@Benchmark
+	public void surfFast() {
+		surfFast.process(gray);
 	}
 
-	public class SIFT extends PerformerBase {
-		DescribeImageDense<GrayF32, TupleDesc_F64> alg =
-				FactoryDescribeImageDense.sift(null, GrayF32.class);
-
-		@Override
-		public void process() {
-			alg.process(gray);
-		}
+	@Benchmark
+	public void surfStable() {
+		surfStable.process(gray);
 	}
 
-
-	public void perform() {
-		System.out.println("=========  Profile Image Size " + width + " x " + height + " ========== ");
-		System.out.println();
-
-		ProfileOperation.printOpsPerSec(new HoGFast(), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new HoG(), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new BenchmarkDenseDescribe.SURF_FAST(), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new BenchmarkDenseDescribe.SURF_STABLE(), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new BenchmarkDenseDescribe.SIFT(), TEST_TIME);
-	}
-
-	public static void main(String[] args) {
-		BenchmarkDenseDescribe benchmark = new BenchmarkDenseDescribe();
-
-		benchmark.perform();
+	@Benchmark
+	public void sift() {
+		sift.process(gray);
 	}
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -21,59 +21,65 @@ package boofcv.alg.feature.describe;
 import boofcv.abst.feature.describe.ConfigSurfDescribe;
 import boofcv.abst.feature.describe.DescribeRegionPoint;
 import boofcv.alg.feature.describe.brief.FactoryBriefDefinition;
-import boofcv.alg.filter.derivative.GImageDerivativeOps;
 import boofcv.alg.misc.GImageMiscOps;
-import boofcv.alg.transform.ii.GIntegralImageOps;
 import boofcv.core.image.GConvertImage;
 import boofcv.factory.feature.describe.FactoryDescribePointAlgs;
 import boofcv.factory.feature.describe.FactoryDescribeRegionPoint;
 import boofcv.factory.filter.blur.FactoryBlurFilter;
-import boofcv.misc.Performer;
-import boofcv.misc.PerformerBase;
-import boofcv.misc.ProfileOperation;
 import boofcv.struct.feature.TupleDesc;
 import boofcv.struct.feature.TupleDesc_B;
 import boofcv.struct.image.GrayF32;
-import boofcv.struct.image.ImageGray;
 import boofcv.struct.image.ImageType;
 import boofcv.struct.image.Planar;
 import georegression.struct.point.Point2D_I32;
+import org.openjdk.jmh.annotations.*;
 
 import java.util.Random;
-
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author Peter Abeles
  */
 @SuppressWarnings("unchecked")
-public class BenchmarkDescribe<I extends ImageGray<I>, D extends ImageGray<D>, II extends ImageGray<II>> {
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value=1)
+public class BenchmarkDescribe {
 
-	static final long TEST_TIME = 1000;
-	static Random rand = new Random(234234);
 	static int NUM_POINTS = 512;
 
 	final static int width = 640;
 	final static int height = 480;
 
-	I gray;
-	Planar<I> colorMS;
+	GrayF32 gray;
+	Planar<GrayF32> colorMS;
 
 	Point2D_I32 pts[];
 	double scales[];
 	double yaws[];
 
-	Class<I> imageType;
-	Class<D> derivType;
-	Class<II> integralType;
+	DescribeRegionPoint surfFast;
+	DescribeRegionPoint surfFastColor;
+	DescribeRegionPoint surfStable;
+	DescribeRegionPoint surfStableColor;
 
-	public BenchmarkDescribe( Class<I> imageType ) {
+	DescribePointBrief<GrayF32> brief512 = FactoryDescribePointAlgs.brief(
+			FactoryBriefDefinition.gaussian2(new Random(123), 16, 512),
+			FactoryBlurFilter.gaussian(ImageType.single(GrayF32.class), 0, 4));
 
-		this.imageType = imageType;
+	int briefRadius = 16;
+	DescribePointBriefSO<GrayF32> briefSO512 = FactoryDescribePointAlgs.briefso(
+			FactoryBriefDefinition.gaussian2(new Random(123), briefRadius, 512),
+			FactoryBlurFilter.gaussian(ImageType.single(GrayF32.class), 0, 4));
 
-		derivType = GImageDerivativeOps.getDerivativeType(imageType);
-		integralType = GIntegralImageOps.getIntegralType(imageType);
+	@Setup
+	public void setup() {
+		Random rand = new Random(234234);
 
-		colorMS = new Planar<>(imageType, width, height, 3);
+		colorMS = new Planar<>(GrayF32.class, width, height, 3);
 		GImageMiscOps.fillUniform(colorMS, rand, 0, 100);
 
 		gray = GConvertImage.average(colorMS,gray);
@@ -90,98 +96,65 @@ public class BenchmarkDescribe<I extends ImageGray<I>, D extends ImageGray<D>, I
 			yaws[i] = 2.0*(rand.nextDouble()-0.5)*Math.PI;
 		}
 
-	}
-
-	public class Brief512 extends PerformerBase {
-
-		DescribePointBrief<I> alg = FactoryDescribePointAlgs.brief(FactoryBriefDefinition.gaussian2(new Random(123), 16, 512),
-				FactoryBlurFilter.gaussian(ImageType.single(imageType), 0, 4));
+		ConfigSurfDescribe.Speed surfSpeed = new ConfigSurfDescribe.Speed();
+		ConfigSurfDescribe.Stability surfStability = new ConfigSurfDescribe.Stability();
 
-		@Override
-		public void process() {
-			alg.setImage(gray);
-			TupleDesc_B f = alg.createFeature();
-			for( int i = 0; i < pts.length; i++ ) {
-				Point2D_I32 p = pts[i];
-				alg.process(p.x,p.y,f);
-			}
-		}
+		surfFast = FactoryDescribeRegionPoint.surfFast(surfSpeed, GrayF32.class);
+		surfFastColor = FactoryDescribeRegionPoint.surfColorFast(surfSpeed, ImageType.pl(3, GrayF32.class));
+		surfStable = FactoryDescribeRegionPoint.surfStable(surfStability, GrayF32.class);
+		surfStableColor = FactoryDescribeRegionPoint.surfColorStable(surfStability, ImageType.pl(3, GrayF32.class));
 	}
 
-	public class BriefSO512 extends PerformerBase {
-
-		int briefRadius = 16;
-		DescribePointBriefSO<I> alg = FactoryDescribePointAlgs.
-				briefso(FactoryBriefDefinition.gaussian2(new Random(123), briefRadius, 512),
-				FactoryBlurFilter.gaussian(ImageType.single(imageType), 0, 4));
-
-		@Override
-		public void process() {
-			alg.setImage(gray);
-			TupleDesc_B f = alg.createFeature();
-			for( int i = 0; i < pts.length; i++ ) {
-				Point2D_I32 p = pts[i];
-				alg.process(p.x,p.y,(float)yaws[i],(float)(briefRadius*scales[i]),f);
-			}
-		}
+	@Benchmark
+	public void surfFast() {
+		describe(surfFast);
 	}
 
-	public class Describe<D extends TupleDesc> implements Performer {
-
-		DescribeRegionPoint alg;
-		String name;
+	@Benchmark
+	public void surfFastColor() {
+		describe(surfFastColor);
+	}
 
-		public Describe(String name, DescribeRegionPoint alg) {
-			this.alg = alg;
-			this.name = name;
-		}
+	@Benchmark
+	public void surfStable() {
+		describe(surfStable);
+	}
 
-		@Override
-		public void process() {
-			if( alg.getImageType().getFamily() == ImageType.Family.GRAY)
-				alg.setImage(gray);
-			else
-				alg.setImage(colorMS);
-
-			D d = (D)alg.createDescription();
-			for( int i = 0; i < pts.length; i++ ) {
-				Point2D_I32 p = pts[i];
-				alg.process(p.x,p.y,yaws[i],scales[i],d);
-			}
-		}
+	@Benchmark
+	public void surfStableColor() {
+		describe(surfStableColor);
+	}
 
-		@Override
-		public String getName() {
-			return name;
+	@Benchmark
+	public void brief512() {
+		brief512.setImage(gray);
+		TupleDesc_B f = brief512.createFeature();
+		for( int i = 0; i < pts.length; i++ ) {
+			Point2D_I32 p = pts[i];
+			brief512.process(p.x,p.y,f);
 		}
 	}
 
-	public void perform() {
-		System.out.println("=========  Profile Image Size " + width + " x " + height + " ========== "+imageType.getSimpleName());
-		System.out.println();
-
-		ConfigSurfDescribe.Speed surfSpeed = new ConfigSurfDescribe.Speed();
-		ConfigSurfDescribe.Stability surfStable = new ConfigSurfDescribe.Stability();
-
-		ProfileOperation.printOpsPerSec(new Describe("SURF-F",
-				FactoryDescribeRegionPoint.<I,II>surfFast(surfSpeed, imageType)),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new Describe("SURF-F Color",
-				FactoryDescribeRegionPoint.surfColorFast(surfSpeed, ImageType.pl(3, imageType))),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new Describe("SURF-S",
-				FactoryDescribeRegionPoint.<I,II>surfStable(surfStable,  imageType)),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new Describe("SURF-S Color",
-				FactoryDescribeRegionPoint.surfColorStable(surfStable,  ImageType.pl(3, imageType))),TEST_TIME);
-
-//		if( imageType == GrayF32.class )
-//			ProfileOperation.printOpsPerSec(new Describe("SIFT", FactoryDescribeRegionPoint.sift(null,null)),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new Brief512(),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new BriefSO512(),TEST_TIME);
+	@Benchmark
+	public void briefSO512() {
+		briefSO512.setImage(gray);
+		TupleDesc_B f = briefSO512.createFeature();
+		for( int i = 0; i < pts.length; i++ ) {
+			Point2D_I32 p = pts[i];
+			briefSO512.process(p.x,p.y,(float)yaws[i],(float)(briefRadius*scales[i]),f);
+		}
 	}
 
-	public static void main( String arg[ ] ) {
-		BenchmarkDescribe<GrayF32,?,?> alg = new BenchmarkDescribe(GrayF32.class);
-//		BenchmarkDescribe<GrayU8,?,?> alg = new BenchmarkDescribe(GrayU8.class);
+	private void describe( DescribeRegionPoint alg ) {
+		if( alg.getImageType().getFamily() == ImageType.Family.GRAY)
+			alg.setImage(gray);
+		else
+			alg.setImage(colorMS);
 
-		alg.perform();
+		TupleDesc d = alg.createDescription();
+		for( int i = 0; i < pts.length; i++ ) {
+			Point2D_I32 p = pts[i];
+			alg.process(p.x,p.y,yaws[i],scales[i],d);
+		}
 	}
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -20,81 +20,60 @@ package boofcv.alg.feature.detect.edge;
 
 import boofcv.alg.misc.ImageMiscOps;
 import boofcv.factory.feature.detect.edge.FactoryEdgeDetectors;
-import boofcv.misc.PerformerBase;
-import boofcv.misc.ProfileOperation;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.GrayU8;
+import org.openjdk.jmh.annotations.*;
 
 import java.util.Random;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author Peter Abeles
  */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value=1)
 public class BenchmarkDetectEdge {
-	static final long TEST_TIME = 1000;
+	@Param({"640", "1920"})
+	public int width;
 
-	int width = 640;
-	int height = 480;
+	GrayF32 input = new GrayF32(1,1);
+	GrayU8 output = new GrayU8(1,1);
 
-	Random rand = new Random(234);
+	CannyEdge<GrayF32,GrayF32> cannyMark = FactoryEdgeDetectors.canny(2,false, false, GrayF32.class, GrayF32.class);
+	CannyEdge<GrayF32,GrayF32> cannyTrace = FactoryEdgeDetectors.canny(2,true, false, GrayF32.class, GrayF32.class);
 
-	GrayF32 input = new GrayF32(width,height);
+	@Setup
+	public void setup() {
+		input.reshape(width,width*3/4);
+		output.reshape(input.width,input.height);
 
-	public void createImage() {
+		// fill the image with random rectangles so there are edges to find
+		Random rand = new Random(234);
 		for( int i = 0; i < 1000; i++ ) {
-			int width = 10+rand.nextInt(50);
-			int height = 10+rand.nextInt(50);
+			int w = 10+rand.nextInt(50);
+			int h = 10+rand.nextInt(50);
 
 			int x = rand.nextInt(input.width);
 			int y = rand.nextInt(input.height);
 
-			int x1 = x+width;
-			int y1 = y+height;
-			if( x1 > input.width ) x1 = input.width;
-			if( y1 > input.height ) y1 = input.height;
+			int x1 = Math.min(x+w,input.width);
+			int y1 = Math.min(y+h,input.height);
 
-			width = x1-x;
-			height = y1-y;
-
-			ImageMiscOps.fillRectangle(input,rand.nextInt(100),x,y,width,height);
-		}
-	}
-
-	public class CannyMark extends PerformerBase {
-
-		CannyEdge<GrayF32,GrayF32> alg = FactoryEdgeDetectors.canny(2,false, false, GrayF32.class, GrayF32.class);
-		GrayU8 output = new GrayU8(width,height);
-
-		@Override
-		public void process() {
-			alg.process(input,5,10,output);
-		}
-	}
-
-	public class CannyTrace extends PerformerBase {
-
-		CannyEdge<GrayF32,GrayF32> alg = FactoryEdgeDetectors.canny(2,true, false, GrayF32.class, GrayF32.class);
-		GrayU8 output = new GrayU8(width,height);
-
-		@Override
-		public void process() {
-			alg.process(input,5,10,output);
+			ImageMiscOps.fillRectangle(input,rand.nextInt(100),x,y,x1-x,y1-y);
 		}
 	}
 
-	public void performTests() {
-		createImage();
-
-		System.out.println("=========  Profile Image Size " + width + " x " + height + " ==========");
-		System.out.println();
-
-		ProfileOperation.printOpsPerSec(new CannyMark(), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new CannyTrace(), TEST_TIME);
+	@Benchmark
+	public void cannyMark() {
+		cannyMark.process(input,5,10,output);
 	}
 
-	public static void main( String args[] ) {
-		BenchmarkDetectEdge benchmark = new BenchmarkDetectEdge();
-		benchmark.performTests();
+	@Benchmark
+	public void cannyTrace() {
+		cannyTrace.process(input,5,10,output);
 	}
-
 }
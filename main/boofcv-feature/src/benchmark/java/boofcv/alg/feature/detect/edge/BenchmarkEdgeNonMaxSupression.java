@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -20,75 +20,62 @@ package boofcv.alg.feature.detect.edge;
 
 import boofcv.alg.feature.detect.edge.impl.ImplEdgeNonMaxSuppression;
 import boofcv.alg.misc.ImageMiscOps;
-import boofcv.misc.PerformerBase;
-import boofcv.misc.ProfileOperation;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.GrayS8;
+import org.openjdk.jmh.annotations.*;
 
 import java.util.Random;
-
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author Peter Abeles
  */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value=1)
 public class BenchmarkEdgeNonMaxSupression {
-
-	static final long TEST_TIME = 1000;
-	static Random rand = new Random(234234);
-
-	final static int width = 640;
-	final static int height = 480;
-
-	static GrayF32 intensity = new GrayF32(width,height);
-	static GrayF32 output = new GrayF32(width,height);
-	static GrayS8 direction4 = new GrayS8(width,height);
-	static GrayS8 direction8 = new GrayS8(width,height);
-
-
-	public static class Naive4_F32 extends PerformerBase {
-
-		@Override
-		public void process() {
-			ImplEdgeNonMaxSuppression.naive4(intensity, direction4,output);
-		}
+	@Param({"640", "1920"})
+	public int width;
+
+	GrayF32 intensity = new GrayF32(1,1);
+	GrayF32 output = new GrayF32(1,1);
+	GrayS8 direction4 = new GrayS8(1,1);
+	GrayS8 direction8 = new GrayS8(1,1);
+
+	@Setup
+	public void setup() {
+		int height = width*3/4;
+		intensity.reshape(width,height);
+		output.reshape(width,height);
+		direction4.reshape(width,height);
+		direction8.reshape(width,height);
+
+		Random rand = new Random(234234);
+		ImageMiscOps.fillUniform(intensity, rand, 0, 100);
+		ImageMiscOps.fillUniform(direction4, rand, -1, 3);
+		ImageMiscOps.fillUniform(direction8, rand, -3, 5);
 	}
 
-	public static class Main4_F32 extends PerformerBase {
-
-		@Override
-		public void process() {
-			GradientToEdgeFeatures.nonMaxSuppression4(intensity, direction4,output);
-		}
+	@Benchmark
+	public void naive4_F32() {
+		ImplEdgeNonMaxSuppression.naive4(intensity, direction4,output);
 	}
 
-	public static class Naive8_F32 extends PerformerBase {
-
-		@Override
-		public void process() {
-			ImplEdgeNonMaxSuppression.naive8(intensity,direction8,output);
-		}
+	@Benchmark
+	public void main4_F32() {
+		GradientToEdgeFeatures.nonMaxSuppression4(intensity, direction4,output);
 	}
 
-	public static class Main8_F32 extends PerformerBase {
-
-		@Override
-		public void process() {
-			GradientToEdgeFeatures.nonMaxSuppression8(intensity,direction8,output);
-		}
+	@Benchmark
+	public void naive8_F32() {
+		ImplEdgeNonMaxSuppression.naive8(intensity,direction8,output);
 	}
 
-	public static void main(String args[]) {
-		ImageMiscOps.fillUniform(intensity, rand, 0, 100);
-		ImageMiscOps.fillUniform(direction4, rand, -1, 3);
-		ImageMiscOps.fillUniform(direction8, rand, -3, 5);
-
-		System.out.println("=========  Profile Image Size " + width + " x " + height + " ==========");
-		System.out.println();
-
-		ProfileOperation.printOpsPerSec(new Naive4_F32(), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new Main4_F32(), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new Naive8_F32(), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new Main8_F32(), TEST_TIME);
-
+	@Benchmark
+	public void main8_F32() {
+		GradientToEdgeFeatures.nonMaxSuppression8(intensity,direction8,output);
 	}
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -22,90 +22,80 @@ import boofcv.abst.feature.detect.extract.NonMaxSuppression;
 import boofcv.abst.feature.detect.extract.WrapperNonMaximumBlock;
 import boofcv.abst.feature.detect.extract.WrapperNonMaximumNaive;
 import boofcv.alg.misc.ImageMiscOps;
-import boofcv.misc.Performer;
-import boofcv.misc.ProfileOperation;
 import boofcv.struct.QueueCorner;
 import boofcv.struct.image.GrayF32;
+import org.openjdk.jmh.annotations.*;
 
 import java.util.Random;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author Peter Abeles
  */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value=1)
 public class BenchmarkExtractors {
+	@Param({"640", "1920"})
+	public int width;
 
-	static int imgWidth = 640;
-	static int imgHeight = 480;
-	static int windowRadius = 2;
-	static float threshold = 1.0f;
-	static long TEST_TIME = 1000;
+	@Param({"1", "2", "5", "10"})
+	public int radius;
 
+	float threshold = 1.0f;
 
-	static GrayF32 intensity;
-	static QueueCorner corners;
+	GrayF32 intensity = new GrayF32(1,1);
+	QueueCorner corners = new QueueCorner();
 
-	static Random rand = new Random(33456);
+	NonMaxSuppression blockStrict = new WrapperNonMaximumBlock(new NonMaxBlockStrict.Max());
+	NonMaxSuppression blockStrictMinMax = new WrapperNonMaximumBlock(new NonMaxBlockStrict.MinMax());
+	NonMaxSuppression blockRelaxed = new WrapperNonMaximumBlock(new NonMaxBlockRelaxed.Max());
+	NonMaxSuppression naiveStrict = new WrapperNonMaximumNaive(new NonMaxExtractorNaive(true));
+	NonMaxSuppression naiveRelaxed = new WrapperNonMaximumNaive(new NonMaxExtractorNaive(false));
 
+	@Setup
+	public void setup() {
+		intensity.reshape(width,width*3/4);
 
-	public static class NM implements Performer {
-		NonMaxSuppression alg;
-		String name;
+		// have about 1/20 the image below threshold
+		ImageMiscOps.fillUniform(intensity, new Random(33456), 0, threshold * 20.0f);
 
-		public NM(String name , NonMaxSuppression alg) {
-			this.alg = alg;
-			this.name = name;
+		for( NonMaxSuppression alg : new NonMaxSuppression[]{blockStrict,blockStrictMinMax,blockRelaxed,naiveStrict,naiveRelaxed}) {
 			alg.setThresholdMaximum(threshold);
-			alg.setSearchRadius(windowRadius);
+			alg.setSearchRadius(radius);
 		}
+	}
 
-		@Override
-		public void process() {
-			corners.reset();
-			alg.process(intensity, null,null,corners,corners);
-		}
+	@Benchmark
+	public void blockStrict() {
+		process(blockStrict);
+	}
 
-		@Override
-		public String getName() {
-			return name;
-		}
+	@Benchmark
+	public void blockStrictMinMax() {
+		process(blockStrictMinMax);
 	}
 
-	public static void main(String args[]) {
-		intensity = new GrayF32(imgWidth, imgHeight);
-		corners = new QueueCorner(imgWidth * imgHeight);
+	@Benchmark
+	public void blockRelaxed() {
+		process(blockRelaxed);
+	}
 
-		// have about 1/20 the image below threshold
-		ImageMiscOps.fillUniform(intensity, rand, 0, threshold * 20.0f);
-
-		System.out.println("=========  Profile Image Size " + imgWidth + " x " + imgHeight + " ==========");
-		System.out.println();
-
-		ThresholdCornerExtractor algThresh = new ThresholdCornerExtractor();
-		NonMaxBlockStrict algBlockStrict = new NonMaxBlockStrict.Max();
-		NonMaxBlockStrict algBlockStrictMinMax = new NonMaxBlockStrict.MinMax();
-		NonMaxExtractorNaive algNaiveStrict = new NonMaxExtractorNaive(true);
-		NonMaxBlockRelaxed algBlockRelaxed = new NonMaxBlockRelaxed.Max();
-		NonMaxExtractorNaive algNaiveRelaxed = new NonMaxExtractorNaive(true);
-
-
-		for ( int radius = 1; radius < 20; radius += 1) {
-			System.out.println("Radius: " + radius);
-			System.out.println();
-			windowRadius = radius;
-
-			NM alg2 = new NM("Block Strict",new WrapperNonMaximumBlock(algBlockStrict));
-			NM alg3 = new NM("Block Strict MinMax",new WrapperNonMaximumBlock(algBlockStrictMinMax));
-			NM alg4 = new NM("Naive Strict",new WrapperNonMaximumNaive(algNaiveStrict));
-			NM alg5 = new NM("Block Relaxed",new WrapperNonMaximumBlock(algBlockRelaxed));
-			NM alg6 = new NM("Naive Relaxed",new WrapperNonMaximumNaive(algNaiveRelaxed));
-
-			ProfileOperation.printOpsPerSec(alg2, TEST_TIME);
-			ProfileOperation.printOpsPerSec(alg3, TEST_TIME);
-//			ProfileOperation.printOpsPerSec(alg4, TEST_TIME);
-//			ProfileOperation.printOpsPerSec(alg5, TEST_TIME);
-//			ProfileOperation.printOpsPerSec(alg6, TEST_TIME);
-//			ProfileOperation.printOpsPerSec(alg1, TEST_TIME);
-		}
+	@Benchmark
+	public void naiveStrict() {
+		process(naiveStrict);
+	}
+
+	@Benchmark
+	public void naiveRelaxed() {
+		process(naiveRelaxed);
+	}
 
+	private void process( NonMaxSuppression alg ) {
+		corners.reset();
+		alg.process(intensity, null,null,corners,corners);
 	}
 }
@@ -16,89 +16,74 @@
  * limitations under the License.
  */
 
+
 package boofcv.alg.feature.detect.intensity;
 
 import boofcv.alg.feature.detect.intensity.impl.ImplFastCorner12_U8;
 import boofcv.alg.feature.detect.intensity.impl.ImplFastCorner9_U8;
 import boofcv.alg.misc.GImageMiscOps;
-import boofcv.core.image.GeneralizedImageOps;
-import boofcv.misc.PerformerBase;
-import boofcv.misc.ProfileOperation;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.GrayU8;
-import boofcv.struct.image.ImageGray;
+import org.openjdk.jmh.annotations.*;
 
 import java.util.Random;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author Peter Abeles
  */
-public class BenchmarkFastIntensity<T extends ImageGray<T>> {
-	static int imgWidth = 640;
-	static int imgHeight = 480;
-	static long TEST_TIME = 1000;
-
-	T input;
-	GrayF32 intensity;
-
-	public BenchmarkFastIntensity(Class<T> imageType) {
-		input = GeneralizedImageOps.createSingleBand(imageType,imgWidth,imgHeight);
-		intensity = new GrayF32(input.width,input.height);
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value=1)
+public class BenchmarkFastIntensity {
+	@Param({"640", "1920"})
+	public int width;
+
+	/**
+	 * If true the image is filled with random noise, otherwise it has a single value
+	 */
+	@Param({"true", "false"})
+	public boolean random;
+
+	GrayU8 input = new GrayU8(1,1);
+	GrayF32 intensity = new GrayF32(1,1);
+
+	DetectorFastNaive naive9 = new DetectorFastNaive(3,9,60);
+	FastCornerDetector<GrayU8> fast9 = new FastCornerDetector<>(new ImplFastCorner9_U8(60));
+	FastCornerDetector<GrayU8> fast12 = new FastCornerDetector<>(new ImplFastCorner12_U8(60));
+	FastCornerDetector<GrayU8> fast9_MT = new FastCornerDetector_MT<>(new ImplFastCorner9_U8(60));
+
+	@Setup
+	public void setup() {
+		input.reshape(width, width*3/4);
+		intensity.reshape(input.width, input.height);
+
+		if( random )
+			GImageMiscOps.fillUniform(input, new Random(234), 0, 255);
+		else
+			GImageMiscOps.fill(input,125);
 	}
 
-	public class FAST_NAIVE_9 extends PerformerBase {
-		DetectorFastNaive corner = new DetectorFastNaive(3,9,60);
-
-		@Override
-		public void process() {
-			corner.process((GrayU8)input);
-		}
-	}
-
-	public class FAST9 extends PerformerBase {
-		FastCornerDetector<GrayU8> corner = new FastCornerDetector<>(new ImplFastCorner9_U8(60));
-
-		@Override
-		public void process() {
-			corner.process((GrayU8)input,intensity);
-		}
+	@Benchmark
+	public void FAST_NAIVE_9() {
+		naive9.process(input);
 	}
 
-	public class FAST12 extends PerformerBase {
-		FastCornerDetector<GrayU8> corner = new FastCornerDetector<>(new ImplFastCorner12_U8(60));
-
-		@Override
-		public void process() {
-			corner.process((GrayU8)input,intensity);
-		}
+	@Benchmark
+	public void FAST9() {
+		fast9.process(input,intensity);
 	}
 
-	public void evaluate() {
-		Random rand = new Random(234);
-
-		System.out.println("=========  Profile Image Size " + imgWidth + " x " + imgHeight + " ==========");
-		System.out.println("           Random");
-		System.out.println();
-
-		GImageMiscOps.fillUniform(input, rand, 0, 255);
-		ProfileOperation.printOpsPerSec(new FAST_NAIVE_9(), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new FAST9(), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new FAST12(), TEST_TIME);
-
-		System.out.println();
-		System.out.println("           Single Value");
-		System.out.println();
-
-		GImageMiscOps.fill(input,125);
-		ProfileOperation.printOpsPerSec(new FAST_NAIVE_9(), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new FAST9(), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new FAST12(), TEST_TIME);
-
+	@Benchmark
+	public void FAST12() {
+		fast12.process(input,intensity);
 	}
 
-	public static void main( String args[] ) {
-		BenchmarkFastIntensity benchmark = new BenchmarkFastIntensity(GrayU8.class);
-
-		benchmark.evaluate();
+	@Benchmark
+	public void FAST9_MT() {
+		fast9_MT.process(input,intensity);
 	}
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -22,55 +22,50 @@ import boofcv.alg.feature.detect.intensity.IntegralImageFeatureIntensity;
 import boofcv.alg.feature.detect.intensity.impl.ImplIntegralImageFeatureIntensity;
 import boofcv.alg.misc.ImageMiscOps;
 import boofcv.alg.transform.ii.IntegralImageOps;
-import boofcv.misc.PerformerBase;
-import boofcv.misc.ProfileOperation;
 import boofcv.struct.image.GrayF32;
+import org.openjdk.jmh.annotations.*;
 
 import java.util.Random;
-
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author Peter Abeles
  */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value=1)
 public class BenchmarkFastHessianFeatureIntensity {
-	static int width = 640;
-	static int height = 480;
-	static long TEST_TIME = 1000;
-
-	static int skip = 1;
-	static int size = 15;
+	@Param({"640", "1920"})
+	public int width;
 
-	static Random rand = new Random(234);
+	int skip = 1;
+	int size = 15;
 
-	static GrayF32 original = new GrayF32(width,height);
-	static GrayF32 integral = new GrayF32(width,height);
-	static GrayF32 intensity = new GrayF32(width,height);
+	GrayF32 original = new GrayF32(1,1);
+	GrayF32 integral = new GrayF32(1,1);
+	GrayF32 intensity = new GrayF32(1,1);
 
-	public static class Naive extends PerformerBase {
+	@Setup
+	public void setup() {
+		int height = width*3/4;
+		original.reshape(width,height);
+		integral.reshape(width,height);
+		intensity.reshape(width,height);
 
-		@Override
-		public void process() {
-			ImplIntegralImageFeatureIntensity.hessianNaive(integral,skip,size,intensity);
-		}
+		ImageMiscOps.fillUniform(original,new Random(234),0,200);
+		IntegralImageOps.transform(original,integral);
 	}
 
-	public static class Standard extends PerformerBase {
-
-		@Override
-		public void process() {
-			IntegralImageFeatureIntensity.hessian(integral,skip,size,intensity);
-		}
+	@Benchmark
+	public void naive() {
+		ImplIntegralImageFeatureIntensity.hessianNaive(integral,skip,size,intensity);
 	}
 
-	public static void main(String args[]) {
-		ImageMiscOps.fillUniform(original,rand,0,200);
-		IntegralImageOps.transform(original,integral);
-
-		System.out.println("=========  Profile Image Size " + width + " x " + height + " ==========");
-		System.out.println("     skip = "+skip+" size = "+size);
-		System.out.println();
-
-		ProfileOperation.printOpsPerSec(new Naive(), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new Standard(), TEST_TIME);
+	@Benchmark
+	public void standard() {
+		IntegralImageFeatureIntensity.hessian(integral,skip,size,intensity);
 	}
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -20,111 +20,69 @@ package boofcv.alg.feature.detect.lines;
 
 import boofcv.abst.feature.detect.line.DetectLine;
 import boofcv.abst.feature.detect.line.DetectLineSegment;
-import boofcv.core.image.GeneralizedImageOps;
 import boofcv.factory.feature.detect.line.ConfigHoughFoot;
 import boofcv.factory.feature.detect.line.ConfigHoughFootSubimage;
 import boofcv.factory.feature.detect.line.ConfigHoughPolar;
 import boofcv.factory.feature.detect.line.FactoryDetectLineAlgs;
 import boofcv.io.UtilIO;
 import boofcv.io.image.ConvertBufferedImage;
-import boofcv.misc.PerformerBase;
-import boofcv.misc.ProfileOperation;
 import boofcv.struct.image.GrayF32;
-import boofcv.struct.image.ImageGray;
+import org.openjdk.jmh.annotations.*;
 
 import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
-import java.util.Random;
-
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author Peter Abeles
  */
-public class BenchmarkDetectLines<T extends ImageGray<T>, D extends ImageGray<D>> {
-
-	static final long TEST_TIME = 1000;
-	static Random rand = new Random(234234);
-
-	T input;
-	Class<T> imageType;
-	Class<D> derivType;
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value=1)
+public class BenchmarkDetectLines {
 
 	float edgeThreshold = 30;
 	int maxLines = 10;
 
-	public BenchmarkDetectLines( Class<T> imageType , Class<D> derivType ) {
-		this.imageType = imageType;
-		this.derivType = derivType;
-		input = GeneralizedImageOps.createSingleBand(imageType, 1, 1);
-
-	}
-
-	public class HoughPolar extends PerformerBase {
-
-		DetectLine<T> detector =
-				FactoryDetectLineAlgs.houghPolar(new ConfigHoughPolar(3, 30, 4, Math.PI / 180, edgeThreshold, maxLines), imageType, derivType);
-
-		@Override
-		public void process() {
-			detector.detect(input);
-		}
-	}
-
-	public class HoughFoot extends PerformerBase {
+	GrayF32 input;
 
-		DetectLine<T> detector =
-				FactoryDetectLineAlgs.houghFoot(new ConfigHoughFoot(3, 10, 5, edgeThreshold, maxLines), imageType, derivType);
+	DetectLine<GrayF32> houghPolar = FactoryDetectLineAlgs.houghPolar(
+			new ConfigHoughPolar(3, 30, 4, Math.PI / 180, edgeThreshold, maxLines), GrayF32.class, GrayF32.class);
+	DetectLine<GrayF32> houghFoot = FactoryDetectLineAlgs.houghFoot(
+			new ConfigHoughFoot(3, 10, 5, edgeThreshold, maxLines), GrayF32.class, GrayF32.class);
+	DetectLine<GrayF32> houghFootSub = FactoryDetectLineAlgs.houghFootSub(
+			new ConfigHoughFootSubimage(3, 6, 5, edgeThreshold, maxLines, 2, 2), GrayF32.class, GrayF32.class);
+	DetectLineSegment<GrayF32> lineRansac =
+			FactoryDetectLineAlgs.lineRansac(40, 30, 2.36, true, GrayF32.class, GrayF32.class);
 
-		@Override
-		public void process() {
-			detector.detect(input);
-		}
+	@Setup
+	public void setup() throws IOException {
+		BufferedImage image = ImageIO.read(new File(UtilIO.pathExample("lines_indoors.jpg")));
+		input = ConvertBufferedImage.convertFrom(image, (GrayF32)null);
 	}
 
-	public class HoughFootSub extends PerformerBase {
-
-		DetectLine<T> detector =
-				FactoryDetectLineAlgs.houghFootSub(new ConfigHoughFootSubimage(3, 6, 5, edgeThreshold, maxLines, 2, 2), imageType, derivType);
-
-		@Override
-		public void process() {
-			detector.detect(input);
-		}
+	@Benchmark
+	public void houghPolar() {
+		houghPolar.detect(input);
 	}
 
-	public class LineRansac extends PerformerBase {
-
-		DetectLineSegment<T> detector =
-				FactoryDetectLineAlgs.lineRansac(40, 30, 2.36, true, imageType, derivType);
-
-		@Override
-		public void process() {
-			detector.detect(input);
-		}
+	@Benchmark
+	public void houghFoot() {
+		houghFoot.detect(input);
 	}
 
-	public void benchmark( BufferedImage image ) {
-		input.reshape(image.getWidth(),image.getHeight());
-		ConvertBufferedImage.convertFromSingle(image, input, imageType);
-
-		ProfileOperation.printOpsPerSec(new HoughPolar(), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new HoughFoot(), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new HoughFootSub(), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new LineRansac(), TEST_TIME);
-		System.out.println("done");
+	@Benchmark
+	public void houghFootSub() {
+		houghFootSub.detect(input);
 	}
 
-	public static void main(String args[]) throws IOException {
-		BufferedImage image = ImageIO.read(new File(UtilIO.pathExample("lines_indoors.jpg")));
-//		BufferedImage image = UtilImageIO.loadImage(UtilIO.pathExample("lines_indoors.jpg");
-
-		System.out.println("=========  Profile Image Size " + image.getWidth() + " x " + image.getHeight()+ " ==========");
-		System.out.println();
-
-		BenchmarkDetectLines app = new BenchmarkDetectLines(GrayF32.class,GrayF32.class);
-		app.benchmark(image);
-
+	@Benchmark
+	public void lineRansac() {
+		lineRansac.detect(input);
 	}
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -19,79 +19,58 @@
 package boofcv.alg.feature.detect.template;
 
 import boofcv.alg.misc.GImageMiscOps;
-import boofcv.core.image.GeneralizedImageOps;
 import boofcv.factory.feature.detect.template.FactoryTemplateMatching;
 import boofcv.factory.feature.detect.template.TemplateScoreType;
-import boofcv.misc.Performer;
-import boofcv.misc.ProfileOperation;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.GrayU8;
-import boofcv.struct.image.ImageGray;
+import org.openjdk.jmh.annotations.*;
 
 import java.util.Random;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author Peter Abeles
  */
-public class BenchmarkTemplateIntensity<T extends ImageGray<T>> {
-
-	Random rand = new Random(234);
-	long TEST_TIME = 2000;
-
-	int width = 320;
-	int height = 240;
-
-	Class<T> imageType;
-	T image;
-	T template;
-
-	public BenchmarkTemplateIntensity(Class<T> imageType) {
-		this.imageType = imageType;
-		image = GeneralizedImageOps.createSingleBand(imageType,width,height);
-		template = GeneralizedImageOps.createSingleBand(imageType,20,30);
-
-		GImageMiscOps.fillUniform(image, rand, 0, 200);
-		GImageMiscOps.fillUniform(template, rand, 0, 200);
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value=1)
+public class BenchmarkTemplateIntensity {
+
+	@Param({"SUM_DIFF_SQ", "NCC"})
+	public TemplateScoreType type;
+
+	GrayU8 image_U8 = new GrayU8(320,240);
+	GrayU8 template_U8 = new GrayU8(20,30);
+	GrayF32 image_F32 = new GrayF32(320,240);
+	GrayF32 template_F32 = new GrayF32(20,30);
+
+	TemplateMatchingIntensity<GrayU8> alg_U8;
+	TemplateMatchingIntensity<GrayF32> alg_F32;
+
+	@Setup
+	public void setup() {
+		Random rand = new Random(234);
+		GImageMiscOps.fillUniform(image_U8, rand, 0, 200);
+		GImageMiscOps.fillUniform(template_U8, rand, 0, 200);
+		GImageMiscOps.fillUniform(image_F32, rand, 0, 200);
+		GImageMiscOps.fillUniform(template_F32, rand, 0, 200);
+
+		alg_U8 = FactoryTemplateMatching.createIntensity(type,GrayU8.class);
+		alg_F32 = FactoryTemplateMatching.createIntensity(type,GrayF32.class);
+		alg_U8.setInputImage(image_U8);
+		alg_F32.setInputImage(image_F32);
 	}
 
-	public class TemplatePerformer implements Performer {
-
-		TemplateMatchingIntensity<T> alg;
-		String name;
-
-		public TemplatePerformer(TemplateScoreType type) {
-			this.alg = FactoryTemplateMatching.createIntensity(type,imageType);
-			this.name = type.toString();
-		}
-
-		@Override
-		public void process() {
-			alg.process(image,template);
-		}
-
-		@Override
-		public String getName() {
-			return name;
-		}
-	}
-
-	public void evaluateAll() {
-		System.out.println("=========  Profile Image Size " + width + " x " + height + " ========== "+imageType.getSimpleName());
-		System.out.println();
-
-		ProfileOperation.printOpsPerSec(new TemplatePerformer(TemplateScoreType.SUM_DIFF_SQ), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new TemplatePerformer(TemplateScoreType.NCC), TEST_TIME);
+	@Benchmark
+	public void template_U8() {
+		alg_U8.process(template_U8);
 	}
 
-	public static void main( String args[] ) {
-		BenchmarkTemplateIntensity<GrayU8>
-				benchmark_U8 = new BenchmarkTemplateIntensity<>(GrayU8.class);
-
-		benchmark_U8.evaluateAll();
-
-		BenchmarkTemplateIntensity<GrayF32>
-				benchmark_F32 = new BenchmarkTemplateIntensity<>(GrayF32.class);
-
-		benchmark_F32.evaluateAll();
+	@Benchmark
+	public void template_F32() {
+		alg_F32.process(template_F32);
 	}
 }
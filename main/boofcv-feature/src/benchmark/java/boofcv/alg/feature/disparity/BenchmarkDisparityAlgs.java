@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -16,125 +16,154 @@
  * limitations under the License.
  */
 
+
 package boofcv.alg.feature.disparity;
 
 import boofcv.alg.feature.disparity.impl.*;
+import boofcv.alg.feature.disparity.sgm.*;
 import boofcv.alg.misc.GImageMiscOps;
+import boofcv.alg.transform.census.CensusTransform;
 import boofcv.core.image.GConvertImage;
-import boofcv.misc.PerformerBase;
-import boofcv.misc.ProfileOperation;
 import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayS64;
 import boofcv.struct.image.GrayU8;
+import org.openjdk.jmh.annotations.*;
 
 import java.util.Random;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author Peter Abeles
  */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value=1)
 public class BenchmarkDisparityAlgs {
-	static final long TEST_TIME = 1000;
-	static final Random rand = new Random(234234);
-
-	static final int width=640;
-	static final int height=480;
 	static final int min=0;
-	static final int max=20;
 	static final int radiusX=2;
 	static final int radiusY=2;
 
-	static final GrayU8 left = new GrayU8(width,height);
-	static final GrayU8 right = new GrayU8(width,height);
-
-	static final GrayF32 left_F32 = new GrayF32(width,height);
-	static final GrayF32 right_F32 = new GrayF32(width,height);
-
-	static final GrayU8 outU8 = new GrayU8(width,height);
-	static final GrayF32 out_F32 = new GrayF32(width,height);
+	@Param({"640"})
+	public int width;
+
+	@Param({"20", "60"})
+	public int max;
+
+	GrayU8 left = new GrayU8(1,1);
+	GrayU8 right = new GrayU8(1,1);
+
+	GrayF32 left_F32 = new GrayF32(1,1);
+	GrayF32 right_F32 = new GrayF32(1,1);
+
+	GrayS64 censusLeft = new GrayS64(1,1);
+	GrayS64 censusRight = new GrayS64(1,1);
+
+	GrayU8 outU8 = new GrayU8(1,1);
+	GrayF32 out_F32 = new GrayF32(1,1);
+
+	StereoDisparityWtoNaive<GrayU8> naive;
+	ImplDisparityScoreSadRect_U8<GrayU8> sad_U8;
+	DisparityScoreRowFormat_MT<GrayU8,GrayU8> sad_U8_MT;
+	ImplDisparityScoreSadRect_F32<GrayU8> sad_F32;
+	ImplDisparityScoreSadRect_U8<GrayF32> sadSubpixel;
+	ImplDisparityScoreSadRectFive_U8<GrayU8> sadFive_U8;
+	ImplDisparityScoreHammingRect_S64<GrayU8> hamming_S64;
+	DisparityScoreCoarseToFine<GrayU8,GrayU8> coarseToFine_U8;
+	SgmStereoDisparity<GrayU8> sgmCensus;
+	SgmStereoDisparity<GrayU8> sgmCensus_MT;
+
+	@Setup
+	public void setup() {
+		Random rand = new Random(234234);
+		int height = width*3/4;
+
+		left.reshape(width,height);
+		right.reshape(width,height);
+		left_F32.reshape(width,height);
+		right_F32.reshape(width,height);
+		outU8.reshape(width,height);
+		out_F32.reshape(width,height);
+		censusLeft.reshape(width,height);
+		censusRight.reshape(width,height);
 
-	public static class Naive extends PerformerBase {
-
-		StereoDisparityWtoNaive<GrayU8> alg =
-				new StereoDisparityWtoNaive<>(0, max, radiusX, radiusY);
-
-		@Override
-		public void process() {
-			alg.process(left,right,out_F32);
-		}
+		GImageMiscOps.fillUniform(left, rand, 0, 30);
+		GImageMiscOps.fillUniform(right, rand, 0, 30);
+		GConvertImage.convert(left, left_F32);
+		GConvertImage.convert(right,right_F32);
+		CensusTransform.sample_S64(left,CensusTransform.createBlockSamples(3),censusLeft);
+		CensusTransform.sample_S64(right,CensusTransform.createBlockSamples(3),censusRight);
+
+		naive = new StereoDisparityWtoNaive<>(0, max, radiusX, radiusY);
+		sad_U8 = new ImplDisparityScoreSadRect_U8<>(min,max,radiusX,radiusY,
+				new ImplSelectRectStandard_S32_U8(250,2,0.1));
+		sad_U8_MT = new DisparityScoreRowFormat_MT<>(()->new ImplDisparityScoreSadRect_U8<>(min,max,radiusX,radiusY,
+				new ImplSelectRectStandard_S32_U8(250,2,0.1)));
+		sad_F32 = new ImplDisparityScoreSadRect_F32<>(min,max,radiusX,radiusY,
+				new ImplSelectRectStandard_F32_U8(250,2,0.1));
+		sadSubpixel = new ImplDisparityScoreSadRect_U8<>(min,max,radiusX,radiusY,
+				new SelectRectSubpixel.S32_F32(250,2,0.1));
+		sadFive_U8 = new ImplDisparityScoreSadRectFive_U8<>(min,max,radiusX,radiusY,
+				new ImplSelectRectStandard_S32_U8(250,2,0.1));
+		hamming_S64 = new ImplDisparityScoreHammingRect_S64<>(min,max,radiusX,radiusY,
+				new ImplSelectRectStandard_S32_U8(250,2,0.1));
+		coarseToFine_U8 = new DisparityScoreCoarseToFine<>(
+				new ImplDisparityScoreSadRect_U8<>(min,max,radiusX,radiusY,new ImplSelectRectStandard_S32_U8(250,2,0.1)),
+				new ImplDisparityScoreSadRect_U8<>(min,max,radiusX,radiusY,new ImplSelectRectStandard_S32_U8(250,2,0.1)),
+				1,2,4);
+		sgmCensus = new SgmStereoDisparity<>(new SgmCostCensus_U8(),new SgmCostAggregation(),min,max);
+		sgmCensus_MT = new SgmStereoDisparity_MT<>(new SgmCostCensus_U8(),min,max);
 	}
 
-	public static class EfficientSad_U8 extends PerformerBase {
-
-//		DisparitySelect<int[],GrayU8> compDisp =
-//				new ImplSelectRectBasicWta_S32_U8();
-		DisparitySelect<int[],GrayU8> compDisp =
-				new ImplSelectRectStandard_S32_U8(250,2,0.1);
-		ImplDisparityScoreSadRect_U8<GrayU8> alg =
-				new ImplDisparityScoreSadRect_U8<>(min,max,radiusX,radiusY,compDisp);
-
-		@Override
-		public void process() {
-			alg.process(left,right, outU8);
-		}
+	@Benchmark
+	public void efficientSad_U8() {
+		sad_U8.process(left,right, outU8);
 	}
 
-	public static class EfficientSad_F32 extends PerformerBase {
-
-		//		DisparitySelect<int[],GrayU8> compDisp =
-//				new ImplSelectRectBasicWta_S32_U8();
-		DisparitySelect<float[],GrayU8> compDisp =
-				new ImplSelectRectStandard_F32_U8(250,2,0.1);
-		ImplDisparityScoreSadRect_F32<GrayU8> alg =
-				new ImplDisparityScoreSadRect_F32<>(min,max,radiusX,radiusY,compDisp);
-
-		@Override
-		public void process() {
-			alg.process(left_F32,right_F32, outU8);
-		}
+	@Benchmark
+	public void efficientSad_U8_MT() {
+		sad_U8_MT.process(left,right, outU8);
 	}
 
-	public static class EfficientSubpixelSad extends PerformerBase {
-
-		DisparitySelect<int[],GrayF32> compDisp =
-				new SelectRectSubpixel.S32_F32(250,2,0.1);
-		ImplDisparityScoreSadRect_U8<GrayF32> alg =
-				new ImplDisparityScoreSadRect_U8<>(min,max,radiusX,radiusY,compDisp);
-
-		@Override
-		public void process() {
-			alg.process(left,right, out_F32);
-		}
+	@Benchmark
+	public void efficientSadFive_U8() {
+		sadFive_U8.process(left,right, outU8);
 	}
 
-	public static class EfficientSadFive_U8 extends PerformerBase {
+	@Benchmark
+	public void efficientSad_F32() {
+		sad_F32.process(left_F32,right_F32, outU8);
+	}
 
-		//		DisparitySelect<int[],GrayU8> compDisp =
-//				new ImplSelectRectBasicWta_S32_U8();
-		DisparitySelect<int[],GrayU8> compDisp =
-				new ImplSelectRectStandard_S32_U8(250,2,0.1);
-		ImplDisparityScoreSadRectFive_U8<GrayU8> alg =
-				new ImplDisparityScoreSadRectFive_U8<>(min,max,radiusX,radiusY,compDisp);
+	@Benchmark
+	public void efficientSubpixelSad() {
+		sadSubpixel.process(left,right, out_F32);
+	}
 
-		@Override
-		public void process() {
-			alg.process(left,right, outU8);
-		}
+	@Benchmark
+	public void efficientHamming_S64() {
+		hamming_S64.process(censusLeft,censusRight, outU8);
 	}
 
-	public static void main( String argsp[ ] ) {
-		System.out.println("=========  Image Size "+ width +" "+height+"  disparity "+max);
-		System.out.println();
+	@Benchmark
+	public void coarseToFine_U8() {
+		coarseToFine_U8.process(left,right, outU8);
+	}
 
-		GImageMiscOps.fillUniform(left, rand, 0, 30);
-		GImageMiscOps.fillUniform(right, rand, 0, 30);
-		GConvertImage.convert(left, left_F32);
-		GConvertImage.convert(right,right_F32);
+	@Benchmark
+	public void sgmCensus() {
+		sgmCensus.process(left,right, outU8);
+	}
 
-		// the "fastest" seems to always be the first one tested
-		ProfileOperation.printOpsPerSec(new EfficientSad_U8(),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new EfficientSadFive_U8(),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new EfficientSad_F32(),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new EfficientSubpixelSad(),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new Naive(), TEST_TIME);
+	@Benchmark
+	public void sgmCensus_MT() {
+		sgmCensus_MT.process(left,right, outU8);
+	}
 
+	@Benchmark
+	public void naive() {
+		naive.process(left,right,out_F32);
 	}
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -22,28 +22,27 @@ import boofcv.abst.feature.orientation.*;
 import boofcv.abst.filter.derivative.ImageGradient;
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.alg.transform.ii.GIntegralImageOps;
-import boofcv.core.image.GeneralizedImageOps;
 import boofcv.factory.feature.orientation.FactoryOrientation;
+import boofcv.factory.feature.orientation.FactoryOrientationAlgs;
 import boofcv.factory.filter.derivative.FactoryDerivative;
-import boofcv.misc.Performer;
-import boofcv.misc.ProfileOperation;
 import boofcv.struct.image.GrayF32;
-import boofcv.struct.image.GrayS32;
-import boofcv.struct.image.ImageGray;
 import georegression.struct.point.Point2D_I32;
+import org.openjdk.jmh.annotations.*;
 
 import java.util.Random;
-
-import static boofcv.factory.feature.orientation.FactoryOrientationAlgs.*;
-
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author Peter Abeles
  */
-public class BenchmarkOrientation<I extends ImageGray<I>, D extends ImageGray<D>> {
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value=1)
+public class BenchmarkOrientation {
 
-	static final long TEST_TIME = 1000;
-	static Random rand = new Random(234234);
 	static int NUM_POINTS = 1000;
 	static int RADIUS = 6;
 	static double OBJECt_TO_SCALE = 1.0/2.0;
@@ -51,33 +50,37 @@ public class BenchmarkOrientation<I extends ImageGray<I>, D extends ImageGray<D>
 	final static int width = 640;
 	final static int height = 480;
 
-	I image;
-	D derivX;
-	D derivY;
-	ImageGray ii;
+	GrayF32 image = new GrayF32(width,height);
+	GrayF32 derivX = new GrayF32(width,height);
+	GrayF32 derivY = new GrayF32(width,height);
+	GrayF32 ii = new GrayF32(width,height);
 
 	Point2D_I32 pts[];
 	double radiuses[];
 
-	Class<I> imageType;
-	Class<D> derivType;
-
-	public BenchmarkOrientation( Class<I> imageType , Class<D> derivType ) {
-
-		this.imageType = imageType;
-		this.derivType = derivType;
-
-		Class integralType = GrayF32.class == imageType ? GrayF32.class : GrayS32.class;
-
-		image = GeneralizedImageOps.createSingleBand(imageType, width, height);
-		ii = GeneralizedImageOps.createSingleBand(integralType, width, height);
-		derivX = GeneralizedImageOps.createSingleBand(derivType, width, height);
-		derivY = GeneralizedImageOps.createSingleBand(derivType, width, height);
+	OrientationImage<GrayF32> sift = FactoryOrientation.sift(null,null,GrayF32.class);
+	OrientationImage<GrayF32> noGradient = FactoryOrientationAlgs.nogradient(OBJECt_TO_SCALE,RADIUS,GrayF32.class);
+	OrientationGradient<GrayF32> average = FactoryOrientationAlgs.average(OBJECt_TO_SCALE,RADIUS,false,GrayF32.class);
+	OrientationGradient<GrayF32> averageW = FactoryOrientationAlgs.average(OBJECt_TO_SCALE,RADIUS, true, GrayF32.class);
+	OrientationGradient<GrayF32> histogram = FactoryOrientationAlgs.histogram(0.5,15, RADIUS, false, GrayF32.class);
+	OrientationGradient<GrayF32> histogramW = FactoryOrientationAlgs.histogram(0.5,15, RADIUS, true, GrayF32.class);
+	OrientationGradient<GrayF32> slidingG = FactoryOrientationAlgs.sliding(OBJECt_TO_SCALE,15, Math.PI / 3.0, RADIUS, false, GrayF32.class);
+	OrientationGradient<GrayF32> slidingW = FactoryOrientationAlgs.sliding(OBJECt_TO_SCALE,15, Math.PI / 3.0, RADIUS, true, GrayF32.class);
+	OrientationIntegral<GrayF32> imageII = FactoryOrientationAlgs.image_ii(1.0/2.0,RADIUS, 1, 4, 0, GrayF32.class);
+	OrientationIntegral<GrayF32> imageIIW = FactoryOrientationAlgs.image_ii(1.0/2.0,RADIUS, 1, 4, -1, GrayF32.class);
+	OrientationIntegral<GrayF32> averageII = FactoryOrientationAlgs.average_ii(null, GrayF32.class);
+	OrientationIntegral<GrayF32> averageIIW;
+	OrientationIntegral<GrayF32> slidingII = FactoryOrientationAlgs.sliding_ii(null, GrayF32.class);
+	OrientationIntegral<GrayF32> slidingIIW;
+
+	@Setup
+	public void setup() {
+		Random rand = new Random(234234);
 
 		GImageMiscOps.fillUniform(image, rand, 0, 100);
 		GIntegralImageOps.transform(image,ii);
 
-		ImageGradient<I,D> gradient = FactoryDerivative.sobel(imageType,derivType);
+		ImageGradient<GrayF32,GrayF32> gradient = FactoryDerivative.sobel(GrayF32.class,GrayF32.class);
 		gradient.process(image,derivX,derivY);
 
 		pts = new Point2D_I32[NUM_POINTS];
@@ -90,116 +93,110 @@ public class BenchmarkOrientation<I extends ImageGray<I>, D extends ImageGray<D>
 			radiuses[i] = rand.nextDouble()*100+10;
 		}
 
-	}
+		ConfigAverageIntegral confAverageIIW = new ConfigAverageIntegral();
+		confAverageIIW.weightSigma = -1;
+		ConfigSlidingIntegral confSlidingIIW = new ConfigSlidingIntegral();
+		confSlidingIIW.weightSigma = -1;
 
-	public class Gradient implements Performer {
+		averageIIW = FactoryOrientationAlgs.average_ii(confAverageIIW, GrayF32.class);
+		slidingIIW = FactoryOrientationAlgs.sliding_ii(confSlidingIIW, GrayF32.class);
+	}
 
-		OrientationGradient<D> alg;
-		String name;
+	@Benchmark
+	public void sift() {
+		image(sift);
+	}
 
-		public Gradient(String name, OrientationGradient<D> alg) {
-			this.alg = alg;
-			this.name = name;
-		}
+	@Benchmark
+	public void noGradient() {
+		image(noGradient);
+	}
 
-		@Override
-		public void process() {
-			alg.setImage(derivX,derivY);
-			for( int i = 0; i < pts.length; i++ ) {
-				Point2D_I32 p = pts[i];
-				alg.setObjectRadius(radiuses[i]);
-				alg.compute(p.x,p.y);
-			}
-		}
+	@Benchmark
+	public void average() {
+		gradient(average);
+	}
 
-		@Override
-		public String getName() {
-			return name;
-		}
+	@Benchmark
+	public void averageW() {
+		gradient(averageW);
 	}
 
-	public class Image implements Performer {
+	@Benchmark
+	public void histogram() {
+		gradient(histogram);
+	}
 
-		OrientationImage alg;
-		String name;
+	@Benchmark
+	public void histogramW() {
+		gradient(histogramW);
+	}
 
-		public Image(String name, OrientationImage alg) {
-			this.alg = alg;
-			this.name = name;
-		}
+	@Benchmark
+	public void sliding() {
+		gradient(slidingG);
+	}
 
-		@Override
-		public void process() {
-			alg.setImage(image);
-			for( int i = 0; i < pts.length; i++ ) {
-				Point2D_I32 p = pts[i];
-				alg.setObjectRadius(radiuses[i]);
-				alg.compute(p.x,p.y);
-			}
-		}
+	@Benchmark
+	public void slidingW() {
+		gradient(slidingW);
+	}
 
-		@Override
-		public String getName() {
-			return name;
-		}
+	@Benchmark
+	public void imageII() {
+		integral(imageII);
 	}
 
-	public class Integral implements Performer {
+	@Benchmark
+	public void imageIIW() {
+		integral(imageIIW);
+	}
 
-		OrientationIntegral alg;
-		String name;
+	@Benchmark
+	public void averageII() {
+		integral(averageII);
+	}
 
-		public Integral(String name, OrientationIntegral alg) {
-			this.alg = alg;
-			this.name = name;
-		}
+	@Benchmark
+	public void averageIIW() {
+		integral(averageIIW);
+	}
 
-		@Override
-		public void process() {
-			alg.setImage(ii);
-			for( int i = 0; i < pts.length; i++ ) {
-				Point2D_I32 p = pts[i];
-				alg.setObjectRadius(radiuses[i]);
-				alg.compute(p.x,p.y);
-			}
-		}
+	@Benchmark
+	public void slidingII() {
+		integral(slidingII);
+	}
 
-		@Override
-		public String getName() {
-			return name;
-		}
+	@Benchmark
+	public void slidingIIW() {
+		integral(slidingIIW);
 	}
 
-	public void perform() {
-		System.out.println("=========  Profile Image Size " + width + " x " + height + " ========== "+imageType.getSimpleName());
-		System.out.println();
 
+	private void gradient( OrientationGradient<GrayF32> alg ) {
+		alg.setImage(derivX,derivY);
+		for( int i = 0; i < pts.length; i++ ) {
+			Point2D_I32 p = pts[i];
+			alg.setObjectRadius(radiuses[i]);
+			alg.compute(p.x,p.y);
+		}
+	}
 
-		ConfigAverageIntegral confAverageIIW = new ConfigAverageIntegral();
-		confAverageIIW.weightSigma = -1;
-		ConfigSlidingIntegral confSlidingIIW = new ConfigSlidingIntegral();
-		confSlidingIIW.weightSigma = -1;
+	private void image( OrientationImage<GrayF32> alg ) {
+		alg.setImage(image);
+		for( int i = 0; i < pts.length; i++ ) {
+			Point2D_I32 p = pts[i];
+			alg.setObjectRadius(radiuses[i]);
+			alg.compute(p.x,p.y);
+		}
+	}
 
-		ProfileOperation.printOpsPerSec(new Image("SIFT", FactoryOrientation.sift(null,null,imageType)), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new Image("No Gradient", nogradient(OBJECt_TO_SCALE,RADIUS,imageType)), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new Gradient("Average", average(OBJECt_TO_SCALE,RADIUS,false,derivType)), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new Gradient("Average W", average(OBJECt_TO_SCALE,RADIUS, true, derivType)), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new Gradient("Histogram", histogram(0.5,15, RADIUS, false, derivType)), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new Gradient("Histogram W", histogram(0.5,15, RADIUS, true, derivType)), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new Gradient("Sliding", sliding(OBJECt_TO_SCALE,15, Math.PI / 3.0, RADIUS, false, derivType)), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new Gradient("Sliding W", sliding(OBJECt_TO_SCALE,15, Math.PI / 3.0, RADIUS, true, derivType)), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new Integral("Image II", image_ii(1.0/2.0,RADIUS, 1, 4, 0, imageType)), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new Integral("Image II W", image_ii(1.0/2.0,RADIUS, 1, 4, -1, imageType)), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new Integral("Average II", average_ii(null, imageType)), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new Integral("Average II W", average_ii(confAverageIIW, imageType)), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new Integral("Sliding II", sliding_ii(null, imageType)), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new Integral("Sliding II W", sliding_ii(confSlidingIIW, imageType)), TEST_TIME);
-	}
-
-	public static void main( String argsp[ ] ) {
-		BenchmarkOrientation<GrayF32,GrayF32> alg = new BenchmarkOrientation<>(GrayF32.class, GrayF32.class);
-//		BenchmarkOrientation<GrayU8,GrayS16> alg = new BenchmarkOrientation<GrayU8,GrayS16>(GrayU8.class, GrayS16.class);
-
-		alg.perform();
+	private void integral( OrientationIntegral<GrayF32> alg ) {
+		alg.setImage(ii);
+		for( int i = 0; i < pts.length; i++ ) {
+			Point2D_I32 p = pts[i];
+			alg.setObjectRadius(radiuses[i]);
+			alg.compute(p.x,p.y);
+		}
 	}
 }
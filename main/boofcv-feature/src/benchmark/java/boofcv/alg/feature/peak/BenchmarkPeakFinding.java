@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -21,37 +21,50 @@ package boofcv.alg.feature.peak;
 import boofcv.alg.feature.detect.peak.MeanShiftPeak;
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.alg.weights.WeightPixelGaussian_F32;
+import boofcv.alg.weights.WeightPixelUniform_F32;
 import boofcv.alg.weights.WeightPixel_F32;
 import boofcv.core.image.GeneralizedImageOps;
-import boofcv.misc.PerformerBase;
-import boofcv.misc.ProfileOperation;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.GrayU8;
 import boofcv.struct.image.ImageGray;
 import georegression.struct.point.Point2D_F32;
+import org.openjdk.jmh.annotations.*;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author Peter Abeles
  */
-public class BenchmarkPeakFinding<T extends ImageGray<T>> {
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value=1)
+public class BenchmarkPeakFinding {
 
-	Random rand = new Random(234);
-	long TEST_TIME = 2000;
+	@Param({"U8", "F32"})
+	public String imageType;
 
 	int width = 320;
 	int height = 240;
+	int radius = 2;
 
-	T image;
-	Class<T> imageType;
+	ImageGray image;
 	List<Point2D_F32> locations = new ArrayList<>();
 
-	public BenchmarkPeakFinding( Class<T> imageType ) {
-		this.imageType = imageType;
-		image = GeneralizedImageOps.createSingleBand(imageType,width,height);
+	MeanShiftPeak gaussian;
+	MeanShiftPeak uniform;
+
+	@Setup
+	public void setup() {
+		Class<ImageGray> type = imageType.equals("U8") ? (Class)GrayU8.class : (Class)GrayF32.class;
+
+		Random rand = new Random(234);
+		image = GeneralizedImageOps.createSingleBand(type,width,height);
 		GImageMiscOps.fillUniform(image, rand, 0, 200);
 
 		for( int i = 0; i < 3000; i++ ) {
@@ -60,67 +73,32 @@ public class BenchmarkPeakFinding<T extends ImageGray<T>> {
 			p.y = rand.nextFloat()*height;
 			locations.add(p);
 		}
-	}
-
-	public class MeanShiftGaussian extends PerformerBase {
-
-		MeanShiftPeak alg;
-
-		public MeanShiftGaussian( int radius ) {
-			WeightPixel_F32 weight = new WeightPixelGaussian_F32();
-			this.alg = new MeanShiftPeak(30,0.1f,weight,imageType);
-			alg.setRadius(radius);
-		}
 
-		@Override
-		public void process() {
-			alg.setImage(image);
-			for( int i = 0; i < locations.size(); i++ ) {
-				Point2D_F32 p = locations.get(i);
-				alg.search(p.x,p.y);
-			}
-		}
+		gaussian = create(new WeightPixelGaussian_F32(), type);
+		uniform = create(new WeightPixelUniform_F32(), type);
 	}
 
-	public class MeanShiftUniform extends PerformerBase {
-
-		MeanShiftPeak alg;
-
-		public MeanShiftUniform( int radius ) {
-			WeightPixel_F32 weight = new WeightPixelGaussian_F32();
-			this.alg = new MeanShiftPeak(30,0.1f,weight,imageType);
-			alg.setRadius(radius);
-		}
-
-		@Override
-		public void process() {
-			alg.setImage(image);
-			for( int i = 0; i < locations.size(); i++ ) {
-				Point2D_F32 p = locations.get(i);
-				alg.search(p.x,p.y);
-			}
-		}
+	private MeanShiftPeak create( WeightPixel_F32 weight , Class<ImageGray> type ) {
+		MeanShiftPeak alg = new MeanShiftPeak(30,0.1f,weight,type);
+		alg.setRadius(radius);
+		alg.setImage(image);
+		return alg;
 	}
 
-	public void evaluateAll() {
-		System.out.println("=========  Profile Image Size " + width + " x " + height + " ========== "+imageType.getSimpleName());
-		System.out.println();
-
-		int radius = 2;
-
-		ProfileOperation.printOpsPerSec(new MeanShiftGaussian(radius), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new MeanShiftUniform(radius), TEST_TIME);
+	@Benchmark
+	public void meanShiftGaussian() {
+		search(gaussian);
 	}
 
-	public static void main( String args[] ) {
-		BenchmarkPeakFinding<GrayU8>
-				benchmark_U8 = new BenchmarkPeakFinding<>(GrayU8.class);
-
-		benchmark_U8.evaluateAll();
-
-		BenchmarkPeakFinding<GrayF32>
-				benchmark_F32 = new BenchmarkPeakFinding<>(GrayF32.class);
+	@Benchmark
+	public void meanShiftUniform() {
+		search(uniform);
+	}
 
-		benchmark_F32.evaluateAll();
+	private void search( MeanShiftPeak alg ) {
+		for( int i = 0; i < locations.size(); i++ ) {
+			Point2D_F32 p = locations.get(i);
+			alg.search(p.x,p.y);
+		}
 	}
 }
@@ -178,6 +178,16 @@ public class GenerateImplSsdCorner extends CodeGeneratorBase  {
 	}
 
 	public void printVertical() {
+		if( sumType.equals("float") )
+			printVerticalFloat();
+		else
+			printVerticalInteger();
+	}
+
+	/**
+	 * Integer sums are exact so the sum along the y-axis can be updated as the window slides
+	 */
+	public void printVerticalInteger() {
 		out.print("\t/**\n" +
 				"\t * Compute the derivative sum along the y-axis while taking advantage of duplicate\n" +
 				"\t * calculations for each window and avoiding cache misses. Then compute the eigen values\n" +
@@ -241,6 +251,82 @@ public class GenerateImplSsdCorner extends CodeGeneratorBase  {
 				"\t}\n");
 	}
 
+	/**
+	 * A sliding floating point sum depends on which row it started at. The sum is restarted every
+	 * {@link ImplSsdCornerBase#SUM_RESTART_ROWS} rows so that the intensity is identical when the image is
+	 * processed in bands of rows which start on one of those rows.
+	 */
+	public void printVerticalFloat() {
+		out.print("\t/**\n" +
+				"\t * Compute the derivative sum along the y-axis while taking advantage of duplicate\n" +
+				"\t * calculations for each window and avoiding cache misses. Then compute the eigen values.\n" +
+				"\t *\n" +
+				"\t * A sliding floating point sum depends on which row it started at, so the sum is restarted every\n" +
+				"\t * {@link ImplSsdCornerBase#SUM_RESTART_ROWS} rows counting from the top of the image. The intensity is then\n" +
+				"\t * identical when the image is processed in bands which start on one of those rows.\n" +
+				"\t */\n" +
+				"\t@Override\n" +
+				"\tprotected void vertical( GrayF32 intensity ) {\n" +
+				"\t\tfloat[] hXX = horizXX.data;\n" +
+				"\t\tfloat[] hXY = horizXY.data;\n" +
+				"\t\tfloat[] hYY = horizYY.data;\n" +
+				"\t\tfinal float[] inten = intensity.data;\n" +
+				"\n" +
+				"\t\tfinal int imgHeight = horizXX.getHeight();\n" +
+				"\t\tfinal int imgWidth = horizXX.getWidth();\n" +
+				"\n" +
+				"\t\tfinal int kernelWidth = radius * 2 + 1;\n" +
+				"\n" +
+				"\t\tfinal int startX = radius;\n" +
+				"\t\tfinal int endX = imgWidth - radius;\n" +
+				"\n" +
+				"\t\tfinal int backStep = kernelWidth * imgWidth;\n" +
+				"\n" +
+				"\t\tfor (y = radius; y < imgHeight - radius; y++) {\n" +
+				"\t\t\tint destIndex = y * imgWidth + startX;\n" +
+				"\n" +
+				"\t\t\tif( (y - radius) % SUM_RESTART_ROWS == 0 ) {\n" +
+				"\t\t\t\t// sum the whole window one row at a time to avoid cache misses\n" +
+				"\t\t\t\tint srcIndex = (y - radius) * imgWidth;\n" +
+				"\t\t\t\tfor (int j = startX; j < endX; j++) {\n" +
+				"\t\t\t\t\ttempXX[j] = hXX[srcIndex + j];\n" +
+				"\t\t\t\t\ttempXY[j] = hXY[srcIndex + j];\n" +
+				"\t\t\t\t\ttempYY[j] = hYY[srcIndex + j];\n" +
+				"\t\t\t\t}\n" +
+				"\t\t\t\tfor (int i = 1; i < kernelWidth; i++) {\n" +
+				"\t\t\t\t\tsrcIndex += imgWidth;\n" +
+				"\t\t\t\t\tfor (int j = startX; j < endX; j++) {\n" +
+				"\t\t\t\t\t\ttempXX[j] += hXX[srcIndex + j];\n" +
+				"\t\t\t\t\t\ttempXY[j] += hXY[srcIndex + j];\n" +
+				"\t\t\t\t\t\ttempYY[j] += hYY[srcIndex + j];\n" +
+				"\t\t\t\t\t}\n" +
+				"\t\t\t\t}\n" +
+				"\n" +
+				"\t\t\t\tfor (x = startX; x < endX; x++, destIndex++) {\n" +
+				"\t\t\t\t\ttotalXX = tempXX[x];\n" +
+				"\t\t\t\t\ttotalXY = tempXY[x];\n" +
+				"\t\t\t\t\ttotalYY = tempYY[x];\n" +
+				"\n" +
+				"\t\t\t\t\tinten[destIndex] = computeIntensity();\n" +
+				"\t\t\t\t}\n" +
+				"\t\t\t} else {\n" +
+				"\t\t\t\tint srcIndex = (y + radius) * imgWidth + startX;\n" +
+				"\n" +
+				"\t\t\t\tfor (x = startX; x < endX; x++, srcIndex++, destIndex++) {\n" +
+				"\t\t\t\t\ttotalXX = tempXX[x] - hXX[srcIndex - backStep];\n" +
+				"\t\t\t\t\ttempXX[x] = totalXX += hXX[srcIndex];\n" +
+				"\t\t\t\t\ttotalXY = tempXY[x] - hXY[srcIndex - backStep];\n" +
+				"\t\t\t\t\ttempXY[x] = totalXY += hXY[srcIndex];\n" +
+				"\t\t\t\t\ttotalYY = tempYY[x] - hYY[srcIndex - backStep];\n" +
+				"\t\t\t\t\ttempYY[x] = totalYY += hYY[srcIndex];\n" +
+				"\n" +
+				"\t\t\t\t\tinten[destIndex] = computeIntensity();\n" +
+				"\t\t\t\t}\n" +
+				"\t\t\t}\n" +
+				"\t\t}\n" +
+				"\t}\n");
+	}
+
 	public static void main( String args[] ) throws FileNotFoundException {
 		GenerateImplSsdCorner gen = new GenerateImplSsdCorner();
 
@@ -108,7 +108,7 @@ public class GenerateDisparityScoreSadRect extends CodeGeneratorBase {
 	private void printProcess() {
 		out.print("\t@Override\n" +
 				"\tpublic void _process( "+typeInput+" left , "+typeInput+" right , Disparity disparity ) {\n" +
-				"\t\tif( horizontalScore == null || verticalScore.length < lengthHorizontal ) {\n" +
+				"\t\tif( horizontalScore == null || verticalScore.length < lengthHorizontal || elementScore.length < left.width ) {\n" +
 				"\t\t\thorizontalScore = new "+sumType+"[regionHeight][lengthHorizontal];\n" +
 				"\t\t\tverticalScore = new "+sumType+"[lengthHorizontal];\n" +
 				"\t\t\telementScore = new "+sumType+"[ left.width ];\n" +
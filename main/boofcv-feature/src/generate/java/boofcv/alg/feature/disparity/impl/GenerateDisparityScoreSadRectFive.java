@@ -107,7 +107,7 @@ public class GenerateDisparityScoreSadRectFive extends CodeGeneratorBase {
 	private void printProcess() {
 		out.print("\t@Override\n" +
 				"\tpublic void _process( "+typeInput+" left , "+typeInput+" right , Disparity disparity ) {\n" +
-				"\t\tif( horizontalScore == null || verticalScore.length < lengthHorizontal ) {\n" +
+				"\t\tif( horizontalScore == null || fiveScore.length < lengthHorizontal || elementScore.length < left.width ) {\n" +
 				"\t\t\thorizontalScore = new "+sumType+"[regionHeight][lengthHorizontal];\n" +
 				"\t\t\tverticalScore = new "+sumType+"[regionHeight][lengthHorizontal];\n" +
 				"\t\t\telementScore = new "+sumType+"[ left.width ];\n" +
@@ -92,7 +92,7 @@ public class GenerateDisparitySparseScoreSadRect extends CodeGeneratorBase {
 				"\t\tif( localMaxDisparity <= 0 || x >= left.width-radiusX || y < radiusY || y >= left.height-radiusY )\n" +
 				"\t\t\treturn false;\n" +
 				"\n" +
-				"\t\tArrays.fill(scores,0);\n" +
+				"\t\tArrays.fill(scores,0,localMaxDisparity,0);\n" +
 				"\n" +
 				"\t\t// sum up horizontal errors in the region\n" +
 				"\t\tfor( int row = 0; row < regionHeight; row++ ) {\n" +
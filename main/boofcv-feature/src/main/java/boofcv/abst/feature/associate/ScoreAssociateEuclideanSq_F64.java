@@ -20,6 +20,8 @@ package boofcv.abst.feature.associate;
 
 import boofcv.alg.descriptor.DescriptorDistance;
 import boofcv.struct.feature.MatchScoreType;
+import boofcv.struct.feature.PackedTupleArray;
+import boofcv.struct.feature.PackedTupleArray_F64;
 import boofcv.struct.feature.TupleDesc_F64;
 
 
@@ -36,6 +38,16 @@ public class ScoreAssociateEuclideanSq_F64 implements ScoreAssociation<TupleDesc
 		return DescriptorDistance.euclideanSq(a, b);
 	}
 
+	@Override
+	public double score(PackedTupleArray<TupleDesc_F64> a, int indexA, PackedTupleArray<TupleDesc_F64> b, int indexB) {
+		return DescriptorDistance.euclideanSq((PackedTupleArray_F64)a,indexA,(PackedTupleArray_F64)b,indexB);
+	}
+
+	@Override
+	public boolean isPackedNative() {
+		return true;
+	}
+
 	@Override
 	public MatchScoreType getScoreType() {
 		return MatchScoreType.NORM_ERROR;
@@ -20,6 +20,8 @@ package boofcv.abst.feature.associate;
 
 import boofcv.alg.descriptor.DescriptorDistance;
 import boofcv.struct.feature.MatchScoreType;
+import boofcv.struct.feature.PackedTupleArray;
+import boofcv.struct.feature.PackedTupleArray_B;
 import boofcv.struct.feature.TupleDesc_B;
 
 /**
@@ -35,6 +37,16 @@ public class ScoreAssociateHamming_B implements ScoreAssociation<TupleDesc_B>{
 		return DescriptorDistance.hamming(a,b);
 	}
 
+	@Override
+	public double score(PackedTupleArray<TupleDesc_B> a, int indexA, PackedTupleArray<TupleDesc_B> b, int indexB) {
+		return DescriptorDistance.hamming((PackedTupleArray_B)a,indexA,(PackedTupleArray_B)b,indexB);
+	}
+
+	@Override
+	public boolean isPackedNative() {
+		return true;
+	}
+
 	@Override
 	public MatchScoreType getScoreType() {
 		return MatchScoreType.NORM_ERROR;
@@ -20,6 +20,8 @@ package boofcv.abst.feature.associate;
 
 import boofcv.alg.descriptor.DescriptorDistance;
 import boofcv.struct.feature.MatchScoreType;
+import boofcv.struct.feature.PackedTupleArray;
+import boofcv.struct.feature.PackedTupleArray_F32;
 import boofcv.struct.feature.TupleDesc_F32;
 
 /**
@@ -34,6 +36,16 @@ public class ScoreAssociateSad_F32 implements ScoreAssociation<TupleDesc_F32>{
 		return DescriptorDistance.sad(a, b);
 	}
 
+	@Override
+	public double score(PackedTupleArray<TupleDesc_F32> a, int indexA, PackedTupleArray<TupleDesc_F32> b, int indexB) {
+		return DescriptorDistance.sad((PackedTupleArray_F32)a,indexA,(PackedTupleArray_F32)b,indexB);
+	}
+
+	@Override
+	public boolean isPackedNative() {
+		return true;
+	}
+
 	@Override
 	public MatchScoreType getScoreType() {
 		return MatchScoreType.NORM_ERROR;
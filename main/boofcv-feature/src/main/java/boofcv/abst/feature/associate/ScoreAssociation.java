@@ -19,6 +19,7 @@
 package boofcv.abst.feature.associate;
 
 import boofcv.struct.feature.MatchScoreType;
+import boofcv.struct.feature.PackedTupleArray;
 
 /**
  * Scores the fit quality between two feature descriptions.  A lower score always indicate a better match a larger one.
@@ -43,6 +44,36 @@ public interface ScoreAssociation<Desc> {
 	 */
 	public double score( Desc a , Desc b );
 
+	/**
+	 * Compute the fit score between two features which are stored in packed arrays. Implementations which
+	 * understand the array's internal format read the features directly from the array. Otherwise the features
+	 * are copied out of the arrays into newly created descriptions and scored with {@link #score(Object, Object)}.
+	 * To avoid creating new descriptions for every call use {@link ScorePackedCopy} instead.
+	 *
+	 * @see #isPackedNative()
+	 *
+	 * @param a Array containing the first feature
+	 * @param indexA Index of the first feature
+	 * @param b Array containing the second feature
+	 * @param indexB Index of the second feature
+	 * @return Quality of fit score.  Lower is better.
+	 */
+	default double score( PackedTupleArray<Desc> a , int indexA , PackedTupleArray<Desc> b , int indexB ) {
+		Desc descA = a.createDescription();
+		Desc descB = b.createDescription();
+		a.getCopy(indexA,descA);
+		b.getCopy(indexB,descB);
+		return score(descA,descB);
+	}
+
+	/**
+	 * True if {@link #score(PackedTupleArray, int, PackedTupleArray, int)} reads the features directly from
+	 * the packed arrays instead of copying them.
+	 */
+	default boolean isPackedNative() {
+		return false;
+	}
+
 	/**
 	 * Specifies the type of score which is returned.
 	 *
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.associate;
+
+import boofcv.struct.feature.PackedTupleArray;
+
+/**
+ * Scores features stored in {@link PackedTupleArray} using any {@link ScoreAssociation}. If the score can read
+ * packed arrays directly it's used as is, otherwise the two features are copied into work descriptions which are
+ * recycled between calls. Not thread safe, each thread should have its own instance.
+ *
+ * @param <Desc> Feature description type.
+ *
+ * @author Peter Abeles
+ */
+public class ScorePackedCopy<Desc> {
+	ScoreAssociation<Desc> score;
+
+	// storage for features copied out of the packed arrays
+	Desc workA;
+	Desc workB;
+
+	public ScorePackedCopy(ScoreAssociation<Desc> score) {
+		this.score = score;
+	}
+
+	/**
+	 * Computes the fit score between the two features.
+	 *
+	 * @see ScoreAssociation#score(PackedTupleArray, int, PackedTupleArray, int)
+	 */
+	public double score( PackedTupleArray<Desc> a , int indexA , PackedTupleArray<Desc> b , int indexB ) {
+		if( score.isPackedNative() )
+			return score.score(a,indexA,b,indexB);
+
+		if( workA == null ) {
+			workA = a.createDescription();
+			workB = b.createDescription();
+		}
+		a.getCopy(indexA,workA);
+		b.getCopy(indexB,workB);
+		return score.score(workA,workB);
+	}
+
+	public ScoreAssociation<Desc> getScore() {
+		return score;
+	}
+}
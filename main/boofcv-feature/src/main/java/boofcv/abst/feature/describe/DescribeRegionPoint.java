@@ -21,6 +21,12 @@ package boofcv.abst.feature.describe;
 import boofcv.struct.feature.TupleDesc;
 import boofcv.struct.image.ImageBase;
 import boofcv.struct.image.ImageType;
+import georegression.struct.point.Point2D_F64;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_B;
+import org.ddogleg.struct.GrowQueue_F64;
+
+import java.util.List;
 
 
 /**
@@ -55,6 +61,28 @@ public interface DescribeRegionPoint<T extends ImageBase<T>, Desc extends TupleD
 	 */
 	boolean process( double x , double y , double orientation , double radius , Desc description );
 
+	/**
+	 * Extracts descriptions for a batch of points.  The results are the same as calling
+	 * {@link #process(double, double, double, double, TupleDesc)} for each point, but implementations can avoid
+	 * per-point overhead and might process the points concurrently.
+	 *
+	 * @param locations Coordinate of each point.
+	 * @param orientations Orientation of each point in radians.  Must be the same size as locations.
+	 * @param radii Radius of each point in pixels.  Must be the same size as locations.
+	 * @param descriptions (output) Storage for the descriptions.  Is resized to the number of points and must declare
+	 *                     its own instances, e.g. created using {@link boofcv.alg.descriptor.UtilFeature#createQueue}.
+	 * @param success (output) If the description for the point at the same index was computed.
+	 */
+	default void process( List<Point2D_F64> locations , GrowQueue_F64 orientations , GrowQueue_F64 radii ,
+						  FastQueue<Desc> descriptions , GrowQueue_B success ) {
+		checkBatch(locations, orientations, radii, descriptions, success);
+
+		for (int i = 0; i < locations.size(); i++) {
+			Point2D_F64 p = locations.get(i);
+			success.data[i] = process(p.x, p.y, orientations.data[i], radii.data[i], descriptions.data[i]);
+		}
+	}
+
 	/**
 	 * If size information is used when computing the descriptor.
 	 *
@@ -88,4 +116,15 @@ public interface DescribeRegionPoint<T extends ImageBase<T>, Desc extends TupleD
 	 * @return width of descriptor at a scale of one
 	 */
 	double getCanonicalWidth();
+
+	/**
+	 * Makes sure the inputs to a batch are consistent and resizes the output to the number of points
+	 */
+	static void checkBatch( List<Point2D_F64> locations , GrowQueue_F64 orientations , GrowQueue_F64 radii ,
+							FastQueue<?> descriptions , GrowQueue_B success ) {
+		if( orientations.size != locations.size() || radii.size != locations.size() )
+			throw new IllegalArgumentException("Number of orientations and radii must match the number of locations");
+		descriptions.resize(locations.size());
+		success.resize(locations.size());
+	}
 }
@@ -21,12 +21,22 @@ package boofcv.abst.feature.describe;
 import boofcv.alg.feature.describe.DescribePointSift;
 import boofcv.alg.feature.detect.interest.SiftScaleSpace;
 import boofcv.alg.feature.detect.interest.UnrollSiftScaleSpaceGradient;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.WorkspacePool;
 import boofcv.core.image.GConvertImage;
 import boofcv.struct.BoofDefaults;
 import boofcv.struct.feature.TupleDesc_F64;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.ImageGray;
 import boofcv.struct.image.ImageType;
+import georegression.struct.point.Point2D_F64;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_B;
+import org.ddogleg.struct.GrowQueue_F64;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * Allows you to use SIFT features independent of the SIFT detector.  A SIFT scale-space is computed with all octaves
@@ -51,15 +61,38 @@ public class DescribeRegionPoint_SIFT <T extends ImageGray<T>>
 	// used as temporary storage for the input image if it needs to be converted
 	GrayF32 imageFloat = new GrayF32(1,1);
 
+	/**
+	 * Minimum number of points described by a thread when processing a batch concurrently
+	 */
+	public int minBatchSize = 20;
+
+	// algorithm used by each thread when processing a batch. If null batches are single threaded
+	@Nullable WorkspacePool<DescribePointSift<GrayF32>> workers;
+
+	/**
+	 * @param scaleSpace Computes the scale-space which the descriptor samples
+	 * @param describe Computes the descriptor
+	 * @param factory Creates an instance of the descriptor for each thread when a batch is processed concurrently.
+	 *                If null then batches are processed by a single thread.
+	 * @param imageType Type of input image
+	 */
 	public DescribeRegionPoint_SIFT(SiftScaleSpace scaleSpace,
 									DescribePointSift<GrayF32> describe,
+									@Nullable Supplier<DescribePointSift<GrayF32>> factory,
 									Class<T> imageType ) {
 		this.scaleSpace = new UnrollSiftScaleSpaceGradient(scaleSpace);
 		this.describe = describe;
+		this.workers = factory == null ? null : new WorkspacePool<>(factory);
 
 		this.imageType = ImageType.single(imageType);
 	}
 
+	public DescribeRegionPoint_SIFT(SiftScaleSpace scaleSpace,
+									DescribePointSift<GrayF32> describe,
+									Class<T> imageType ) {
+		this(scaleSpace,describe,null,imageType);
+	}
+
 	@Override
 	public void setImage(T image) {
 		GrayF32 input;
@@ -76,7 +109,41 @@ public class DescribeRegionPoint_SIFT <T extends ImageGray<T>>
 
 	@Override
 	public boolean process(double x, double y, double orientation, double radius, TupleDesc_F64 description) {
+		process(describe,x,y,orientation,radius,description);
+		return true;
+	}
+
+	/**
+	 * When concurrent, each thread has its own descriptor which samples the scale-space computed in
+	 * {@link #setImage}.
+	 */
+	@Override
+	public void process(List<Point2D_F64> locations, GrowQueue_F64 orientations, GrowQueue_F64 radii,
+						FastQueue<TupleDesc_F64> descriptions, GrowQueue_B success)
+	{
+		DescribeRegionPoint.checkBatch(locations, orientations, radii, descriptions, success);
+
+		if( BoofConcurrency.USE_CONCURRENT && workers != null ) {
+			BoofConcurrency.loopBlocks(0, locations.size(), minBatchSize, workers, (worker, idx0, idx1) -> {
+				process(worker, locations, orientations, radii, idx0, idx1, descriptions);
+			});
+		} else {
+			process(describe, locations, orientations, radii, 0, locations.size(), descriptions);
+		}
+		success.fill(true);
+	}
 
+	private void process( DescribePointSift<GrayF32> describe , List<Point2D_F64> locations ,
+						  GrowQueue_F64 orientations, GrowQueue_F64 radii, int idx0 , int idx1 ,
+						  FastQueue<TupleDesc_F64> descriptions ) {
+		for (int i = idx0; i < idx1; i++) {
+			Point2D_F64 p = locations.get(i);
+			process(describe, p.x, p.y, orientations.data[i], radii.data[i], descriptions.data[i]);
+		}
+	}
+
+	private void process( DescribePointSift<GrayF32> describe ,
+						  double x, double y, double orientation, double radius, TupleDesc_F64 description ) {
 		// get the blur sigma for the radius
 		double sigma = radius / BoofDefaults.SIFT_SCALE_TO_RADIUS;
 
@@ -87,8 +154,6 @@ public class DescribeRegionPoint_SIFT <T extends ImageGray<T>>
 		describe.setImageGradient(image.derivX,image.derivY);
 		describe.process(x/image.imageToInput,y/image.imageToInput,sigma/image.imageToInput,
 				orientation,description);
-
-		return true;
 	}
 
 	@Override
@@ -19,9 +19,16 @@
 package boofcv.abst.feature.describe;
 
 import boofcv.alg.feature.describe.DescribePointBrief;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.feature.TupleDesc_B;
 import boofcv.struct.image.ImageGray;
 import boofcv.struct.image.ImageType;
+import georegression.struct.point.Point2D_F64;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_B;
+import org.ddogleg.struct.GrowQueue_F64;
+
+import java.util.List;
 
 /**
  * @author Peter Abeles
@@ -32,6 +39,11 @@ public class WrapDescribeBrief<T extends ImageGray<T>> implements DescribeRegion
 	DescribePointBrief<T> alg;
 	ImageType<T> imageType;
 
+	/**
+	 * Minimum number of points described by a thread when processing a batch concurrently
+	 */
+	public int minBatchSize = 50;
+
 	public WrapDescribeBrief( DescribePointBrief<T> alg , Class<T> imageType) {
 		this.alg = alg;
 		this.length = alg.getDefinition().getLength();
@@ -54,6 +66,31 @@ public class WrapDescribeBrief<T extends ImageGray<T>> implements DescribeRegion
 		return true;
 	}
 
+	/**
+	 * Once the image has been set, sampling is read only, so a batch is split across threads without copies
+	 */
+	@Override
+	public void process(List<Point2D_F64> locations, GrowQueue_F64 orientations, GrowQueue_F64 radii,
+						FastQueue<TupleDesc_B> descriptions, GrowQueue_B success)
+	{
+		DescribeRegionPoint.checkBatch(locations, orientations, radii, descriptions, success);
+
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			BoofConcurrency.loopBlocks(0, locations.size(), minBatchSize, (idx0, idx1) ->
+					process(locations, idx0, idx1, descriptions));
+		} else {
+			process(locations, 0, locations.size(), descriptions);
+		}
+		success.fill(true);
+	}
+
+	private void process( List<Point2D_F64> locations , int idx0 , int idx1 , FastQueue<TupleDesc_B> descriptions ) {
+		for (int i = idx0; i < idx1; i++) {
+			Point2D_F64 p = locations.get(i);
+			alg.process(p.x, p.y, descriptions.data[i]);
+		}
+	}
+
 	@Override
 	public boolean requiresRadius() {
 		return false;
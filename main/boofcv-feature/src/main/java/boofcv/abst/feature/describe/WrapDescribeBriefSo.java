@@ -19,9 +19,19 @@
 package boofcv.abst.feature.describe;
 
 import boofcv.alg.feature.describe.DescribePointBriefSO;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.WorkspacePool;
 import boofcv.struct.feature.TupleDesc_B;
 import boofcv.struct.image.ImageGray;
 import boofcv.struct.image.ImageType;
+import georegression.struct.point.Point2D_F64;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_B;
+import org.ddogleg.struct.GrowQueue_F64;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * @author Peter Abeles
@@ -32,12 +42,32 @@ public class WrapDescribeBriefSo<T extends ImageGray<T>> implements DescribeRegi
 	DescribePointBriefSO<T> alg;
 	ImageType<T> imageType;
 
-	public WrapDescribeBriefSo(DescribePointBriefSO<T> alg , Class<T> imageType ) {
+	/**
+	 * Minimum number of points described by a thread when processing a batch concurrently
+	 */
+	public int minBatchSize = 50;
+
+	// algorithm used by each thread when processing a batch. If null batches are single threaded
+	@Nullable WorkspacePool<DescribePointBriefSO<T>> workers;
+
+	/**
+	 * @param alg Computes the descriptor
+	 * @param factory Creates an instance of the descriptor for each thread when a batch is processed concurrently.
+	 *                If null then batches are processed by a single thread.
+	 * @param imageType Type of input image
+	 */
+	public WrapDescribeBriefSo(DescribePointBriefSO<T> alg , @Nullable Supplier<DescribePointBriefSO<T>> factory ,
+							   Class<T> imageType ) {
 		this.alg = alg;
+		this.workers = factory == null ? null : new WorkspacePool<>(factory);
 		this.length = alg.getDefinition().getLength();
 		this.imageType = ImageType.single(imageType);
 	}
 
+	public WrapDescribeBriefSo(DescribePointBriefSO<T> alg , Class<T> imageType ) {
+		this(alg,null,imageType);
+	}
+
 	@Override
 	public TupleDesc_B createDescription() {
 		return new TupleDesc_B(length);
@@ -55,6 +85,38 @@ public class WrapDescribeBriefSo<T extends ImageGray<T>> implements DescribeRegi
 		return true;
 	}
 
+	/**
+	 * When concurrent, each thread has its own descriptor which samples the blurred image computed in
+	 * {@link #setImage}.
+	 */
+	@Override
+	public void process(List<Point2D_F64> locations, GrowQueue_F64 orientations, GrowQueue_F64 radii,
+						FastQueue<TupleDesc_B> descriptions, GrowQueue_B success)
+	{
+		DescribeRegionPoint.checkBatch(locations, orientations, radii, descriptions, success);
+
+		if( BoofConcurrency.USE_CONCURRENT && workers != null ) {
+			BoofConcurrency.loopBlocks(0, locations.size(), minBatchSize, workers, (worker, idx0, idx1) -> {
+				worker.setImageBlurred(alg.getImageBlurred());
+				process(worker, locations, orientations, radii, idx0, idx1, descriptions);
+			});
+		} else {
+			process(alg, locations, orientations, radii, 0, locations.size(), descriptions);
+		}
+		success.fill(true);
+	}
+
+	private static <T extends ImageGray<T>>
+	void process( DescribePointBriefSO<T> alg , List<Point2D_F64> locations ,
+				  GrowQueue_F64 orientations, GrowQueue_F64 radii, int idx0 , int idx1 ,
+				  FastQueue<TupleDesc_B> descriptions ) {
+		for (int i = idx0; i < idx1; i++) {
+			Point2D_F64 p = locations.get(i);
+			alg.process((float)p.x, (float)p.y, (float)orientations.data[i], (float)radii.data[i],
+					descriptions.data[i]);
+		}
+	}
+
 	@Override
 	public boolean requiresRadius() {
 		return true;
@@ -19,9 +19,16 @@
 package boofcv.abst.feature.describe;
 
 import boofcv.alg.feature.describe.DescribePointPixelRegionNCC;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.feature.NccFeature;
 import boofcv.struct.image.ImageGray;
 import boofcv.struct.image.ImageType;
+import georegression.struct.point.Point2D_F64;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_B;
+import org.ddogleg.struct.GrowQueue_F64;
+
+import java.util.List;
 
 /**
  * Wrapper around {@link boofcv.alg.feature.describe.DescribePointPixelRegionNCC} for
@@ -35,6 +42,11 @@ public class WrapDescribePixelRegionNCC<T extends ImageGray<T>>
 	DescribePointPixelRegionNCC<T> alg;
 	ImageType<T> imageType;
 
+	/**
+	 * Minimum number of points described by a thread when processing a batch concurrently
+	 */
+	public int minBatchSize = 50;
+
 	public WrapDescribePixelRegionNCC(DescribePointPixelRegionNCC<T> alg , Class<T> imageType) {
 		this.alg = alg;
 		this.imageType = ImageType.single(imageType);
@@ -64,6 +76,38 @@ public class WrapDescribePixelRegionNCC<T extends ImageGray<T>>
 		return true;
 	}
 
+	/**
+	 * The region is read directly from the input image, so a batch is split across threads without copies
+	 */
+	@Override
+	public void process(List<Point2D_F64> locations, GrowQueue_F64 orientations, GrowQueue_F64 radii,
+						FastQueue<NccFeature> descriptions, GrowQueue_B success)
+	{
+		DescribeRegionPoint.checkBatch(locations, orientations, radii, descriptions, success);
+
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			BoofConcurrency.loopBlocks(0, locations.size(), minBatchSize, (idx0, idx1) ->
+					process(locations, idx0, idx1, descriptions, success));
+		} else {
+			process(locations, 0, locations.size(), descriptions, success);
+		}
+	}
+
+	private void process( List<Point2D_F64> locations , int idx0 , int idx1 ,
+						  FastQueue<NccFeature> descriptions, GrowQueue_B success ) {
+		for (int i = idx0; i < idx1; i++) {
+			Point2D_F64 p = locations.get(i);
+			int x = (int)p.x, y = (int)p.y;
+
+			if( alg.isInBounds(x,y) ) {
+				alg.process(x, y, descriptions.data[i]);
+				success.data[i] = true;
+			} else {
+				success.data[i] = false;
+			}
+		}
+	}
+
 	@Override
 	public boolean requiresRadius() {
 		return false;
@@ -20,10 +20,20 @@ package boofcv.abst.feature.describe;
 
 import boofcv.alg.feature.describe.DescribePointSurf;
 import boofcv.alg.transform.ii.GIntegralImageOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.WorkspacePool;
 import boofcv.struct.BoofDefaults;
 import boofcv.struct.feature.BrightFeature;
 import boofcv.struct.image.ImageGray;
 import boofcv.struct.image.ImageType;
+import georegression.struct.point.Point2D_F64;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_B;
+import org.ddogleg.struct.GrowQueue_F64;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.function.Supplier;
 
 
 /**
@@ -39,12 +49,33 @@ public class WrapDescribeSurf<T extends ImageGray<T>, II extends ImageGray<II>>
 
 	ImageType<T> imageType;
 
-	public WrapDescribeSurf(DescribePointSurf<II> surf , Class<T> imageType)
+	/**
+	 * Minimum number of points described by a thread when processing a batch concurrently
+	 */
+	public int minBatchSize = 20;
+
+	// algorithm used by each thread when processing a batch. If null batches are single threaded
+	@Nullable WorkspacePool<DescribePointSurf<II>> workers;
+
+	/**
+	 * @param surf Computes the descriptor
+	 * @param factory Creates an instance of the descriptor for each thread when a batch is processed concurrently.
+	 *                If null then batches are processed by a single thread.
+	 * @param imageType Type of input image
+	 */
+	public WrapDescribeSurf(DescribePointSurf<II> surf , @Nullable Supplier<DescribePointSurf<II>> factory ,
+							Class<T> imageType)
 	{
 		this.surf = surf;
+		this.workers = factory == null ? null : new WorkspacePool<>(factory);
 		this.imageType = ImageType.single(imageType);
 	}
 
+	public WrapDescribeSurf(DescribePointSurf<II> surf , Class<T> imageType)
+	{
+		this(surf,null,imageType);
+	}
+
 	@Override
 	public BrightFeature createDescription() {
 		return new BrightFeature(surf.getDescriptionLength());
@@ -69,6 +100,38 @@ public class WrapDescribeSurf<T extends ImageGray<T>, II extends ImageGray<II>>
 		return true;
 	}
 
+	/**
+	 * When concurrent, each thread has its own descriptor which shares the integral image computed in
+	 * {@link #setImage}.
+	 */
+	@Override
+	public void process(List<Point2D_F64> locations, GrowQueue_F64 orientations, GrowQueue_F64 radii,
+						FastQueue<BrightFeature> descriptions, GrowQueue_B success)
+	{
+		DescribeRegionPoint.checkBatch(locations, orientations, radii, descriptions, success);
+
+		if( BoofConcurrency.USE_CONCURRENT && workers != null ) {
+			BoofConcurrency.loopBlocks(0, locations.size(), minBatchSize, workers, (worker, idx0, idx1) -> {
+				worker.setImage(ii);
+				process(worker, locations, orientations, radii, idx0, idx1, descriptions);
+			});
+		} else {
+			process(surf, locations, orientations, radii, 0, locations.size(), descriptions);
+		}
+		success.fill(true);
+	}
+
+	private static <II extends ImageGray<II>>
+	void process( DescribePointSurf<II> surf , List<Point2D_F64> locations ,
+				  GrowQueue_F64 orientations, GrowQueue_F64 radii, int idx0 , int idx1 ,
+				  FastQueue<BrightFeature> descriptions ) {
+		for (int i = idx0; i < idx1; i++) {
+			Point2D_F64 p = locations.get(i);
+			surf.describe(p.x, p.y, orientations.data[i], radii.data[i]/BoofDefaults.SURF_SCALE_TO_RADIUS,
+					descriptions.data[i]);
+		}
+	}
+
 	@Override
 	public boolean requiresRadius() {
 		return true;
@@ -19,6 +19,11 @@
 package boofcv.abst.feature.disparity;
 
 import boofcv.struct.image.ImageGray;
+import georegression.struct.point.Point2D_I32;
+import org.ddogleg.struct.GrowQueue_B;
+import org.ddogleg.struct.GrowQueue_F64;
+
+import java.util.List;
 
 /**
  * <p>
@@ -61,6 +66,30 @@ public interface StereoDisparitySparse<Image extends ImageGray> {
 	 */
 	public double getDisparity();
 
+	/**
+	 * Calculates the disparity at a batch of points. The results are the same as calling
+	 * {@link #process(int, int)} for each point, but implementations can avoid per-point overhead and
+	 * might process the points concurrently.
+	 *
+	 * @param pixels Coordinate of each point.
+	 * @param disparity (output) The found disparity at each point. Resized to the number of points.
+	 * @param success (output) If a correspondence was found for the point at the same index.
+	 */
+	default void process( List<Point2D_I32> pixels , GrowQueue_F64 disparity , GrowQueue_B success ) {
+		disparity.resize(pixels.size());
+		success.resize(pixels.size());
+
+		for (int i = 0; i < pixels.size(); i++) {
+			Point2D_I32 p = pixels.get(i);
+			if( process(p.x, p.y) ) {
+				success.data[i] = true;
+				disparity.data[i] = getDisparity();
+			} else {
+				success.data[i] = false;
+			}
+		}
+	}
+
 	/**
 	 * Border around the image's x-axis which is not processed.
 	 * @return border x-axis
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.disparity;
+
+import boofcv.alg.feature.disparity.DisparityScoreRowFormat;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.alg.transform.census.CensusTransform;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.GrayS64;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageGray;
+import georegression.struct.point.Point2D_I32;
+import org.ddogleg.struct.FastQueue;
+
+/**
+ * Applies the {@link CensusTransform} to both input images then computes the disparity with block
+ * matching on the encoded images.
+ *
+ * @author Peter Abeles
+ */
+public class WrapDisparityCensusRect<D extends ImageGray<D>>
+		implements StereoDisparity<GrayU8,D>
+{
+	DisparityScoreRowFormat<GrayS64,D> alg;
+	FastQueue<Point2D_I32> samples;
+	D disparity;
+
+	// census encoded input images
+	GrayS64 censusLeft = new GrayS64(1,1);
+	GrayS64 censusRight = new GrayS64(1,1);
+
+	/**
+	 * @param alg Block matching on census encoded images
+	 * @param samples Census sample pattern. See {@link CensusTransform#createBlockSamples(int)}
+	 */
+	public WrapDisparityCensusRect(DisparityScoreRowFormat<GrayS64,D> alg, FastQueue<Point2D_I32> samples) {
+		this.alg = alg;
+		this.samples = samples;
+	}
+
+	@Override
+	public void process(GrayU8 imageLeft, GrayU8 imageRight) {
+		if( disparity == null || disparity.width != imageLeft.width || disparity.height != imageLeft.height )  {
+			// make sure the image borders are marked as invalid
+			disparity = GeneralizedImageOps.createSingleBand(alg.getDisparityType(),imageLeft.width,imageLeft.height);
+			GImageMiscOps.fill(disparity, getMaxDisparity() + 1);
+		}
+
+		censusLeft.reshape(imageLeft.width,imageLeft.height);
+		censusRight.reshape(imageRight.width,imageRight.height);
+		CensusTransform.sample_S64(imageLeft,samples,censusLeft);
+		CensusTransform.sample_S64(imageRight,samples,censusRight);
+
+		alg.process(censusLeft,censusRight,disparity);
+	}
+
+	@Override
+	public D getDisparity() {
+		return disparity;
+	}
+
+	@Override
+	public int getBorderX() {
+		return alg.getBorderX();
+	}
+
+	@Override
+	public int getBorderY() {
+		return alg.getBorderY();
+	}
+
+	@Override
+	public int getMinDisparity() {
+		return alg.getMinDisparity();
+	}
+
+	@Override
+	public int getMaxDisparity() {
+		return alg.getMaxDisparity();
+	}
+
+	@Override
+	public Class<GrayU8> getInputType() {
+		return GrayU8.class;
+	}
+
+	@Override
+	public Class<D> getDisparityType() {
+		return alg.getDisparityType();
+	}
+
+	public DisparityScoreRowFormat<GrayS64,D> getAlg() {
+		return alg;
+	}
+}
@@ -20,9 +20,22 @@ package boofcv.abst.feature.disparity;
 
 import boofcv.alg.feature.disparity.DisparitySparseScoreSadRect;
 import boofcv.alg.feature.disparity.DisparitySparseSelect;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.WorkspacePool;
 import boofcv.struct.image.ImageGray;
+import georegression.struct.point.Point2D_I32;
+import org.ddogleg.struct.GrowQueue_B;
+import org.ddogleg.struct.GrowQueue_F64;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.function.Supplier;
 
 /**
+ * Wrapper around {@link DisparitySparseScoreSadRect} and {@link DisparitySparseSelect} for
+ * {@link StereoDisparitySparse}. If a factory is provided then batches of points are processed concurrently,
+ * with each thread using its own instances and score buffer.
+ *
  * @author Peter Abeles
  */
 public class WrapDisparitySparseSadRect <ArrayData,T extends ImageGray>
@@ -34,16 +47,39 @@ public class WrapDisparitySparseSadRect <ArrayData,T extends ImageGray>
 	// for an insignificant speed boost save this constant as a floating point number
 	double minDisparityFloat;
 
+	// instances used by each thread when processing a batch. If null batches are single threaded
+	final @Nullable WorkspacePool<WrapDisparitySparseSadRect<ArrayData,T>> workers;
+
+	// input images
+	T imageLeft, imageRight;
+
+	// the smallest number of points processed by a thread
+	public int minBatchSize = 50;
+
 	public WrapDisparitySparseSadRect(DisparitySparseScoreSadRect<ArrayData,T> computeScore,
 									  DisparitySparseSelect<ArrayData> select ) {
+		this(computeScore,select,null);
+	}
+
+	/**
+	 * @param computeScore Computes the score for each disparity
+	 * @param select Selects the best disparity
+	 * @param factory (Optional) Creates instances used to process batches concurrently. Can be null.
+	 */
+	public WrapDisparitySparseSadRect(DisparitySparseScoreSadRect<ArrayData,T> computeScore,
+									  DisparitySparseSelect<ArrayData> select ,
+									  @Nullable Supplier<WrapDisparitySparseSadRect<ArrayData,T>> factory ) {
 		this.computeScore = computeScore;
 		this.select = select;
+		this.workers = factory == null ? null : new WorkspacePool<>(factory);
 	}
 
 	@Override
 	public void setImages(T imageLeft, T imageRight ) {
 		computeScore.setImages(imageLeft,imageRight);
 		minDisparityFloat = computeScore.getMinDisparity();
+		this.imageLeft = imageLeft;
+		this.imageRight = imageRight;
 	}
 
 	@Override
@@ -59,6 +95,38 @@ public class WrapDisparitySparseSadRect <ArrayData,T extends ImageGray>
 		return false;
 	}
 
+	/**
+	 * When concurrent, each thread has its own score and select instance.
+	 */
+	@Override
+	public void process( List<Point2D_I32> pixels , GrowQueue_F64 disparity , GrowQueue_B success ) {
+		disparity.resize(pixels.size());
+		success.resize(pixels.size());
+
+		if( BoofConcurrency.USE_CONCURRENT && workers != null ) {
+			BoofConcurrency.loopBlocks(0, pixels.size(), minBatchSize, workers, (worker, idx0, idx1) -> {
+				worker.setImages(imageLeft,imageRight);
+				worker.process(pixels,idx0,idx1,disparity,success);
+			});
+		} else {
+			process(pixels,0,pixels.size(),disparity,success);
+		}
+	}
+
+	private void process( List<Point2D_I32> pixels , int idx0 , int idx1 ,
+						  GrowQueue_F64 disparity , GrowQueue_B success ) {
+		for (int i = idx0; i < idx1; i++) {
+			Point2D_I32 p = pixels.get(i);
+			if( computeScore.process(p.x,p.y) &&
+					select.select(computeScore.getScore(), computeScore.getLocalMaxDisparity()) ) {
+				success.data[i] = true;
+				disparity.data[i] = minDisparityFloat+select.getDisparity();
+			} else {
+				success.data[i] = false;
+			}
+		}
+	}
+
 	@Override
 	public int getBorderX() {
 		return computeScore.getRadiusX();
@@ -81,6 +81,67 @@ public class DescriptorDistance {
 		return total;
 	}
 
+	/**
+	 * Returns the Euclidean distance (L2-norm) between two descriptors which are stored in packed arrays
+	 *
+	 * @param a Array containing the first descriptor
+	 * @param indexA Index of the first descriptor
+	 * @param b Array containing the second descriptor
+	 * @param indexB Index of the second descriptor
+	 * @return Euclidean distance
+	 */
+	public static double euclidean( PackedTupleArray_F64 a , int indexA , PackedTupleArray_F64 b , int indexB ) {
+		return Math.sqrt(euclideanSq(a,indexA,b,indexB));
+	}
+
+	/**
+	 * Returns the Euclidean distance squared between two descriptors which are stored in packed arrays
+	 *
+	 * @param a Array containing the first descriptor
+	 * @param indexA Index of the first descriptor
+	 * @param b Array containing the second descriptor
+	 * @param indexB Index of the second descriptor
+	 * @return Euclidean distance squared
+	 */
+	public static double euclideanSq( PackedTupleArray_F64 a , int indexA , PackedTupleArray_F64 b , int indexB ) {
+		final int N = a.getDOF();
+		final double[] dataA = a.data;
+		final double[] dataB = b.data;
+		int offsetA = a.getOffset(indexA);
+		int offsetB = b.getOffset(indexB);
+		double total = 0;
+		for( int i = 0; i < N; i++ ) {
+			double d = dataA[offsetA+i]-dataB[offsetB+i];
+			total += d*d;
+		}
+
+		return total;
+	}
+
+	/**
+	 * Returns the Euclidean distance squared between two descriptors which are stored in packed arrays
+	 *
+	 * @param a Array containing the first descriptor
+	 * @param indexA Index of the first descriptor
+	 * @param b Array containing the second descriptor
+	 * @param indexB Index of the second descriptor
+	 * @return Euclidean distance squared
+	 */
+	public static double euclideanSq( PackedTupleArray_F32 a , int indexA , PackedTupleArray_F32 b , int indexB ) {
+		final int N = a.getDOF();
+		final float[] dataA = a.data;
+		final float[] dataB = b.data;
+		int offsetA = a.getOffset(indexA);
+		int offsetB = b.getOffset(indexB);
+		float total = 0;
+		for( int i = 0; i < N; i++ ) {
+			float d = dataA[offsetA+i]-dataB[offsetB+i];
+			total += d*d;
+		}
+
+		return total;
+	}
+
 	/**
 	 * Correlation score
 	 *
@@ -186,6 +247,46 @@ public class DescriptorDistance {
 		return total;
 	}
 
+	/**
+	 * Sum of absolute difference (SAD) score between two descriptors which are stored in packed arrays
+	 *
+	 * @param a Array containing the first descriptor
+	 * @param indexA Index of the first descriptor
+	 * @param b Array containing the second descriptor
+	 * @param indexB Index of the second descriptor
+	 * @return SAD score
+	 */
+	public static float sad( PackedTupleArray_F32 a , int indexA , PackedTupleArray_F32 b , int indexB ) {
+		final int N = a.getDOF();
+		int offsetA = a.getOffset(indexA);
+		int offsetB = b.getOffset(indexB);
+		float total = 0;
+		for( int i = 0; i < N; i++ ) {
+			total += Math.abs( a.data[offsetA+i] - b.data[offsetB+i]);
+		}
+		return total;
+	}
+
+	/**
+	 * Sum of absolute difference (SAD) score between two descriptors which are stored in packed arrays
+	 *
+	 * @param a Array containing the first descriptor
+	 * @param indexA Index of the first descriptor
+	 * @param b Array containing the second descriptor
+	 * @param indexB Index of the second descriptor
+	 * @return SAD score
+	 */
+	public static double sad( PackedTupleArray_F64 a , int indexA , PackedTupleArray_F64 b , int indexB ) {
+		final int N = a.getDOF();
+		int offsetA = a.getOffset(indexA);
+		int offsetB = b.getOffset(indexB);
+		double total = 0;
+		for( int i = 0; i < N; i++ ) {
+			total += Math.abs( a.data[offsetA+i] - b.data[offsetB+i]);
+		}
+		return total;
+	}
+
 	/**
 	 * Computes the hamming distance between two binary feature descriptors
 	 *
@@ -202,20 +303,46 @@ public class DescriptorDistance {
 		return score;
 	}
 
+	/**
+	 * Computes the hamming distance between two binary feature descriptors which are stored in packed arrays
+	 *
+	 * @param a Array containing the first descriptor
+	 * @param indexA Index of the first descriptor
+	 * @param b Array containing the second descriptor
+	 * @param indexB Index of the second descriptor
+	 * @return The hamming distance
+	 */
+	public static int hamming( PackedTupleArray_B a , int indexA , PackedTupleArray_B b , int indexB ) {
+		return hamming(a.data, a.getOffset(indexA), b.data, b.getOffset(indexB), a.getNumLongs());
+	}
+
+	/**
+	 * Computes the hamming distance between two binary feature descriptors stored as longs
+	 *
+	 * @param a Array containing the first descriptor
+	 * @param offsetA Index of the first element in the first descriptor
+	 * @param b Array containing the second descriptor
+	 * @param offsetB Index of the first element in the second descriptor
+	 * @param length Number of longs in a descriptor
+	 * @return The hamming distance
+	 */
+	public static int hamming( long[] a , int offsetA , long[] b , int offsetB , int length ) {
+		int score = 0;
+		for( int i = 0; i < length; i++ ) {
+			score += Long.bitCount(a[offsetA+i] ^ b[offsetB+i]);
+		}
+		return score;
+	}
+
 	/**
 	 * <p>Computes the hamming distance.  A bit = 0 is a match and 1 is not match<p>
 	 *
-	 * Based on code snippet from <a href="http://graphics.stanford.edu/~seander/bithacks.html">Sean Eron Anderson Bit Twiddling Hacks</a>.
+	 * {@link Integer#bitCount} is an intrinsic and is replaced by the popcount instruction when the CPU supports it.
 	 *
 	 * @param val Hamming encoding
 	 * @return The hamming distance
 	 */
 	public static int hamming( int val ) {
-		int c;
-		int v = val;
-		v = v - ((v >> 1) & 0x55555555);
-		v = (v & 0x33333333) + ((v >> 2) & 0x33333333);
-		c = ((v + (v >> 4) & 0xF0F0F0F) * 0x1010101) >> 24;
-		return c;
+		return Integer.bitCount(val);
 	}
 }
@@ -19,6 +19,8 @@
 package boofcv.alg.feature.associate;
 
 import boofcv.abst.feature.associate.ScoreAssociation;
+import boofcv.abst.feature.associate.ScorePackedCopy;
+import boofcv.struct.feature.PackedTupleArray;
 import boofcv.struct.feature.TupleDesc_F64;
 import org.ddogleg.struct.FastQueue;
 import org.ddogleg.struct.GrowQueue_F64;
@@ -46,17 +48,19 @@ import org.ddogleg.struct.GrowQueue_I32;
 public class AssociateGreedy<D> {
 
 	// computes association score
-	private ScoreAssociation<D> score;
+	protected ScoreAssociation<D> score;
 	// worst allowed fit score to associate
-	private double maxFitError = Double.MAX_VALUE;
+	protected double maxFitError = Double.MAX_VALUE;
 	// stores the quality of fit score
-	private GrowQueue_F64 fitQuality = new GrowQueue_F64(100);
+	protected GrowQueue_F64 fitQuality = new GrowQueue_F64(100);
 	// stores indexes of associated
-	private GrowQueue_I32 pairs = new GrowQueue_I32(100);
+	protected GrowQueue_I32 pairs = new GrowQueue_I32(100);
 	// various
-	private GrowQueue_F64 workBuffer = new GrowQueue_F64(100);
+	protected GrowQueue_F64 workBuffer = new GrowQueue_F64(100);
 	// if true backwardsValidation is done
-	private boolean backwardsValidation;
+	protected boolean backwardsValidation;
+	// scores features in packed arrays
+	private ScorePackedCopy<D> packedScore;
 
 	/**
 	 * Configure association
@@ -106,20 +110,73 @@ public class AssociateGreedy<D> {
 			fitQuality.push(bestScore);
 		}
 
-		if( backwardsValidation ) {
-			for( int i = 0; i < src.size; i++ ) {
-				int match = pairs.data[i];
-				if( match == -1 )
-					continue;
+		if( backwardsValidation )
+			backwardsValidation(0, src.size, src.size, dst.size);
+	}
+
+	/**
+	 * Associates the two sets objects against each other by minimizing fit score. Same as
+	 * {@link #associate(FastQueue, FastQueue)} but the descriptors are read from packed arrays. If the
+	 * {@link ScoreAssociation} can't read packed arrays directly then each pair of descriptors is copied out first.
+	 *
+	 * @param src Source list.
+	 * @param dst Destination list.
+	 */
+	public void associate( PackedTupleArray<D> src ,
+						   PackedTupleArray<D> dst )
+	{
+		final int sizeSrc = src.size();
+		final int sizeDst = dst.size();
+
+		fitQuality.reset();
+		pairs.reset();
+		workBuffer.reset();
+
+		fitQuality.setMaxSize(sizeSrc);
+		workBuffer.setMaxSize(sizeSrc*sizeDst);
+		if( packedScore == null )
+			packedScore = new ScorePackedCopy<>(score);
+		for( int i = 0; i < sizeSrc; i++ ) {
+			double bestScore = maxFitError;
+			int bestIndex = -1;
 
-				double scoreToBeat = workBuffer.data[i*dst.size+match];
+			for( int j = 0; j < sizeDst; j++ ) {
+				double fit = packedScore.score(src,i,dst,j);
+				workBuffer.push(fit);
 
-				for( int j = 0; j < src.size; j++ , match += dst.size ) {
-					if( workBuffer.data[match] <= scoreToBeat && j != i) {
-						pairs.data[i] = -1;
-						fitQuality.data[i] = Double.MAX_VALUE;
-						break;
-					}
+				if( fit <= bestScore ) {
+					bestIndex = j;
+					bestScore = fit;
+				}
+			}
+			pairs.push(bestIndex);
+			fitQuality.push(bestScore);
+		}
+
+		if( backwardsValidation )
+			backwardsValidation(0, sizeSrc, sizeSrc, sizeDst);
+	}
+
+	/**
+	 * Removes associations which are not mutually the best association for each other. Only source
+	 * features inside the specified range are modified.
+	 *
+	 * @param rowStart First source feature which is validated
+	 * @param rowEnd Last source feature which is validated, exclusive
+	 */
+	protected void backwardsValidation( int rowStart , int rowEnd , int sizeSrc , int sizeDst ) {
+		for( int i = rowStart; i < rowEnd; i++ ) {
+			int match = pairs.data[i];
+			if( match == -1 )
+				continue;
+
+			double scoreToBeat = workBuffer.data[i*sizeDst+match];
+
+			for( int j = 0; j < sizeSrc; j++ , match += sizeDst ) {
+				if( workBuffer.data[match] <= scoreToBeat && j != i) {
+					pairs.data[i] = -1;
+					fitQuality.data[i] = Double.MAX_VALUE;
+					break;
 				}
 			}
 		}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate;
+
+import boofcv.abst.feature.associate.ScoreAssociation;
+import boofcv.abst.feature.associate.ScorePackedCopy;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.ImageBands;
+import boofcv.concurrency.WorkspacePool;
+import boofcv.struct.feature.PackedTupleArray;
+import org.ddogleg.struct.FastQueue;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link AssociateGreedy}. Rows in the score matrix, one for each source feature,
+ * are split into blocks and each block is scored in a different thread. Inside a block the destination features
+ * are processed in groups of {@link #getBlockSize()} so that they remain in the cache while they are compared
+ * against every source feature in the block. Backwards validation is also done concurrently. The results are
+ * identical to the single threaded version.
+ * </p>
+ *
+ * <p>
+ * The {@link ScoreAssociation} is shared by all the threads and must not modify its internal state while
+ * computing a score. This is true for all the standard implementations.
+ * </p>
+ *
+ * @param <D> Feature description type.
+ *
+ * @author Peter Abeles
+ */
+public class AssociateGreedy_MT<D> extends AssociateGreedy<D> {
+
+	// number of destination features which are compared against the source features in a block at once
+	private int blockSize = 128;
+
+	// scores packed features. One is used by each thread since it copies features into work descriptions
+	private final WorkspacePool<ScorePackedCopy<D>> packedScores = new WorkspacePool<>(()->new ScorePackedCopy<>(score));
+
+	/**
+	 * Configure association
+	 *
+	 * @param score Computes the association score.
+	 * @param backwardsValidation If true then backwards validation is performed.
+	 */
+	public AssociateGreedy_MT(ScoreAssociation<D> score, boolean backwardsValidation) {
+		super(score, backwardsValidation);
+	}
+
+	@Override
+	public void associate( FastQueue<D> src , FastQueue<D> dst ) {
+		associate(src.size, dst.size, (work,i,j)->score.score(src.data[i],dst.data[j]));
+	}
+
+	@Override
+	public void associate( PackedTupleArray<D> src , PackedTupleArray<D> dst ) {
+		associate(src.size(), dst.size(), (work,i,j)->work.score(src,i,dst,j));
+	}
+
+	private void associate( int sizeSrc , int sizeDst , IndexScore<D> indexScore ) {
+		fitQuality.resize(sizeSrc);
+		pairs.resize(sizeSrc);
+		workBuffer.resize(sizeSrc*sizeDst);
+
+		// make sure each thread has enough work to be worth the overhead
+		int minRows = Math.max(1, ImageBands.MIN_BAND_PIXELS/Math.max(1,sizeDst));
+
+		BoofConcurrency.loopBlocks(0, sizeSrc, minRows, packedScores,
+				(work,i0,i1)->scoreRows(i0, i1, sizeDst, work, indexScore));
+
+		if( backwardsValidation ) {
+			BoofConcurrency.loopBlocks(0, sizeSrc, minRows,
+					(i0,i1)->backwardsValidation(i0, i1, sizeSrc, sizeDst));
+		}
+	}
+
+	/**
+	 * Scores all the source features in the range against every destination feature and selects the best match
+	 */
+	private void scoreRows( int rowStart , int rowEnd , int sizeDst , ScorePackedCopy<D> work , IndexScore<D> indexScore ) {
+		final double[] scores = workBuffer.data;
+
+		for( int i = rowStart; i < rowEnd; i++ ) {
+			pairs.data[i] = -1;
+			fitQuality.data[i] = maxFitError;
+		}
+
+		for( int j0 = 0; j0 < sizeDst; j0 += blockSize ) {
+			int j1 = Math.min(sizeDst, j0+blockSize);
+
+			for( int i = rowStart; i < rowEnd; i++ ) {
+				double bestScore = fitQuality.data[i];
+				int bestIndex = pairs.data[i];
+
+				int index = i*sizeDst + j0;
+				for( int j = j0; j < j1; j++ ) {
+					double fit = indexScore.score(work,i,j);
+					scores[index++] = fit;
+
+					if( fit <= bestScore ) {
+						bestIndex = j;
+						bestScore = fit;
+					}
+				}
+				pairs.data[i] = bestIndex;
+				fitQuality.data[i] = bestScore;
+			}
+		}
+	}
+
+	/**
+	 * Number of destination features which are compared against the source features in a block at once
+	 */
+	public int getBlockSize() {
+		return blockSize;
+	}
+
+	public void setBlockSize(int blockSize) {
+		if( blockSize <= 0 )
+			throw new IllegalArgumentException("Block size must be positive");
+		this.blockSize = blockSize;
+	}
+
+	/**
+	 * Computes the score between a source and destination feature using their indexes. Work is owned by the
+	 * calling thread and is used when the features are in packed arrays.
+	 */
+	private interface IndexScore<D> {
+		double score( ScorePackedCopy<D> work , int indexSrc , int indexDst );
+	}
+}
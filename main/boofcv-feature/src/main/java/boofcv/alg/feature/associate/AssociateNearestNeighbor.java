@@ -21,11 +21,13 @@ package boofcv.alg.feature.associate;
 import boofcv.abst.feature.associate.AssociateDescription;
 import boofcv.struct.feature.AssociatedIndex;
 import boofcv.struct.feature.MatchScoreType;
+import boofcv.struct.feature.PackedTupleArray;
 import org.ddogleg.nn.NearestNeighbor;
 import org.ddogleg.nn.NnData;
 import org.ddogleg.struct.FastQueue;
 import org.ddogleg.struct.GrowQueue_I32;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -36,6 +38,11 @@ import java.util.List;
  * destination features is fast.  Multiple matches for source features are possible while there will only
  * be a unique match for each destination feature.</p>
  *
+ * <p>Features can also be provided in a {@link PackedTupleArray}. Destination features are then read directly
+ * from the packed array. LIMITATION: Since {@link NearestNeighbor} requires an object for each point, every source
+ * feature is copied into its own descriptor when {@link #setSource(PackedTupleArray)} is called. These descriptors
+ * are recycled between calls, but the memory savings of the packed array are lost for the source set.</p>
+ *
  * <p>An optional ratio test inspired from [1] can be used. The ratio between the best and second best score is found.
  * if the difference is significant enough then the match is accepted. This this is a ratio test, knowing if the score
  * is squared is important. Please set the flag correctly. Almost always the score is Euclidean distance squared.</p>
@@ -55,8 +62,16 @@ public class AssociateNearestNeighbor<D>
 
 	// list of features in destination set that are to be searched for in the source list
 	private FastQueue<D> listDst;
+	// destination features when provided in a packed array
+	private PackedTupleArray<D> packedDst;
+	// storage for a destination feature read from the packed array
+	private D workDst;
+
+	// storage for source features read from a packed array
+	private List<D> workSrc = new ArrayList<>();
 
 	int sizeSrc;
+	int sizeDst;
 
 	// should the square root of the distance be used instead of the actual distance
 	boolean ratioUsesSqrt =true;
@@ -83,26 +98,63 @@ public class AssociateNearestNeighbor<D>
 		alg.setPoints((List)listSrc.toList(),true);
 	}
 
+	/**
+	 * Specifies the source features using a packed array. Each feature is copied into a separate descriptor
+	 * since that's what {@link NearestNeighbor} requires.
+	 */
+	public void setSource(PackedTupleArray<D> packedSrc) {
+		this.sizeSrc = packedSrc.size();
+		while( workSrc.size() < sizeSrc )
+			workSrc.add(packedSrc.createDescription());
+		for (int i = 0; i < sizeSrc; i++) {
+			packedSrc.getCopy(i, workSrc.get(i));
+		}
+		alg.setPoints(workSrc.subList(0,sizeSrc),true);
+	}
+
 	@Override
 	public void setDestination(FastQueue<D> listDst) {
 		this.listDst = listDst;
+		this.packedDst = null;
+		this.sizeDst = listDst.size;
+	}
+
+	/**
+	 * Specifies the destination features using a packed array
+	 */
+	public void setDestination(PackedTupleArray<D> packedDst) {
+		this.listDst = null;
+		this.packedDst = packedDst;
+		this.sizeDst = packedDst.size();
+		if( workDst == null )
+			workDst = packedDst.createDescription();
+	}
+
+	/**
+	 * Returns the destination feature at the specified index
+	 */
+	private D getDestination( int index ) {
+		if( packedDst == null )
+			return listDst.data[index];
+		packedDst.getCopy(index,workDst);
+		return workDst;
 	}
 
 	@Override
 	public void associate() {
 
-		matches.resize(listDst.size);
+		matches.resize(sizeDst);
 		matches.reset();
 		if( scoreRatioThreshold >= 1.0 ) {
 			// if score ratio is not turned on then just use the best match
-			for (int i = 0; i < listDst.size; i++) {
-				if (!alg.findNearest(listDst.data[i], maxDistance, result))
+			for (int i = 0; i < sizeDst; i++) {
+				if (!alg.findNearest(getDestination(i), maxDistance, result))
 					continue;
 				matches.grow().setAssociation(result.index, i, result.distance);
 			}
 		} else {
-			for (int i = 0; i < listDst.size; i++) {
-				alg.findNearest(listDst.data[i], maxDistance,2, result2);
+			for (int i = 0; i < sizeDst; i++) {
+				alg.findNearest(getDestination(i), maxDistance,2, result2);
 
 				if( result2.size == 1 ) {
 					NnData<D> r = result2.getTail();
@@ -142,7 +194,7 @@ public class AssociateNearestNeighbor<D>
 
 	@Override
 	public GrowQueue_I32 getUnassociatedDestination() {
-		return unassociated.checkDestination(matches,listDst.size());
+		return unassociated.checkDestination(matches,sizeDst);
 	}
 
 	@Override
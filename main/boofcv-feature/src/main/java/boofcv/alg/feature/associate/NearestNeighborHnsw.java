@@ -0,0 +1,547 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate;
+
+import boofcv.concurrency.WorkspacePool;
+import org.ddogleg.nn.NearestNeighbor;
+import org.ddogleg.nn.NnData;
+import org.ddogleg.nn.alg.KdTreeDistance;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_I32;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * <p>
+ * Approximate nearest neighbor search using a Hierarchical Navigable Small World (HNSW) graph [1]. Points are
+ * stored in a multi-layer proximity graph. Upper layers contain exponentially fewer points and are used to quickly
+ * find a good starting point in the layer below. The bottom layer contains all the points and is searched with a
+ * best-first search which examines {@link #getSearchSize()} candidates. Increasing the search size improves recall
+ * at the cost of speed. Unlike a K-D tree, performance does not degrade into a brute force search for high
+ * dimensional descriptors, e.g. SURF and SIFT.
+ * </p>
+ *
+ * <ul>
+ *     <li>Points can be added incrementally with {@link #add} without rebuilding the graph.</li>
+ *     <li>Searches can be done concurrently from multiple threads, but points must not be added
+ *     at the same time.</li>
+ *     <li>The distance is computed using {@link KdTreeDistance#distance} and maximum distance is in the same
+ *     units, e.g. Euclidean distance squared.</li>
+ * </ul>
+ *
+ * <p>
+ * [1] Malkov, Yu A., and D. A. Yashunin. "Efficient and robust approximate nearest neighbor search using
+ * Hierarchical Navigable Small World graphs." IEEE transactions on pattern analysis and machine intelligence (2018)
+ * </p>
+ *
+ * @param <P> Point type
+ *
+ * @author Peter Abeles
+ */
+public class NearestNeighborHnsw<P> implements NearestNeighbor<P> {
+
+	// computes the distance between two points
+	private final KdTreeDistance<P> distance;
+	// maximum number of connections a point has in layers above zero. Layer zero allows twice as many
+	private final int maxConnections;
+	// used to randomly select the top layer a point is in
+	private final double levelScale;
+	private final Random rand;
+
+	// number of candidates which are considered when searching
+	private int searchSize = 50;
+	// number of candidates which are considered when connecting a new point to the graph
+	private int constructionSize = 100;
+
+	// all the points in the graph
+	private final List<P> points = new ArrayList<>();
+	// connections for each point
+	private final List<Node> nodes = new ArrayList<>();
+
+	// point in the top layer where all searches start
+	private int entryPoint = -1;
+	private int topLevel = -1;
+
+	// search workspace for each thread
+	private final WorkspacePool<Search> searches = new WorkspacePool<>(Search::new);
+
+	/**
+	 * Configures the graph
+	 *
+	 * @param distance Computes the distance between two points
+	 * @param maxConnections Maximum number of connections a point has. Try 16.
+	 * @param randomSeed Seed for the random number generator which selects the layers
+	 */
+	public NearestNeighborHnsw( KdTreeDistance<P> distance , int maxConnections , long randomSeed ) {
+		if( maxConnections < 2 )
+			throw new IllegalArgumentException("maxConnections must be at least 2");
+		this.distance = distance;
+		this.maxConnections = maxConnections;
+		this.levelScale = 1.0/Math.log(maxConnections);
+		this.rand = new Random(randomSeed);
+	}
+
+	/**
+	 * Removes all the points and builds a new graph from the list
+	 */
+	@Override
+	public void setPoints(List<P> points, boolean trackIndicies) {
+		reset();
+		for (int i = 0; i < points.size(); i++) {
+			add(points.get(i));
+		}
+	}
+
+	/**
+	 * Removes all the points from the graph
+	 */
+	public void reset() {
+		points.clear();
+		nodes.clear();
+		entryPoint = -1;
+		topLevel = -1;
+	}
+
+	/**
+	 * Adds a point to the graph. Must not be called while a search is being performed.
+	 *
+	 * @param point The point. A reference is saved.
+	 * @return Index of the point
+	 */
+	public int add( P point ) {
+		int index = points.size();
+		int level = (int)(-Math.log(1.0-rand.nextDouble())*levelScale);
+
+		points.add(point);
+		nodes.add(new Node(level));
+
+		if( entryPoint < 0 ) {
+			entryPoint = index;
+			topLevel = level;
+			return index;
+		}
+
+		Search search = searches.take();
+		try {
+			int ep = entryPoint;
+			double epDistance = distance.distance(point,points.get(ep));
+			for( int l = topLevel; l > level; l-- ) {
+				ep = search.greedyClosest(point,ep,epDistance,l);
+				epDistance = search.closestDistance;
+			}
+
+			for( int l = Math.min(level,topLevel); l >= 0; l-- ) {
+				search.searchLayer(point,ep,epDistance,constructionSize,l);
+				search.sortResults();
+				ep = search.sortedIdx[0];
+				epDistance = search.sortedDist[0];
+
+				search.selectNeighbors(search.sortedIdx,search.sortedDist,search.sortedSize,maxConnections);
+				// connect() modifies 'selected' so the neighbors are saved first
+				GrowQueue_I32 links = nodes.get(index).links[l];
+				links.addAll(search.selected);
+				for (int i = 0; i < links.size; i++) {
+					search.connect(links.data[i],index,l);
+				}
+			}
+		} finally {
+			searches.release(search);
+		}
+
+		if( level > topLevel ) {
+			topLevel = level;
+			entryPoint = index;
+		}
+
+		return index;
+	}
+
+	@Override
+	public boolean findNearest(P point, double maxDistance, NnData<P> result) {
+		if( entryPoint < 0 )
+			return false;
+
+		Search search = searches.take();
+		try {
+			search.searchGraph(point,searchSize);
+
+			int best = -1;
+			double bestDistance = Double.MAX_VALUE;
+			for (int i = 0; i < search.results.size; i++) {
+				if( search.results.dist[i] < bestDistance ) {
+					bestDistance = search.results.dist[i];
+					best = search.results.idx[i];
+				}
+			}
+
+			if( maxDistance >= 0 && bestDistance > maxDistance )
+				return false;
+
+			result.point = points.get(best);
+			result.index = best;
+			result.distance = bestDistance;
+			return true;
+		} finally {
+			searches.release(search);
+		}
+	}
+
+	@Override
+	public void findNearest(P point, double maxDistance, int numNeighbors, FastQueue<NnData<P>> results) {
+		results.reset();
+		if( entryPoint < 0 )
+			return;
+
+		Search search = searches.take();
+		try {
+			search.searchGraph(point,Math.max(searchSize,numNeighbors));
+			search.sortResults();
+
+			for (int i = 0; i < search.sortedSize && results.size < numNeighbors; i++) {
+				double d = search.sortedDist[i];
+				if( maxDistance >= 0 && d > maxDistance )
+					break;
+				NnData<P> r = results.grow();
+				r.index = search.sortedIdx[i];
+				r.point = points.get(r.index);
+				r.distance = d;
+			}
+		} finally {
+			searches.release(search);
+		}
+	}
+
+	/**
+	 * Maximum number of connections a point can have in the specified layer
+	 */
+	private int maxConnections( int level ) {
+		return level == 0 ? maxConnections*2 : maxConnections;
+	}
+
+	/**
+	 * Number of points in the graph
+	 */
+	public int size() {
+		return points.size();
+	}
+
+	/**
+	 * Number of candidates which are considered when searching. Larger values improve recall but are slower.
+	 */
+	public int getSearchSize() {
+		return searchSize;
+	}
+
+	public void setSearchSize(int searchSize) {
+		if( searchSize < 1 )
+			throw new IllegalArgumentException("searchSize must be at least 1");
+		this.searchSize = searchSize;
+	}
+
+	/**
+	 * Number of candidates which are considered when connecting a new point. Larger values create a
+	 * better graph but take longer to build.
+	 */
+	public int getConstructionSize() {
+		return constructionSize;
+	}
+
+	public void setConstructionSize(int constructionSize) {
+		if( constructionSize < 1 )
+			throw new IllegalArgumentException("constructionSize must be at least 1");
+		this.constructionSize = constructionSize;
+	}
+
+	public int getMaxConnections() {
+		return maxConnections;
+	}
+
+	/**
+	 * Connections from a point to its neighbors in each layer it's in
+	 */
+	private class Node {
+		GrowQueue_I32[] links;
+
+		Node( int level ) {
+			links = new GrowQueue_I32[level+1];
+			for (int i = 0; i <= level; i++) {
+				links[i] = new GrowQueue_I32(maxConnections(i)+1);
+			}
+		}
+	}
+
+	/**
+	 * Workspace for searching the graph. Each thread uses its own instance.
+	 */
+	private class Search {
+		// used to mark which points have already been visited
+		int[] visited = new int[0];
+		int visitedMark = 0;
+
+		// points which will be expanded, closest on top
+		Heap candidates = new Heap(true);
+		// the closest points found so far, farthest on top
+		Heap results = new Heap(false);
+
+		// results sorted from closest to farthest
+		int[] sortedIdx = new int[0];
+		double[] sortedDist = new double[0];
+		int sortedSize;
+
+		// neighbors selected by the heuristic
+		GrowQueue_I32 selected = new GrowQueue_I32();
+		// workspace for shrinking the connections of a point
+		int[] shrinkIdx = new int[0];
+		double[] shrinkDist = new double[0];
+
+		// distance to the point found by greedyClosest()
+		double closestDistance;
+
+		/**
+		 * Searches the graph starting from the top layer. The results are saved in {@link #results}
+		 */
+		void searchGraph( P point , int size ) {
+			int ep = entryPoint;
+			double epDistance = distance.distance(point,points.get(ep));
+			for( int l = topLevel; l > 0; l-- ) {
+				ep = greedyClosest(point,ep,epDistance,l);
+				epDistance = closestDistance;
+			}
+			searchLayer(point,ep,epDistance,size,0);
+		}
+
+		/**
+		 * Moves to the neighbor which is closest to the point until there is no improvement
+		 */
+		int greedyClosest( P point , int ep , double epDistance , int level ) {
+			boolean changed = true;
+			while( changed ) {
+				changed = false;
+				GrowQueue_I32 links = nodes.get(ep).links[level];
+				for (int i = 0; i < links.size; i++) {
+					int n = links.data[i];
+					double d = distance.distance(point,points.get(n));
+					if( d < epDistance ) {
+						epDistance = d;
+						ep = n;
+						changed = true;
+					}
+				}
+			}
+			closestDistance = epDistance;
+			return ep;
+		}
+
+		/**
+		 * Best-first search inside a single layer. Finds up to 'size' points which are the closest
+		 */
+		void searchLayer( P point , int ep , double epDistance , int size , int level ) {
+			markNewSearch();
+			visited[ep] = visitedMark;
+
+			candidates.reset();
+			results.reset();
+			candidates.push(epDistance,ep);
+			results.push(epDistance,ep);
+
+			while( candidates.size > 0 ) {
+				if( candidates.topDistance() > results.topDistance() && results.size >= size )
+					break;
+				int c = candidates.topIndex();
+				candidates.pop();
+
+				GrowQueue_I32 links = nodes.get(c).links[level];
+				for (int i = 0; i < links.size; i++) {
+					int n = links.data[i];
+					if( visited[n] == visitedMark )
+						continue;
+					visited[n] = visitedMark;
+
+					double d = distance.distance(point,points.get(n));
+					if( results.size < size || d < results.topDistance() ) {
+						candidates.push(d,n);
+						results.push(d,n);
+						if( results.size > size )
+							results.pop();
+					}
+				}
+			}
+		}
+
+		void markNewSearch() {
+			if( visited.length < nodes.size() ) {
+				visited = Arrays.copyOf(visited,nodes.size()+nodes.size()/2+10);
+			}
+			if( visitedMark == Integer.MAX_VALUE ) {
+				Arrays.fill(visited,0);
+				visitedMark = 0;
+			}
+			visitedMark++;
+		}
+
+		/**
+		 * Empties the results heap into the sorted arrays
+		 */
+		void sortResults() {
+			sortedSize = results.size;
+			if( sortedIdx.length < sortedSize ) {
+				sortedIdx = new int[sortedSize];
+				sortedDist = new double[sortedSize];
+			}
+			for (int i = sortedSize-1; i >= 0; i--) {
+				sortedIdx[i] = results.topIndex();
+				sortedDist[i] = results.topDistance();
+				results.pop();
+			}
+		}
+
+		/**
+		 * Selects neighbors which are closer to the point than they are to each other. This keeps connections
+		 * to distant clusters. The candidates must be sorted from closest to farthest.
+		 */
+		void selectNeighbors( int[] idx , double[] dist , int size , int maxSelected ) {
+			selected.reset();
+			for (int i = 0; i < size && selected.size < maxSelected; i++) {
+				P candidate = points.get(idx[i]);
+				boolean good = true;
+				for (int j = 0; j < selected.size; j++) {
+					if( distance.distance(candidate,points.get(selected.data[j])) < dist[i] ) {
+						good = false;
+						break;
+					}
+				}
+				if( good )
+					selected.add(idx[i]);
+			}
+		}
+
+		/**
+		 * Adds a connection from 'src' to 'dst'. If 'src' has too many connections the best are selected
+		 */
+		void connect( int src , int dst , int level ) {
+			GrowQueue_I32 links = nodes.get(src).links[level];
+			int max = maxConnections(level);
+			if( links.size < max ) {
+				links.add(dst);
+				return;
+			}
+
+			// sort the existing connections and the new one by distance
+			int total = links.size+1;
+			if( shrinkIdx.length < total ) {
+				shrinkIdx = new int[total];
+				shrinkDist = new double[total];
+			}
+			P p = points.get(src);
+			for (int i = 0; i < total; i++) {
+				int n = i < links.size ? links.data[i] : dst;
+				double d = distance.distance(p,points.get(n));
+				// insertion sort
+				int j = i;
+				while( j > 0 && shrinkDist[j-1] > d ) {
+					shrinkDist[j] = shrinkDist[j-1];
+					shrinkIdx[j] = shrinkIdx[j-1];
+					j--;
+				}
+				shrinkDist[j] = d;
+				shrinkIdx[j] = n;
+			}
+
+			selectNeighbors(shrinkIdx,shrinkDist,total,max);
+			links.reset();
+			links.addAll(selected);
+		}
+	}
+
+	/**
+	 * Binary heap of point indexes ordered by distance
+	 */
+	private static class Heap {
+		// if true the closest point is on top, otherwise the farthest
+		boolean closestOnTop;
+		double[] dist = new double[16];
+		int[] idx = new int[16];
+		int size;
+
+		Heap( boolean closestOnTop ) {
+			this.closestOnTop = closestOnTop;
+		}
+
+		void reset() {
+			size = 0;
+		}
+
+		double topDistance() {
+			return dist[0];
+		}
+
+		int topIndex() {
+			return idx[0];
+		}
+
+		// true if 'a' should be closer to the top than 'b'
+		boolean above( double a , double b ) {
+			return closestOnTop ? a < b : a > b;
+		}
+
+		void push( double d , int index ) {
+			if( size == dist.length ) {
+				dist = Arrays.copyOf(dist,size*2);
+				idx = Arrays.copyOf(idx,size*2);
+			}
+			int i = size++;
+			while( i > 0 ) {
+				int parent = (i-1)/2;
+				if( !above(d,dist[parent]) )
+					break;
+				dist[i] = dist[parent];
+				idx[i] = idx[parent];
+				i = parent;
+			}
+			dist[i] = d;
+			idx[i] = index;
+		}
+
+		void pop() {
+			size--;
+			if( size == 0 )
+				return;
+			double d = dist[size];
+			int index = idx[size];
+			int i = 0;
+			while( true ) {
+				int child = 2*i+1;
+				if( child >= size )
+					break;
+				if( child+1 < size && above(dist[child+1],dist[child]) )
+					child++;
+				if( !above(dist[child],d) )
+					break;
+				dist[i] = dist[child];
+				idx[i] = idx[child];
+				i = child;
+			}
+			dist[i] = d;
+			idx[i] = index;
+		}
+	}
+}
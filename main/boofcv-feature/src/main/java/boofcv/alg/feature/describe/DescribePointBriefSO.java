@@ -51,6 +51,8 @@ public class DescribePointBriefSO<T extends ImageGray<T>> {
 	protected BlurFilter<T> filterBlur;
 	// blurred image
 	protected T blur;
+	// the blurred image which is sampled. Either blur or an image which was blurred externally
+	protected T sampled;
 
 	// used to interpolate pixel value at rotated coordinate
 	protected InterpolatePixelS<T> interp;
@@ -77,7 +79,25 @@ public class DescribePointBriefSO<T extends ImageGray<T>> {
 	public void setImage(T image) {
 		blur.reshape(image.width,image.height);
 		filterBlur.process(image,blur);
-		interp.setImage(blur);
+		setImageBlurred(blur);
+	}
+
+	/**
+	 * Specifies an image which has already been blurred, skipping the blur step in {@link #setImage}. This
+	 * allows the blurred image from one instance to be shared with other instances, e.g. one for each thread.
+	 *
+	 * @param blurred Image which has been blurred by the same filter. Not modified.
+	 */
+	public void setImageBlurred( T blurred ) {
+		this.sampled = blurred;
+		interp.setImage(blurred);
+	}
+
+	/**
+	 * Returns the blurred image which is sampled
+	 */
+	public T getImageBlurred() {
+		return sampled;
 	}
 
 	public void process( float c_x , float c_y , float orientation , float radius , TupleDesc_B feature )
@@ -85,7 +105,7 @@ public class DescribePointBriefSO<T extends ImageGray<T>> {
 		float scale = (float)(radius/BoofDefaults.BRIEF_SCALE_TO_RADIUS);
 		// NOTE: This doesn't seem to take in account the interpolation border.  Might not work algs
 		// other than bilinear interpolation
-		boolean isInside = BoofMiscOps.checkInside(blur, c_x, c_y, definition.radius*scale);
+		boolean isInside = BoofMiscOps.checkInside(sampled, c_x, c_y, definition.radius*scale);
 
 		float c = (float)Math.cos(orientation);
 		float s = (float)Math.sin(orientation);
@@ -109,9 +129,12 @@ public class DescribePointBriefSO<T extends ImageGray<T>> {
 				float x0 = c_x + (c*a.x - s*a.y)*scale;
 				float y0 = c_y + (s*a.x + c*a.y)*scale;
 
-				if( BoofMiscOps.checkInside(blur, x0, y0) ) {
+				if( BoofMiscOps.checkInside(sampled, x0, y0) ) {
 					// it might be inside the image but too close to the border for unsafe
 					values[i] = interp.get(x0,y0);
+				} else {
+					// don't let values from the previous feature leak into this one
+					values[i] = 0;
 				}
 			}
 		}
@@ -77,8 +77,14 @@ public class CompleteSift extends SiftDetector
 		this.orientation = orientation;
 		this.describe = describe;
 
-		final int dof = describe.getDescriptorLength();
-		features = new FastQueue<BrightFeature>(BrightFeature.class,true) {
+		features = createFeatureQueue(describe.getDescriptorLength());
+	}
+
+	/**
+	 * Creates storage for features with the specified descriptor length
+	 */
+	static FastQueue<BrightFeature> createFeatureQueue( final int dof ) {
+		return new FastQueue<BrightFeature>(BrightFeature.class,true) {
 			@Override
 			protected BrightFeature createInstance() {
 				return new BrightFeature(dof);
@@ -112,6 +118,19 @@ public class CompleteSift extends SiftDetector
 
 	@Override
 	protected void handleDetection(ScalePoint p) {
+		describeDetection(p, orientation, describe, features, locations, orientations);
+	}
+
+	/**
+	 * Computes the orientations of a detection and describes the feature at each orientation. The algorithms
+	 * and storage are passed in so that detections can be described at the same time.
+	 */
+	protected void describeDetection( ScalePoint p ,
+									  OrientationHistogramSift<GrayF32> orientation ,
+									  DescribePointSift<GrayF32> describe ,
+									  FastQueue<BrightFeature> features ,
+									  FastQueue<ScalePoint> locations ,
+									  GrowQueue_F64 orientations ) {
 
 		// adjust the image for the down sampling in each octave
 		double localX = p.x / pixelScaleToInput;
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detdesc;
+
+import boofcv.abst.feature.detect.extract.NonMaxLimiter;
+import boofcv.alg.feature.describe.DescribePointSift;
+import boofcv.alg.feature.detect.interest.SiftScaleSpace;
+import boofcv.alg.feature.orientation.OrientationHistogramSift;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.WorkspacePool;
+import boofcv.struct.feature.BrightFeature;
+import boofcv.struct.feature.ScalePoint;
+import boofcv.struct.image.GrayF32;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_F64;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link CompleteSift}. Detections in each scale are saved then their orientation
+ * and description are computed in parallel batches. Each batch has its own orientation and description
+ * algorithms. Batches are added in the order of detection, so the output is identical to {@link CompleteSift}.
+ * </p>
+ *
+ * <p>
+ * The scale-space is computed by {@link SiftScaleSpace}, which uses the concurrent convolution.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class CompleteSift_MT extends CompleteSift {
+
+	/**
+	 * Minimum number of detections in a batch.
+	 */
+	public int minBatchSize = 20;
+
+	// creates the algorithms used by each batch
+	private final Supplier<OrientationHistogramSift<GrayF32>> orientationFactory;
+	private final Supplier<DescribePointSift<GrayF32>> describeFactory;
+
+	// detections in the current scale which need to be described
+	private final FastQueue<ScalePoint> pending = new FastQueue<>(ScalePoint.class, false);
+
+	// workspace and results for each batch
+	private final WorkspacePool<Batch> batches = new WorkspacePool<>(Batch::new);
+
+	/**
+	 * Configures SIFT. See {@link CompleteSift} for a description of the other parameters.
+	 *
+	 * @param orientationFactory Creates the algorithm to estimate feature orientation(s) for each batch
+	 * @param describeFactory Creates the algorithm to describe features for each batch
+	 */
+	public CompleteSift_MT(SiftScaleSpace scaleSpace, double edgeR, NonMaxLimiter extractor,
+						   Supplier<OrientationHistogramSift<GrayF32>> orientationFactory,
+						   Supplier<DescribePointSift<GrayF32>> describeFactory) {
+		super(scaleSpace, edgeR, extractor, orientationFactory.get(), describeFactory.get());
+		this.orientationFactory = orientationFactory;
+		this.describeFactory = describeFactory;
+	}
+
+	@Override
+	protected void detectFeatures(int scaleIndex) {
+		pending.reset();
+
+		// computes the gradient and finds the detections
+		super.detectFeatures(scaleIndex);
+
+		BoofConcurrency.loopBlocks(0, pending.size, minBatchSize, batches, (batch,idx0,idx1)->{
+			startBatch(batch, idx0);
+			for (int i = idx0; i < idx1; i++) {
+				describeDetection(pending.get(i), batch.orientation, batch.describe,
+						batch.features, batch.locations, batch.orientations);
+			}
+		});
+
+		// add the results in the same order as the single threaded version
+		List<Batch> used = batches.getUsed();
+		used.sort((a,b)->Integer.compare(a.idx0,b.idx0));
+		for( Batch batch : used ) {
+			for (int i = 0; i < batch.features.size; i++) {
+				features.grow().setTo(batch.features.get(i));
+				locations.add(batch.locations.get(i));
+				orientations.add(batch.orientations.get(i));
+			}
+		}
+	}
+
+	/**
+	 * Saves the detection so that it can be described in parallel once all of this scale's detections are found
+	 */
+	@Override
+	protected void handleDetection(ScalePoint p) {
+		pending.add(p);
+	}
+
+	/**
+	 * Prepares the batch's workspace for the current scale
+	 */
+	private void startBatch( Batch batch , int idx0 ) {
+		batch.idx0 = idx0;
+		batch.features.reset();
+		batch.locations.reset();
+		batch.orientations.reset();
+		batch.orientation.setImageGradient(derivX,derivY);
+		batch.describe.setImageGradient(derivX,derivY);
+	}
+
+	/**
+	 * Workspace and results for a batch of detections
+	 */
+	private class Batch {
+		// index of the first detection in the batch. Used to sort the batches
+		int idx0;
+		OrientationHistogramSift<GrayF32> orientation = orientationFactory.get();
+		DescribePointSift<GrayF32> describe = describeFactory.get();
+		FastQueue<BrightFeature> features = createFeatureQueue(describe.getDescriptorLength());
+		FastQueue<ScalePoint> locations = new FastQueue<>(ScalePoint.class, false);
+		GrowQueue_F64 orientations = new GrowQueue_F64();
+	}
+}
@@ -80,6 +80,22 @@ public abstract class NonMaxBlock {
 	 * @param localMax (Output) storage for found local maximums.
 	 */
 	public void process(GrayF32 intensityImage, QueueCorner localMin, QueueCorner localMax) {
+		process(intensityImage, localMin, localMax, border, intensityImage.height-border);
+	}
+
+	/**
+	 * Detects local minimums and/or maximums inside of blocks which start inside the specified range of rows.
+	 * Blocks are laid out the same as when the whole image is processed, so splitting the image into ranges of
+	 * rows and processing each range finds the same features in the same order.
+	 *
+	 * @param intensityImage (Input) Feature intensity image.
+	 * @param localMin (Output) storage for found local minimums.
+	 * @param localMax (Output) storage for found local maximums.
+	 * @param rowStart First row in the range, inclusive.
+	 * @param rowEnd Last row in the range, exclusive.
+	 */
+	public void process(GrayF32 intensityImage, QueueCorner localMin, QueueCorner localMax,
+						int rowStart , int rowEnd ) {
 
 		this.localMin = localMin;
 		this.localMax = localMax;
@@ -89,7 +105,11 @@ public abstract class NonMaxBlock {
 
 		int step = radius+1;
 
-		for( int y = border; y < endY; y += step ) {
+		// first block which starts inside the range
+		int yStart = border + ((Math.max(rowStart,border)-border+step-1)/step)*step;
+		rowEnd = Math.min(rowEnd,endY);
+
+		for( int y = yStart; y < rowEnd; y += step ) {
 			int y1 = y + step;
 			if( y1 > endY ) y1 = endY;
 
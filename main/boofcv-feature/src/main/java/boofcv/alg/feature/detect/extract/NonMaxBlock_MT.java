@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.extract;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.ImageBands;
+import boofcv.concurrency.WorkspacePool;
+import boofcv.struct.QueueCorner;
+import boofcv.struct.image.GrayF32;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link NonMaxBlock}. The image is split into bands of block rows and each band is
+ * searched by its own instance of {@link NonMaxBlock}. Features from each band are added in order, producing the
+ * same output as the single threaded version.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class NonMaxBlock_MT extends NonMaxBlock {
+
+	// workspace and results for each band
+	private final WorkspacePool<Band> bands;
+
+	/**
+	 * @param factory Creates the single threaded algorithm which is used to search a band
+	 */
+	public NonMaxBlock_MT( Supplier<NonMaxBlock> factory ) {
+		this(factory,factory.get());
+	}
+
+	private NonMaxBlock_MT( Supplier<NonMaxBlock> factory , NonMaxBlock example ) {
+		super(example.detectsMinimum, example.detectsMaximum);
+		this.bands = new WorkspacePool<>(()->new Band(factory.get()));
+		bands.release(new Band(example));
+	}
+
+	@Override
+	public void process(GrayF32 intensityImage, QueueCorner localMin, QueueCorner localMax,
+						int rowStart , int rowEnd ) {
+		rowStart = Math.max(rowStart,border);
+		rowEnd = Math.min(rowEnd,intensityImage.height-border);
+
+		// make sure bands aren't too small and contain at least one row of blocks
+		int minRows = Math.max(radius+1, ImageBands.MIN_BAND_PIXELS/Math.max(1,intensityImage.width));
+
+		BoofConcurrency.loopBlocks(rowStart, rowEnd, minRows, bands, (band,y0,y1)->{
+			startBand(band, y0);
+			band.alg.process(intensityImage, band.localMin, band.localMax, y0, y1);
+		});
+
+		// add the results in the same order as the single threaded version
+		List<Band> used = bands.getUsed();
+		used.sort((a,b)->Integer.compare(a.y0,b.y0));
+		for( Band band : used ) {
+			for (int i = 0; i < band.localMin.size; i++) {
+				localMin.grow().set(band.localMin.get(i));
+			}
+			for (int i = 0; i < band.localMax.size; i++) {
+				localMax.grow().set(band.localMax.get(i));
+			}
+		}
+	}
+
+	/**
+	 * Prepares the band's workspace and copies over the search settings
+	 */
+	private void startBand( Band band , int y0 ) {
+		band.y0 = y0;
+		band.localMin.reset();
+		band.localMax.reset();
+		if( band.alg.getSearchRadius() != radius )
+			band.alg.setSearchRadius(radius);
+		band.alg.setBorder(border);
+		band.alg.setThresholdMin(thresholdMin);
+		band.alg.setThresholdMax(thresholdMax);
+	}
+
+	/**
+	 * Searching is done by the algorithm for each band
+	 */
+	@Override
+	protected void searchBlock(int x0, int y0, int x1, int y1, GrayF32 img) {
+		throw new IllegalStateException("Should never be called");
+	}
+
+	/**
+	 * Workspace and results for a band of block rows
+	 */
+	private static class Band {
+		// first row in the band. Used to sort the bands
+		int y0;
+		NonMaxBlock alg;
+		QueueCorner localMin = new QueueCorner(10);
+		QueueCorner localMax = new QueueCorner(10);
+
+		public Band(NonMaxBlock alg) {
+			this.alg = alg;
+		}
+	}
+}
@@ -75,8 +75,8 @@ public class FastCornerDetector<T extends ImageGray<T>> implements FeatureIntens
 	private int stride = 0;
 
 	// list of pixels that might be corners.
-	private QueueCorner candidatesLow = new QueueCorner(10);
-	private QueueCorner candidatesHigh = new QueueCorner(10);
+	protected QueueCorner candidatesLow = new QueueCorner(10);
+	protected QueueCorner candidatesHigh = new QueueCorner(10);
 
 	// reference to the input image
 	protected T image;
@@ -121,16 +121,7 @@ public class FastCornerDetector<T extends ImageGray<T>> implements FeatureIntens
 	 * used
 	 */
 	public void process( T image , GrayF32 intensity ) {
-		int maxFeatures = (int)(maxFeaturesFraction*image.width*image.height);
-		candidatesLow.reset();
-		candidatesHigh.reset();
-		this.image = image;
-
-		if( stride != image.stride ) {
-			stride = image.stride;
-			offsets = DiscretizedCircle.imageOffsets(radius, image.stride);
-		}
-		helper.setImage(image,offsets);
+		int maxFeatures = initialize(image);
 
 		for (int y = radius; y < image.height-radius; y++) {
 			int indexIntensity = intensity.startIndex + y*intensity.stride + radius;
@@ -159,16 +150,7 @@ public class FastCornerDetector<T extends ImageGray<T>> implements FeatureIntens
 	 * Computes fast corner features
 	 */
 	public void process( T image ) {
-		int maxFeatures = (int)(maxFeaturesFraction*image.width*image.height);
-		candidatesLow.reset();
-		candidatesHigh.reset();
-		this.image = image;
-
-		if( stride != image.stride ) {
-			stride = image.stride;
-			offsets = DiscretizedCircle.imageOffsets(radius, image.stride);
-		}
-		helper.setImage(image,offsets);
+		int maxFeatures = initialize(image);
 
 		for (int y = radius; y < image.height-radius; y++) {
 			int index = image.startIndex + y*image.stride + radius;
@@ -188,6 +170,25 @@ public class FastCornerDetector<T extends ImageGray<T>> implements FeatureIntens
 		}
 	}
 
+	/**
+	 * Prepares for processing a new image
+	 *
+	 * @return Maximum number of features
+	 */
+	protected int initialize( T image ) {
+		candidatesLow.reset();
+		candidatesHigh.reset();
+		this.image = image;
+
+		if( stride != image.stride ) {
+			stride = image.stride;
+			offsets = DiscretizedCircle.imageOffsets(radius, image.stride);
+		}
+		helper.setImage(image,offsets);
+
+		return (int)(maxFeaturesFraction*image.width*image.height);
+	}
+
 	public double getMaxFeaturesFraction() {
 		return maxFeaturesFraction;
 	}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.intensity;
+
+import boofcv.alg.feature.detect.intensity.impl.FastCornerInterface;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.ImageBands;
+import boofcv.concurrency.WorkspacePool;
+import boofcv.struct.QueueCorner;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.ImageGray;
+
+import java.util.List;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link FastCornerDetector}. The image is split into bands of rows which are
+ * processed in parallel. Each band has its own helper and corner lists, which are then merged in row order.
+ * The found corners are identical to the single threaded version, including the order and where it stops
+ * when the maximum number of features has been reached.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class FastCornerDetector_MT<T extends ImageGray<T>> extends FastCornerDetector<T> {
+
+	// workspace and corners for each band
+	private final WorkspacePool<Band> bands = new WorkspacePool<>(()->new Band(helper.newInstance()));
+
+	/**
+	 * Constructor
+	 *
+	 * @param helper Provide the image type specific helper.
+	 */
+	public FastCornerDetector_MT(FastCornerInterface<T> helper) {
+		super(helper);
+	}
+
+	@Override
+	public void process( T image , GrayF32 intensity ) {
+		final int maxFeatures = initialize(image);
+
+		BoofConcurrency.loopBlocks(radius, image.height-radius, minBandRows(image), bands, (band,y0,y1)->{
+			startBand(band, image, y0);
+
+			for (int y = y0; y < y1; y++) {
+				int indexIntensity = intensity.startIndex + y*intensity.stride + radius;
+				int index = image.startIndex + y*image.stride + radius;
+				for (int x = radius; x < image.width-radius; x++, index++,indexIntensity++) {
+
+					int result = band.helper.checkPixel(index);
+
+					if( result < 0 ) {
+						intensity.data[indexIntensity] = band.helper.scoreLower(index);
+						band.low.add(x,y);
+					} else if( result > 0) {
+						intensity.data[indexIntensity] = band.helper.scoreUpper(index);
+						band.high.add(x,y);
+					} else {
+						intensity.data[indexIntensity] = 0;
+					}
+				}
+				// no need to go further since the rows after this one will be discarded
+				if( band.low.size + band.high.size >= maxFeatures )
+					break;
+			}
+		});
+
+		mergeBands(maxFeatures);
+	}
+
+	@Override
+	public void process( T image ) {
+		final int maxFeatures = initialize(image);
+
+		BoofConcurrency.loopBlocks(radius, image.height-radius, minBandRows(image), bands, (band,y0,y1)->{
+			startBand(band, image, y0);
+
+			for (int y = y0; y < y1; y++) {
+				int index = image.startIndex + y*image.stride + radius;
+				for (int x = radius; x < image.width-radius; x++, index++) {
+
+					int result = band.helper.checkPixel(index);
+
+					if( result < 0 ) {
+						band.low.add(x,y);
+					} else if( result > 0 ) {
+						band.high.add(x,y);
+					}
+				}
+				// no need to go further since the rows after this one will be discarded
+				if( band.low.size + band.high.size >= maxFeatures )
+					break;
+			}
+		});
+
+		mergeBands(maxFeatures);
+	}
+
+	private static int minBandRows( ImageGray image ) {
+		return Math.max(1, ImageBands.MIN_BAND_PIXELS/Math.max(1,image.width));
+	}
+
+	/**
+	 * Prepares the band's workspace for processing the image
+	 */
+	private void startBand( Band band , T image , int y0 ) {
+		band.y0 = y0;
+		band.low.reset();
+		band.high.reset();
+		band.helper.setImage(image, offsets);
+	}
+
+	/**
+	 * Adds the corners from each band in order of their rows then discards corners in rows which the
+	 * single threaded version would have skipped
+	 */
+	private void mergeBands( int maxFeatures ) {
+		List<Band> used = bands.getUsed();
+		used.sort((a,b)->Integer.compare(a.y0,b.y0));
+
+		for( Band band : used ) {
+			for (int i = 0; i < band.low.size; i++) {
+				candidatesLow.add(band.low.get(i));
+			}
+			for (int i = 0; i < band.high.size; i++) {
+				candidatesHigh.add(band.high.get(i));
+			}
+		}
+
+		if( candidatesLow.size + candidatesHigh.size < maxFeatures )
+			return;
+
+		// Find the row where the number of features reaches the limit. The first row is always processed
+		int row = radius;
+		int indexLow = 0, indexHigh = 0;
+		for (int count = 0; count < maxFeatures; count++) {
+			if( indexHigh >= candidatesHigh.size ||
+					(indexLow < candidatesLow.size && candidatesLow.get(indexLow).y <= candidatesHigh.get(indexHigh).y )) {
+				row = candidatesLow.get(indexLow++).y;
+			} else {
+				row = candidatesHigh.get(indexHigh++).y;
+			}
+		}
+
+		discardAfterRow(candidatesLow, row);
+		discardAfterRow(candidatesHigh, row);
+	}
+
+	private static void discardAfterRow( QueueCorner corners , int row ) {
+		int size = corners.size;
+		while( size > 0 && corners.get(size-1).y > row )
+			size--;
+		corners.size = size;
+	}
+
+	/**
+	 * Workspace for processing a band of rows
+	 */
+	private class Band {
+		// first row in the band. Used to sort the bands
+		int y0;
+		FastCornerInterface<T> helper;
+		QueueCorner low = new QueueCorner(10);
+		QueueCorner high = new QueueCorner(10);
+
+		Band(FastCornerInterface<T> helper) {
+			this.helper = helper;
+		}
+	}
+}
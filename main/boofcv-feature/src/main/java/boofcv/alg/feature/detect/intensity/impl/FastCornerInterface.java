@@ -37,4 +37,9 @@ public interface FastCornerInterface<T extends ImageGray<T>> {
 	float scoreUpper( int index );
 
 	void setThreshold( int index );
+
+	/**
+	 * Creates a new instance with the same settings. Used to give each thread its own helper.
+	 */
+	FastCornerInterface<T> newInstance();
 }
\ No newline at end of file
@@ -38,6 +38,11 @@ public class ImplFastCorner12_F32 extends ImplFastHelper_F32
 		super(pixelTol);
 	}
 
+	@Override
+	public ImplFastCorner12_F32 newInstance() {
+		return new ImplFastCorner12_F32(tol);
+	}
+
 	/**
 	 * @return 1 = positive corner, 0 = no corner, -1 = negative corner
 	 */
@@ -50,6 +50,13 @@ public abstract class ImplSsdCornerBase<D extends ImageGray<D>, D2 extends Image
 	// radius of detected features
 	protected int radius;
 
+	/**
+	 * Floating point sums along the y-axis are restarted every this many rows, counting from the top of the image.
+	 * A sliding sum depends on where it started, so this keeps the intensity of a row the same when the image is
+	 * processed in bands of rows which start on a multiple of this value.
+	 */
+	public static final int SUM_RESTART_ROWS = 32;
+
 	// temporary storage for intensity derivatives summations
 	protected D2 horizXX;
 	protected D2 horizXY;
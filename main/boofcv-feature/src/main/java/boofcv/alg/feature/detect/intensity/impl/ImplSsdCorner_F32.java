@@ -132,7 +132,11 @@ public abstract class ImplSsdCorner_F32 extends ImplSsdCornerBase<GrayF32,GrayF3
 
 	/**
 	 * Compute the derivative sum along the y-axis while taking advantage of duplicate
-	 * calculations for each window and avoiding cache misses. Then compute the eigen values
+	 * calculations for each window and avoiding cache misses. Then compute the eigen values.
+	 *
+	 * A sliding floating point sum depends on which row it started at, so the sum is restarted every
+	 * {@link ImplSsdCornerBase#SUM_RESTART_ROWS} rows counting from the top of the image. The intensity is then
+	 * identical when the image is processed in bands which start on one of those rows.
 	 */
 	@Override
 	protected void vertical( GrayF32 intensity ) {
@@ -151,43 +155,46 @@ public abstract class ImplSsdCorner_F32 extends ImplSsdCornerBase<GrayF32,GrayF3
 
 		final int backStep = kernelWidth * imgWidth;
 
-		for (x = startX; x < endX; x++) {
-			int srcIndex = x;
-			int destIndex = imgWidth * radius + x;
-			totalXX = totalXY = totalYY = 0;
-
-			int indexEnd = srcIndex + imgWidth * kernelWidth;
-			for (; srcIndex < indexEnd; srcIndex += imgWidth) {
-				totalXX += hXX[srcIndex];
-				totalXY += hXY[srcIndex];
-				totalYY += hYY[srcIndex];
-			}
-
-			tempXX[x] = totalXX;
-			tempXY[x] = totalXY;
-			tempYY[x] = totalYY;
-
-			y = radius;
-			// compute the eigen values
-			inten[destIndex] = computeIntensity();
-			destIndex += imgWidth;
-			y++;
-		}
-
-		// change the order it is processed in to reduce cache misses
-		for (y = radius + 1; y < imgHeight - radius; y++) {
-			int srcIndex = (y + radius) * imgWidth + startX;
+		for (y = radius; y < imgHeight - radius; y++) {
 			int destIndex = y * imgWidth + startX;
 
-			for (x = startX; x < endX; x++, srcIndex++, destIndex++) {
-				totalXX = tempXX[x] - hXX[srcIndex - backStep];
-				tempXX[x] = totalXX += hXX[srcIndex];
-				totalXY = tempXY[x] - hXY[srcIndex - backStep];
-				tempXY[x] = totalXY += hXY[srcIndex];
-				totalYY = tempYY[x] - hYY[srcIndex - backStep];
-				tempYY[x] = totalYY += hYY[srcIndex];
-
-				inten[destIndex] = computeIntensity();
+			if( (y - radius) % SUM_RESTART_ROWS == 0 ) {
+				// sum the whole window one row at a time to avoid cache misses
+				int srcIndex = (y - radius) * imgWidth;
+				for (int j = startX; j < endX; j++) {
+					tempXX[j] = hXX[srcIndex + j];
+					tempXY[j] = hXY[srcIndex + j];
+					tempYY[j] = hYY[srcIndex + j];
+				}
+				for (int i = 1; i < kernelWidth; i++) {
+					srcIndex += imgWidth;
+					for (int j = startX; j < endX; j++) {
+						tempXX[j] += hXX[srcIndex + j];
+						tempXY[j] += hXY[srcIndex + j];
+						tempYY[j] += hYY[srcIndex + j];
+					}
+				}
+
+				for (x = startX; x < endX; x++, destIndex++) {
+					totalXX = tempXX[x];
+					totalXY = tempXY[x];
+					totalYY = tempYY[x];
+
+					inten[destIndex] = computeIntensity();
+				}
+			} else {
+				int srcIndex = (y + radius) * imgWidth + startX;
+
+				for (x = startX; x < endX; x++, srcIndex++, destIndex++) {
+					totalXX = tempXX[x] - hXX[srcIndex - backStep];
+					tempXX[x] = totalXX += hXX[srcIndex];
+					totalXY = tempXY[x] - hXY[srcIndex - backStep];
+					tempXY[x] = totalXY += hXY[srcIndex];
+					totalYY = tempYY[x] - hYY[srcIndex - backStep];
+					tempYY[x] = totalYY += hYY[srcIndex];
+
+					inten[destIndex] = computeIntensity();
+				}
 			}
 		}
 	}
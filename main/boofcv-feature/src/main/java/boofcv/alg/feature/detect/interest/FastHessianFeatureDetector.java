@@ -89,7 +89,7 @@ public class FastHessianFeatureDetector<II extends ImageGray<II>> {
 	// sorts feature by their intensity
 	private SelectNBestFeatures sortBest;
 	// the maximum number of returned feature per scale
-	private int maxFeaturesPerScale;
+	protected int maxFeaturesPerScale;
 
 	// local sub-space
 	private GrayF32 intensity[];
@@ -97,7 +97,7 @@ public class FastHessianFeatureDetector<II extends ImageGray<II>> {
 	private QueueCorner foundFeatures = new QueueCorner(100);
 
 	// List of found feature points
-	private FastQueue<ScalePoint> foundPoints = new FastQueue<>(10, ScalePoint.class, true);
+	protected FastQueue<ScalePoint> foundPoints = new FastQueue<>(10, ScalePoint.class, true);
 
 	// size of detected feature at the smallest scale
 	private int initialSize;
@@ -154,12 +154,6 @@ public class FastHessianFeatureDetector<II extends ImageGray<II>> {
 	 * @param integral Image transformed into an integral image.
 	 */
 	public void detect( II integral ) {
-		if( intensity == null ) {
-			intensity = new GrayF32[3];
-			for( int i = 0; i < intensity.length; i++ ) {
-				intensity[i] = new GrayF32(integral.width,integral.height);
-			}
-		}
 		foundPoints.reset();
 
 		// computes feature intensity every 'skip' pixels
@@ -200,6 +194,13 @@ public class FastHessianFeatureDetector<II extends ImageGray<II>> {
 		int w = integral.width/skip;
 		int h = integral.height/skip;
 
+		if( intensity == null ) {
+			intensity = new GrayF32[3];
+			for( int i = 0; i < intensity.length; i++ ) {
+				intensity[i] = new GrayF32(w,h);
+			}
+		}
+
 		// resize the output intensity image taking in account subsampling
 		for( int i = 0; i < intensity.length; i++ ) {
 			intensity[i].reshape(w,h);
@@ -232,22 +233,45 @@ public class FastHessianFeatureDetector<II extends ImageGray<II>> {
 		int index1 = (spaceIndex + 1) % 3;
 		int index2 = (spaceIndex + 2) % 3;
 
-		ImageBorder_F32 inten0 = (ImageBorder_F32)FactoryImageBorderAlgs.value(intensity[index0], 0);
-		GrayF32 inten1 = intensity[index1];
-		ImageBorder_F32 inten2 = (ImageBorder_F32)FactoryImageBorderAlgs.value(intensity[index2], 0);
+		findLocalScaleSpaceMax(intensity[index0],intensity[index1],intensity[index2],size,level,skip,
+				extractor,sortBest,foundFeatures,foundPoints);
+	}
+
+	/**
+	 * Looks for features which are local maximums in the image and scale-space. All the workspace is passed
+	 * in so that different scales can be processed at the same time.
+	 *
+	 * @param intensity0 Intensity of the smaller scale
+	 * @param intensity1 Intensity of the scale being searched
+	 * @param intensity2 Intensity of the larger scale
+	 * @param size Size of features in different scale-spaces.
+	 * @param level Which level in the scale-space
+	 * @param skip How many pixels are skipped over.
+	 * @param extractor Finds local maximums in the 2D intensity image
+	 * @param sortBest Selects the most intense features. Can be null.
+	 * @param foundFeatures Storage for features found by the extractor
+	 * @param output Found features are added to this list
+	 */
+	protected void findLocalScaleSpaceMax( GrayF32 intensity0 , GrayF32 intensity1 , GrayF32 intensity2 ,
+										   int []size, int level, int skip ,
+										   NonMaxSuppression extractor , SelectNBestFeatures sortBest ,
+										   QueueCorner foundFeatures , FastQueue<ScalePoint> output ) {
+		ImageBorder_F32 inten0 = (ImageBorder_F32)FactoryImageBorderAlgs.value(intensity0, 0);
+		GrayF32 inten1 = intensity1;
+		ImageBorder_F32 inten2 = (ImageBorder_F32)FactoryImageBorderAlgs.value(intensity2, 0);
 
 		// find local maximums in image 2D space.  Borders need to be ignored since
 		// false positives are found around them as an artifact of pixels outside being
 		// treated as being zero.
 		foundFeatures.reset();
 		extractor.setIgnoreBorder(size[level] / (2 * skip));
-		extractor.process(intensity[index1],null,null,null,foundFeatures);
+		extractor.process(intensity1,null,null,null,foundFeatures);
 
 		// Can't consider feature which are right up against the border since they might not be a true local
 		// maximum when you consider the features on the other side of the ignore border
 		int ignoreRadius = extractor.getIgnoreBorder() + extractor.getSearchRadius();
-		int ignoreWidth = intensity[index1].width-ignoreRadius;
-		int ignoreHeight = intensity[index1].height-ignoreRadius;
+		int ignoreWidth = intensity1.width-ignoreRadius;
+		int ignoreHeight = intensity1.height-ignoreRadius;
 
 		// number of features which can be added
 		int numberRemaining;
@@ -255,7 +279,7 @@ public class FastHessianFeatureDetector<II extends ImageGray<II>> {
 		// if configured to do so, only select the features with the highest intensity
 		QueueCorner features;
 		if( sortBest != null ) {
-			sortBest.process(intensity[index1],foundFeatures,true);
+			sortBest.process(intensity1,foundFeatures,true);
 			features = sortBest.getBestCorners();
 			numberRemaining = maxFeaturesPerScale;
 		} else {
@@ -291,7 +315,7 @@ public class FastHessianFeatureDetector<II extends ImageGray<II>> {
 				float interpS = levelSize+peakS*sizeStep;
 
 				double scale =  1.2*interpS/9.0;
-				foundPoints.grow().set(interpX,interpY,scale);
+				output.grow().set(interpX,interpY,scale);
 				numberRemaining--;
 			}
 		}
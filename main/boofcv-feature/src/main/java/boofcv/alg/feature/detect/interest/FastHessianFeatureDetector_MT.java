@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.interest;
+
+import boofcv.abst.feature.detect.extract.NonMaxSuppression;
+import boofcv.alg.feature.detect.extract.SelectNBestFeatures;
+import boofcv.alg.feature.detect.intensity.GIntegralImageFeatureIntensity;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.QueueCorner;
+import boofcv.struct.feature.ScalePoint;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.ImageGray;
+import org.ddogleg.struct.FastQueue;
+
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link FastHessianFeatureDetector}. Inside each octave the intensity of every scale
+ * is computed in parallel, then the non-maximum suppression for each scale is done in parallel. Each scale has its own
+ * non-maximum suppression and storage. Found points are added in the order of the scales, so the output is
+ * identical to the single threaded version.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class FastHessianFeatureDetector_MT<II extends ImageGray<II>> extends FastHessianFeatureDetector<II> {
+
+	// intensity for every scale in the octave
+	private GrayF32 scaleIntensity[];
+	// workspace for each scale which can contain a local maximum. Index 0 and the last one are not used
+	private Workspace workspaces[];
+
+	/**
+	 * Constructor. See {@link FastHessianFeatureDetector} for a description of the parameters.
+	 *
+	 * @param extractorFactory Creates a new non-maximum suppression for each scale.
+	 */
+	public FastHessianFeatureDetector_MT(Supplier<NonMaxSuppression> extractorFactory, int maxFeaturesPerScale,
+										 int initialSampleRate, int initialSize,
+										 int numberScalesPerOctave,
+										 int numberOfOctaves, int scaleStepSize) {
+		super(extractorFactory.get(), maxFeaturesPerScale, initialSampleRate, initialSize,
+				numberScalesPerOctave, numberOfOctaves, scaleStepSize);
+
+		scaleIntensity = new GrayF32[numberScalesPerOctave];
+		for( int i = 0; i < scaleIntensity.length; i++ ) {
+			scaleIntensity[i] = new GrayF32(1,1);
+		}
+		workspaces = new Workspace[numberScalesPerOctave];
+		for( int i = 1; i < numberScalesPerOctave-1; i++ ) {
+			workspaces[i] = new Workspace(extractorFactory.get(), maxFeaturesPerScale);
+		}
+	}
+
+	@Override
+	protected void detectOctave( II integral , int skip , int ...featureSize ) {
+
+		int w = integral.width/skip;
+		int h = integral.height/skip;
+
+		// resize the output intensity image taking in account subsampling
+		for( int i = 0; i < scaleIntensity.length; i++ ) {
+			scaleIntensity[i].reshape(w,h);
+		}
+
+		// compute feature intensity in each level
+		BoofConcurrency.loopFor(0, featureSize.length, i ->
+				GIntegralImageFeatureIntensity.hessian(integral,skip,featureSize[i],scaleIntensity[i]));
+
+		// find maximum in scale space
+		BoofConcurrency.loopFor(1, featureSize.length-1, level -> {
+			Workspace work = workspaces[level];
+			work.found.reset();
+			findLocalScaleSpaceMax(scaleIntensity[level-1],scaleIntensity[level],scaleIntensity[level+1],featureSize,level,skip,
+					work.extractor,work.sortBest,work.features,work.found);
+		});
+
+		// add them in the same order as the single threaded version
+		for( int level = 1; level < featureSize.length-1; level++ ) {
+			FastQueue<ScalePoint> found = workspaces[level].found;
+			for (int i = 0; i < found.size; i++) {
+				ScalePoint p = found.get(i);
+				foundPoints.grow().set(p);
+			}
+		}
+	}
+
+	/**
+	 * Storage for finding local maximums inside a single scale
+	 */
+	private static class Workspace {
+		NonMaxSuppression extractor;
+		SelectNBestFeatures sortBest;
+		QueueCorner features = new QueueCorner(100);
+		FastQueue<ScalePoint> found = new FastQueue<>(10, ScalePoint.class, true);
+
+		Workspace(NonMaxSuppression extractor , int maxFeaturesPerScale ) {
+			this.extractor = extractor;
+			if( maxFeaturesPerScale > 0 )
+				sortBest = new SelectNBestFeatures(maxFeaturesPerScale);
+		}
+	}
+}
@@ -105,8 +105,7 @@ public class GeneralFeatureDetector<I extends ImageGray<I>, D extends ImageGray<
 	 * @param derivYY Second derivative.  Only needed if {@link #getRequiresHessian()} ()} is true.
 	 */
 	public void process(I image, D derivX, D derivY, D derivXX, D derivYY, D derivXY) {
-		intensity.process(image, derivX, derivY, derivXX, derivYY, derivXY);
-		GrayF32 intensityImage = intensity.getIntensity();
+		GrayF32 intensityImage = computeIntensity(image, derivX, derivY, derivXX, derivYY, derivXY);
 
 		int numSelectMin = -1;
 		int numSelectMax = -1;
@@ -148,6 +147,16 @@ public class GeneralFeatureDetector<I extends ImageGray<I>, D extends ImageGray<
 		selectBest(intensityImage, foundMaximum, numSelectMax, true);
 	}
 
+	/**
+	 * Computes the feature intensity image
+	 *
+	 * @return The feature intensity image
+	 */
+	protected GrayF32 computeIntensity(I image, D derivX, D derivY, D derivXX, D derivYY, D derivXY) {
+		intensity.process(image, derivX, derivY, derivXX, derivYY, derivXY);
+		return intensity.getIntensity();
+	}
+
 	private void selectBest(GrayF32 intensityImage, QueueCorner found , int numSelect, boolean positive) {
 		if (numSelect > 0) {
 			selectBest.setN(numSelect);
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.interest;
+
+import boofcv.abst.feature.detect.extract.NonMaxSuppression;
+import boofcv.abst.feature.detect.intensity.GeneralFeatureIntensity;
+import boofcv.alg.feature.detect.intensity.impl.ImplSsdCornerBase;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.ImageBands;
+import boofcv.concurrency.WorkspacePool;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.ImageGray;
+
+import javax.annotation.Nullable;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link GeneralFeatureDetector}. The intensity image is split into bands of rows.
+ * Each band is computed by its own instance of {@link GeneralFeatureIntensity} from the input images expanded
+ * by the intensity's radius, so that its rows don't depend on the neighboring bands. Non-maximum suppression
+ * is concurrent when the extractor is, e.g. {@link boofcv.alg.feature.detect.extract.NonMaxBlock_MT}.
+ * </p>
+ *
+ * <p>
+ * Intensities which provide candidates are computed by a single thread. Bands are expanded so that they start on
+ * a multiple of {@link ImplSsdCornerBase#SUM_RESTART_ROWS}, which is where floating point sums over a region are
+ * restarted. This makes the output identical to the single threaded version with float images too.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class GeneralFeatureDetector_MT<I extends ImageGray<I>, D extends ImageGray<D>>
+		extends GeneralFeatureDetector<I,D>
+{
+	// radius of the region which influences the intensity of a pixel
+	private final int intensityRadius;
+
+	// intensity algorithm used by each band
+	private final WorkspacePool<GeneralFeatureIntensity<I,D>> algorithms;
+
+	// storage for the intensity image
+	private final GrayF32 intensityImage = new GrayF32(1,1);
+	// the intensity image from the most recent call to process
+	private GrayF32 intensityFound;
+
+	/**
+	 * @param factory Creates the algorithm which computes the feature intensity for each band
+	 * @param intensityRadius Radius of the region in the input images which influences a pixel's intensity
+	 * @param extractor Extracts features from the intensity image
+	 */
+	public GeneralFeatureDetector_MT(Supplier<GeneralFeatureIntensity<I,D>> factory, int intensityRadius,
+									 NonMaxSuppression extractor) {
+		super(factory.get(), extractor);
+		this.algorithms = new WorkspacePool<>(factory);
+		this.intensityRadius = intensityRadius;
+	}
+
+	@Override
+	protected GrayF32 computeIntensity(I image, D derivX, D derivY, D derivXX, D derivYY, D derivXY) {
+		if( intensity.hasCandidates() ) {
+			intensityFound = super.computeIntensity(image, derivX, derivY, derivXX, derivYY, derivXY);
+			return intensityFound;
+		}
+
+		final int width = image.width;
+		final int height = image.height;
+		final int halo = Math.max(intensityRadius,intensity.getIgnoreBorder());
+
+		intensityImage.reshape(width,height);
+
+		// bands which are only as tall as the halo would mostly be overhead
+		int minRows = Math.max(2*halo+1, ImageBands.MIN_BAND_PIXELS/Math.max(1,width));
+
+		BoofConcurrency.loopBlocks(0, height, minRows, algorithms, (alg,y0,y1)->{
+			// expand the band so that intensity inside of it is computed using the same pixels and float sums
+			// restart on the same rows as when the whole image is processed
+			int ya = Math.max(0,y0-halo);
+			ya -= ya % ImplSsdCornerBase.SUM_RESTART_ROWS;
+			int yb = Math.min(height,y1+halo);
+
+			alg.process(band(image,ya,yb), band(derivX,ya,yb), band(derivY,ya,yb),
+					band(derivXX,ya,yb), band(derivYY,ya,yb), band(derivXY,ya,yb));
+
+			// copy the rows which are inside the band
+			GrayF32 found = alg.getIntensity();
+			for (int y = y0; y < y1; y++) {
+				System.arraycopy(found.data, found.startIndex + (y-ya)*found.stride,
+						intensityImage.data, intensityImage.startIndex + y*intensityImage.stride, width);
+			}
+		});
+
+		intensityFound = intensityImage;
+		return intensityImage;
+	}
+
+	private static <T extends ImageGray<T>> T band( @Nullable T image , int y0 , int y1 ) {
+		if( image == null )
+			return null;
+		return image.subimage(0,y0,image.width,y1);
+	}
+
+	@Override
+	public GrayF32 getIntensity() {
+		return intensityFound == null ? intensity.getIntensity() : intensityFound;
+	}
+}
@@ -22,6 +22,7 @@ import boofcv.alg.filter.convolve.GConvolveImageOps;
 import boofcv.alg.interpolate.InterpolatePixelS;
 import boofcv.alg.misc.PixelMath;
 import boofcv.alg.transform.pyramid.PyramidOps;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.core.image.border.BorderType;
 import boofcv.factory.filter.kernel.FactoryKernel;
 import boofcv.factory.filter.kernel.FactoryKernelGaussian;
@@ -212,7 +213,9 @@ public class SiftScaleSpace {
 	}
 
 	/**
-	 * Computes all the scale images in an octave.  This includes DoG images.
+	 * Computes all the scale images in an octave.  This includes DoG images.  Each scale depends on the previous
+	 * one, so only the convolution inside of each blur is concurrent.  The DoG images are independent and
+	 * are computed in parallel.
 	 */
 	private void computeOctaveScales() {
 		octaveImages[0] = tempImage0;
@@ -223,8 +226,18 @@ public class SiftScaleSpace {
 
 		for (int i = 1; i < numScales+3; i++) {
 			differenceOfGaussian[i-1].reshape(tempImage0.width, tempImage0.height);
-			PixelMath.subtract(octaveImages[i],octaveImages[i - 1],differenceOfGaussian[i-1]);
 		}
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			BoofConcurrency.loopFor(1, numScales+3, this::computeDifferenceOfGaussian);
+		} else {
+			for (int i = 1; i < numScales+3; i++) {
+				computeDifferenceOfGaussian(i);
+			}
+		}
+	}
+
+	private void computeDifferenceOfGaussian( int i ) {
+		PixelMath.subtract(octaveImages[i],octaveImages[i - 1],differenceOfGaussian[i-1]);
 	}
 
 	public GrayF32 getImageScale(int scaleIndex ) {
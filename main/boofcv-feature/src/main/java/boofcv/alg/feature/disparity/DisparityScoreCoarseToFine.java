@@ -0,0 +1,271 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.factory.transform.pyramid.FactoryPyramid;
+import boofcv.struct.image.*;
+import boofcv.struct.pyramid.PyramidDiscrete;
+
+/**
+ * <p>
+ * Computes dense disparity from coarse to fine using an image pyramid. The full disparity range is only searched
+ * at the top most (lowest resolution) layer. At each finer layer the image is split into tiles and the range
+ * searched in each tile is restricted to the disparities found in the same region of the previous layer,
+ * scaled up and padded by a margin. If the previous layer has no valid disparity in the region then the full
+ * range is searched. Because the cost of block matching grows linearly with the range, this can reduce the
+ * work by an order of magnitude for wide baseline cameras.
+ * </p>
+ *
+ * <p>
+ * The matching in each tile is done by {@link DisparityScoreRegion}. The output is in the same format as the
+ * algorithm it wraps.
+ * </p>
+ *
+ * <p>
+ * A mistake at a coarse layer, e.g. a thin object which vanishes at low resolution, can't be fixed at a finer
+ * layer unless the margin is large enough to include the correct disparity.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class DisparityScoreCoarseToFine<Input extends ImageGray<Input>, Disparity extends ImageGray<Disparity>>
+		extends DisparityScoreRowFormat<Input,Disparity>
+{
+	// Algorithm used at the coarser layers
+	private final DisparityScoreRowFormat<Input,GrayU8> coarse;
+	// Algorithm used at the full resolution layer
+	private final DisparityScoreRowFormat<Input,Disparity> fine;
+
+	// computes the disparity inside a single tile
+	private final DisparityScoreRegion<Input,GrayU8> regionCoarse;
+	private final DisparityScoreRegion<Input,Disparity> regionFine;
+
+	// image pyramids for each input image
+	private final PyramidDiscrete<Input> pyramidLeft;
+	private final PyramidDiscrete<Input> pyramidRight;
+
+	// width and height of a tile
+	private int tileSize = 64;
+	// how much the range of disparities found in the previous layer is expanded by
+	private int margin = 2;
+
+	// disparity found in the previous and current layer. -1 for invalid
+	private GrayS32 prior = new GrayS32(1,1);
+	private GrayS32 current = new GrayS32(1,1);
+
+	// storage for the disparity of an entire layer
+	private final GrayU8 layerDisparity = new GrayU8(1,1);
+
+	/**
+	 * Configures the algorithm. The disparity range is specified by the fine algorithm.
+	 *
+	 * @param coarse Algorithm used at the coarser layers
+	 * @param fine Algorithm used at the full resolution layer
+	 * @param scales Scale of each layer in the pyramid. The first layer must have a scale of one, e.g. {1,2,4}.
+	 */
+	public DisparityScoreCoarseToFine( DisparityScoreRowFormat<Input,GrayU8> coarse ,
+									   DisparityScoreRowFormat<Input,Disparity> fine ,
+									   int ...scales ) {
+		super(fine.getMinDisparity(), fine.getMaxDisparity(), fine.radiusX, fine.radiusY);
+		if( scales.length == 0 || scales[0] != 1 )
+			throw new IllegalArgumentException("The first layer must have a scale of one");
+
+		this.coarse = coarse;
+		this.fine = fine;
+
+		ImageType<Input> imageType = ImageType.single(fine.getInputType());
+		pyramidLeft = FactoryPyramid.discreteGaussian(scales,-1,2,true,imageType);
+		pyramidRight = FactoryPyramid.discreteGaussian(scales,-1,2,true,imageType);
+
+		regionCoarse = new DisparityScoreRegion<>(coarse);
+		regionFine = new DisparityScoreRegion<>(fine);
+	}
+
+	@Override
+	public void _process( Input left , Input right , Disparity disparity ) {
+		pyramidLeft.process(left);
+		pyramidRight.process(right);
+
+		int[] scales = pyramidLeft.getScales();
+		int top = scales.length-1;
+
+		// search the full range at the top layer
+		if( top > 0 ) {
+			processTopLayer(top);
+		}
+
+		// use the previous layer to restrict the range in finer layers
+		for (int layer = top-1; layer > 0; layer--) {
+			int levelMin = minDisparity/scales[layer];
+			int levelMax = levelMax(layer);
+			int ratio = scales[layer+1]/scales[layer];
+
+			layerDisparity.reshape(pyramidLeft.getWidth(layer),pyramidLeft.getHeight(layer));
+			ImageMiscOps.fill(layerDisparity,levelMax-levelMin+1);
+			if( levelMax > levelMin ) {
+				processTiles(pyramidLeft.getLayer(layer), pyramidRight.getLayer(layer), ratio,
+						levelMin, levelMax, regionCoarse, layerDisparity);
+			}
+			saveLayer(layerDisparity,levelMin,levelMax);
+		}
+
+		// full resolution
+		GImageMiscOps.fill(disparity,rangeDisparity+1);
+		if( top == 0 ) {
+			fine.setDisparityRange(minDisparity,maxDisparity);
+			fine.process(left,right,disparity);
+		} else {
+			processTiles(left, right, scales[1], minDisparity, maxDisparity, regionFine, disparity);
+		}
+	}
+
+	/**
+	 * Largest disparity, exclusive, at the specified layer. Limited by the size of the layer.
+	 */
+	private int levelMax( int layer ) {
+		int scale = pyramidLeft.getScales()[layer];
+		int levelMax = (maxDisparity + scale - 1)/scale;
+		return Math.min(levelMax, pyramidLeft.getWidth(layer)-2*coarse.getBorderX());
+	}
+
+	/**
+	 * Searches the entire range at the top most layer
+	 */
+	private void processTopLayer( int top ) {
+		int levelMin = minDisparity/pyramidLeft.getScales()[top];
+		int levelMax = levelMax(top);
+
+		layerDisparity.reshape(pyramidLeft.getWidth(top),pyramidLeft.getHeight(top));
+		ImageMiscOps.fill(layerDisparity,levelMax-levelMin+1);
+		if( levelMax > levelMin ) {
+			coarse.setDisparityRange(levelMin,levelMax);
+			coarse.process(pyramidLeft.getLayer(top),pyramidRight.getLayer(top),layerDisparity);
+		}
+		saveLayer(layerDisparity,levelMin,levelMax);
+	}
+
+	/**
+	 * Converts the layer's disparity into absolute disparity and saves it for use in the next layer
+	 */
+	private void saveLayer( GrayU8 layerDisparity , int levelMin , int levelMax ) {
+		GrayS32 tmp = prior; prior = current; current = tmp;
+		prior.reshape(layerDisparity.width,layerDisparity.height);
+
+		int range = levelMax-levelMin;
+		for (int y = 0; y < layerDisparity.height; y++) {
+			for (int x = 0; x < layerDisparity.width; x++) {
+				int v = layerDisparity.unsafe_get(x,y);
+				prior.unsafe_set(x,y, v > range ? -1 : v + levelMin);
+			}
+		}
+	}
+
+	/**
+	 * Computes the disparity in each tile using a range which is restricted by the previous layer.
+	 *
+	 * @param ratio Scale of the previous layer relative to this layer
+	 * @param levelMin Minimum disparity at this layer
+	 * @param levelMax Maximum disparity at this layer, exclusive
+	 * @param output Disparity relative to levelMin. Pixels not inside a tile are not modified.
+	 */
+	private <D extends ImageGray<D>>
+	void processTiles( Input left , Input right , int ratio , int levelMin , int levelMax ,
+					   DisparityScoreRegion<Input,D> region , D output ) {
+		final int bx = region.getAlgorithm().getBorderX();
+		final int by = region.getAlgorithm().getBorderY();
+		final int invalid = levelMax-levelMin+1;
+
+		for (int ty0 = by; ty0 < left.height-by; ty0 += tileSize) {
+			int ty1 = Math.min(left.height-by, ty0+tileSize);
+			for (int tx0 = bx; tx0 < left.width-bx; tx0 += tileSize) {
+				int tx1 = Math.min(left.width-bx, tx0+tileSize);
+
+				// range of disparities to search in this tile
+				int lo = levelMin, hi = levelMax;
+				int priorMin = Integer.MAX_VALUE, priorMax = -1;
+				int px0 = Math.max(0,tx0/ratio-1), px1 = Math.min(prior.width,(tx1-1)/ratio+2);
+				int py0 = Math.max(0,ty0/ratio-1), py1 = Math.min(prior.height,(ty1-1)/ratio+2);
+				for (int y = py0; y < py1; y++) {
+					for (int x = px0; x < px1; x++) {
+						int v = prior.unsafe_get(x,y);
+						if( v < 0 )
+							continue;
+						priorMin = Math.min(priorMin,v);
+						priorMax = Math.max(priorMax,v);
+					}
+				}
+				if( priorMax >= 0 ) {
+					lo = Math.max(levelMin, priorMin*ratio-margin);
+					hi = Math.min(levelMax, priorMax*ratio+ratio+margin);
+				}
+
+				region.process(left,right,tx0,ty0,tx1,ty1,lo,hi,levelMin,invalid,output);
+			}
+		}
+	}
+
+	public int getTileSize() {
+		return tileSize;
+	}
+
+	/**
+	 * Width and height of the tiles that each layer is split into. Smaller tiles allow the range to adapt
+	 * to the scene more closely but have more overhead.
+	 */
+	public void setTileSize(int tileSize) {
+		if( tileSize <= 0 )
+			throw new IllegalArgumentException("Tile size must be more than zero");
+		this.tileSize = tileSize;
+	}
+
+	public int getMargin() {
+		return margin;
+	}
+
+	/**
+	 * How many disparities the range found in the previous layer is expanded by in each direction.
+	 */
+	public void setMargin(int margin) {
+		if( margin < 0 )
+			throw new IllegalArgumentException("Margin must be >= 0");
+		this.margin = margin;
+	}
+
+	@Override
+	public Class<Input> getInputType() {
+		return fine.getInputType();
+	}
+
+	@Override
+	public Class<Disparity> getDisparityType() {
+		return fine.getDisparityType();
+	}
+
+	@Override
+	public int getBorderX() {
+		return fine.getBorderX();
+	}
+
+	@Override
+	public int getBorderY() {
+		return fine.getBorderY();
+	}
+}
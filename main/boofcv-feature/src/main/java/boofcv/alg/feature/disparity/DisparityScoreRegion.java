@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageGray;
+
+/**
+ * <p>
+ * Computes the disparity of pixels inside a rectangular region using a restricted range of disparities. The
+ * work is done by a {@link DisparityScoreRowFormat} on sub-images. The right sub-image is shifted by the
+ * region's minimum disparity, which allows the algorithm to search a range of disparities starting from zero.
+ * Sub-images are expanded to the left by the size of the range and by the block's border so that every pixel
+ * inside the region can consider the whole range.
+ * </p>
+ *
+ * <p>
+ * The results are converted so that they are relative to a larger range, allowing regions with different
+ * ranges to be written into the same disparity image.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class DisparityScoreRegion<Input extends ImageGray<Input>, Disparity extends ImageGray<Disparity>> {
+	// algorithm used to compute the disparity
+	private final DisparityScoreRowFormat<Input,Disparity> alg;
+
+	// storage for the disparity of the sub-image
+	private final Disparity work;
+
+	public DisparityScoreRegion( DisparityScoreRowFormat<Input,Disparity> alg ) {
+		this.alg = alg;
+		this.work = GeneralizedImageOps.createSingleBand(alg.getDisparityType(),1,1);
+	}
+
+	/**
+	 * Computes the disparity inside the region. Pixels inside the region which are too close to the image
+	 * border to be computed are not modified.
+	 *
+	 * @param left Left image
+	 * @param right Right image
+	 * @param x0 Region's lower extent along x-axis, inclusive. Must be &ge; border x.
+	 * @param y0 Region's lower extent along y-axis, inclusive. Must be &ge; border y.
+	 * @param x1 Region's upper extent along x-axis, exclusive. Must be &le; width - border x.
+	 * @param y1 Region's upper extent along y-axis, exclusive. Must be &le; height - border y.
+	 * @param lo Smallest disparity which is searched
+	 * @param hi Largest disparity which is searched, exclusive.
+	 * @param minDisparity Minimum disparity of the output image. Must be &le; lo
+	 * @param invalid Value assigned to invalid pixels in the output image
+	 * @param output Disparity image relative to minDisparity
+	 */
+	public void process( Input left , Input right , int x0 , int y0 , int x1 , int y1 ,
+						 int lo , int hi , int minDisparity , int invalid , Disparity output ) {
+		final int bx = alg.getBorderX();
+		final int by = alg.getBorderY();
+
+		// extend the region to the left so that every pixel inside of it can search the entire range
+		int xa = Math.max(lo, x0-bx-(hi-lo-1));
+		int xb = x1+bx;
+		int ya = y0-by, yb = y1+by;
+
+		// Pixels can't have a disparity which would go outside the image
+		int range = Math.min(hi-lo, xb-xa-2*bx);
+		if( range <= 0 )
+			return;
+
+		Input subLeft = left.subimage(xa,ya,xb,yb);
+		Input subRight = right.subimage(xa-lo,ya,xb-lo,yb);
+
+		work.reshape(xb-xa,yb-ya);
+		GImageMiscOps.fill(work,range+1);
+		alg.setDisparityRange(0,range);
+		alg.process(subLeft,subRight,work);
+
+		// pixels to the left of the sub-image's border can't have a disparity >= lo and are skipped
+		copy(work,range,lo-minDisparity,invalid,xa,ya,Math.max(x0,xa+bx),y0,x1,y1,output);
+	}
+
+	/**
+	 * Copies the sub-image into the output image while converting it into the output's disparity range
+	 */
+	private static void copy( ImageGray work , int range , int offset , int invalid ,
+							  int xa , int ya , int x0 , int y0 , int x1 , int y1 , ImageGray output ) {
+		if( work instanceof GrayU8 ) {
+			GrayU8 src = (GrayU8)work;
+			GrayU8 dst = (GrayU8)output;
+			for (int y = y0; y < y1; y++) {
+				for (int x = x0; x < x1; x++) {
+					int v = src.unsafe_get(x-xa,y-ya);
+					dst.unsafe_set(x,y, v > range ? invalid : v + offset);
+				}
+			}
+		} else if( work instanceof GrayF32 ) {
+			GrayF32 src = (GrayF32)work;
+			GrayF32 dst = (GrayF32)output;
+			for (int y = y0; y < y1; y++) {
+				for (int x = x0; x < x1; x++) {
+					float v = src.unsafe_get(x-xa,y-ya);
+					dst.unsafe_set(x,y, v > range ? invalid : v + offset);
+				}
+			}
+		} else {
+			throw new IllegalArgumentException("Unsupported disparity image type");
+		}
+	}
+
+	public DisparityScoreRowFormat<Input, Disparity> getAlgorithm() {
+		return alg;
+	}
+}
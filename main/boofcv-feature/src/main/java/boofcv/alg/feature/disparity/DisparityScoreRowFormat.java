@@ -66,6 +66,21 @@ public abstract class DisparityScoreRowFormat
 	 */
 	public DisparityScoreRowFormat(int minDisparity, int maxDisparity,
 								 int regionRadiusX, int regionRadiusY ) {
+		setDisparityRange(minDisparity,maxDisparity);
+		this.radiusX = regionRadiusX;
+		this.radiusY = regionRadiusY;
+
+		this.regionWidth = regionRadiusX*2+1;
+		this.regionHeight = regionRadiusY*2+1;
+	}
+
+	/**
+	 * Changes the range of disparities which are searched. Takes effect the next time an image is processed.
+	 *
+	 * @param minDisparity Minimum disparity that it will check. Must be &ge; 0 and < maxDisparity
+	 * @param maxDisparity Maximum disparity that it will calculate. Must be &gt; 0
+	 */
+	public void setDisparityRange( int minDisparity , int maxDisparity ) {
 		if( maxDisparity <= 0 )
 			throw new IllegalArgumentException("Max disparity must be greater than zero");
 		if( minDisparity < 0 || minDisparity >= maxDisparity )
@@ -73,13 +88,7 @@ public abstract class DisparityScoreRowFormat
 
 		this.minDisparity = minDisparity;
 		this.maxDisparity = maxDisparity;
-		this.radiusX = regionRadiusX;
-		this.radiusY = regionRadiusY;
-
 		this.rangeDisparity = maxDisparity - minDisparity;
-
-		this.regionWidth = regionRadiusX*2+1;
-		this.regionHeight = regionRadiusY*2+1;
 	}
 
 	/**
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.ImageBands;
+import boofcv.concurrency.WorkspacePool;
+import boofcv.struct.image.ImageGray;
+
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link DisparityScoreRowFormat}. The image is split into horizontal strips and the
+ * disparity in each strip is computed by its own instance of the single threaded algorithm. Each strip is processed
+ * as a sub-image which includes {@link #getBorderY()} extra rows above and below, which are used to re-seed the
+ * vertical running sum. The disparity select only writes to the rows it's given, so strips write directly into
+ * the same output image without overlapping.
+ * </p>
+ *
+ * <p>
+ * For integer input images the output is identical to the single threaded version. For {@link boofcv.struct.image.GrayF32}
+ * input the single threaded running sum accumulates rounding error from the top of the image, while here it's
+ * restarted at each strip. Scores and sub-pixel disparities can then differ in the last bits, and because the
+ * strips depend on the number of threads, so can the results. For that reason
+ * {@link boofcv.factory.feature.disparity.FactoryStereoDisparity} only uses this class for integer images.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class DisparityScoreRowFormat_MT<Input extends ImageGray<Input>, Disparity extends ImageGray<Disparity>>
+		extends DisparityScoreRowFormat<Input,Disparity>
+{
+	// used to answer questions about the algorithm
+	private final DisparityScoreRowFormat<Input,Disparity> example;
+
+	// algorithm which processes each strip
+	private final WorkspacePool<DisparityScoreRowFormat<Input,Disparity>> algorithms;
+
+	/**
+	 * @param factory Creates the single threaded algorithm. Each one must have its own {@link DisparitySelect}.
+	 */
+	public DisparityScoreRowFormat_MT( Supplier<DisparityScoreRowFormat<Input,Disparity>> factory ) {
+		this(factory,factory.get());
+	}
+
+	private DisparityScoreRowFormat_MT( Supplier<DisparityScoreRowFormat<Input,Disparity>> factory ,
+										DisparityScoreRowFormat<Input,Disparity> example ) {
+		super(example.minDisparity, example.maxDisparity, example.radiusX, example.radiusY);
+		this.example = example;
+		this.algorithms = new WorkspacePool<>(factory);
+		algorithms.release(example);
+	}
+
+	@Override
+	public void _process( Input left , Input right , Disparity disparity ) {
+		final int borderY = getBorderY();
+
+		// rows which have a disparity computed for them
+		int rowStart = borderY;
+		int rowEnd = left.height - borderY;
+
+		// each strip computes the score for 2*borderY extra rows. Make sure there's enough work to justify that
+		int minRows = Math.max(2*borderY+1, ImageBands.MIN_BAND_PIXELS/Math.max(1,left.width));
+
+		BoofConcurrency.loopBlocks(rowStart, rowEnd, minRows, algorithms, (alg,y0,y1)->{
+			Input subLeft = left.subimage(0,y0-borderY,left.width,y1+borderY);
+			Input subRight = right.subimage(0,y0-borderY,right.width,y1+borderY);
+			Disparity subDisparity = disparity.subimage(0,y0-borderY,disparity.width,y1+borderY);
+
+			// the range could have been changed since the algorithm was created
+			alg.setDisparityRange(minDisparity,maxDisparity);
+			alg.process(subLeft, subRight, subDisparity);
+		});
+	}
+
+	@Override
+	public Class<Input> getInputType() {
+		return example.getInputType();
+	}
+
+	@Override
+	public Class<Disparity> getDisparityType() {
+		return example.getDisparityType();
+	}
+
+	@Override
+	public int getBorderX() {
+		return example.getBorderX();
+	}
+
+	@Override
+	public int getBorderY() {
+		return example.getBorderY();
+	}
+}
@@ -0,0 +1,347 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity;
+
+import boofcv.alg.filter.binary.GThresholdImageOps;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.alg.misc.GPixelMath;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayS32;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageGray;
+
+import javax.annotation.Nullable;
+
+/**
+ * <p>
+ * Computes dense disparity for a sequence of images from a stationary stereo camera by reusing the disparity
+ * found in the previous frame. The image is split into tiles. Tiles which have changed since the previous frame
+ * are searched across the full disparity range. In tiles which haven't changed the search is restricted to the
+ * disparities previously found inside the tile, padded by a margin. If an unchanged tile has no valid
+ * disparities then the previous results are reused without any search. The cost per frame is then
+ * roughly proportional to how much of the scene changed.
+ * </p>
+ *
+ * <p>
+ * By default a tile has changed if the absolute difference between the current and previous frame exceeds
+ * a threshold at any pixel which could influence the tile's disparity, in either image. Alternatively the
+ * changed pixels can be specified with a mask, e.g. the segmented output of
+ * {@link boofcv.alg.background.BackgroundModelStationary}. The first frame, and the first frame after
+ * {@link #reset()} or a change in shape or disparity range, is always searched across the full range.
+ * </p>
+ *
+ * <p>
+ * Restricting the range makes right to left validation less effective since fewer alternative matches are
+ * considered. Changes in the scene which are too small to exceed the threshold can cause the disparity
+ * to drift outside the margin.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class DisparityScoreTemporal<Input extends ImageGray<Input>, Disparity extends ImageGray<Disparity>>
+		extends DisparityScoreRowFormat<Input,Disparity>
+{
+	// Algorithm which computes the disparity
+	private final DisparityScoreRowFormat<Input,Disparity> alg;
+	// computes the disparity inside a single tile
+	private final DisparityScoreRegion<Input,Disparity> region;
+
+	// width and height of a tile
+	private int tileSize = 32;
+	// how much the range of disparities found in the previous frame is expanded by
+	private int margin = 2;
+	// pixels which change by more than this amount are considered to have changed
+	private double threshold = 15;
+
+	// user specified mask of changed pixels in the left image. If null then it's computed using frame differences
+	private @Nullable GrayU8 changeMask;
+
+	// true if there is a previous frame which can be used
+	private boolean initialized = false;
+	// disparity range used in the previous frame
+	private int previousMin,previousMax;
+
+	// previous images and their disparity
+	private final Input previousLeft;
+	private final Input previousRight;
+	private final Disparity previousDisparity;
+	// disparity found in the previous frame. -1 for invalid
+	private final GrayS32 prior = new GrayS32(1,1);
+
+	// difference between the frames and pixels which have changed
+	private final Input difference;
+	private final GrayU8 changedLeft = new GrayU8(1,1);
+	private final GrayU8 changedRight = new GrayU8(1,1);
+
+	// number of tiles searched across the full range, restricted range, and skipped, in the last frame
+	private int countFull,countRestricted,countSkipped;
+
+	/**
+	 * Configures the algorithm. The disparity range and region size are specified by the algorithm.
+	 *
+	 * @param alg Algorithm used to compute the disparity
+	 */
+	public DisparityScoreTemporal( DisparityScoreRowFormat<Input,Disparity> alg ) {
+		super(alg.getMinDisparity(), alg.getMaxDisparity(), alg.radiusX, alg.radiusY);
+		this.alg = alg;
+		this.region = new DisparityScoreRegion<>(alg);
+
+		Class<Input> inputType = alg.getInputType();
+		previousLeft = GeneralizedImageOps.createSingleBand(inputType,1,1);
+		previousRight = GeneralizedImageOps.createSingleBand(inputType,1,1);
+		difference = GeneralizedImageOps.createSingleBand(inputType,1,1);
+		previousDisparity = GeneralizedImageOps.createSingleBand(alg.getDisparityType(),1,1);
+	}
+
+	/**
+	 * Discards information from the previous frame. The next frame will be searched across the full range.
+	 */
+	public void reset() {
+		initialized = false;
+	}
+
+	@Override
+	public void _process( Input left , Input right , Disparity disparity ) {
+		countFull = countRestricted = countSkipped = 0;
+
+		GImageMiscOps.fill(disparity,rangeDisparity+1);
+
+		if( !initialized || previousLeft.width != left.width || previousLeft.height != left.height ||
+				previousMin != minDisparity || previousMax != maxDisparity ) {
+			alg.setDisparityRange(minDisparity,maxDisparity);
+			alg.process(left,right,disparity);
+			countFull = -1;
+		} else {
+			if( changeMask == null ) {
+				findChangedPixels(left,previousLeft,changedLeft);
+				findChangedPixels(right,previousRight,changedRight);
+			} else {
+				if( changeMask.width != left.width || changeMask.height != left.height )
+					throw new IllegalArgumentException("Change mask must be the same shape as the input");
+			}
+			processTiles(left,right,disparity);
+		}
+
+		saveFrame(left,right,disparity);
+	}
+
+	/**
+	 * Marks pixels whose value changed by more than the threshold
+	 */
+	private void findChangedPixels( Input current , Input previous , GrayU8 changed ) {
+		difference.reshape(current.width,current.height);
+		changed.reshape(current.width,current.height);
+		GPixelMath.diffAbs(current,previous,difference);
+		GThresholdImageOps.threshold(difference,changed,threshold,false);
+	}
+
+	/**
+	 * Computes the disparity in each tile. The range is selected based on if the tile has changed.
+	 */
+	private void processTiles( Input left , Input right , Disparity disparity ) {
+		final int bx = alg.getBorderX();
+		final int by = alg.getBorderY();
+		final int invalid = rangeDisparity+1;
+
+		for (int ty0 = by; ty0 < left.height-by; ty0 += tileSize) {
+			int ty1 = Math.min(left.height-by, ty0+tileSize);
+			for (int tx0 = bx; tx0 < left.width-bx; tx0 += tileSize) {
+				int tx1 = Math.min(left.width-bx, tx0+tileSize);
+
+				if( isChanged(tx0,ty0,tx1,ty1) ) {
+					countFull++;
+					region.process(left,right,tx0,ty0,tx1,ty1,minDisparity,maxDisparity,minDisparity,invalid,disparity);
+					continue;
+				}
+
+				// restrict the range to what was previously found inside the tile
+				int priorMin = Integer.MAX_VALUE, priorMax = -1;
+				for (int y = ty0; y < ty1; y++) {
+					for (int x = tx0; x < tx1; x++) {
+						int v = prior.unsafe_get(x,y);
+						if( v < 0 )
+							continue;
+						priorMin = Math.min(priorMin,v);
+						priorMax = Math.max(priorMax,v);
+					}
+				}
+
+				if( priorMax < 0 ) {
+					// nothing has changed and nothing was found before, so nothing will be found now
+					countSkipped++;
+					GImageMiscOps.copy(tx0,ty0,tx0,ty0,tx1-tx0,ty1-ty0,previousDisparity,disparity);
+				} else {
+					countRestricted++;
+					int lo = Math.max(minDisparity, priorMin-margin);
+					int hi = Math.min(maxDisparity, priorMax+1+margin);
+					region.process(left,right,tx0,ty0,tx1,ty1,lo,hi,minDisparity,invalid,disparity);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Checks to see if any pixel which could influence the disparity inside the tile has changed. In the right
+	 * image that includes every pixel which could be matched to a pixel inside the tile.
+	 */
+	private boolean isChanged( int tx0 , int ty0 , int tx1 , int ty1 ) {
+		final int bx = alg.getBorderX();
+		final int by = alg.getBorderY();
+
+		int y0 = ty0-by, y1 = ty1+by;
+		int x0 = tx0-bx, x1 = tx1+bx;
+
+		if( changeMask != null )
+			return containsNonZero(changeMask,x0,y0,x1,y1);
+
+		return containsNonZero(changedLeft,x0,y0,x1,y1) ||
+				containsNonZero(changedRight,Math.max(0,x0-maxDisparity+1),y0,x1-minDisparity,y1);
+	}
+
+	private static boolean containsNonZero( GrayU8 image , int x0 , int y0 , int x1 , int y1 ) {
+		for (int y = y0; y < y1; y++) {
+			int index = image.startIndex + y*image.stride + x0;
+			int end = index + x1 - x0;
+			for (; index < end; index++) {
+				if( image.data[index] != 0 )
+					return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Saves the images and the absolute disparity for use in the next frame
+	 */
+	private void saveFrame( Input left , Input right , Disparity disparity ) {
+		previousLeft.setTo(left);
+		previousRight.setTo(right);
+		previousDisparity.setTo(disparity);
+		previousMin = minDisparity;
+		previousMax = maxDisparity;
+		initialized = true;
+
+		prior.reshape(disparity.width,disparity.height);
+		if( disparity instanceof GrayU8 ) {
+			GrayU8 d = (GrayU8)disparity;
+			for (int y = 0; y < d.height; y++) {
+				for (int x = 0; x < d.width; x++) {
+					int v = d.unsafe_get(x,y);
+					prior.unsafe_set(x,y, v > rangeDisparity ? -1 : v + minDisparity);
+				}
+			}
+		} else if( disparity instanceof GrayF32 ) {
+			GrayF32 d = (GrayF32)disparity;
+			for (int y = 0; y < d.height; y++) {
+				for (int x = 0; x < d.width; x++) {
+					float v = d.unsafe_get(x,y);
+					prior.unsafe_set(x,y, v > rangeDisparity ? -1 : (int)(v + 0.5f) + minDisparity);
+				}
+			}
+		} else {
+			throw new IllegalArgumentException("Unsupported disparity image type");
+		}
+	}
+
+	public int getTileSize() {
+		return tileSize;
+	}
+
+	/**
+	 * Width and height of the tiles. Smaller tiles will result in fewer pixels being recomputed when there is
+	 * a change but have more overhead.
+	 */
+	public void setTileSize(int tileSize) {
+		if( tileSize <= 0 )
+			throw new IllegalArgumentException("Tile size must be more than zero");
+		this.tileSize = tileSize;
+	}
+
+	public int getMargin() {
+		return margin;
+	}
+
+	/**
+	 * How many disparities the range found in the previous frame is expanded by in each direction.
+	 */
+	public void setMargin(int margin) {
+		if( margin < 0 )
+			throw new IllegalArgumentException("Margin must be >= 0");
+		this.margin = margin;
+	}
+
+	public double getThreshold() {
+		return threshold;
+	}
+
+	/**
+	 * A pixel has changed if the absolute difference from the previous frame is more than this value.
+	 * Not used if a change mask has been specified.
+	 */
+	public void setThreshold(double threshold) {
+		this.threshold = threshold;
+	}
+
+	public @Nullable GrayU8 getChangeMask() {
+		return changeMask;
+	}
+
+	/**
+	 * Specifies which pixels in the left image have changed since the previous frame. Zero for no change and
+	 * non-zero for changed. The mask is referenced and used in every frame until set to null, so its
+	 * contents can be updated between calls to process. If null then changes are found using the
+	 * difference between frames.
+	 */
+	public void setChangeMask( @Nullable GrayU8 changeMask ) {
+		this.changeMask = changeMask;
+	}
+
+	/**
+	 * Number of tiles searched across the full range in the last frame. -1 if the entire image was processed
+	 * at once.
+	 */
+	public int getCountFull() {
+		return countFull;
+	}
+
+	/**
+	 * Number of tiles searched with a restricted range in the last frame
+	 */
+	public int getCountRestricted() {
+		return countRestricted;
+	}
+
+	/**
+	 * Number of tiles whose previous disparity was reused without a search in the last frame
+	 */
+	public int getCountSkipped() {
+		return countSkipped;
+	}
+
+	@Override
+	public Class<Input> getInputType() {
+		return alg.getInputType();
+	}
+
+	@Override
+	public Class<Disparity> getDisparityType() {
+		return alg.getDisparityType();
+	}
+}
@@ -63,7 +63,7 @@ public class ImplDisparityScoreSadRectFive_F32<DI extends ImageGray<DI>>
 
 	@Override
 	public void _process(GrayF32 left , GrayF32 right , DI disparity ) {
-		if( horizontalScore == null || verticalScore.length < lengthHorizontal ) {
+		if( horizontalScore == null || fiveScore.length < lengthHorizontal || elementScore.length < left.width ) {
 			horizontalScore = new float[regionHeight][lengthHorizontal];
 			verticalScore = new float[regionHeight][lengthHorizontal];
 			elementScore = new float[ left.width ];
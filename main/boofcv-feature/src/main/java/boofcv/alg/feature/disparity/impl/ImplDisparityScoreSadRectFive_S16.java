@@ -63,7 +63,7 @@ public class ImplDisparityScoreSadRectFive_S16<DI extends ImageGray<DI>>
 
 	@Override
 	public void _process(GrayS16 left , GrayS16 right , DI disparity ) {
-		if( horizontalScore == null || verticalScore.length < lengthHorizontal ) {
+		if( horizontalScore == null || fiveScore.length < lengthHorizontal || elementScore.length < left.width ) {
 			horizontalScore = new int[regionHeight][lengthHorizontal];
 			verticalScore = new int[regionHeight][lengthHorizontal];
 			elementScore = new int[ left.width ];
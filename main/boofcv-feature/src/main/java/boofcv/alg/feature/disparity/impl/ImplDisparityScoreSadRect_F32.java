@@ -62,7 +62,7 @@ public class ImplDisparityScoreSadRect_F32<DI extends ImageGray<DI>>
 
 	@Override
 	public void _process(GrayF32 left , GrayF32 right , DI disparity ) {
-		if( horizontalScore == null || verticalScore.length < lengthHorizontal ) {
+		if( horizontalScore == null || verticalScore.length < lengthHorizontal || elementScore.length < left.width ) {
 			horizontalScore = new float[regionHeight][lengthHorizontal];
 			verticalScore = new float[lengthHorizontal];
 			elementScore = new float[ left.width ];
@@ -62,7 +62,7 @@ public class ImplDisparityScoreSadRect_S16<DI extends ImageGray<DI>>
 
 	@Override
 	public void _process(GrayS16 left , GrayS16 right , DI disparity ) {
-		if( horizontalScore == null || verticalScore.length < lengthHorizontal ) {
+		if( horizontalScore == null || verticalScore.length < lengthHorizontal || elementScore.length < left.width ) {
 			horizontalScore = new int[regionHeight][lengthHorizontal];
 			verticalScore = new int[lengthHorizontal];
 			elementScore = new int[ left.width ];
@@ -62,7 +62,7 @@ public class ImplDisparityScoreSadRect_U8<DI extends ImageGray<DI>>
 
 	@Override
 	public void _process(GrayU8 left , GrayU8 right , DI disparity ) {
-		if( horizontalScore == null || verticalScore.length < lengthHorizontal ) {
+		if( horizontalScore == null || verticalScore.length < lengthHorizontal || elementScore.length < left.width ) {
 			horizontalScore = new int[regionHeight][lengthHorizontal];
 			verticalScore = new int[lengthHorizontal];
 			elementScore = new int[ left.width ];
@@ -53,7 +53,7 @@ public class ImplDisparitySparseScoreSadRect_U8 extends DisparitySparseScoreSadR
 		if( localMaxDisparity <= 0 || x >= left.width-radiusX || y < radiusY || y >= left.height-radiusY )
 			return false;
 
-		Arrays.fill(scores,0);
+		Arrays.fill(scores,0,localMaxDisparity,0);
 
 		// sum up horizontal errors in the region
 		for( int row = 0; row < regionHeight; row++ ) {
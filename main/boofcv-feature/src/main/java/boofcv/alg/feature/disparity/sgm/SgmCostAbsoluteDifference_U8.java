@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.sgm;
+
+import boofcv.struct.image.GrayU8;
+
+/**
+ * Cost is the absolute difference between the two pixels' intensity values.
+ *
+ * @author Peter Abeles
+ */
+public class SgmCostAbsoluteDifference_U8 implements SgmDisparityCost<GrayU8> {
+	GrayU8 left,right;
+	int minDisparity,rangeDisparity;
+
+	@Override
+	public void initialize(GrayU8 left, GrayU8 right, int minDisparity, int rangeDisparity) {
+		this.left = left;
+		this.right = right;
+		this.minDisparity = minDisparity;
+		this.rangeDisparity = rangeDisparity;
+	}
+
+	@Override
+	public void computeRow(int y, short[] cost, int offset) {
+		final int rowL = left.startIndex + y*left.stride;
+		final int rowR = right.startIndex + y*right.stride;
+
+		for (int x = 0; x < left.width; x++) {
+			int valueL = left.data[rowL+x] & 0xFF;
+			int index = offset + x*rangeDisparity;
+			for (int d = 0; d < rangeDisparity; d++) {
+				int xr = x - minDisparity - d;
+				if( xr < 0 ) {
+					cost[index++] = (short)MAX_COST;
+				} else {
+					int diff = Math.abs(valueL - (right.data[rowR+xr] & 0xFF));
+					cost[index++] = (short)(diff*MAX_COST/255);
+				}
+			}
+		}
+	}
+
+	@Override
+	public Class<GrayU8> getInputType() {
+		return GrayU8.class;
+	}
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.sgm;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Aggregates the matching cost along multiple 1D paths which go through every pixel, as is done in Semi Global
+ * Matching [1]. The aggregated cost along a path in direction r is:<br>
+ * L<sub>r</sub>(p,d) = C(p,d) + min( L<sub>r</sub>(p-r,d) , L<sub>r</sub>(p-r,d&plusmn;1) + P1 ,
+ * min<sub>k</sub> L<sub>r</sub>(p-r,k) + P2 ) - min<sub>k</sub> L<sub>r</sub>(p-r,k)<br>
+ * where P1 is the penalty for a small change in disparity and P2 the penalty for a large change. The costs from
+ * each path are summed together. Because L<sub>r</sub> &le; C<sub>max</sub> + P2, the summed cost is stored in
+ * an unsigned 16-bit array provided that paths*(C<sub>max</sub> + P2) &le; 65535.
+ * </p>
+ *
+ * <p>
+ * Each direction is processed one after the other. Lines within a direction never touch the same pixel, which
+ * allows them to be processed independently.
+ * </p>
+ *
+ * <p>
+ * [1] Hirschmuller, Heiko. "Stereo processing by semiglobal matching and mutual information." IEEE Transactions
+ * on pattern analysis and machine intelligence 30.2 (2007): 328-341.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class SgmCostAggregation {
+	/**
+	 * Direction of each path. The first four are horizontal and vertical, followed by the diagonals.
+	 */
+	private static final int[][] DIRECTIONS = new int[][]{
+			{1,0},{-1,0},{0,1},{0,-1},{1,1},{-1,-1},{-1,1},{1,-1}};
+
+	// penalty for a change in disparity of one
+	protected int penaltySmallChange = 200;
+	// penalty for a change in disparity of more than one
+	protected int penaltyLargeChange = 2000;
+	// number of paths which are considered
+	protected int pathsConsidered = 8;
+
+	// shape of the cost volume
+	protected int width,height,rangeDisparity;
+	// Input cost and output aggregated cost. Both unsigned
+	protected short[] cost;
+	protected short[] aggregated;
+
+	// storage for processing a single line
+	protected Workspace workspace = new Workspace();
+
+	/**
+	 * Aggregates the cost along all the paths.
+	 *
+	 * @param cost Input cost for each pixel. See {@link SgmDisparityCost}. Not modified.
+	 * @param width Number of columns in the cost volume
+	 * @param height Number of rows in the cost volume
+	 * @param rangeDisparity Number of disparities in the cost volume
+	 * @param aggregated Output aggregated cost. Must be at least as large as cost. Modified.
+	 */
+	public void process( short[] cost , int width , int height , int rangeDisparity , short[] aggregated ) {
+		long volume = (long)width*height*rangeDisparity;
+		if( volume > Integer.MAX_VALUE )
+			throw new IllegalArgumentException("Cost volume is too large for an array. width="+width+
+					" height="+height+" rangeDisparity="+rangeDisparity);
+		int length = (int)volume;
+		if( cost.length < length || aggregated.length < length )
+			throw new IllegalArgumentException("Cost arrays are too small");
+
+		this.cost = cost;
+		this.aggregated = aggregated;
+		this.width = width;
+		this.height = height;
+		this.rangeDisparity = rangeDisparity;
+
+		Arrays.fill(aggregated,0,length,(short)0);
+
+		for (int i = 0; i < pathsConsidered; i++) {
+			processDirection(DIRECTIONS[i][0],DIRECTIONS[i][1]);
+		}
+	}
+
+	/**
+	 * Aggregates the cost along every line in the specified direction
+	 */
+	protected void processDirection( int dx , int dy ) {
+		workspace.reshape(rangeDisparity);
+		int numLines = countLines(dx,dy);
+		for (int i = 0; i < numLines; i++) {
+			processLine(i,dx,dy,workspace);
+		}
+	}
+
+	/**
+	 * Number of lines that need to be processed to cover every pixel when moving in this direction
+	 */
+	protected int countLines( int dx , int dy ) {
+		if( dx == 0 )
+			return width;
+		else if( dy == 0 )
+			return height;
+		else
+			return width + height - 1;
+	}
+
+	/**
+	 * Aggregates the cost along a single line. Lines are indexed first by the ones which start along the
+	 * top or bottom image border then the ones which start along the left or right border.
+	 */
+	protected final void processLine( int lineIndex , int dx , int dy , Workspace work ) {
+		int x,y;
+		if( dy != 0 && lineIndex < width ) {
+			x = lineIndex;
+			y = dy > 0 ? 0 : height-1;
+		} else {
+			if( dy != 0 )
+				lineIndex -= width - 1;  // skip the row which was already started from
+			x = dx > 0 ? 0 : width-1;
+			y = dy >= 0 ? lineIndex : height-1-lineIndex;
+		}
+
+		final int P1 = penaltySmallChange;
+		final int P2 = penaltyLargeChange;
+		final int D = rangeDisparity;
+
+		// element 0 and D+1 are never written to and have a large value to avoid checking bounds
+		int[] prev = work.previous;
+		int[] curr = work.current;
+
+		// the first pixel has no prior pixel and the aggregated cost is the cost
+		int index = (y*width + x)*D;
+		int minPrev = Integer.MAX_VALUE;
+		for (int d = 0; d < D; d++) {
+			int v = cost[index+d] & 0xFFFF;
+			prev[d+1] = v;
+			aggregated[index+d] = (short)((aggregated[index+d] & 0xFFFF) + v);
+			if( v < minPrev )
+				minPrev = v;
+		}
+
+		x += dx; y += dy;
+		while( x >= 0 && x < width && y >= 0 && y < height ) {
+			index = (y*width + x)*D;
+			final int largeChange = minPrev + P2;
+			int minCurr = Integer.MAX_VALUE;
+			for (int d = 0; d < D; d++) {
+				int best = prev[d+1];
+				int smallChange = Math.min(prev[d],prev[d+2]) + P1;
+				if( smallChange < best )
+					best = smallChange;
+				if( largeChange < best )
+					best = largeChange;
+
+				int v = (cost[index+d] & 0xFFFF) + best - minPrev;
+				curr[d+1] = v;
+				aggregated[index+d] = (short)((aggregated[index+d] & 0xFFFF) + v);
+				if( v < minCurr )
+					minCurr = v;
+			}
+
+			int[] tmp = prev; prev = curr; curr = tmp;
+			minPrev = minCurr;
+			x += dx; y += dy;
+		}
+	}
+
+	/**
+	 * Checks to see if the aggregated cost could overflow an unsigned 16-bit integer
+	 */
+	private void checkOverflow( int paths , int penaltyLargeChange ) {
+		if( paths*(SgmDisparityCost.MAX_COST + penaltyLargeChange) > 0xFFFF )
+			throw new IllegalArgumentException("Large penalty is too large for this many paths. Aggregated cost can overflow");
+	}
+
+	public int getPenaltySmallChange() {
+		return penaltySmallChange;
+	}
+
+	public int getPenaltyLargeChange() {
+		return penaltyLargeChange;
+	}
+
+	/**
+	 * Specifies the penalties for changes in disparity along a path
+	 *
+	 * @param small Penalty for a change of one. Must be &ge; 0
+	 * @param large Penalty for a larger change. Must be &ge; small
+	 */
+	public void setPenalties( int small , int large ) {
+		if( small < 0 || large < small )
+			throw new IllegalArgumentException("Penalties must be positive and small <= large");
+		checkOverflow(pathsConsidered,large);
+		this.penaltySmallChange = small;
+		this.penaltyLargeChange = large;
+	}
+
+	public int getPathsConsidered() {
+		return pathsConsidered;
+	}
+
+	/**
+	 * Number of paths which are considered. Typically 4 or 8. With 4 only horizontal and vertical paths
+	 * are considered.
+	 */
+	public void setPathsConsidered( int paths ) {
+		if( paths < 1 || paths > DIRECTIONS.length )
+			throw new IllegalArgumentException("Paths must be from 1 to "+DIRECTIONS.length);
+		checkOverflow(paths,penaltyLargeChange);
+		this.pathsConsidered = paths;
+	}
+
+	/**
+	 * Storage for the aggregated cost of the previous and current pixel along a line
+	 */
+	protected static class Workspace {
+		int[] previous = new int[0];
+		int[] current = new int[0];
+
+		public void reshape( int rangeDisparity ) {
+			if( previous.length == rangeDisparity+2 )
+				return;
+			previous = new int[rangeDisparity+2];
+			current = new int[rangeDisparity+2];
+			// large enough to never be selected but small enough to not overflow
+			previous[0] = previous[rangeDisparity+1] = Integer.MAX_VALUE/2;
+			current[0] = current[rangeDisparity+1] = Integer.MAX_VALUE/2;
+		}
+	}
+}
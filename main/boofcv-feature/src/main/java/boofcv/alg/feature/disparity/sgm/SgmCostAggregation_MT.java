@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.sgm;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.WorkspacePool;
+
+/**
+ * Concurrent implementation of {@link SgmCostAggregation}. Directions are processed one at a time, but all the
+ * lines in a direction are processed in parallel since they never modify the same pixel. The output is identical
+ * to the single threaded version.
+ *
+ * @author Peter Abeles
+ */
+public class SgmCostAggregation_MT extends SgmCostAggregation {
+	// minimum number of lines a thread will process
+	private final int minLines = 8;
+
+	// workspace used by each thread
+	private final WorkspacePool<Workspace> workspaces = new WorkspacePool<>(Workspace::new);
+
+	@Override
+	protected void processDirection( int dx , int dy ) {
+		int numLines = countLines(dx,dy);
+		BoofConcurrency.loopBlocks(0, numLines, minLines, workspaces, (work,i0,i1)->{
+			work.reshape(rangeDisparity);
+			for (int i = i0; i < i1; i++) {
+				processLine(i,dx,dy,work);
+			}
+		});
+	}
+}
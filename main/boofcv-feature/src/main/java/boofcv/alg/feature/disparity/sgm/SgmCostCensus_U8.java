@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.sgm;
+
+import boofcv.alg.transform.census.CensusTransform;
+import boofcv.struct.image.GrayS32;
+import boofcv.struct.image.GrayU8;
+
+/**
+ * Cost is the Hamming distance between the 5x5 {@link CensusTransform census} encoding of the two pixels.
+ * Being based on the relative ordering of pixels it's robust to differences in gain and bias between the
+ * two images.
+ *
+ * @author Peter Abeles
+ */
+public class SgmCostCensus_U8 implements SgmDisparityCost<GrayU8> {
+	// number of bits in the 5x5 census encoding
+	private static final int BITS = 24;
+
+	GrayS32 censusLeft = new GrayS32(1,1);
+	GrayS32 censusRight = new GrayS32(1,1);
+	int minDisparity,rangeDisparity;
+
+	@Override
+	public void initialize(GrayU8 left, GrayU8 right, int minDisparity, int rangeDisparity) {
+		this.minDisparity = minDisparity;
+		this.rangeDisparity = rangeDisparity;
+
+		censusLeft.reshape(left.width,left.height);
+		censusRight.reshape(right.width,right.height);
+		CensusTransform.dense5x5(left,censusLeft);
+		CensusTransform.dense5x5(right,censusRight);
+	}
+
+	@Override
+	public void computeRow(int y, short[] cost, int offset) {
+		final int[] dataL = censusLeft.data;
+		final int[] dataR = censusRight.data;
+		final int rowL = y*censusLeft.width;
+		final int rowR = y*censusRight.width;
+
+		for (int x = 0; x < censusLeft.width; x++) {
+			int valueL = dataL[rowL+x];
+			int index = offset + x*rangeDisparity;
+			for (int d = 0; d < rangeDisparity; d++) {
+				int xr = x - minDisparity - d;
+				if( xr < 0 ) {
+					cost[index++] = (short)MAX_COST;
+				} else {
+					int distance = Integer.bitCount(valueL ^ dataR[rowR+xr]);
+					cost[index++] = (short)(distance*MAX_COST/BITS);
+				}
+			}
+		}
+	}
+
+	@Override
+	public Class<GrayU8> getInputType() {
+		return GrayU8.class;
+	}
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.sgm;
+
+import boofcv.struct.image.ImageGray;
+
+/**
+ * Computes the matching cost between a pixel in the left image and every candidate pixel in the right image
+ * for use in {@link SgmStereoDisparity}. Costs are scaled to be from 0 to {@link #MAX_COST} so that the
+ * aggregated costs fit inside of an unsigned 16-bit integer.
+ *
+ * <p>
+ * Cost Format: The cost for pixel (x,y) at disparity d is stored at index offset + x*rangeDisparity + d - minDisparity,
+ * where offset is the start of row y. Disparities which would go outside the right image are assigned a cost
+ * of {@link #MAX_COST}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public interface SgmDisparityCost<T extends ImageGray<T>> {
+	/**
+	 * The largest possible cost
+	 */
+	int MAX_COST = 2047;
+
+	/**
+	 * Specifies the images and the disparity range. Any pre-processing of the input images is done here.
+	 *
+	 * @param left Left rectified image. Not modified.
+	 * @param right Right rectified image. Not modified.
+	 * @param minDisparity Minimum disparity that will be considered
+	 * @param rangeDisparity Number of disparity values which will be considered
+	 */
+	void initialize( T left , T right , int minDisparity , int rangeDisparity );
+
+	/**
+	 * Computes the cost for every pixel and disparity in a single row. Must be safe to call from multiple threads
+	 * at once for different rows.
+	 *
+	 * @param y The row being processed
+	 * @param cost Storage for the cost. Treated as unsigned.
+	 * @param offset Index of the first element in the row
+	 */
+	void computeRow( int y , short[] cost , int offset );
+
+	Class<T> getInputType();
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.sgm;
+
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageGray;
+
+/**
+ * <p>
+ * Selects the disparity with the smallest aggregated cost at each pixel, i.e. winner takes all. Optionally the
+ * solution is validated by checking its uniqueness and by a right to left consistency check. If the output
+ * image is {@link GrayF32} then the disparity is refined to sub-pixel accuracy by fitting a parabola to the
+ * cost of the best disparity and its two neighbors.
+ * </p>
+ *
+ * <p>
+ * Invalid pixels are assigned a value of rangeDisparity+1, as is done in
+ * {@link boofcv.alg.feature.disparity.SelectRectStandard}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class SgmDisparitySelector {
+	// tolerance for right to left validation. if < 0 then it's disabled
+	protected int rightToLeftTolerance = 1;
+	// how much better the best solution needs to be than the second best. if <= 0 then it's disabled
+	protected double uniqueness = 0.05;
+
+	// shape of the aggregated cost
+	protected int width,minDisparity,rangeDisparity;
+
+	/**
+	 * Specifies the shape of the aggregated cost
+	 */
+	public void configure( int width , int minDisparity , int rangeDisparity ) {
+		this.width = width;
+		this.minDisparity = minDisparity;
+		this.rangeDisparity = rangeDisparity;
+	}
+
+	/**
+	 * Selects the disparity for every pixel in a row. Safe to call from multiple threads at once for
+	 * different rows.
+	 *
+	 * @param aggregated Aggregated cost. Not modified.
+	 * @param offset Index of the first element in the row
+	 * @param y Row in the disparity image which is written to
+	 * @param disparity Output disparity image. {@link GrayU8} or {@link GrayF32}.
+	 */
+	public void selectRow( short[] aggregated , int offset , int y , ImageGray disparity ) {
+		final int invalid = rangeDisparity+1;
+		if( disparity instanceof GrayU8 ) {
+			GrayU8 output = (GrayU8)disparity;
+			int indexOut = output.startIndex + y*output.stride;
+			for (int x = 0; x < width; x++) {
+				int best = selectPixel(aggregated,offset,x);
+				output.data[indexOut++] = (byte)(best < 0 ? invalid : best);
+			}
+		} else if( disparity instanceof GrayF32 ) {
+			GrayF32 output = (GrayF32)disparity;
+			int indexOut = output.startIndex + y*output.stride;
+			for (int x = 0; x < width; x++) {
+				int best = selectPixel(aggregated,offset,x);
+				output.data[indexOut++] = best < 0 ? invalid : best + subpixel(aggregated,offset,x,best);
+			}
+		} else {
+			throw new IllegalArgumentException("Unsupported disparity image type");
+		}
+	}
+
+	/**
+	 * Selects the best disparity at a pixel
+	 *
+	 * @return The best disparity, relative to minDisparity, or -1 if invalid
+	 */
+	protected int selectPixel( short[] aggregated , int offset , int x ) {
+		int localRange = Math.min(rangeDisparity,x-minDisparity+1);
+		if( localRange <= 0 )
+			return -1;
+
+		int index = offset + x*rangeDisparity;
+		int best = 0;
+		int bestCost = aggregated[index] & 0xFFFF;
+		for (int d = 1; d < localRange; d++) {
+			int v = aggregated[index+d] & 0xFFFF;
+			if( v < bestCost ) {
+				bestCost = v;
+				best = d;
+			}
+		}
+
+		if( uniqueness > 0 ) {
+			// the best solution needs to be better than every solution which isn't adjacent to it
+			double threshold = bestCost/(1.0-uniqueness);
+			for (int d = 0; d < localRange; d++) {
+				if( Math.abs(d-best) > 1 && (aggregated[index+d] & 0xFFFF) < threshold )
+					return -1;
+			}
+		}
+
+		if( rightToLeftTolerance >= 0 ) {
+			if( Math.abs(selectRightToLeft(aggregated,offset,x-best-minDisparity)-best) > rightToLeftTolerance )
+				return -1;
+		}
+
+		return best;
+	}
+
+	/**
+	 * Finds the best disparity for a pixel in the right image by searching along the diagonal of the
+	 * aggregated cost in the left image's coordinates.
+	 *
+	 * @param xr column in the right image
+	 */
+	protected int selectRightToLeft( short[] aggregated , int offset , int xr ) {
+		int localRange = Math.min(rangeDisparity,width-xr-minDisparity);
+
+		int best = 0;
+		int bestCost = Integer.MAX_VALUE;
+		for (int d = 0; d < localRange; d++) {
+			int xl = xr + minDisparity + d;
+			int v = aggregated[offset + xl*rangeDisparity + d] & 0xFFFF;
+			if( v < bestCost ) {
+				bestCost = v;
+				best = d;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Fits a parabola to the cost around the best disparity and returns the offset of its minimum.
+	 */
+	protected float subpixel( short[] aggregated , int offset , int x , int best ) {
+		int localRange = Math.min(rangeDisparity,x-minDisparity+1);
+		if( best <= 0 || best >= localRange-1 )
+			return 0;
+
+		int index = offset + x*rangeDisparity + best;
+		int c0 = aggregated[index] & 0xFFFF;
+		int cm = aggregated[index-1] & 0xFFFF;
+		int cp = aggregated[index+1] & 0xFFFF;
+
+		int denominator = cm - 2*c0 + cp;
+		if( denominator <= 0 )
+			return 0;
+		return (cm-cp)/(2.0f*denominator);
+	}
+
+	public int getRightToLeftTolerance() {
+		return rightToLeftTolerance;
+	}
+
+	/**
+	 * Tolerance for how different the left to right associated values can be. Set to &lt; 0 to disable.
+	 */
+	public void setRightToLeftTolerance(int rightToLeftTolerance) {
+		this.rightToLeftTolerance = rightToLeftTolerance;
+	}
+
+	public double getUniqueness() {
+		return uniqueness;
+	}
+
+	/**
+	 * How much better the best disparity's cost must be than all other non-adjacent disparities.
+	 * A value of 0.05 requires it to be 5% better. Set to &le; 0 to disable.
+	 */
+	public void setUniqueness(double uniqueness) {
+		if( uniqueness >= 1 )
+			throw new IllegalArgumentException("Uniqueness must be less than one");
+		this.uniqueness = uniqueness;
+	}
+}
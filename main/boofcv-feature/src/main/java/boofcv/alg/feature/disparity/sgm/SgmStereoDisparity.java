@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.sgm;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.struct.image.ImageGray;
+
+/**
+ * <p>
+ * Dense stereo disparity using Semi Global Matching (SGM) [1]. The matching cost of every pixel and disparity is
+ * computed using {@link SgmDisparityCost}, aggregated along multiple paths across the image with
+ * {@link SgmCostAggregation}, then the best disparity is selected with {@link SgmDisparitySelector}.
+ * Smoothness constraints along the paths make the solution much less noisy than local block matching and
+ * preserve the edges of objects.
+ * </p>
+ *
+ * <p>
+ * Cost volumes are stored as unsigned 16-bit integers and require 4*width*height*rangeDisparity bytes in total.
+ * For large images or disparity ranges a memory limit can be specified. The image is then processed in blocks of
+ * rows with enough rows for the volumes to fit inside the limit. Each block has extra rows above and below it
+ * to allow the vertical and diagonal paths to converge before reaching the rows which are written to. This is an
+ * approximation and the results will differ slightly from processing the whole image at once. Blocks are also
+ * used when there is no memory limit but the cost volume has more elements than a Java array can hold.
+ * </p>
+ *
+ * <p>
+ * [1] Hirschmuller, Heiko. "Stereo processing by semiglobal matching and mutual information." IEEE Transactions
+ * on pattern analysis and machine intelligence 30.2 (2007): 328-341.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class SgmStereoDisparity<T extends ImageGray<T>> {
+	// computes the matching cost
+	protected SgmDisparityCost<T> costAlg;
+	// aggregates the cost along paths
+	protected SgmCostAggregation aggregation;
+	// selects the best disparity from the aggregated cost
+	protected SgmDisparitySelector selector = new SgmDisparitySelector();
+
+	// the minimum disparity that it will check
+	protected int minDisparity;
+	// maximum allowed image disparity, exclusive
+	protected int maxDisparity;
+	// difference between max and min
+	protected int rangeDisparity;
+
+	// Maximum number of bytes the cost volumes can use. If <= 0 then there is no limit
+	protected long memoryLimit = 0;
+	// Extra rows which are processed above and below each block
+	protected int blockOverlap = 16;
+	// Maximum number of elements in a cost volume array
+	protected int maxArrayLength = Integer.MAX_VALUE - 8;
+
+	// width of the image being processed
+	protected int width;
+	// cost and aggregated cost volumes
+	protected short[] cost = new short[0];
+	protected short[] aggregated = new short[0];
+
+	/**
+	 * Configures the algorithm.
+	 *
+	 * @param costAlg Computes the matching cost
+	 * @param aggregation Aggregates the cost along paths
+	 * @param minDisparity Minimum disparity that it will check. Must be &ge; 0 and &lt; maxDisparity
+	 * @param maxDisparity Maximum disparity that it will calculate. Must be &gt; 0
+	 */
+	public SgmStereoDisparity( SgmDisparityCost<T> costAlg , SgmCostAggregation aggregation ,
+							   int minDisparity , int maxDisparity ) {
+		if( maxDisparity <= 0 )
+			throw new IllegalArgumentException("Max disparity must be greater than zero");
+		if( minDisparity < 0 || minDisparity >= maxDisparity )
+			throw new IllegalArgumentException("Min disparity must be >= 0 and < maxDisparity");
+
+		this.costAlg = costAlg;
+		this.aggregation = aggregation;
+		this.minDisparity = minDisparity;
+		this.maxDisparity = maxDisparity;
+		this.rangeDisparity = maxDisparity - minDisparity;
+	}
+
+	/**
+	 * Computes the disparity between two stereo images
+	 *
+	 * @param left Left rectified stereo image. Not modified.
+	 * @param right Right rectified stereo image. Not modified.
+	 * @param disparity Disparity between the two images. See {@link SgmDisparitySelector}. Modified.
+	 */
+	public void process( T left , T right , ImageGray disparity ) {
+		InputSanityCheck.checkSameShape(left, right, disparity);
+
+		final int height = left.height;
+		width = left.width;
+
+		costAlg.initialize(left,right,minDisparity,rangeDisparity);
+		selector.configure(width,minDisparity,rangeDisparity);
+
+		// decide how many rows are written to by each block. Sizes are computed as long since the volume
+		// of a large image can have more elements than an int can hold
+		long rowLength = (long)width*rangeDisparity;
+		if( rowLength > maxArrayLength )
+			throw new IllegalArgumentException("A single row of the cost volume is too large for an array. width="+
+					width+" rangeDisparity="+rangeDisparity);
+		long maxRows = Math.min(height,maxArrayLength/rowLength);
+		if( memoryLimit > 0 ) {
+			long bytesPerRow = 4L*rowLength;
+			maxRows = Math.min(maxRows,memoryLimit/bytesPerRow);
+		}
+
+		int blockRows = height;
+		int overlap = 0;
+		if( maxRows < height ) {
+			overlap = blockOverlap;
+			blockRows = (int)maxRows - 2*overlap;
+			if( blockRows <= 0 )
+				throw new IllegalArgumentException("Memory limit is too small for this image and disparity range. "+
+						"width="+width+" rangeDisparity="+rangeDisparity+" rows="+maxRows+" overlap="+overlap);
+		}
+
+		int maxBlockLength = (int)(Math.min(height,blockRows+2*overlap)*rowLength);
+		if( cost.length < maxBlockLength ) {
+			cost = new short[maxBlockLength];
+			aggregated = new short[maxBlockLength];
+		}
+
+		for (int outY0 = 0; outY0 < height; outY0 += blockRows) {
+			int outY1 = Math.min(height,outY0+blockRows);
+			int y0 = Math.max(0,outY0-overlap);
+			int y1 = Math.min(height,outY1+overlap);
+
+			computeCost(y0,y1);
+			aggregation.process(cost,width,y1-y0,rangeDisparity,aggregated);
+			selectDisparity(y0,outY0,outY1,disparity);
+		}
+	}
+
+	/**
+	 * Computes the cost for rows y0 to y1
+	 */
+	protected void computeCost( int y0 , int y1 ) {
+		int rowLength = width*rangeDisparity;
+		for (int y = y0; y < y1; y++) {
+			costAlg.computeRow(y, cost, (y-y0)*rowLength);
+		}
+	}
+
+	/**
+	 * Selects the disparity in rows outY0 to outY1. The block's aggregated cost starts at row y0.
+	 */
+	protected void selectDisparity( int y0 , int outY0 , int outY1 , ImageGray disparity ) {
+		int rowLength = width*rangeDisparity;
+		for (int y = outY0; y < outY1; y++) {
+			selector.selectRow(aggregated, (y-y0)*rowLength, y, disparity);
+		}
+	}
+
+	public SgmDisparitySelector getSelector() {
+		return selector;
+	}
+
+	public SgmCostAggregation getAggregation() {
+		return aggregation;
+	}
+
+	public long getMemoryLimit() {
+		return memoryLimit;
+	}
+
+	/**
+	 * Maximum number of bytes the cost volumes can use. If the full image won't fit then it's processed in
+	 * blocks of rows. Set to &le; 0 to process the whole image at once.
+	 */
+	public void setMemoryLimit(long memoryLimit) {
+		this.memoryLimit = memoryLimit;
+	}
+
+	public int getBlockOverlap() {
+		return blockOverlap;
+	}
+
+	/**
+	 * Number of extra rows processed above and below each block when there is a memory limit.
+	 */
+	public void setBlockOverlap(int blockOverlap) {
+		if( blockOverlap < 0 )
+			throw new IllegalArgumentException("Overlap must be >= 0");
+		this.blockOverlap = blockOverlap;
+	}
+
+	public int getMinDisparity() {
+		return minDisparity;
+	}
+
+	public int getMaxDisparity() {
+		return maxDisparity;
+	}
+
+	public Class<T> getInputType() {
+		return costAlg.getInputType();
+	}
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.sgm;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.ImageBands;
+import boofcv.struct.image.ImageGray;
+
+/**
+ * Concurrent implementation of {@link SgmStereoDisparity}. The cost and disparity selection are computed for
+ * multiple rows in parallel and the aggregation is done by {@link SgmCostAggregation_MT}, which processes
+ * the lines along each path in parallel. The output is identical to the single threaded version.
+ *
+ * @author Peter Abeles
+ */
+public class SgmStereoDisparity_MT<T extends ImageGray<T>> extends SgmStereoDisparity<T> {
+
+	/**
+	 * @see SgmStereoDisparity#SgmStereoDisparity
+	 */
+	public SgmStereoDisparity_MT( SgmDisparityCost<T> costAlg , int minDisparity , int maxDisparity ) {
+		super(costAlg, new SgmCostAggregation_MT(), minDisparity, maxDisparity);
+	}
+
+	@Override
+	protected void computeCost( int y0 , int y1 ) {
+		final int rowLength = width*rangeDisparity;
+		BoofConcurrency.loopBlocks(y0, y1, minRows(), (i0,i1)->{
+			for (int y = i0; y < i1; y++) {
+				costAlg.computeRow(y, cost, (y-y0)*rowLength);
+			}
+		});
+	}
+
+	@Override
+	protected void selectDisparity( int y0 , int outY0 , int outY1 , ImageGray disparity ) {
+		final int rowLength = width*rangeDisparity;
+		BoofConcurrency.loopBlocks(outY0, outY1, minRows(), (i0,i1)->{
+			for (int y = i0; y < i1; y++) {
+				selector.selectRow(aggregated, (y-y0)*rowLength, y, disparity);
+			}
+		});
+	}
+
+	private int minRows() {
+		return Math.max(1,ImageBands.MIN_BAND_PIXELS/Math.max(1,width));
+	}
+}
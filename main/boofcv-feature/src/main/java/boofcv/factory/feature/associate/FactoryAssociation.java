@@ -19,12 +19,17 @@
 package boofcv.factory.feature.associate;
 
 import boofcv.abst.feature.associate.*;
+import boofcv.alg.descriptor.KdTreeTuple_F32;
 import boofcv.alg.descriptor.KdTreeTuple_F64;
 import boofcv.alg.feature.associate.AssociateGreedy;
+import boofcv.alg.feature.associate.AssociateGreedy_MT;
 import boofcv.alg.feature.associate.AssociateNearestNeighbor;
+import boofcv.alg.feature.associate.NearestNeighborHnsw;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.feature.*;
 import org.ddogleg.nn.FactoryNearestNeighbor;
 import org.ddogleg.nn.NearestNeighbor;
+import org.ddogleg.nn.alg.KdTreeDistance;
 
 import javax.annotation.Nullable;
 
@@ -53,7 +58,12 @@ public class FactoryAssociation {
 			double maxError ,
 			boolean backwardsValidation )
 	{
-		AssociateGreedy<D> alg = new AssociateGreedy<>(score, backwardsValidation);
+		AssociateGreedy<D> alg;
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			alg = new AssociateGreedy_MT<>(score, backwardsValidation);
+		} else {
+			alg = new AssociateGreedy<>(score, backwardsValidation);
+		}
 		alg.setMaxFitError(maxError);
 		WrapAssociateGreedy<D> ret = new WrapAssociateGreedy<>(alg);
 		return ret;
@@ -106,6 +116,41 @@ public class FactoryAssociation {
 		return associateNearestNeighbor(configNN,nn);
 	}
 
+	/**
+	 * Approximate association using a Hierarchical Navigable Small World (HNSW) graph. Scales well to large sets
+	 * of descriptors with a high degree of freedom, e.g. SURF and SIFT.
+	 *
+	 * @see AssociateNearestNeighbor
+	 * @see NearestNeighborHnsw
+	 *
+	 * @param type Type of descriptor. {@link TupleDesc_F64} and {@link TupleDesc_F32} are supported.
+	 * @param dimension Number of elements in the feature vector
+	 * @param maxConnections Maximum number of connections each feature has in the graph. Try 16.
+	 * @param searchSize Number of candidates considered in a search. Controls speed and accuracy. Try 50.
+	 * @param randomSeed Seed used by random number generator
+	 * @return Association using approximate nearest neighbor
+	 */
+	public static <D extends TupleDesc> AssociateDescription<D> hnsw( @Nullable ConfigAssociateNearestNeighbor configNN ,
+																	  Class<D> type,
+																	  int dimension,
+																	  int maxConnections ,
+																	  int searchSize ,
+																	  long randomSeed ) {
+		KdTreeDistance distance;
+		if( type == TupleDesc_F64.class ) {
+			distance = new KdTreeTuple_F64(dimension);
+		} else if( type == TupleDesc_F32.class ) {
+			distance = new KdTreeTuple_F32(dimension);
+		} else {
+			throw new IllegalArgumentException("Unsupported descriptor type "+type.getSimpleName());
+		}
+
+		NearestNeighborHnsw nn = new NearestNeighborHnsw(distance,maxConnections,randomSeed);
+		nn.setSearchSize(searchSize);
+
+		return (AssociateDescription)associateNearestNeighbor(configNN,nn);
+	}
+
 	public static AssociateNearestNeighbor<TupleDesc_F64>
 	associateNearestNeighbor( @Nullable ConfigAssociateNearestNeighbor config ,
 							  NearestNeighbor nn )
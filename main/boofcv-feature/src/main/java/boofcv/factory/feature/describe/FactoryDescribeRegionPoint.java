@@ -20,6 +20,7 @@ package boofcv.factory.feature.describe;
 
 import boofcv.abst.feature.describe.*;
 import boofcv.abst.filter.blur.BlurFilter;
+import boofcv.alg.feature.describe.DescribePointBriefSO;
 import boofcv.alg.feature.describe.DescribePointSift;
 import boofcv.alg.feature.describe.DescribePointSurf;
 import boofcv.alg.feature.describe.DescribePointSurfPlanar;
@@ -33,6 +34,7 @@ import boofcv.struct.image.*;
 
 import javax.annotation.Nullable;
 import java.util.Random;
+import java.util.function.Supplier;
 
 
 /**
@@ -62,8 +64,9 @@ public class FactoryDescribeRegionPoint {
 		Class<II> integralType = GIntegralImageOps.getIntegralType(imageType);
 
 		DescribePointSurf<II> alg = FactoryDescribePointAlgs.surfSpeed( config, integralType);
+		Supplier<DescribePointSurf<II>> factory = ()->FactoryDescribePointAlgs.surfSpeed( config, integralType);
 
-		return new WrapDescribeSurf( alg , imageType );
+		return new WrapDescribeSurf( alg , factory, imageType );
 	}
 
 	/**
@@ -111,8 +114,9 @@ public class FactoryDescribeRegionPoint {
 		Class<II> integralType = GIntegralImageOps.getIntegralType(imageType);
 
 		DescribePointSurf<II> alg = FactoryDescribePointAlgs.surfStability( config, integralType);
+		Supplier<DescribePointSurf<II>> factory = ()->FactoryDescribePointAlgs.surfStability( config, integralType);
 
-		return new WrapDescribeSurf( alg , imageType );
+		return new WrapDescribeSurf( alg , factory, imageType );
 	}
 
 	/**
@@ -167,8 +171,9 @@ public class FactoryDescribeRegionPoint {
 				configSS.sigma0);
 
 		DescribePointSift<GrayF32> alg = FactoryDescribePointAlgs.sift(configDescribe,GrayF32.class);
+		Supplier<DescribePointSift<GrayF32>> factory = ()->FactoryDescribePointAlgs.sift(configDescribe,GrayF32.class);
 
-		return new DescribeRegionPoint_SIFT<>(ss, alg, imageType);
+		return new DescribeRegionPoint_SIFT<>(ss, alg, factory, imageType);
 	}
 
 	/**
@@ -197,7 +202,9 @@ public class FactoryDescribeRegionPoint {
 		if( config.fixed) {
 			return new WrapDescribeBrief<>(FactoryDescribePointAlgs.brief(definition, filter), imageType);
 		} else {
-			return new WrapDescribeBriefSo<>(FactoryDescribePointAlgs.briefso(definition, filter), imageType);
+			// the blurred image is shared, so the filter used by each thread is never invoked
+			Supplier<DescribePointBriefSO<T>> factory = ()->FactoryDescribePointAlgs.briefso(definition, filter);
+			return new WrapDescribeBriefSo<>(FactoryDescribePointAlgs.briefso(definition, filter), factory, imageType);
 		}
 	}
 
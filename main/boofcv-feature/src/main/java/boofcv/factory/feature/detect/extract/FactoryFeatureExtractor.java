@@ -22,6 +22,7 @@ import boofcv.abst.feature.detect.extract.*;
 import boofcv.abst.feature.detect.intensity.GeneralFeatureIntensity;
 import boofcv.alg.feature.detect.extract.*;
 import boofcv.alg.feature.detect.interest.GeneralFeatureDetector;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.image.ImageGray;
 
 import javax.annotation.Nullable;
@@ -70,30 +71,39 @@ public class FactoryFeatureExtractor {
 		}
 
 		NonMaxBlock ret;
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			final ConfigExtract c = config;
+			ret = new NonMaxBlock_MT(()->nonmaxBlock(c));
+		} else {
+			ret = nonmaxBlock(config);
+		}
+
+		ret.setSearchRadius(config.radius);
+		ret.setThresholdMax(config.threshold);
+		ret.setThresholdMin(-config.threshold);
+		ret.setBorder(config.ignoreBorder);
+
+		return new WrapperNonMaximumBlock(ret);
+	}
+
+	private static NonMaxBlock nonmaxBlock( ConfigExtract config ) {
 		if (config.useStrictRule) {
 			if( config.detectMaximums)
 				if( config.detectMinimums )
-					ret = new NonMaxBlockStrict.MinMax();
+					return new NonMaxBlockStrict.MinMax();
 				else
-					ret = new NonMaxBlockStrict.Max();
+					return new NonMaxBlockStrict.Max();
 			else
-				ret = new NonMaxBlockStrict.Min();
+				return new NonMaxBlockStrict.Min();
 		} else {
 			if( config.detectMaximums)
 				if( config.detectMinimums )
-					ret = new NonMaxBlockRelaxed.MinMax();
+					return new NonMaxBlockRelaxed.MinMax();
 				else
-					ret = new NonMaxBlockRelaxed.Max();
+					return new NonMaxBlockRelaxed.Max();
 			else
-				ret = new NonMaxBlockRelaxed.Min();
+				return new NonMaxBlockRelaxed.Min();
 		}
-
-		ret.setSearchRadius(config.radius);
-		ret.setThresholdMax(config.threshold);
-		ret.setThresholdMin(-config.threshold);
-		ret.setBorder(config.ignoreBorder);
-
-		return new WrapperNonMaximumBlock(ret);
 	}
 
 	/**
@@ -19,9 +19,11 @@
 package boofcv.factory.feature.detect.intensity;
 
 import boofcv.alg.feature.detect.intensity.FastCornerDetector;
+import boofcv.alg.feature.detect.intensity.FastCornerDetector_MT;
 import boofcv.alg.feature.detect.intensity.HarrisCornerIntensity;
 import boofcv.alg.feature.detect.intensity.ShiTomasiCornerIntensity;
 import boofcv.alg.feature.detect.intensity.impl.*;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.GrayS16;
 import boofcv.struct.image.GrayU8;
@@ -76,7 +78,10 @@ public class FactoryIntensityPointAlg {
 		} else {
 			throw new IllegalArgumentException("Unknown image type");
 		}
-		return new FastCornerDetector(helper);
+		if( BoofConcurrency.USE_CONCURRENT )
+			return new FastCornerDetector_MT(helper);
+		else
+			return new FastCornerDetector(helper);
 	}
 
 	/**
@@ -29,6 +29,8 @@ import boofcv.alg.feature.detect.intensity.FastCornerDetector;
 import boofcv.alg.feature.detect.intensity.GradientCornerIntensity;
 import boofcv.alg.feature.detect.intensity.HessianBlobIntensity;
 import boofcv.alg.feature.detect.interest.GeneralFeatureDetector;
+import boofcv.alg.feature.detect.interest.GeneralFeatureDetector_MT;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
 import boofcv.factory.feature.detect.intensity.FactoryIntensityPoint;
 import boofcv.factory.feature.detect.intensity.FactoryIntensityPointAlg;
@@ -37,6 +39,7 @@ import boofcv.struct.image.ImageGray;
 import boofcv.struct.image.ImageType;
 
 import javax.annotation.Nullable;
+import java.util.function.Supplier;
 
 /**
  * <p>
@@ -68,9 +71,10 @@ public class FactoryDetectPoint {
 		if( configDetector == null)
 			configDetector = new ConfigGeneralDetector();
 
-		GradientCornerIntensity<D> cornerIntensity =
-				FactoryIntensityPointAlg.harris(configDetector.radius, 0.04f, weighted, derivType);
-		return createGeneral(cornerIntensity, configDetector);
+		final int radius = configDetector.radius;
+		Supplier<GeneralFeatureIntensity<T,D>> factory = ()->new WrapperGradientCornerIntensity<>(
+				FactoryIntensityPointAlg.harris(radius, 0.04f, weighted, derivType));
+		return createGeneral(factory, radius, configDetector);
 	}
 
 	/**
@@ -87,9 +91,10 @@ public class FactoryDetectPoint {
 		if( configDetector == null)
 			configDetector = new ConfigGeneralDetector();
 
-		GradientCornerIntensity<D> cornerIntensity =
-				FactoryIntensityPointAlg.shiTomasi(configDetector.radius, weighted, derivType);
-		return createGeneral(cornerIntensity, configDetector);
+		final int radius = configDetector.radius;
+		Supplier<GeneralFeatureIntensity<T,D>> factory = ()->new WrapperGradientCornerIntensity<>(
+				FactoryIntensityPointAlg.shiTomasi(radius, weighted, derivType));
+		return createGeneral(factory, radius, configDetector);
 	}
 
 	/**
@@ -104,8 +109,8 @@ public class FactoryDetectPoint {
 		if( configDetector == null)
 			configDetector = new ConfigGeneralDetector();
 
-		GeneralFeatureIntensity<T, D> intensity = new WrapperKitRosCornerIntensity<>(derivType);
-		return createGeneral(intensity, configDetector);
+		Supplier<GeneralFeatureIntensity<T,D>> factory = ()->new WrapperKitRosCornerIntensity<>(derivType);
+		return createGeneral(factory, 0, configDetector);
 	}
 
 	/**
@@ -197,6 +202,30 @@ public class FactoryDetectPoint {
 	public static <T extends ImageGray<T>, D extends ImageGray<D>>
 	GeneralFeatureDetector<T, D> createGeneral(GeneralFeatureIntensity<T, D> intensity,
 											   ConfigGeneralDetector config ) {
+		return createGeneral(intensity, null, 0, config);
+	}
+
+	/**
+	 * Creates a {@link GeneralFeatureDetector}. If concurrency is turned on then a
+	 * {@link GeneralFeatureDetector_MT} is created which computes the intensity image in bands.
+	 *
+	 * @param factory Creates the algorithm which computes the feature intensity
+	 * @param intensityRadius Radius of the region in the input images which influences a pixel's intensity
+	 * @param config Configuration for the detector
+	 */
+	public static <T extends ImageGray<T>, D extends ImageGray<D>>
+	GeneralFeatureDetector<T, D> createGeneral(Supplier<GeneralFeatureIntensity<T, D>> factory,
+											   int intensityRadius, ConfigGeneralDetector config ) {
+		if( BoofConcurrency.USE_CONCURRENT )
+			return createGeneral(factory.get(), factory, intensityRadius, config);
+		else
+			return createGeneral(factory.get(), null, intensityRadius, config);
+	}
+
+	private static <T extends ImageGray<T>, D extends ImageGray<D>>
+	GeneralFeatureDetector<T, D> createGeneral(GeneralFeatureIntensity<T, D> intensity,
+											   @Nullable Supplier<GeneralFeatureIntensity<T, D>> factory,
+											   int intensityRadius, ConfigGeneralDetector config ) {
 		// create a copy since it's going to modify the detector config
 		ConfigGeneralDetector foo = new ConfigGeneralDetector();
 		foo.setTo(config);
@@ -207,7 +236,11 @@ public class FactoryDetectPoint {
 		if( !intensity.localMinimums() )
 			config.detectMinimums = false;
 		NonMaxSuppression extractor = FactoryFeatureExtractor.nonmax(config);
-		GeneralFeatureDetector<T, D> det = new GeneralFeatureDetector<>(intensity, extractor);
+		GeneralFeatureDetector<T, D> det;
+		if( factory != null )
+			det = new GeneralFeatureDetector_MT<>(factory, intensityRadius, extractor);
+		else
+			det = new GeneralFeatureDetector<>(intensity, extractor);
 		det.setMaxFeatures(config.maxFeatures);
 
 		return det;
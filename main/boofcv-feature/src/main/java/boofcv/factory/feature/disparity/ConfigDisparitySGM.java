@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.factory.feature.disparity;
+
+import boofcv.alg.feature.disparity.sgm.SgmDisparityCost;
+import boofcv.struct.Configuration;
+
+/**
+ * Configuration for {@link boofcv.alg.feature.disparity.sgm.SgmStereoDisparity Semi Global Matching}.
+ *
+ * @author Peter Abeles
+ */
+public class ConfigDisparitySGM implements Configuration {
+	/**
+	 * Minimum disparity that it will check. Must be &ge; 0 and &lt; maxDisparity
+	 */
+	public int minDisparity = 0;
+
+	/**
+	 * Maximum disparity that it will calculate. Must be &gt; minDisparity
+	 */
+	public int maxDisparity = 100;
+
+	/**
+	 * How the matching cost between two pixels is computed
+	 */
+	public Cost cost = Cost.CENSUS;
+
+	/**
+	 * Penalty for a change in disparity of one along a path. Costs range from 0 to
+	 * {@link SgmDisparityCost#MAX_COST}.
+	 */
+	public int penaltySmallChange = 200;
+
+	/**
+	 * Penalty for a change in disparity of more than one along a path
+	 */
+	public int penaltyLargeChange = 2000;
+
+	/**
+	 * Number of paths the cost is aggregated along. 4 for horizontal and vertical or 8 to include diagonals.
+	 */
+	public int paths = 8;
+
+	/**
+	 * Tolerance for how different the left to right associated values can be. Set to &lt; 0 to disable.
+	 */
+	public int validateRtoL = 1;
+
+	/**
+	 * How much better the best disparity needs to be than other non-adjacent disparities. Set to &le; 0 to disable.
+	 */
+	public double uniqueness = 0.05;
+
+	/**
+	 * If more than zero, the maximum number of megabytes the cost volumes can use. Larger images are processed
+	 * in blocks of rows, which produces slightly different results.
+	 */
+	public int memoryLimitMB = 0;
+
+	/**
+	 * Number of extra rows above and below each block when there's a memory limit.
+	 */
+	public int blockOverlap = 16;
+
+	@Override
+	public void checkValidity() {
+		if( maxDisparity <= 0 )
+			throw new IllegalArgumentException("Max disparity must be greater than zero");
+		if( minDisparity < 0 || minDisparity >= maxDisparity )
+			throw new IllegalArgumentException("Min disparity must be >= 0 and < maxDisparity");
+		if( paths < 1 || paths > 8 )
+			throw new IllegalArgumentException("Paths must be from 1 to 8");
+		if( penaltySmallChange < 0 || penaltyLargeChange < penaltySmallChange )
+			throw new IllegalArgumentException("Penalties must be positive and small <= large");
+		if( blockOverlap < 0 )
+			throw new IllegalArgumentException("Block overlap must be >= 0");
+	}
+
+	public enum Cost {
+		/**
+		 * Hamming distance between 5x5 census transforms
+		 */
+		CENSUS,
+		/**
+		 * Absolute difference between pixel values
+		 */
+		ABSOLUTE_DIFFERENCE
+	}
+}
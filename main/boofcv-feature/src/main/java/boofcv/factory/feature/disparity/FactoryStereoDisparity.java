@@ -20,17 +20,29 @@ package boofcv.factory.feature.disparity;
 
 import boofcv.abst.feature.disparity.StereoDisparity;
 import boofcv.abst.feature.disparity.StereoDisparitySparse;
+import boofcv.abst.feature.disparity.WrapDisparityCensusRect;
 import boofcv.abst.feature.disparity.WrapDisparitySadRect;
+import boofcv.abst.feature.disparity.WrapDisparitySgm;
 import boofcv.abst.feature.disparity.WrapDisparitySparseSadRect;
+import boofcv.alg.feature.disparity.DisparityScoreCoarseToFine;
 import boofcv.alg.feature.disparity.DisparityScoreRowFormat;
+import boofcv.alg.feature.disparity.DisparityScoreRowFormat_MT;
+import boofcv.alg.feature.disparity.DisparityScoreTemporal;
 import boofcv.alg.feature.disparity.DisparitySelect;
 import boofcv.alg.feature.disparity.DisparitySparseScoreSadRect;
 import boofcv.alg.feature.disparity.DisparitySparseSelect;
+import boofcv.alg.feature.disparity.sgm.*;
+import boofcv.alg.transform.census.CensusTransform;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.GrayS16;
+import boofcv.struct.image.GrayS64;
 import boofcv.struct.image.GrayU8;
 import boofcv.struct.image.ImageGray;
 
+import javax.annotation.Nullable;
+import java.util.function.Supplier;
+
 import static boofcv.factory.feature.disparity.FactoryStereoDisparityAlgs.*;
 
 /**
@@ -91,51 +103,19 @@ public class FactoryStereoDisparity {
 		// 3 regions are used not just one in this case
 		if( whichAlg == DisparityAlgorithms.RECT_FIVE )
 			maxError *= 3;
+		final int maxErrorInt = (int)maxError;
 
-		DisparitySelect select;
+		Supplier<DisparitySelect> select;
 		if( imageType == GrayU8.class || imageType == GrayS16.class ) {
-			select = selectDisparity_S32((int) maxError, validateRtoL, texture);
+			select = ()->selectDisparity_S32(maxErrorInt, validateRtoL, texture);
 		} else if( imageType == GrayF32.class ) {
-			select = selectDisparity_F32((int) maxError, validateRtoL, texture);
+			select = ()->selectDisparity_F32(maxErrorInt, validateRtoL, texture);
 		} else {
 			throw new IllegalArgumentException("Unknown image type");
 		}
 
-		DisparityScoreRowFormat<T,GrayU8> alg = null;
-
-		switch( whichAlg ) {
-			case RECT:
-				if( imageType == GrayU8.class ) {
-					alg = FactoryStereoDisparityAlgs.scoreDisparitySadRect_U8(minDisparity,
-							maxDisparity,regionRadiusX,regionRadiusY,select);
-				} else if( imageType == GrayS16.class ) {
-					alg = FactoryStereoDisparityAlgs.scoreDisparitySadRect_S16(minDisparity,
-							maxDisparity, regionRadiusX, regionRadiusY, select);
-				} else if( imageType == GrayF32.class ) {
-					alg = FactoryStereoDisparityAlgs.scoreDisparitySadRect_F32(minDisparity,
-							maxDisparity, regionRadiusX, regionRadiusY, select);
-				}
-				break;
-
-			case RECT_FIVE:
-				if( imageType == GrayU8.class ) {
-					alg = FactoryStereoDisparityAlgs.scoreDisparitySadRectFive_U8(minDisparity,
-							maxDisparity,regionRadiusX,regionRadiusY,select);
-				} else if( imageType == GrayS16.class ) {
-					alg = FactoryStereoDisparityAlgs.scoreDisparitySadRectFive_S16(minDisparity,
-							maxDisparity, regionRadiusX, regionRadiusY, select);
-				} else if( imageType == GrayF32.class ) {
-					alg = FactoryStereoDisparityAlgs.scoreDisparitySadRectFive_F32(minDisparity,
-							maxDisparity, regionRadiusX, regionRadiusY, select);
-				}
-				break;
-
-			default:
-				throw new IllegalArgumentException("Unknown algorithms "+whichAlg);
-
-		}
-		if( alg == null)
-			throw new RuntimeException("Image type not supported: "+imageType.getSimpleName() );
+		DisparityScoreRowFormat<T,GrayU8> alg =
+				createRowFormat(whichAlg,minDisparity,maxDisparity,regionRadiusX,regionRadiusY,select,imageType);
 
 		return new WrapDisparitySadRect<>(alg);
 	}
@@ -174,53 +154,227 @@ public class FactoryStereoDisparity {
 		// 3 regions are used not just one in this case
 		if( whichAlg == DisparityAlgorithms.RECT_FIVE )
 			maxError *= 3;
+		final int maxErrorInt = (int)maxError;
 
-		DisparitySelect select;
+		Supplier<DisparitySelect> select;
 		if( imageType == GrayU8.class || imageType == GrayS16.class ) {
-			select = selectDisparitySubpixel_S32((int) maxError, validateRtoL, texture);
+			select = ()->selectDisparitySubpixel_S32(maxErrorInt, validateRtoL, texture);
 		} else if( imageType == GrayF32.class ) {
-			select = selectDisparitySubpixel_F32((int) maxError, validateRtoL, texture);
+			select = ()->selectDisparitySubpixel_F32(maxErrorInt, validateRtoL, texture);
 		} else {
 			throw new IllegalArgumentException("Unknown image type");
 		}
 
-		DisparityScoreRowFormat<T,GrayF32> alg = null;
+		DisparityScoreRowFormat<T,GrayF32> alg =
+				createRowFormat(whichAlg,minDisparity,maxDisparity,regionRadiusX,regionRadiusY,select,imageType);
 
-		switch( whichAlg ) {
-			case RECT:
-				if( imageType == GrayU8.class ) {
-					alg = FactoryStereoDisparityAlgs.scoreDisparitySadRect_U8(minDisparity,
-							maxDisparity,regionRadiusX,regionRadiusY,select);
-				} else if( imageType == GrayS16.class ) {
-					alg = FactoryStereoDisparityAlgs.scoreDisparitySadRect_S16(minDisparity,
-							maxDisparity, regionRadiusX, regionRadiusY, select);
-				} else if( imageType == GrayF32.class ) {
-					alg = FactoryStereoDisparityAlgs.scoreDisparitySadRect_F32(minDisparity,
-							maxDisparity, regionRadiusX, regionRadiusY, select);
-				}
-				break;
+		return new WrapDisparitySadRect<>(alg);
+	}
 
-			case RECT_FIVE:
-				if( imageType == GrayU8.class ) {
-					alg = FactoryStereoDisparityAlgs.scoreDisparitySadRectFive_U8(minDisparity,
-							maxDisparity,regionRadiusX,regionRadiusY,select);
-				} else if( imageType == GrayS16.class ) {
-					alg = FactoryStereoDisparityAlgs.scoreDisparitySadRectFive_S16(minDisparity,
-							maxDisparity, regionRadiusX, regionRadiusY, select);
-				} else if( imageType == GrayF32.class ) {
-					alg = FactoryStereoDisparityAlgs.scoreDisparitySadRectFive_F32(minDisparity,
-							maxDisparity, regionRadiusX, regionRadiusY, select);
-				}
-				break;
+	/**
+	 * <p>
+	 * Region based WTA disparity which is computed from coarse to fine using an image pyramid. The full range
+	 * of disparities is only searched at the lowest resolution layer. At finer layers the range is restricted
+	 * to the disparities found in the same region of the previous layer. Much faster than {@link #regionWta}
+	 * when the disparity range is large.
+	 * </p>
+	 *
+	 * @param scales Scale of each layer in the pyramid. First layer must be 1. Try {1,2,4}
+	 * @param disparityType Type of disparity image. {@link GrayU8} or {@link GrayF32} for sub-pixel.
+	 * @see #regionWta
+	 * @see DisparityScoreCoarseToFine
+	 */
+	public static <T extends ImageGray<T>, D extends ImageGray<D>> StereoDisparity<T,D>
+	regionWtaCoarseToFine( DisparityAlgorithms whichAlg ,
+						   int minDisparity , int maxDisparity,
+						   int regionRadiusX, int regionRadiusY ,
+						   double maxPerPixelError ,
+						   int validateRtoL ,
+						   double texture ,
+						   int[] scales ,
+						   Class<T> imageType ,
+						   Class<D> disparityType ) {
 
-			default:
-				throw new IllegalArgumentException("Unknown algorithms "+whichAlg);
+		double maxError = (regionRadiusX*2+1)*(regionRadiusY*2+1)*maxPerPixelError;
+
+		// 3 regions are used not just one in this case
+		if( whichAlg == DisparityAlgorithms.RECT_FIVE )
+			maxError *= 3;
+		final int maxErrorInt = (int)maxError;
+
+		DisparityScoreRowFormat<T,GrayU8> coarse = scoreRowFormat(whichAlg,minDisparity,maxDisparity,
+				regionRadiusX,regionRadiusY,selectWta(maxErrorInt,validateRtoL,texture,imageType,GrayU8.class),imageType);
+		DisparityScoreRowFormat<T,D> fine = scoreRowFormat(whichAlg,minDisparity,maxDisparity,
+				regionRadiusX,regionRadiusY,selectWta(maxErrorInt,validateRtoL,texture,imageType,disparityType),imageType);
+
+		return new WrapDisparitySadRect<>(new DisparityScoreCoarseToFine<>(coarse,fine,scales));
+	}
 
+	/**
+	 * <p>
+	 * Region based WTA disparity for a sequence of images from a stationary stereo camera. Only tiles which
+	 * have changed since the previous frame are searched across the full range. Elsewhere the range is
+	 * restricted to the disparity found in the previous frame. Much faster than {@link #regionWta} when
+	 * most of the scene is static. Which pixels have changed can be specified using
+	 * {@link DisparityScoreTemporal#setChangeMask}.
+	 * </p>
+	 *
+	 * @param disparityType Type of disparity image. {@link GrayU8} or {@link GrayF32} for sub-pixel.
+	 * @see #regionWta
+	 * @see DisparityScoreTemporal
+	 */
+	public static <T extends ImageGray<T>, D extends ImageGray<D>> StereoDisparity<T,D>
+	regionWtaTemporal( DisparityAlgorithms whichAlg ,
+					   int minDisparity , int maxDisparity,
+					   int regionRadiusX, int regionRadiusY ,
+					   double maxPerPixelError ,
+					   int validateRtoL ,
+					   double texture ,
+					   Class<T> imageType ,
+					   Class<D> disparityType ) {
+
+		double maxError = (regionRadiusX*2+1)*(regionRadiusY*2+1)*maxPerPixelError;
+
+		// 3 regions are used not just one in this case
+		if( whichAlg == DisparityAlgorithms.RECT_FIVE )
+			maxError *= 3;
+		final int maxErrorInt = (int)maxError;
+
+		DisparityScoreRowFormat<T,D> alg = scoreRowFormat(whichAlg,minDisparity,maxDisparity,
+				regionRadiusX,regionRadiusY,selectWta(maxErrorInt,validateRtoL,texture,imageType,disparityType),imageType);
+
+		return new WrapDisparitySadRect<>(new DisparityScoreTemporal<>(alg));
+	}
+
+	/**
+	 * Creates the disparity selector for WTA algorithms given the input and disparity image types
+	 */
+	private static DisparitySelect selectWta( int maxErrorInt , int validateRtoL , double texture ,
+											  Class imageType , Class disparityType ) {
+		boolean integer = imageType == GrayU8.class || imageType == GrayS16.class;
+		if( !integer && imageType != GrayF32.class )
+			throw new IllegalArgumentException("Unknown image type");
+
+		if( disparityType == GrayU8.class ) {
+			if( integer )
+				return selectDisparity_S32(maxErrorInt, validateRtoL, texture);
+			else
+				return selectDisparity_F32(maxErrorInt, validateRtoL, texture);
+		} else if( disparityType == GrayF32.class ) {
+			if( integer )
+				return selectDisparitySubpixel_S32(maxErrorInt, validateRtoL, texture);
+			else
+				return selectDisparitySubpixel_F32(maxErrorInt, validateRtoL, texture);
+		} else {
+			throw new IllegalArgumentException("Disparity type not supported: "+disparityType.getSimpleName());
 		}
-		if( alg == null)
-			throw new RuntimeException("Image type not supported: "+imageType.getSimpleName() );
+	}
 
-		return new WrapDisparitySadRect<>(alg);
+	/**
+	 * <p>
+	 * Creates a dense disparity algorithm which matches rectangular regions of census transformed images.
+	 * The error between two pixels is the Hamming distance between their census encodings, which makes it
+	 * robust to differences in exposure between the two cameras. Disparity is selected using the same
+	 * rules as {@link #regionWta}.
+	 * </p>
+	 *
+	 * @param minDisparity Minimum disparity that it will check. Must be &ge; 0 and &lt; maxDisparity
+	 * @param maxDisparity Maximum disparity that it will calculate. Must be &gt; 0
+	 * @param regionRadiusX Radius of the rectangular region along x-axis.
+	 * @param regionRadiusY Radius of the rectangular region along y-axis.
+	 * @param censusRadius Radius of the square census region. 1 to 3. Try 3.
+	 * @param maxPerPixelError Maximum allowed error in a region per pixel, in bits.  Set to &lt; 0 to disable.
+	 * @param validateRtoL Tolerance for how difference the left to right associated values can be.  Try 6
+	 * @param texture Tolerance for how similar optimal region is to other region.  Disable with a value &le; 0.
+	 *                Closer to zero is more tolerant. Try 0.1
+	 * @param disparityType Type of disparity image. {@link GrayU8} or {@link GrayF32} for sub-pixel.
+	 * @return Census based WTA disparity algorithm.
+	 */
+	public static <D extends ImageGray<D>> StereoDisparity<GrayU8,D>
+	regionCensusWta( int minDisparity , int maxDisparity,
+					 int regionRadiusX, int regionRadiusY ,
+					 int censusRadius ,
+					 double maxPerPixelError ,
+					 int validateRtoL ,
+					 double texture ,
+					 Class<D> disparityType ) {
+
+		final int maxErrorInt = (int)((regionRadiusX*2+1)*(regionRadiusY*2+1)*maxPerPixelError);
+
+		Supplier<DisparitySelect> select;
+		if( disparityType == GrayU8.class ) {
+			select = ()->selectDisparity_S32(maxErrorInt, validateRtoL, texture);
+		} else if( disparityType == GrayF32.class ) {
+			select = ()->selectDisparitySubpixel_S32(maxErrorInt, validateRtoL, texture);
+		} else {
+			throw new IllegalArgumentException("Disparity type not supported: "+disparityType.getSimpleName());
+		}
+
+		DisparityScoreRowFormat<GrayS64,D> alg;
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			Supplier<DisparityScoreRowFormat<GrayS64,D>> factory = ()->scoreDisparityHammingRect_S64(
+					minDisparity,maxDisparity,regionRadiusX,regionRadiusY,select.get());
+			alg = new DisparityScoreRowFormat_MT<>(factory);
+		} else {
+			alg = scoreDisparityHammingRect_S64(minDisparity,maxDisparity,regionRadiusX,regionRadiusY,select.get());
+		}
+
+		return new WrapDisparityCensusRect<>(alg,CensusTransform.createBlockSamples(censusRadius));
+	}
+
+	/**
+	 * <p>
+	 * Creates a dense disparity algorithm based on Semi Global Matching (SGM). The matching cost is aggregated
+	 * along multiple paths across the image, which produces a smoother disparity that better preserves edges
+	 * than region based WTA at a higher computational cost.
+	 * </p>
+	 *
+	 * <p>
+	 * If the disparity type is {@link GrayF32} then sub-pixel disparity is computed.
+	 * </p>
+	 *
+	 * @param config Configuration. If null then the default is used.
+	 * @param imageType Type of input image. Only {@link GrayU8} is supported.
+	 * @param disparityType Type of disparity image. {@link GrayU8} or {@link GrayF32}
+	 * @return SGM disparity algorithm
+	 */
+	public static <T extends ImageGray<T>, D extends ImageGray<D>> StereoDisparity<T,D>
+	sgm( @Nullable ConfigDisparitySGM config , Class<T> imageType , Class<D> disparityType ) {
+		if( config == null )
+			config = new ConfigDisparitySGM();
+		config.checkValidity();
+
+		if( imageType != GrayU8.class )
+			throw new IllegalArgumentException("Image type not supported: "+imageType.getSimpleName());
+		if( disparityType == GrayU8.class ) {
+			if( config.maxDisparity-config.minDisparity > 254 )
+				throw new IllegalArgumentException("Disparity range is too large for GrayU8. Use GrayF32");
+		} else if( disparityType != GrayF32.class ) {
+			throw new IllegalArgumentException("Disparity type not supported: "+disparityType.getSimpleName());
+		}
+
+		SgmDisparityCost<GrayU8> cost;
+		switch( config.cost ) {
+			case CENSUS: cost = new SgmCostCensus_U8(); break;
+			case ABSOLUTE_DIFFERENCE: cost = new SgmCostAbsoluteDifference_U8(); break;
+			default: throw new IllegalArgumentException("Unknown cost "+config.cost);
+		}
+
+		SgmStereoDisparity<GrayU8> alg;
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			alg = new SgmStereoDisparity_MT<>(cost,config.minDisparity,config.maxDisparity);
+		} else {
+			alg = new SgmStereoDisparity<>(cost,new SgmCostAggregation(),config.minDisparity,config.maxDisparity);
+		}
+
+		alg.getAggregation().setPathsConsidered(config.paths);
+		alg.getAggregation().setPenalties(config.penaltySmallChange,config.penaltyLargeChange);
+		alg.getSelector().setRightToLeftTolerance(config.validateRtoL);
+		alg.getSelector().setUniqueness(config.uniqueness);
+		alg.setMemoryLimit(config.memoryLimitMB*1024L*1024L);
+		alg.setBlockOverlap(config.blockOverlap);
+
+		return new WrapDisparitySgm(alg,disparityType);
 	}
 
 	/**
@@ -248,29 +402,115 @@ public class FactoryStereoDisparity {
 
 		double maxError = (regionRadiusX*2+1)*(regionRadiusY*2+1)*maxPerPixelError;
 
+		if( imageType != GrayU8.class && imageType != GrayF32.class )
+			throw new RuntimeException("Image type not supported: "+imageType.getSimpleName() );
+
+		// If concurrent, batches are processed by instances which have their own score buffers
+		Supplier<WrapDisparitySparseSadRect> factory = null;
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			factory = ()->sparseSadRect(minDisparity,maxDisparity,regionRadiusX,regionRadiusY,
+					(int)maxError,texture,subpixelInterpolation,imageType,null);
+		}
+
+		return sparseSadRect(minDisparity,maxDisparity,regionRadiusX,regionRadiusY,
+				(int)maxError,texture,subpixelInterpolation,imageType,factory);
+	}
+
+	private static WrapDisparitySparseSadRect
+	sparseSadRect( int minDisparity , int maxDisparity,
+				   int regionRadiusX, int regionRadiusY ,
+				   int maxError , double texture ,
+				   boolean subpixelInterpolation ,
+				   Class imageType ,
+				   @Nullable Supplier factory ) {
 		if( imageType == GrayU8.class ) {
 			DisparitySparseSelect<int[]> select;
 			if( subpixelInterpolation)
-				select = selectDisparitySparseSubpixel_S32((int) maxError, texture);
+				select = selectDisparitySparseSubpixel_S32(maxError, texture);
 			else
-				select = selectDisparitySparse_S32((int) maxError, texture);
+				select = selectDisparitySparse_S32(maxError, texture);
 
 			DisparitySparseScoreSadRect<int[],GrayU8>
 					score = scoreDisparitySparseSadRect_U8(minDisparity,maxDisparity, regionRadiusX, regionRadiusY);
 
-			return new WrapDisparitySparseSadRect(score,select);
-		} else if( imageType == GrayF32.class ) {
+			return new WrapDisparitySparseSadRect(score,select,factory);
+		} else {
 			DisparitySparseSelect<float[]> select;
 			if( subpixelInterpolation )
-				select = selectDisparitySparseSubpixel_F32((int) maxError, texture);
+				select = selectDisparitySparseSubpixel_F32(maxError, texture);
 			else
-				select = selectDisparitySparse_F32((int) maxError, texture);
+				select = selectDisparitySparse_F32(maxError, texture);
 
 			DisparitySparseScoreSadRect<float[],GrayF32>
 					score = scoreDisparitySparseSadRect_F32(minDisparity,maxDisparity, regionRadiusX, regionRadiusY);
 
-			return new WrapDisparitySparseSadRect(score,select);
-		} else
+			return new WrapDisparitySparseSadRect(score,select,factory);
+		}
+	}
+
+	/**
+	 * Creates the dense disparity algorithm. If concurrency is turned on and the input is an integer image then
+	 * each strip of the image is processed by its own instance of the algorithm and {@link DisparitySelect}.
+	 * {@link GrayF32} input is always single threaded since the concurrent results aren't identical.
+	 */
+	private static <T extends ImageGray<T>, D extends ImageGray<D>> DisparityScoreRowFormat<T,D>
+	createRowFormat( DisparityAlgorithms whichAlg ,
+					 int minDisparity , int maxDisparity,
+					 int regionRadiusX, int regionRadiusY ,
+					 Supplier<DisparitySelect> select ,
+					 Class<T> imageType ) {
+		if( BoofConcurrency.USE_CONCURRENT && imageType != GrayF32.class ) {
+			Supplier<DisparityScoreRowFormat<T,D>> factory = ()->scoreRowFormat(whichAlg,
+					minDisparity,maxDisparity,regionRadiusX,regionRadiusY,select.get(),imageType);
+			return new DisparityScoreRowFormat_MT<>(factory);
+		} else {
+			return scoreRowFormat(whichAlg,minDisparity,maxDisparity,regionRadiusX,regionRadiusY,
+					select.get(),imageType);
+		}
+	}
+
+	private static <T extends ImageGray<T>, D extends ImageGray<D>> DisparityScoreRowFormat<T,D>
+	scoreRowFormat( DisparityAlgorithms whichAlg ,
+					int minDisparity , int maxDisparity,
+					int regionRadiusX, int regionRadiusY ,
+					DisparitySelect select ,
+					Class<T> imageType ) {
+		DisparityScoreRowFormat<T,D> alg = null;
+
+		switch( whichAlg ) {
+			case RECT:
+				if( imageType == GrayU8.class ) {
+					alg = FactoryStereoDisparityAlgs.scoreDisparitySadRect_U8(minDisparity,
+							maxDisparity,regionRadiusX,regionRadiusY,select);
+				} else if( imageType == GrayS16.class ) {
+					alg = FactoryStereoDisparityAlgs.scoreDisparitySadRect_S16(minDisparity,
+							maxDisparity, regionRadiusX, regionRadiusY, select);
+				} else if( imageType == GrayF32.class ) {
+					alg = FactoryStereoDisparityAlgs.scoreDisparitySadRect_F32(minDisparity,
+							maxDisparity, regionRadiusX, regionRadiusY, select);
+				}
+				break;
+
+			case RECT_FIVE:
+				if( imageType == GrayU8.class ) {
+					alg = FactoryStereoDisparityAlgs.scoreDisparitySadRectFive_U8(minDisparity,
+							maxDisparity,regionRadiusX,regionRadiusY,select);
+				} else if( imageType == GrayS16.class ) {
+					alg = FactoryStereoDisparityAlgs.scoreDisparitySadRectFive_S16(minDisparity,
+							maxDisparity, regionRadiusX, regionRadiusY, select);
+				} else if( imageType == GrayF32.class ) {
+					alg = FactoryStereoDisparityAlgs.scoreDisparitySadRectFive_F32(minDisparity,
+							maxDisparity, regionRadiusX, regionRadiusY, select);
+				}
+				break;
+
+			default:
+				throw new IllegalArgumentException("Unknown algorithms "+whichAlg);
+
+		}
+		if( alg == null)
 			throw new RuntimeException("Image type not supported: "+imageType.getSimpleName() );
+
+		return alg;
 	}
 }
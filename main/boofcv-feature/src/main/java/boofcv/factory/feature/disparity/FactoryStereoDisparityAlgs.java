@@ -22,6 +22,7 @@ import boofcv.alg.feature.disparity.*;
 import boofcv.alg.feature.disparity.impl.*;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.GrayS16;
+import boofcv.struct.image.GrayS64;
 import boofcv.struct.image.GrayU8;
 import boofcv.struct.image.ImageGray;
 
@@ -109,6 +110,15 @@ public class FactoryStereoDisparityAlgs {
 				maxDisparity, regionRadiusX, regionRadiusY, computeDisparity);
 	}
 
+	public static <T extends ImageGray<T>> DisparityScoreSadRect<GrayS64,T>
+	scoreDisparityHammingRect_S64( int minDisparity , int maxDisparity,
+								   int regionRadiusX, int regionRadiusY,
+								   DisparitySelect<int[],T> computeDisparity)
+	{
+		return new ImplDisparityScoreHammingRect_S64<>(minDisparity,
+				maxDisparity, regionRadiusX, regionRadiusY, computeDisparity);
+	}
+
 	public static <T extends ImageGray<T>> DisparityScoreWindowFive<GrayU8,T>
 	scoreDisparitySadRectFive_U8( int minDisparity , int maxDisparity,
 								  int regionRadiusX, int regionRadiusY,
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.feature;
+
+/**
+ * Stores a set of descriptors in a single contiguous array instead of as one object per descriptor. This
+ * reduces memory overhead and improves cache locality when every descriptor is compared against every other
+ * descriptor, e.g. during association.
+ *
+ * @param <D> Type of descriptor which is stored
+ *
+ * @author Peter Abeles
+ */
+public interface PackedTupleArray<D> {
+
+	/**
+	 * Removes all descriptors. The array is not resized.
+	 */
+	void reset();
+
+	/**
+	 * Ensures there is enough storage for the specified number of descriptors without growing the array
+	 */
+	void reserve( int numDescriptors );
+
+	/**
+	 * Adds a copy of the descriptor to the end of the array
+	 */
+	void append( D desc );
+
+	/**
+	 * Copies the descriptor at the specified index into dst
+	 *
+	 * @param index Index of the descriptor
+	 * @param dst (Output) Storage for the descriptor
+	 */
+	void getCopy( int index , D dst );
+
+	/**
+	 * Creates a new descriptor which has the same shape as the descriptors stored in this array
+	 */
+	D createDescription();
+
+	/**
+	 * Number of descriptors stored
+	 */
+	int size();
+}
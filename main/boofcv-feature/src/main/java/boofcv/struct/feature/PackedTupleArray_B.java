@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.feature;
+
+/**
+ * <p>
+ * Stores a set of binary descriptors in a single array of longs. Descriptors are packed one after another,
+ * each taking up {@link #getNumLongs()} elements. Compared to a {@link BriefFeatureQueue} there is one array
+ * instead of an object and array for each descriptor, and the hamming distance is computed using half as many
+ * words.
+ * </p>
+ *
+ * <p>
+ * Bit 'i' in a {@link TupleDesc_B} is stored in long 'i/64' at bit 'i%64'.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class PackedTupleArray_B implements PackedTupleArray<TupleDesc_B> {
+	// number of bits in each descriptor
+	private final int numBits;
+	// number of longs used to store each descriptor
+	private final int numLongs;
+
+	/**
+	 * Storage for the descriptors.
+	 */
+	public long[] data = new long[0];
+	// number of descriptors stored
+	private int size;
+
+	public PackedTupleArray_B(int numBits) {
+		this.numBits = numBits;
+		this.numLongs = numBits/64 + (numBits%64 == 0 ? 0 : 1);
+	}
+
+	@Override
+	public void reset() {
+		size = 0;
+	}
+
+	@Override
+	public void reserve( int numDescriptors ) {
+		if( data.length < numDescriptors*numLongs ) {
+			long[] tmp = new long[numDescriptors*numLongs];
+			System.arraycopy(data,0,tmp,0,size*numLongs);
+			data = tmp;
+		}
+	}
+
+	@Override
+	public void append( TupleDesc_B desc ) {
+		if( desc.numBits != numBits )
+			throw new IllegalArgumentException("Expected "+numBits+" bits not "+desc.numBits);
+		if( data.length < (size+1)*numLongs )
+			reserve(Math.max(10,size*2));
+
+		int index = size*numLongs;
+		for (int i = 0; i < numLongs; i++) {
+			long lower = desc.data[i*2] & 0xFFFFFFFFL;
+			long upper = i*2+1 < desc.data.length ? desc.data[i*2+1] : 0;
+			data[index++] = lower | (upper << 32);
+		}
+		size++;
+	}
+
+	@Override
+	public void getCopy( int index , TupleDesc_B dst ) {
+		if( dst.numBits != numBits )
+			throw new IllegalArgumentException("Expected "+numBits+" bits not "+dst.numBits);
+
+		int offset = index*numLongs;
+		for (int i = 0; i < numLongs; i++) {
+			long value = data[offset+i];
+			dst.data[i*2] = (int)value;
+			if( i*2+1 < dst.data.length )
+				dst.data[i*2+1] = (int)(value >>> 32);
+		}
+	}
+
+	@Override
+	public TupleDesc_B createDescription() {
+		return new TupleDesc_B(numBits);
+	}
+
+	/**
+	 * Returns the value of a bit in a descriptor
+	 *
+	 * @param index Index of the descriptor
+	 * @param bit Which bit in the descriptor
+	 */
+	public boolean isBitTrue( int index , int bit ) {
+		return ((data[index*numLongs + bit/64] >>> (bit%64)) & 0x01L) == 1;
+	}
+
+	/**
+	 * Index of the first element in {@link #data} for the specified descriptor
+	 */
+	public int getOffset( int index ) {
+		return index*numLongs;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	public int getNumBits() {
+		return numBits;
+	}
+
+	public int getNumLongs() {
+		return numLongs;
+	}
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.feature;
+
+/**
+ * Stores a set of {@link TupleDesc_F64} in a single double array. Descriptors are stored one after another,
+ * each taking up {@link #getDOF()} elements.
+ *
+ * @author Peter Abeles
+ */
+public class PackedTupleArray_F64 implements PackedTupleArray<TupleDesc_F64> {
+	// number of elements in each descriptor
+	private final int dof;
+
+	/**
+	 * Storage for the descriptors.
+	 */
+	public double[] data = new double[0];
+	// number of descriptors stored
+	private int size;
+
+	public PackedTupleArray_F64(int dof) {
+		this.dof = dof;
+	}
+
+	@Override
+	public void reset() {
+		size = 0;
+	}
+
+	@Override
+	public void reserve( int numDescriptors ) {
+		if( data.length < numDescriptors*dof ) {
+			double[] tmp = new double[numDescriptors*dof];
+			System.arraycopy(data,0,tmp,0,size*dof);
+			data = tmp;
+		}
+	}
+
+	@Override
+	public void append( TupleDesc_F64 desc ) {
+		if( desc.value.length != dof )
+			throw new IllegalArgumentException("Expected DOF of "+dof+" not "+desc.value.length);
+		if( data.length < (size+1)*dof )
+			reserve(Math.max(10,size*2));
+
+		System.arraycopy(desc.value,0,data,size*dof,dof);
+		size++;
+	}
+
+	@Override
+	public void getCopy( int index , TupleDesc_F64 dst ) {
+		if( dst.value.length != dof )
+			throw new IllegalArgumentException("Expected DOF of "+dof+" not "+dst.value.length);
+		System.arraycopy(data,index*dof,dst.value,0,dof);
+	}
+
+	@Override
+	public TupleDesc_F64 createDescription() {
+		return new TupleDesc_F64(dof);
+	}
+
+	/**
+	 * Returns the value of an element in a descriptor
+	 *
+	 * @param index Index of the descriptor
+	 * @param element Which element in the descriptor
+	 */
+	public double get( int index , int element ) {
+		return data[index*dof + element];
+	}
+
+	/**
+	 * Index of the first element in {@link #data} for the specified descriptor
+	 */
+	public int getOffset( int index ) {
+		return index*dof;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Number of elements in each descriptor
+	 */
+	public int getDOF() {
+		return dof;
+	}
+}
@@ -19,10 +19,14 @@
 package boofcv.abst.feature.associate;
 
 import boofcv.struct.feature.MatchScoreType;
+import boofcv.struct.feature.PackedTupleArray;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -55,6 +59,43 @@ public abstract class StandardScoreAssociationChecks<T> {
 	public abstract T createDescription();
 
 
+	/**
+	 * Creates an empty packed array which can store the descriptions. Return null if packed arrays are
+	 * not supported
+	 */
+	public PackedTupleArray<T> createPacked() {
+		return null;
+	}
+
+	/**
+	 * Scores computed from packed arrays should be the same as scores computed from individual descriptions,
+	 * both when called directly and through {@link ScorePackedCopy}
+	 */
+	@Test
+	public void packedSameAsUnpacked() {
+		PackedTupleArray<T> packed = createPacked();
+		if( packed == null )
+			return;
+
+		ScoreAssociation<T> alg = createScore();
+		ScorePackedCopy<T> copy = new ScorePackedCopy<>(alg);
+
+		List<T> list = new ArrayList<>();
+		for (int i = 0; i < 6; i++) {
+			list.add(createDescription());
+			packed.append(list.get(i));
+		}
+
+		for (int i = 0; i < list.size(); i++) {
+			for (int j = 0; j < list.size(); j++) {
+				double expected = alg.score(list.get(i),list.get(j));
+				double found = alg.score(packed,i,packed,j);
+				assertEquals(expected,found,Math.max(1,Math.abs(expected))*1e-5);
+				assertEquals(expected,copy.score(packed,i,packed,j),Math.max(1,Math.abs(expected))*1e-5);
+			}
+		}
+	}
+
 	@Test
 	public void empiricalCheckOnType() {
 		ScoreAssociation<T> alg = createScore();
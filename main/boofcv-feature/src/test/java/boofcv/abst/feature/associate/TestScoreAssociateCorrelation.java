@@ -19,6 +19,8 @@
 package boofcv.abst.feature.associate;
 
 import boofcv.struct.feature.MatchScoreType;
+import boofcv.struct.feature.PackedTupleArray;
+import boofcv.struct.feature.PackedTupleArray_F64;
 import boofcv.struct.feature.TupleDesc_F64;
 import org.junit.Test;
 
@@ -48,6 +50,14 @@ public class TestScoreAssociateCorrelation extends StandardScoreAssociationCheck
 		return a;
 	}
 
+	/**
+	 * Packed arrays aren't supported natively, this checks the fallback which copies the features
+	 */
+	@Override
+	public PackedTupleArray<TupleDesc_F64> createPacked() {
+		return new PackedTupleArray_F64(5);
+	}
+
 	@Test
 	public void compareToExpected() {
 		ScoreAssociateCorrelation score = new ScoreAssociateCorrelation();
@@ -19,6 +19,8 @@
 package boofcv.abst.feature.associate;
 
 import boofcv.struct.feature.MatchScoreType;
+import boofcv.struct.feature.PackedTupleArray;
+import boofcv.struct.feature.PackedTupleArray_F32;
 import boofcv.struct.feature.TupleDesc_F32;
 import org.junit.Test;
 
@@ -48,6 +50,11 @@ public class TestScoreAssociateEuclideanSq_F32 extends StandardScoreAssociationC
 		return a;
 	}
 
+	@Override
+	public PackedTupleArray<TupleDesc_F32> createPacked() {
+		return new PackedTupleArray_F32(5);
+	}
+
 	@Test
 	public void compareToExpected() {
 		ScoreAssociateEuclideanSq_F32 score = new ScoreAssociateEuclideanSq_F32();
@@ -19,6 +19,8 @@
 package boofcv.abst.feature.associate;
 
 import boofcv.struct.feature.MatchScoreType;
+import boofcv.struct.feature.PackedTupleArray;
+import boofcv.struct.feature.PackedTupleArray_F64;
 import boofcv.struct.feature.TupleDesc_F64;
 import org.junit.Test;
 
@@ -47,6 +49,11 @@ public class TestScoreAssociateSad_F64 extends StandardScoreAssociationChecks<Tu
 		return a;
 	}
 
+	@Override
+	public PackedTupleArray<TupleDesc_F64> createPacked() {
+		return new PackedTupleArray_F64(5);
+	}
+
 	@Test
 	public void compareToExpected() {
 		ScoreAssociateSad_F64 scorer = new ScoreAssociateSad_F64();
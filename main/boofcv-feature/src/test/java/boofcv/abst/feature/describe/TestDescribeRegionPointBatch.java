@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.describe;
+
+import boofcv.alg.descriptor.UtilFeature;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.GConvertImage;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.factory.feature.describe.FactoryDescribeRegionPoint;
+import boofcv.struct.feature.TupleDesc;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageGray;
+import boofcv.testing.BoofTesting;
+import georegression.struct.point.Point2D_F64;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_B;
+import org.ddogleg.struct.GrowQueue_F64;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares {@link DescribeRegionPoint#process(List, GrowQueue_F64, GrowQueue_F64, FastQueue, GrowQueue_B)} against
+ * describing each point individually
+ *
+ * @author Peter Abeles
+ */
+public class TestDescribeRegionPointBatch {
+
+	Random rand = new Random(234);
+
+	int width = 160, height = 120;
+
+	List<Point2D_F64> locations = new ArrayList<>();
+	GrowQueue_F64 orientations = new GrowQueue_F64();
+	GrowQueue_F64 radii = new GrowQueue_F64();
+
+	public TestDescribeRegionPointBatch() {
+		for (int i = 0; i < 300; i++) {
+			// include points along the image border
+			locations.add(new Point2D_F64(rand.nextDouble()*width,rand.nextDouble()*height));
+			orientations.add((rand.nextDouble()-0.5)*2*Math.PI);
+			radii.add(2+rand.nextDouble()*10);
+		}
+	}
+
+	@Test
+	public void surf() {
+		check(FactoryDescribeRegionPoint.surfFast(null, GrayF32.class), GrayF32.class);
+		check(FactoryDescribeRegionPoint.surfStable(new ConfigSurfDescribe.Stability(), GrayU8.class), GrayU8.class);
+	}
+
+	@Test
+	public void sift() {
+		check(FactoryDescribeRegionPoint.sift(null,null, GrayF32.class), GrayF32.class);
+	}
+
+	@Test
+	public void brief() {
+		ConfigBrief config = new ConfigBrief(true);
+		check(FactoryDescribeRegionPoint.brief(config, GrayU8.class), GrayU8.class);
+		config.fixed = false;
+		check(FactoryDescribeRegionPoint.brief(config, GrayF32.class), GrayF32.class);
+	}
+
+	@Test
+	public void pixelNCC() {
+		check(FactoryDescribeRegionPoint.pixelNCC(11,13, GrayU8.class), GrayU8.class);
+	}
+
+	/**
+	 * The default implementation in the interface is used
+	 */
+	@Test
+	public void pixel() {
+		check(FactoryDescribeRegionPoint.pixel(7,9, GrayF32.class), GrayF32.class);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void checkBatch_sizes() {
+		DescribeRegionPoint<GrayF32,?> alg = FactoryDescribeRegionPoint.pixelNCC(11,13, GrayF32.class);
+		alg.setImage(new GrayF32(width,height));
+		radii.removeTail();
+		alg.process(locations,orientations,radii,(FastQueue)UtilFeature.createQueue(alg,10),new GrowQueue_B());
+	}
+
+	private <T extends TupleDesc> void check( DescribeRegionPoint alg , Class imageType ) {
+		DescribeRegionPoint<?,T> describe = alg;
+
+		GrayF32 input = new GrayF32(width,height);
+		GImageMiscOps.fillUniform(input,rand,0,200);
+		ImageGray image = GeneralizedImageOps.createSingleBand(imageType,width,height);
+		GConvertImage.convert(input,image);
+		alg.setImage(image);
+
+		// describe each point individually
+		FastQueue<T> expected = UtilFeature.createQueue(describe,10);
+		GrowQueue_B expectedSuccess = new GrowQueue_B();
+		for (int i = 0; i < locations.size(); i++) {
+			Point2D_F64 p = locations.get(i);
+			expectedSuccess.add(describe.process(p.x,p.y,orientations.get(i),radii.get(i),expected.grow()));
+		}
+
+		FastQueue<T> found = UtilFeature.createQueue(describe,10);
+		GrowQueue_B success = new GrowQueue_B();
+
+		// process twice to make sure the output is reset
+		for (int trial = 0; trial < 2; trial++) {
+			describe.process(locations,orientations,radii,found,success);
+			compare(expected, expectedSuccess, found, success);
+		}
+
+		BoofTesting.checkConcurrent(()->{
+			for (int trial = 0; trial < 2; trial++) {
+				describe.process(locations, orientations, radii, found, success);
+				compare(expected, expectedSuccess, found, success);
+			}
+		});
+	}
+
+	private <T extends TupleDesc> void compare( FastQueue<T> expected , GrowQueue_B expectedSuccess,
+												FastQueue<T> found , GrowQueue_B success ) {
+		assertEquals(expected.size, found.size);
+		assertEquals(expectedSuccess.size, success.size);
+
+		for (int i = 0; i < expected.size; i++) {
+			assertEquals(expectedSuccess.get(i), success.get(i));
+			if( !success.get(i) )
+				continue;
+			T a = expected.get(i);
+			T b = found.get(i);
+			assertEquals(a.size(), b.size());
+			for (int j = 0; j < a.size(); j++) {
+				assertEquals(a.getDouble(j), b.getDouble(j), 1e-8);
+			}
+		}
+	}
+}
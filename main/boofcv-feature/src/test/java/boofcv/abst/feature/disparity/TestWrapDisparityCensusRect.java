@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.disparity;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.factory.feature.disparity.FactoryStereoDisparity;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestWrapDisparityCensusRect {
+
+	Random rand = new Random(234);
+	int width = 60, height = 40;
+	int disparity = 7;
+
+	/**
+	 * The right image has a different gain and bias. SAD would fail but census should be unaffected
+	 */
+	@Test
+	public void differentExposure() {
+		GrayU8 left = new GrayU8(width,height);
+		GrayU8 right = new GrayU8(width,height);
+		ImageMiscOps.fillUniform(left,rand,0,150);
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				int value = x+disparity < width ? left.get(x+disparity,y) : rand.nextInt(150);
+				right.set(x,y,value/2+80);
+			}
+		}
+
+		StereoDisparity<GrayU8,GrayU8> alg =
+				FactoryStereoDisparity.regionCensusWta(0,20,2,2,3,-1,-1,-1,GrayU8.class);
+		alg.process(left,right);
+		GrayU8 found = alg.getDisparity();
+
+		int correct = 0, total = 0;
+		for (int y = alg.getBorderY(); y < height-alg.getBorderY(); y++) {
+			for (int x = 20+alg.getBorderX(); x < width-alg.getBorderX(); x++) {
+				total++;
+				if( found.get(x,y) == disparity )
+					correct++;
+			}
+		}
+		assertTrue(correct/(double)total > 0.95);
+	}
+
+	/**
+	 * Pixels along the border which can't be computed should be marked as invalid
+	 */
+	@Test
+	public void borderSetToInvalid() {
+		int range = 10;
+		StereoDisparity<GrayU8,GrayF32> alg =
+				FactoryStereoDisparity.regionCensusWta(2,2+range,2,3,3,-1,-1,-1,GrayF32.class);
+		alg.process(new GrayU8(width,height),new GrayU8(width,height));
+
+		GrayF32 found = alg.getDisparity();
+		for (int x = 0; x < width; x++) {
+			assertTrue(found.get(x,0) > range);
+			assertTrue(found.get(x,height-1) > range);
+		}
+		for (int y = 0; y < height; y++) {
+			assertTrue(found.get(0,y) > range);
+			assertTrue(found.get(width-1,y) > range);
+		}
+	}
+}
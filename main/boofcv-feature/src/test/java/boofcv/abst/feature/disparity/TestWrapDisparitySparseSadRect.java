@@ -20,12 +20,19 @@ package boofcv.abst.feature.disparity;
 
 import boofcv.alg.feature.disparity.impl.ImplDisparitySparseScoreSadRect_F32;
 import boofcv.alg.feature.disparity.impl.ImplSelectSparseBasicWta_F32;
+import boofcv.alg.misc.ImageMiscOps;
 import boofcv.factory.feature.disparity.DisparityAlgorithms;
 import boofcv.factory.feature.disparity.FactoryStereoDisparity;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.GrayU8;
+import boofcv.testing.BoofTesting;
+import georegression.struct.point.Point2D_I32;
+import org.ddogleg.struct.GrowQueue_B;
+import org.ddogleg.struct.GrowQueue_F64;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 
 import static org.junit.Assert.assertEquals;
@@ -77,4 +84,66 @@ public class TestWrapDisparitySparseSadRect {
 		}
 	}
 
+	/**
+	 * Processing points in a batch should produce the same results as processing them one at a time,
+	 * with and without concurrency
+	 */
+	@Test
+	public void batch() {
+		int minDisparity = 3;
+		int maxDisparity = 12;
+
+		GrayU8 left = new GrayU8(w,h);
+		GrayU8 right = new GrayU8(w,h);
+		ImageMiscOps.fillUniform(left,rand,0,100);
+		ImageMiscOps.fillUniform(right,rand,0,100);
+
+		// include points along the border which will fail
+		List<Point2D_I32> pixels = new ArrayList<>();
+		for( int y = 0; y < h; y++ ) {
+			for( int x = 0; x < w; x++ ) {
+				pixels.add(new Point2D_I32(x,y));
+			}
+		}
+
+		StereoDisparitySparse<GrayU8> single = FactoryStereoDisparity.regionSparseWta(
+				minDisparity,maxDisparity,r,r,-1,-1,true,GrayU8.class);
+		single.setImages(left,right);
+
+		GrowQueue_F64 found = new GrowQueue_F64();
+		GrowQueue_B success = new GrowQueue_B();
+		single.process(pixels,found,success);
+		checkBatch(single, pixels, found, success);
+
+		BoofTesting.checkConcurrent(()->{
+			WrapDisparitySparseSadRect<int[],GrayU8> alg = (WrapDisparitySparseSadRect)
+					FactoryStereoDisparity.regionSparseWta(minDisparity,maxDisparity,r,r,-1,-1,true,GrayU8.class);
+			alg.minBatchSize = 10;
+			alg.setImages(left,right);
+
+			// process twice to make sure the workers are reused correctly
+			for (int trial = 0; trial < 2; trial++) {
+				alg.process(pixels,found,success);
+				checkBatch(single, pixels, found, success);
+			}
+		});
+	}
+
+	private void checkBatch( StereoDisparitySparse<GrayU8> single , List<Point2D_I32> pixels ,
+							 GrowQueue_F64 found , GrowQueue_B success ) {
+		assertEquals(pixels.size(),found.size);
+		assertEquals(pixels.size(),success.size);
+
+		int total = 0;
+		for (int i = 0; i < pixels.size(); i++) {
+			Point2D_I32 p = pixels.get(i);
+			boolean expected = single.process(p.x,p.y);
+			assertEquals(expected,success.get(i));
+			if( expected ) {
+				total++;
+				assertEquals(single.getDisparity(),found.get(i),1e-8);
+			}
+		}
+		assertTrue(total > pixels.size()/2);
+	}
 }
@@ -177,6 +177,34 @@ public class TestDescriptorDistance {
 		}
 	}
 
+	@Test
+	public void hamming_packed() {
+		// number of bits isn't a multiple of 64
+		for( int numBits : new int[]{512,200} ) {
+			TupleDesc_B a = new TupleDesc_B(numBits);
+			TupleDesc_B b = new TupleDesc_B(numBits);
+
+			PackedTupleArray_B packedA = new PackedTupleArray_B(numBits);
+			PackedTupleArray_B packedB = new PackedTupleArray_B(numBits);
+
+			for( int numTries = 0; numTries < 20; numTries++ ) {
+				for( int i = 0; i < a.data.length; i++ ) {
+					a.data[i] = rand.nextInt();
+					b.data[i] = rand.nextInt();
+				}
+				// bits past the end of the descriptor aren't used
+				if( numBits % 32 != 0 ) {
+					a.data[a.data.length-1] &= (1 << (numBits%32))-1;
+					b.data[b.data.length-1] &= (1 << (numBits%32))-1;
+				}
+				packedA.append(a);
+				packedB.append(b);
+
+				assertEquals(hamming(a,b),DescriptorDistance.hamming(packedA,numTries,packedB,numTries));
+			}
+		}
+	}
+
 	@Test
 	public void hamming_int() {
 		assertEquals(0,DescriptorDistance.hamming(0));
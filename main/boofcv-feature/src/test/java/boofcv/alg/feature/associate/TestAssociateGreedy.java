@@ -18,13 +18,16 @@
 
 package boofcv.alg.feature.associate;
 
+import boofcv.abst.feature.associate.ScoreAssociateCorrelation;
 import boofcv.abst.feature.associate.ScoreAssociateEuclidean_F64;
 import boofcv.abst.feature.associate.ScoreAssociation;
+import boofcv.struct.feature.PackedTupleArray_F64;
 import boofcv.struct.feature.TupleDesc_F64;
 import org.ddogleg.struct.FastQueue;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 
 
 /**
@@ -101,6 +104,61 @@ public class TestAssociateGreedy {
 		assertEquals(2,fitScore[3],1e-5);
 	}
 
+	/**
+	 * Results should be identical when packed arrays are used
+	 */
+	@Test
+	public void packed() {
+		for( boolean backwards : new boolean[]{false,true}) {
+			FastQueue<TupleDesc_F64> a = createData(1,2,3,8,3.5);
+			FastQueue<TupleDesc_F64> b = createData(3,4,1,10);
+
+			AssociateGreedy<TupleDesc_F64> expected = new AssociateGreedy<>(score, backwards);
+			expected.setMaxFitError(10);
+			expected.associate(a,b);
+
+			AssociateGreedy<TupleDesc_F64> alg = new AssociateGreedy<>(score, backwards);
+			alg.setMaxFitError(10);
+			alg.associate(pack(a),pack(b));
+
+			for (int i = 0; i < a.size; i++) {
+				assertEquals(expected.getPairs()[i],alg.getPairs()[i]);
+				assertEquals(expected.getFitQuality()[i],alg.getFitQuality()[i],1e-8);
+			}
+		}
+	}
+
+	/**
+	 * The score doesn't support packed arrays and the features need to be copied out of the array first
+	 */
+	@Test
+	public void packed_copy() {
+		ScoreAssociation<TupleDesc_F64> score = new ScoreAssociateCorrelation();
+		assertFalse(score.isPackedNative());
+
+		FastQueue<TupleDesc_F64> a = createData(1,2,3,8,3.5);
+		FastQueue<TupleDesc_F64> b = createData(3,4,1,10);
+
+		AssociateGreedy<TupleDesc_F64> expected = new AssociateGreedy<>(score, true);
+		expected.associate(a,b);
+
+		AssociateGreedy<TupleDesc_F64> alg = new AssociateGreedy<>(score, true);
+		alg.associate(pack(a),pack(b));
+
+		for (int i = 0; i < a.size; i++) {
+			assertEquals(expected.getPairs()[i],alg.getPairs()[i]);
+			assertEquals(expected.getFitQuality()[i],alg.getFitQuality()[i],0);
+		}
+	}
+
+	private PackedTupleArray_F64 pack( FastQueue<TupleDesc_F64> list ) {
+		PackedTupleArray_F64 ret = new PackedTupleArray_F64(1);
+		for (int i = 0; i < list.size; i++) {
+			ret.append(list.get(i));
+		}
+		return ret;
+	}
+
 	private FastQueue<TupleDesc_F64> createData( double ...values )
 	{
 		FastQueue<TupleDesc_F64> ret = new FastQueue<TupleDesc_F64>(10,TupleDesc_F64.class, true) {
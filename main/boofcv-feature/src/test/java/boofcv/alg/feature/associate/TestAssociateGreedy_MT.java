@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate;
+
+import boofcv.abst.feature.associate.ScoreAssociateCorrelation;
+import boofcv.abst.feature.associate.ScoreAssociateEuclideanSq_F64;
+import boofcv.abst.feature.associate.ScoreAssociation;
+import boofcv.struct.feature.PackedTupleArray_F64;
+import boofcv.struct.feature.TupleDesc_F64;
+import boofcv.testing.BoofTesting;
+import org.ddogleg.struct.FastQueue;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestAssociateGreedy_MT {
+
+	Random rand = new Random(234);
+
+	ScoreAssociation<TupleDesc_F64> score = new ScoreAssociateEuclideanSq_F64();
+
+	/**
+	 * Compares the associations and fit scores against the single threaded version
+	 */
+	@Test
+	public void compareToSingleThread() {
+		FastQueue<TupleDesc_F64> src = createData(83);
+		FastQueue<TupleDesc_F64> dst = createData(61);
+
+		for( boolean backwards : new boolean[]{false,true} ) {
+			for( double maxError : new double[]{Double.MAX_VALUE,2.0} ) {
+				AssociateGreedy<TupleDesc_F64> expected = new AssociateGreedy<>(score,backwards);
+				expected.setMaxFitError(maxError);
+				expected.associate(src,dst);
+
+				BoofTesting.checkConcurrent(()->{
+					for( int blockSize : new int[]{1,7,100}) {
+						AssociateGreedy_MT<TupleDesc_F64> alg = new AssociateGreedy_MT<>(score,backwards);
+						alg.setMaxFitError(maxError);
+						alg.setBlockSize(blockSize);
+
+						// process twice to make sure the workspace is reset
+						for (int trial = 0; trial < 2; trial++) {
+							alg.associate(src,dst);
+							checkIdentical(expected,alg,src.size);
+						}
+					}
+				});
+			}
+		}
+	}
+
+	@Test
+	public void compareToSingleThread_packed() {
+		FastQueue<TupleDesc_F64> src = createData(83);
+		FastQueue<TupleDesc_F64> dst = createData(61);
+		PackedTupleArray_F64 packedSrc = pack(src);
+		PackedTupleArray_F64 packedDst = pack(dst);
+
+		AssociateGreedy<TupleDesc_F64> expected = new AssociateGreedy<>(score,true);
+		expected.associate(src,dst);
+
+		BoofTesting.checkConcurrent(()->{
+			AssociateGreedy_MT<TupleDesc_F64> alg = new AssociateGreedy_MT<>(score,true);
+			alg.setBlockSize(7);
+			alg.associate(packedSrc,packedDst);
+			checkIdentical(expected,alg,src.size);
+		});
+	}
+
+	/**
+	 * The score can't read packed arrays directly so each thread needs to copy the features out
+	 */
+	@Test
+	public void compareToSingleThread_packedCopy() {
+		ScoreAssociation<TupleDesc_F64> score = new ScoreAssociateCorrelation();
+		FastQueue<TupleDesc_F64> src = createData(83);
+		FastQueue<TupleDesc_F64> dst = createData(61);
+		PackedTupleArray_F64 packedSrc = pack(src);
+		PackedTupleArray_F64 packedDst = pack(dst);
+
+		AssociateGreedy<TupleDesc_F64> expected = new AssociateGreedy<>(score,true);
+		expected.associate(src,dst);
+
+		BoofTesting.checkConcurrent(()->{
+			AssociateGreedy_MT<TupleDesc_F64> alg = new AssociateGreedy_MT<>(score,true);
+			alg.setBlockSize(7);
+			for (int trial = 0; trial < 2; trial++) {
+				alg.associate(packedSrc,packedDst);
+				checkIdentical(expected,alg,src.size);
+			}
+		});
+	}
+
+	private void checkIdentical( AssociateGreedy<TupleDesc_F64> expected , AssociateGreedy<TupleDesc_F64> found ,
+								 int sizeSrc ) {
+		for (int i = 0; i < sizeSrc; i++) {
+			assertEquals(expected.getPairs()[i],found.getPairs()[i]);
+			assertEquals(expected.getFitQuality()[i],found.getFitQuality()[i],0);
+		}
+	}
+
+	/**
+	 * Values are rounded to integers so that there are ties
+	 */
+	private FastQueue<TupleDesc_F64> createData( int total ) {
+		FastQueue<TupleDesc_F64> ret = new FastQueue<>(TupleDesc_F64.class,false);
+		for (int i = 0; i < total; i++) {
+			TupleDesc_F64 d = new TupleDesc_F64(3);
+			for (int j = 0; j < d.size(); j++) {
+				d.value[j] = rand.nextInt(4);
+			}
+			ret.add(d);
+		}
+		return ret;
+	}
+
+	private PackedTupleArray_F64 pack( FastQueue<TupleDesc_F64> list ) {
+		PackedTupleArray_F64 ret = new PackedTupleArray_F64(3);
+		for (int i = 0; i < list.size; i++) {
+			ret.append(list.get(i));
+		}
+		return ret;
+	}
+}
@@ -22,6 +22,7 @@ import boofcv.abst.feature.associate.AssociateDescription;
 import boofcv.abst.feature.associate.StandardAssociateDescriptionChecks;
 import boofcv.alg.descriptor.KdTreeTuple_F64;
 import boofcv.struct.feature.AssociatedIndex;
+import boofcv.struct.feature.PackedTupleArray_F64;
 import boofcv.struct.feature.TupleDesc_F64;
 import org.ddogleg.nn.FactoryNearestNeighbor;
 import org.ddogleg.nn.NearestNeighbor;
@@ -31,6 +32,7 @@ import org.ddogleg.struct.GrowQueue_I32;
 import org.junit.Test;
 
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.Assert.assertEquals;
 
@@ -153,6 +155,57 @@ public class TestAssociateNearestNeighbor extends StandardAssociateDescriptionCh
 		assertEquals(6,unassoc.get(2));
 	}
 
+	/**
+	 * Results should be identical when packed arrays are used
+	 */
+	@Test
+	public void packed() {
+		Random rand = new Random(234);
+		FastQueue<TupleDesc_F64> src = new FastQueue<>(10, TupleDesc_F64.class, false);
+		FastQueue<TupleDesc_F64> dst = new FastQueue<>(10, TupleDesc_F64.class, false);
+		PackedTupleArray_F64 packedSrc = new PackedTupleArray_F64(3);
+		PackedTupleArray_F64 packedDst = new PackedTupleArray_F64(3);
+
+		for( int i = 0; i < 20; i++ ) {
+			TupleDesc_F64 d = new TupleDesc_F64(3);
+			d.set(rand.nextDouble(),rand.nextDouble(),rand.nextDouble());
+			src.add(d);
+			packedSrc.append(d);
+		}
+		for( int i = 0; i < 15; i++ ) {
+			TupleDesc_F64 d = new TupleDesc_F64(3);
+			d.set(rand.nextDouble(),rand.nextDouble(),rand.nextDouble());
+			dst.add(d);
+			packedDst.append(d);
+		}
+
+		AssociateNearestNeighbor<TupleDesc_F64> expected = new AssociateNearestNeighbor<>(
+				FactoryNearestNeighbor.exhaustive(new KdTreeTuple_F64(3)));
+		AssociateNearestNeighbor<TupleDesc_F64> alg = new AssociateNearestNeighbor<>(
+				FactoryNearestNeighbor.exhaustive(new KdTreeTuple_F64(3)));
+
+		expected.setSource(src);
+		expected.setDestination(dst);
+		expected.associate();
+
+		// process it twice to make sure the work space is correctly recycled
+		for (int trial = 0; trial < 2; trial++) {
+			alg.setSource(packedSrc);
+			alg.setDestination(packedDst);
+			alg.associate();
+
+			FastQueue<AssociatedIndex> found = alg.getMatches();
+			assertEquals(expected.getMatches().size, found.size);
+			for (int i = 0; i < found.size; i++) {
+				AssociatedIndex e = expected.getMatches().get(i);
+				assertEquals(e.src, found.get(i).src);
+				assertEquals(e.dst, found.get(i).dst);
+				assertEquals(e.fitScore, found.get(i).fitScore, 1e-8);
+			}
+			assertEquals(expected.getUnassociatedSource().size, alg.getUnassociatedSource().size);
+		}
+	}
+
 	public static class Dummy<D> implements NearestNeighbor<D> {
 
 		List<D> points;
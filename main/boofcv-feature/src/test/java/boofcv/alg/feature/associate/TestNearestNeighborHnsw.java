@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate;
+
+import boofcv.alg.descriptor.KdTreeTuple_F32;
+import boofcv.alg.descriptor.KdTreeTuple_F64;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.feature.TupleDesc_F32;
+import boofcv.struct.feature.TupleDesc_F64;
+import boofcv.testing.BoofTesting;
+import org.ddogleg.nn.FactoryNearestNeighbor;
+import org.ddogleg.nn.NearestNeighbor;
+import org.ddogleg.nn.NnData;
+import org.ddogleg.struct.FastQueue;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestNearestNeighborHnsw {
+
+	Random rand = new Random(234);
+
+	int DOF = 16;
+
+	/**
+	 * Compare against an exhaustive search and see if most of the neighbors are found
+	 */
+	@Test
+	public void recall() {
+		List<TupleDesc_F64> points = createPoints(2000);
+		List<TupleDesc_F64> queries = createPoints(200);
+
+		NearestNeighborHnsw<TupleDesc_F64> alg = new NearestNeighborHnsw<>(new KdTreeTuple_F64(DOF),16,234);
+		alg.setPoints(points,true);
+		assertEquals(points.size(),alg.size());
+
+		NearestNeighbor<TupleDesc_F64> exhaustive = FactoryNearestNeighbor.exhaustive(new KdTreeTuple_F64(DOF));
+		exhaustive.setPoints(points,true);
+
+		NnData<TupleDesc_F64> expected = new NnData<>();
+		NnData<TupleDesc_F64> found = new NnData<>();
+		int correct = 0;
+		for( TupleDesc_F64 q : queries ) {
+			assertTrue(exhaustive.findNearest(q,-1,expected));
+			assertTrue(alg.findNearest(q,-1,found));
+			assertSame(points.get(found.index),found.point);
+			if( expected.index == found.index ) {
+				assertEquals(expected.distance,found.distance,1e-8);
+				correct++;
+			}
+		}
+
+		assertTrue(correct >= queries.size()*0.95);
+	}
+
+	/**
+	 * When the number of candidates is larger than the number of points the search should be exact
+	 */
+	@Test
+	public void findNearest_N_exact() {
+		List<TupleDesc_F64> points = createPoints(100);
+
+		NearestNeighborHnsw<TupleDesc_F64> alg = new NearestNeighborHnsw<>(new KdTreeTuple_F64(DOF),8,234);
+		alg.setSearchSize(200);
+		alg.setPoints(points,true);
+
+		NearestNeighbor<TupleDesc_F64> exhaustive = FactoryNearestNeighbor.exhaustive(new KdTreeTuple_F64(DOF));
+		exhaustive.setPoints(points,true);
+
+		FastQueue<NnData<TupleDesc_F64>> expected = new FastQueue(NnData.class,true);
+		FastQueue<NnData<TupleDesc_F64>> found = new FastQueue(NnData.class,true);
+
+		for( TupleDesc_F64 q : createPoints(20) ) {
+			exhaustive.findNearest(q,-1,5,expected);
+			alg.findNearest(q,-1,5,found);
+
+			assertEquals(5,found.size);
+			// results are sorted from closest to farthest
+			for (int i = 1; i < found.size; i++) {
+				assertTrue(found.get(i-1).distance <= found.get(i).distance);
+			}
+			// exhaustive search doesn't sort
+			for (int i = 0; i < found.size; i++) {
+				boolean matched = false;
+				for (int j = 0; j < expected.size; j++) {
+					if( expected.get(j).index == found.get(i).index ) {
+						assertEquals(expected.get(j).distance,found.get(i).distance,1e-8);
+						matched = true;
+					}
+				}
+				assertTrue(matched);
+			}
+		}
+	}
+
+	@Test
+	public void maxDistance() {
+		List<TupleDesc_F64> points = createPoints(50);
+
+		NearestNeighborHnsw<TupleDesc_F64> alg = new NearestNeighborHnsw<>(new KdTreeTuple_F64(DOF),8,234);
+		alg.setPoints(points,true);
+
+		TupleDesc_F64 q = points.get(10).copy();
+		q.value[0] += 0.1;
+
+		NnData<TupleDesc_F64> found = new NnData<>();
+		assertTrue(alg.findNearest(q,0.011,found));
+		assertEquals(10,found.index);
+		assertFalse(alg.findNearest(q,0.009,found));
+
+		FastQueue<NnData<TupleDesc_F64>> foundN = new FastQueue(NnData.class,true);
+		alg.findNearest(q,0.011,5,foundN);
+		assertEquals(1,foundN.size);
+		alg.findNearest(q,0.009,5,foundN);
+		assertEquals(0,foundN.size);
+	}
+
+	@Test
+	public void empty() {
+		NearestNeighborHnsw<TupleDesc_F64> alg = new NearestNeighborHnsw<>(new KdTreeTuple_F64(DOF),8,234);
+		alg.setPoints(new ArrayList<>(),true);
+
+		assertFalse(alg.findNearest(createPoints(1).get(0),-1,new NnData<>()));
+		FastQueue<NnData<TupleDesc_F64>> found = new FastQueue(NnData.class,true);
+		found.grow();
+		alg.findNearest(createPoints(1).get(0),-1,5,found);
+		assertEquals(0,found.size);
+	}
+
+	/**
+	 * Adding the points one at a time should produce the same graph as setPoints
+	 */
+	@Test
+	public void add_incremental() {
+		List<TupleDesc_F64> points = createPoints(300);
+
+		NearestNeighborHnsw<TupleDesc_F64> expected = new NearestNeighborHnsw<>(new KdTreeTuple_F64(DOF),8,234);
+		expected.setPoints(points,true);
+
+		NearestNeighborHnsw<TupleDesc_F64> alg = new NearestNeighborHnsw<>(new KdTreeTuple_F64(DOF),8,234);
+		for (int i = 0; i < points.size(); i++) {
+			assertEquals(i,alg.add(points.get(i)));
+		}
+
+		NnData<TupleDesc_F64> a = new NnData<>();
+		NnData<TupleDesc_F64> b = new NnData<>();
+		for( TupleDesc_F64 q : createPoints(50) ) {
+			assertTrue(expected.findNearest(q,-1,a));
+			assertTrue(alg.findNearest(q,-1,b));
+			assertEquals(a.index,b.index);
+		}
+	}
+
+	/**
+	 * Searches from multiple threads should produce the same results as searching from a single thread
+	 */
+	@Test
+	public void concurrentSearch() {
+		List<TupleDesc_F64> points = createPoints(1000);
+		List<TupleDesc_F64> queries = createPoints(200);
+
+		NearestNeighborHnsw<TupleDesc_F64> alg = new NearestNeighborHnsw<>(new KdTreeTuple_F64(DOF),8,234);
+		alg.setPoints(points,true);
+
+		int[] expected = new int[queries.size()];
+		NnData<TupleDesc_F64> result = new NnData<>();
+		for (int i = 0; i < queries.size(); i++) {
+			assertTrue(alg.findNearest(queries.get(i),-1,result));
+			expected[i] = result.index;
+		}
+
+		BoofTesting.checkConcurrent(()->{
+			int[] found = new int[queries.size()];
+			BoofConcurrency.loopFor(0,queries.size(),i->{
+				NnData<TupleDesc_F64> r = new NnData<>();
+				alg.findNearest(queries.get(i),-1,r);
+				found[i] = r.index;
+			});
+			assertArrayEquals(expected,found);
+		});
+	}
+
+	@Test
+	public void descriptor_F32() {
+		List<TupleDesc_F32> points = new ArrayList<>();
+		for (int i = 0; i < 200; i++) {
+			TupleDesc_F32 d = new TupleDesc_F32(DOF);
+			for (int j = 0; j < DOF; j++) {
+				d.value[j] = rand.nextFloat();
+			}
+			points.add(d);
+		}
+
+		NearestNeighborHnsw<TupleDesc_F32> alg = new NearestNeighborHnsw<>(new KdTreeTuple_F32(DOF),8,234);
+		alg.setPoints(points,true);
+
+		NnData<TupleDesc_F32> found = new NnData<>();
+		for (int i = 0; i < points.size(); i++) {
+			assertTrue(alg.findNearest(points.get(i),-1,found));
+			assertEquals(i,found.index);
+			assertEquals(0,found.distance,1e-8);
+		}
+	}
+
+	private List<TupleDesc_F64> createPoints( int total ) {
+		List<TupleDesc_F64> ret = new ArrayList<>();
+		for (int i = 0; i < total; i++) {
+			TupleDesc_F64 d = new TupleDesc_F64(DOF);
+			for (int j = 0; j < DOF; j++) {
+				d.value[j] = rand.nextDouble();
+			}
+			ret.add(d);
+		}
+		return ret;
+	}
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detdesc;
+
+import boofcv.abst.feature.detect.extract.ConfigExtract;
+import boofcv.abst.feature.detect.extract.NonMaxLimiter;
+import boofcv.abst.feature.detect.extract.NonMaxSuppression;
+import boofcv.alg.feature.describe.DescribePointSift;
+import boofcv.alg.feature.detect.interest.SiftScaleSpace;
+import boofcv.alg.feature.orientation.OrientationHistogramSift;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
+import boofcv.struct.feature.BrightFeature;
+import boofcv.struct.feature.ScalePoint;
+import boofcv.struct.image.GrayF32;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestCompleteSift_MT {
+
+	Random rand = new Random(234);
+
+	/**
+	 * The output should be identical to the single threaded version and in the same order
+	 */
+	@Test
+	public void compareToSingleThread() {
+		GrayF32 image = new GrayF32(300,290);
+		GImageMiscOps.fillUniform(image,rand,0,200);
+
+		CompleteSift expected = new CompleteSift(createScaleSpace(),10,createLimiter(),
+				createOrientation(),createDescribe());
+		CompleteSift_MT found = new CompleteSift_MT(createScaleSpace(),10,createLimiter(),
+				this::createOrientation,this::createDescribe);
+		found.minBatchSize = 5;
+
+		BoofTesting.checkConcurrent(() -> {
+			// process twice to make sure the workspace is reset
+			for (int trial = 0; trial < 2; trial++) {
+				expected.process(image);
+				found.process(image);
+
+				assertTrue(expected.getOrientations().size > 10);
+				assertEquals(expected.getOrientations().size, found.getOrientations().size);
+				assertEquals(expected.getLocations().size, found.getLocations().size);
+				assertEquals(expected.getDescriptions().size, found.getDescriptions().size);
+
+				for (int i = 0; i < expected.getOrientations().size; i++) {
+					assertEquals(expected.getOrientations().get(i), found.getOrientations().get(i), 0);
+
+					ScalePoint a = expected.getLocations().get(i);
+					ScalePoint b = found.getLocations().get(i);
+					assertEquals(a.x, b.x, 0);
+					assertEquals(a.y, b.y, 0);
+					assertEquals(a.scale, b.scale, 0);
+
+					BrightFeature descA = expected.getDescriptions().get(i);
+					BrightFeature descB = found.getDescriptions().get(i);
+					assertEquals(descA.white, descB.white);
+					for (int j = 0; j < descA.size(); j++) {
+						assertEquals(descA.value[j], descB.value[j], 0);
+					}
+				}
+			}
+		});
+	}
+
+	private SiftScaleSpace createScaleSpace() {
+		return new SiftScaleSpace(-1,4,3,1.6);
+	}
+
+	private NonMaxLimiter createLimiter() {
+		NonMaxSuppression nonmax = FactoryFeatureExtractor.nonmax(new ConfigExtract(1,0,1,true,true,true));
+		return new NonMaxLimiter(nonmax,300);
+	}
+
+	private OrientationHistogramSift<GrayF32> createOrientation() {
+		return new OrientationHistogramSift<>(36,1.5,GrayF32.class);
+	}
+
+	private DescribePointSift<GrayF32> createDescribe() {
+		return new DescribePointSift<>(4,4,8,1.5,0.5,0.2,GrayF32.class);
+	}
+}
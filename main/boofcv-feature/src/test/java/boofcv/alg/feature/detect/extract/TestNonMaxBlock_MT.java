@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.extract;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.QueueCorner;
+import boofcv.struct.image.GrayF32;
+import boofcv.testing.BoofTesting;
+import georegression.struct.point.Point2D_I16;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestNonMaxBlock_MT {
+
+	Random rand = new Random(234);
+
+	@Test
+	public void checkStandard() {
+		BoofTesting.checkConcurrent(()->{
+			GenericNonMaxAlgorithmTests checks = new GenericNonMaxAlgorithmTests(true,true,true) {
+				@Override
+				public void findMaximums(GrayF32 intensity, float threshold, int radius, int border,
+										 QueueCorner foundMinimum, QueueCorner foundMaximum)
+				{
+					NonMaxBlock alg = new NonMaxBlock_MT(NonMaxBlockStrict.MinMax::new);
+					alg.setThresholdMin(-threshold);
+					alg.setThresholdMax(threshold);
+					alg.setBorder(border);
+					alg.setSearchRadius(radius);
+					alg.process(intensity,foundMinimum,foundMaximum);
+				}
+			};
+			checks.allStandard();
+		});
+	}
+
+	/**
+	 * Compares the found features and their order against the single threaded version
+	 */
+	@Test
+	public void compareToSingleThread() {
+		compareToSingleThread(NonMaxBlockStrict.MinMax::new);
+		compareToSingleThread(NonMaxBlockRelaxed.MinMax::new);
+		compareToSingleThread(NonMaxBlockRelaxed.Max::new);
+	}
+
+	private void compareToSingleThread( Supplier<NonMaxBlock> factory ) {
+		GrayF32 intensity = new GrayF32(120,97);
+		ImageMiscOps.fillUniform(intensity,rand,-10,10);
+		// create ties for the relaxed rule
+		for (int i = 0; i < intensity.data.length; i++) {
+			intensity.data[i] = (int)intensity.data[i];
+		}
+
+		for( int radius : new int[]{1,2,4} ) {
+			NonMaxBlock single = factory.get();
+			configure(single,radius);
+			QueueCorner expectedMin = new QueueCorner(), expectedMax = new QueueCorner();
+			single.process(intensity,expectedMin,expectedMax);
+			assertTrue(expectedMin.size+expectedMax.size > 0);
+
+			BoofTesting.checkConcurrent(()->{
+				NonMaxBlock alg = new NonMaxBlock_MT(factory);
+				configure(alg,radius);
+
+				// process twice to make sure the workspace is reset
+				for (int trial = 0; trial < 2; trial++) {
+					QueueCorner foundMin = new QueueCorner(), foundMax = new QueueCorner();
+					alg.process(intensity,foundMin,foundMax);
+					checkIdentical(expectedMin,foundMin);
+					checkIdentical(expectedMax,foundMax);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Processing the image in ranges of rows should produce the same output as processing the whole image
+	 */
+	@Test
+	public void process_rowRange() {
+		GrayF32 intensity = new GrayF32(60,51);
+		ImageMiscOps.fillUniform(intensity,rand,-10,10);
+
+		NonMaxBlock alg = new NonMaxBlockStrict.MinMax();
+		configure(alg,2);
+
+		QueueCorner expectedMin = new QueueCorner(), expectedMax = new QueueCorner();
+		alg.process(intensity,expectedMin,expectedMax);
+
+		for( int split = 0; split < intensity.height; split++ ) {
+			QueueCorner foundMin = new QueueCorner(), foundMax = new QueueCorner();
+			alg.process(intensity,foundMin,foundMax,0,split);
+			alg.process(intensity,foundMin,foundMax,split,intensity.height);
+			checkIdentical(expectedMin,foundMin);
+			checkIdentical(expectedMax,foundMax);
+		}
+	}
+
+	private static void configure( NonMaxBlock alg , int radius ) {
+		alg.setSearchRadius(radius);
+		alg.setBorder(3);
+		alg.setThresholdMin(-2);
+		alg.setThresholdMax(2);
+	}
+
+	private static void checkIdentical( QueueCorner expected , QueueCorner found ) {
+		assertEquals(expected.size, found.size);
+		for (int i = 0; i < expected.size; i++) {
+			Point2D_I16 a = expected.get(i);
+			Point2D_I16 b = found.get(i);
+			assertEquals(a.x, b.x);
+			assertEquals(a.y, b.y);
+		}
+	}
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.intensity;
+
+import boofcv.alg.feature.detect.intensity.impl.ImplFastCorner12_F32;
+import boofcv.alg.feature.detect.intensity.impl.ImplFastCorner9_U8;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.struct.QueueCorner;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageGray;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestFastCornerDetector_MT {
+
+	Random rand = new Random(234);
+
+	int width = 80, height = 95;
+
+	/**
+	 * Results should be identical to the single threaded version
+	 */
+	@Test
+	public void compareToSingleThread() {
+		BoofTesting.checkConcurrent(() -> {
+			GrayU8 imageU8 = new GrayU8(width, height);
+			GImageMiscOps.fillUniform(imageU8, rand, 0, 255);
+			GrayF32 imageF32 = new GrayF32(width, height);
+			GImageMiscOps.fillUniform(imageF32, rand, 0, 255);
+
+			for( double fraction : new double[]{1.0, 0.01, 1e-6} ) {
+				compare(new FastCornerDetector<>(new ImplFastCorner9_U8(20)),
+						new FastCornerDetector_MT<>(new ImplFastCorner9_U8(20)), imageU8, fraction);
+				compare(new FastCornerDetector<>(new ImplFastCorner12_F32(20)),
+						new FastCornerDetector_MT<>(new ImplFastCorner12_F32(20)), imageF32, fraction);
+			}
+		});
+	}
+
+	private <T extends ImageGray<T>>
+	void compare( FastCornerDetector<T> expected , FastCornerDetector<T> found , T image , double fraction ) {
+		expected.setMaxFeaturesFraction(fraction);
+		found.setMaxFeaturesFraction(fraction);
+
+		// the same instance is processed twice to make sure the workspace is reset
+		for (int trial = 0; trial < 2; trial++) {
+			expected.process(image);
+			found.process(image);
+			assertTrue(expected.getCornersLow().size + expected.getCornersHigh().size > 0);
+			compare(expected.getCornersLow(), found.getCornersLow());
+			compare(expected.getCornersHigh(), found.getCornersHigh());
+
+			GrayF32 intensityExpected = new GrayF32(width, height);
+			GrayF32 intensityFound = new GrayF32(width, height);
+			expected.process(image, intensityExpected);
+			found.process(image, intensityFound);
+			compare(expected.getCornersLow(), found.getCornersLow());
+			compare(expected.getCornersHigh(), found.getCornersHigh());
+
+			// rows after the limit has been reached are only filled in by the concurrent version
+			if( fraction == 1.0 )
+				BoofTesting.assertEquals(intensityExpected, intensityFound, 0);
+		}
+	}
+
+	private void compare( QueueCorner expected , QueueCorner found ) {
+		assertEquals(expected.size, found.size);
+		for (int i = 0; i < expected.size; i++) {
+			assertEquals(expected.get(i).x, found.get(i).x);
+			assertEquals(expected.get(i).y, found.get(i).y);
+		}
+	}
+}
@@ -31,6 +31,11 @@ public class TestImplFastHelper_F32 extends GenericImplFastCornerInterfaceTests<
 			public int checkPixel(int index) {
 				return 0;
 			}
+
+			@Override
+			public FastCornerInterface<GrayF32> newInstance() {
+				return null;
+			}
 		}, 10);
 	}
 
@@ -32,6 +32,11 @@ public class TestImplFastHelper_U8 extends GenericImplFastCornerInterfaceTests<G
 			public int checkPixel(int index) {
 				return 0;
 			}
+
+			@Override
+			public FastCornerInterface<GrayU8> newInstance() {
+				return null;
+			}
 		}, 10);
 	}
 
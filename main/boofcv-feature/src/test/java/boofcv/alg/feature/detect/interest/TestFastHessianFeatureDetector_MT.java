@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.interest;
+
+import boofcv.abst.feature.detect.extract.ConfigExtract;
+import boofcv.abst.feature.detect.extract.NonMaxSuppression;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.alg.transform.ii.IntegralImageOps;
+import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
+import boofcv.struct.feature.ScalePoint;
+import boofcv.struct.image.GrayF32;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestFastHessianFeatureDetector_MT extends GenericFeatureDetectorTests {
+
+	Random rand = new Random(234);
+
+	public TestFastHessianFeatureDetector_MT() {
+		this.scaleTolerance = 0.3;
+	}
+
+	/**
+	 * The found points should be identical to the single threaded version and in the same order
+	 */
+	@Test
+	public void compareToSingleThread() {
+		BoofTesting.checkConcurrent(() -> {
+			GrayF32 input = new GrayF32(120, 100);
+			ImageMiscOps.fillUniform(input, rand, 0, 100);
+			GrayF32 integral = IntegralImageOps.transform(input, null);
+
+			for( int maxFeatures : new int[]{-1, 5} ) {
+				NonMaxSuppression extractor = FactoryFeatureExtractor.nonmax(new ConfigExtract(1, 1, 5, true));
+				FastHessianFeatureDetector<GrayF32> expected =
+						new FastHessianFeatureDetector<>(extractor, maxFeatures, 1, 9, 4, 4, 6);
+				FastHessianFeatureDetector<GrayF32> found = createDetector(maxFeatures);
+
+				// process twice to make sure the workspace is reset
+				for (int trial = 0; trial < 2; trial++) {
+					expected.detect(integral);
+					found.detect(integral);
+
+					List<ScalePoint> listExpected = expected.getFoundPoints();
+					List<ScalePoint> listFound = found.getFoundPoints();
+					assertTrue(listExpected.size() > 0);
+					assertEquals(listExpected.size(), listFound.size());
+					for (int i = 0; i < listExpected.size(); i++) {
+						ScalePoint a = listExpected.get(i);
+						ScalePoint b = listFound.get(i);
+						assertEquals(a.x, b.x, 0);
+						assertEquals(a.y, b.y, 0);
+						assertEquals(a.scale, b.scale, 0);
+					}
+				}
+			}
+		});
+	}
+
+	@Override
+	protected FastHessianFeatureDetector<GrayF32> createDetector( int maxFeatures ) {
+		return new FastHessianFeatureDetector_MT<>(
+				() -> FactoryFeatureExtractor.nonmax(new ConfigExtract(1, 1, 5, true)),
+				maxFeatures, 1, 9,4,4, 6);
+	}
+
+	@SuppressWarnings({"unchecked"})
+	@Override
+	protected int detectFeature(GrayF32 input, Object detector) {
+		FastHessianFeatureDetector<GrayF32> alg = (FastHessianFeatureDetector<GrayF32>)detector;
+		GrayF32 integral = IntegralImageOps.transform(input,null);
+		alg.detect(integral);
+
+		return alg.getFoundPoints().size();
+	}
+}
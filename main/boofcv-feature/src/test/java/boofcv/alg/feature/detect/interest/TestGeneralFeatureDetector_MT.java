@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.interest;
+
+import boofcv.abst.feature.detect.interest.ConfigGeneralDetector;
+import boofcv.alg.filter.derivative.DerivativeType;
+import boofcv.alg.filter.derivative.GImageDerivativeOps;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.border.BorderType;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.factory.feature.detect.interest.FactoryDetectPoint;
+import boofcv.struct.QueueCorner;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayS16;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageGray;
+import boofcv.testing.BoofTesting;
+import georegression.struct.point.Point2D_I16;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestGeneralFeatureDetector_MT {
+
+	Random rand = new Random(234);
+
+	int width = 140, height = 105;
+
+	/**
+	 * Integer derivatives produce identical intensity images, so the detections should be identical
+	 */
+	@Test
+	public void compareToSingleThread_integer() {
+		ConfigGeneralDetector config = new ConfigGeneralDetector(-1,3,10);
+
+		compare(()->FactoryDetectPoint.createHarris(config,false,GrayS16.class),GrayU8.class,GrayS16.class,0);
+		compare(()->FactoryDetectPoint.createShiTomasi(config,false,GrayS16.class),GrayU8.class,GrayS16.class,0);
+		compare(()->FactoryDetectPoint.createKitRos(config,GrayS16.class),GrayU8.class,GrayS16.class,0);
+
+		// select the best features
+		config.maxFeatures = 30;
+		compare(()->FactoryDetectPoint.createShiTomasi(config,false,GrayS16.class),GrayU8.class,GrayS16.class,0);
+	}
+
+	/**
+	 * KitRos only depends on a single pixel, so it's identical with float derivatives too
+	 */
+	@Test
+	public void compareToSingleThread_floatPixel() {
+		ConfigGeneralDetector config = new ConfigGeneralDetector(-1,2,1);
+
+		compare(()->FactoryDetectPoint.createKitRos(config,GrayF32.class),GrayF32.class,GrayF32.class,0);
+	}
+
+	/**
+	 * Float region sums don't depend on where a band starts, so the factory should create the concurrent
+	 * version of Harris and Shi-Tomasi and the detections should be identical
+	 */
+	@Test
+	public void compareToSingleThread_floatRegion() {
+		ConfigGeneralDetector config = new ConfigGeneralDetector(-1,2,1);
+
+		compare(()->FactoryDetectPoint.createHarris(config,false,GrayF32.class),GrayF32.class,GrayF32.class,0);
+		compare(()->FactoryDetectPoint.createHarris(config,true,GrayF32.class),GrayF32.class,GrayF32.class,0);
+		compare(()->FactoryDetectPoint.createShiTomasi(config,false,GrayF32.class),GrayF32.class,GrayF32.class,0);
+		compare(()->FactoryDetectPoint.createShiTomasi(config,true,GrayF32.class),GrayF32.class,GrayF32.class,0);
+
+		// select the best features
+		config.maxFeatures = 30;
+		compare(()->FactoryDetectPoint.createHarris(config,false,GrayF32.class),GrayF32.class,GrayF32.class,0);
+	}
+
+	private <I extends ImageGray<I>, D extends ImageGray<D>>
+	void compare( Supplier<GeneralFeatureDetector<I,D>> factory , Class<I> imageType , Class<D> derivType ,
+				  double tol ) {
+		compare(factory,factory,imageType,derivType,tol);
+	}
+
+	private <I extends ImageGray<I>, D extends ImageGray<D>>
+	void compare( Supplier<GeneralFeatureDetector<I,D>> factory , Supplier<GeneralFeatureDetector<I,D>> factoryMT ,
+				  Class<I> imageType , Class<D> derivType , double tol ) {
+		I image = GeneralizedImageOps.createSingleBand(imageType,width,height);
+		GImageMiscOps.fillUniform(image,rand,0,100);
+		D derivX = GeneralizedImageOps.createSingleBand(derivType,width,height);
+		D derivY = GeneralizedImageOps.createSingleBand(derivType,width,height);
+		D derivXX = GeneralizedImageOps.createSingleBand(derivType,width,height);
+		D derivYY = GeneralizedImageOps.createSingleBand(derivType,width,height);
+		D derivXY = GeneralizedImageOps.createSingleBand(derivType,width,height);
+		GImageDerivativeOps.gradient(DerivativeType.SOBEL,image,derivX,derivY, BorderType.EXTENDED);
+		GImageDerivativeOps.hessian(DerivativeType.SOBEL,image,derivXX,derivYY,derivXY, BorderType.EXTENDED);
+
+		GeneralFeatureDetector<I,D> single = factory.get();
+		single.process(image,derivX,derivY,derivXX,derivYY,derivXY);
+		GrayF32 expectedIntensity = single.getIntensity().clone();
+		QueueCorner expected = copy(single.getMaximums());
+		assertTrue(expected.size > 0);
+
+		BoofTesting.checkConcurrent(()->{
+			GeneralFeatureDetector<I,D> alg = factoryMT.get();
+			assertTrue(alg instanceof GeneralFeatureDetector_MT);
+
+			// process twice to make sure the workspace is reset
+			for (int trial = 0; trial < 2; trial++) {
+				alg.process(image,derivX,derivY,derivXX,derivYY,derivXY);
+				if( tol == 0 ) {
+					BoofTesting.assertEquals(expectedIntensity,alg.getIntensity(),0);
+
+					QueueCorner found = alg.getMaximums();
+					assertEquals(expected.size, found.size);
+					for (int i = 0; i < expected.size; i++) {
+						Point2D_I16 a = expected.get(i);
+						Point2D_I16 b = found.get(i);
+						assertEquals(a.x, b.x);
+						assertEquals(a.y, b.y);
+					}
+				} else {
+					BoofTesting.assertEqualsRelative(expectedIntensity,alg.getIntensity(),tol);
+				}
+			}
+		});
+	}
+
+	private static QueueCorner copy( QueueCorner src ) {
+		QueueCorner dst = new QueueCorner(src.size);
+		for (int i = 0; i < src.size; i++) {
+			dst.grow().set(src.get(i));
+		}
+		return dst;
+	}
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static boofcv.factory.feature.disparity.FactoryStereoDisparityAlgs.*;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestDisparityScoreCoarseToFine {
+
+	Random rand = new Random(234);
+
+	int width = 160, height = 120;
+	int minDisparity = 5, maxDisparity = 70;
+
+	GrayU8 left = new GrayU8(width,height);
+	GrayU8 right = new GrayU8(width,height);
+
+	/**
+	 * With a single layer it should be identical to the fine algorithm
+	 */
+	@Test
+	public void singleLayer() {
+		createStereo(20,40);
+
+		DisparityScoreCoarseToFine<GrayU8,GrayU8> alg = createAlg(1);
+		GrayU8 found = new GrayU8(width,height);
+		alg.process(left,right,found);
+
+		GrayU8 expected = new GrayU8(width,height);
+		GImageMiscOps.fill(expected,maxDisparity-minDisparity+1);
+		scoreDisparitySadRect_U8(minDisparity,maxDisparity,2,2,selectDisparity_S32(-1,2,-1)).
+				process(left,right,expected);
+
+		BoofTesting.assertEquals(expected,found,0);
+	}
+
+	/**
+	 * Two planes at different depths. The disparity should be found using multiple layers and be the
+	 * same as a full search almost everywhere that's visible
+	 */
+	@Test
+	public void multipleLayers() {
+		createStereo(20,40);
+
+		GrayU8 expected = new GrayU8(width,height);
+		GImageMiscOps.fill(expected,maxDisparity-minDisparity+1);
+		scoreDisparitySadRect_U8(minDisparity,maxDisparity,2,2,selectDisparity_S32(-1,2,-1)).
+				process(left,right,expected);
+
+		for( int[] scales : new int[][]{{1,2},{1,2,4},{1,2,6}} ) {
+			DisparityScoreCoarseToFine<GrayU8,GrayU8> alg = createAlg(scales);
+			alg.setTileSize(16);
+
+			// process twice to make sure everything is reset
+			for (int trial = 0; trial < 2; trial++) {
+				GrayU8 found = new GrayU8(width,height);
+				alg.process(left,right,found);
+
+				assertTrue(fractionCorrect(found,20,40) > 0.95);
+				assertTrue(fractionSame(expected,found) > 0.95);
+			}
+		}
+	}
+
+	/**
+	 * Sub-pixel output
+	 */
+	@Test
+	public void subpixel() {
+		createStereo(20,40);
+
+		DisparityScoreCoarseToFine<GrayU8,GrayF32> alg = new DisparityScoreCoarseToFine<>(
+				scoreDisparitySadRect_U8(minDisparity,maxDisparity,2,2,selectDisparity_S32(-1,2,-1)),
+				scoreDisparitySadRect_U8(minDisparity,maxDisparity,2,2,selectDisparitySubpixel_S32(-1,2,-1)),
+				1,2,4);
+		GrayF32 found = new GrayF32(width,height);
+		alg.process(left,right,found);
+
+		int total = 0, correct = 0;
+		for (int y = 2; y < height-2; y++) {
+			for (int x = 2+maxDisparity; x < width-2; x++) {
+				if( !isVisible(x) )
+					continue;
+				total++;
+				float expected = (x < width/2 ? 20 : 40) - minDisparity;
+				if( Math.abs(found.get(x,y)-expected) <= 0.5 )
+					correct++;
+			}
+		}
+		assertTrue(correct/(double)total > 0.9);
+	}
+
+	/**
+	 * Pixels along the image border should be invalid
+	 */
+	@Test
+	public void border() {
+		createStereo(20,40);
+
+		DisparityScoreCoarseToFine<GrayU8,GrayU8> alg = createAlg(1,2,4);
+		GrayU8 found = new GrayU8(width,height);
+		alg.process(left,right,found);
+
+		int invalid = maxDisparity-minDisparity+1;
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				if( y < 2 || y >= height-2 || x < 2+minDisparity || x >= width-2 )
+					assertTrue(found.get(x,y) >= invalid);
+			}
+		}
+	}
+
+	private DisparityScoreCoarseToFine<GrayU8,GrayU8> createAlg( int ...scales ) {
+		return new DisparityScoreCoarseToFine<>(
+				scoreDisparitySadRect_U8(minDisparity,maxDisparity,2,2,selectDisparity_S32(-1,2,-1)),
+				scoreDisparitySadRect_U8(minDisparity,maxDisparity,2,2,selectDisparity_S32(-1,2,-1)),
+				scales);
+	}
+
+	/**
+	 * Fraction of pixels which can see the whole range that have the correct disparity
+	 */
+	private double fractionCorrect( GrayU8 found , int disparityA , int disparityB ) {
+		int total = 0, correct = 0;
+		for (int y = 2; y < height-2; y++) {
+			for (int x = 2+maxDisparity; x < width-2; x++) {
+				if( !isVisible(x) )
+					continue;
+				total++;
+				int expected = (x < width/2 ? disparityA : disparityB) - minDisparity;
+				if( found.get(x,y) == expected )
+					correct++;
+			}
+		}
+		return correct/(double)total;
+	}
+
+	/**
+	 * Pixels near the boundary between the two planes are either occluded or have a mixed region
+	 */
+	private boolean isVisible( int x ) {
+		return x < width/2-4 || x >= width/2+40-20+4;
+	}
+
+	/**
+	 * Fraction of visible pixels which have the same value in both images. In occluded regions right to left
+	 * validation will behave differently when the range is restricted.
+	 */
+	private double fractionSame( GrayU8 a , GrayU8 b ) {
+		int total = 0, same = 0;
+		for (int y = 2; y < height-2; y++) {
+			for (int x = 2+40; x < width-2; x++) {
+				if( !isVisible(x) )
+					continue;
+				total++;
+				if( a.get(x,y) == b.get(x,y) )
+					same++;
+			}
+		}
+		return same/(double)total;
+	}
+
+	/**
+	 * Left half of the image has disparity A and the right half disparity B. Texture is smooth enough
+	 * to survive the pyramid's blur.
+	 */
+	private void createStereo( int disparityA , int disparityB ) {
+		GrayU8 coarse = new GrayU8(width/2+1,height/2+1);
+		ImageMiscOps.fillUniform(coarse,rand,0,200);
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				left.set(x,y,coarse.get(x/2,y/2)+rand.nextInt(10));
+			}
+		}
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				// pixel in the left image which this right pixel would be seen by
+				int xl = x + disparityA;
+				if( xl >= width/2 )
+					xl = x + disparityB;
+				right.set(x,y, xl < width ? left.get(xl,y) : rand.nextInt(200));
+			}
+		}
+	}
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static boofcv.factory.feature.disparity.FactoryStereoDisparityAlgs.*;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestDisparityScoreRegion {
+
+	Random rand = new Random(234);
+
+	int width = 100, height = 80;
+	int minDisparity = 3, maxDisparity = 30;
+
+	GrayU8 left = new GrayU8(width,height);
+	GrayU8 right = new GrayU8(width,height);
+
+	public TestDisparityScoreRegion() {
+		ImageMiscOps.fillUniform(right,rand,0,200);
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				left.set(x,y, x-15 >= 0 ? right.get(x-15,y) : rand.nextInt(200));
+			}
+		}
+	}
+
+	/**
+	 * When the full range is searched the region should be the same as the same region in the whole image.
+	 * Only validate pixels which can see the entire range so that right to left validation is the same.
+	 */
+	@Test
+	public void fullRange() {
+		GrayU8 expected = new GrayU8(width,height);
+		int invalid = maxDisparity-minDisparity+1;
+		GImageMiscOps.fill(expected,invalid);
+		scoreDisparitySadRect_U8(minDisparity,maxDisparity,2,2,selectDisparity_S32(-1,-1,-1)).
+				process(left,right,expected);
+
+		DisparityScoreRegion<GrayU8,GrayU8> alg = new DisparityScoreRegion<>(
+				scoreDisparitySadRect_U8(minDisparity,maxDisparity,2,2,selectDisparity_S32(-1,-1,-1)));
+
+		GrayU8 found = new GrayU8(width,height);
+		GImageMiscOps.fill(found,200);
+		alg.process(left,right,40,10,70,30,minDisparity,maxDisparity,minDisparity,invalid,found);
+
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				if( x >= 40 && x < 70 && y >= 10 && y < 30 )
+					assertEquals(expected.get(x,y),found.get(x,y));
+				else
+					assertEquals(200,found.get(x,y));
+			}
+		}
+	}
+
+	/**
+	 * Restrict the range and see if the results are converted into the output's range
+	 */
+	@Test
+	public void restrictedRange() {
+		DisparityScoreRegion<GrayU8,GrayF32> alg = new DisparityScoreRegion<>(
+				scoreDisparitySadRect_U8(minDisparity,maxDisparity,2,2,selectDisparitySubpixel_S32(-1,-1,-1)));
+
+		GrayF32 found = new GrayF32(width,height);
+		alg.process(left,right,40,10,70,30,12,18,minDisparity,99,found);
+
+		for (int y = 10; y < 30; y++) {
+			for (int x = 40; x < 70; x++) {
+				assertEquals(15-minDisparity,found.get(x,y),0.5f);
+			}
+		}
+	}
+
+	/**
+	 * Pixels in the region which are too close to the image border for the range should not be modified
+	 */
+	@Test
+	public void closeToBorder() {
+		DisparityScoreRegion<GrayU8,GrayU8> alg = new DisparityScoreRegion<>(
+				scoreDisparitySadRect_U8(minDisparity,maxDisparity,2,2,selectDisparity_S32(-1,-1,-1)));
+
+		GrayU8 found = new GrayU8(width,height);
+		GImageMiscOps.fill(found,200);
+		alg.process(left,right,2,10,40,30,12,18,minDisparity,99,found);
+
+		for (int y = 10; y < 30; y++) {
+			for (int x = 2; x < 40; x++) {
+				if( x < 2+12 )
+					assertEquals(200,found.get(x,y));
+				else if( x >= 2+15 )
+					assertEquals(15-minDisparity,found.get(x,y));
+			}
+		}
+	}
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity;
+
+import boofcv.abst.feature.disparity.WrapDisparitySadRect;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.factory.feature.disparity.DisparityAlgorithms;
+import boofcv.factory.feature.disparity.FactoryStereoDisparity;
+import boofcv.struct.image.*;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static boofcv.factory.feature.disparity.FactoryStereoDisparityAlgs.*;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestDisparityScoreRowFormat_MT {
+
+	Random rand = new Random(234);
+
+	int width = 70, height = 53;
+	int minDisparity = 2, maxDisparity = 20;
+
+	@Test
+	public void compareToSingleThread_U8() {
+		GrayU8 left = new GrayU8(width,height);
+		GrayU8 right = new GrayU8(width,height);
+		createStereo(left,right);
+
+		compareToSingleThread(left,right,GrayU8.class,
+				()->scoreDisparitySadRect_U8(minDisparity,maxDisparity,3,2,selectDisparity_S32(-1,2,0.1)));
+		compareToSingleThread(left,right,GrayF32.class,
+				()->scoreDisparitySadRect_U8(minDisparity,maxDisparity,3,2,selectDisparitySubpixel_S32(-1,2,0.1)));
+		compareToSingleThread(left,right,GrayU8.class,
+				()->scoreDisparitySadRectFive_U8(minDisparity,maxDisparity,2,3,selectDisparity_S32(-1,2,0.1)));
+	}
+
+	@Test
+	public void compareToSingleThread_S16() {
+		GrayS16 left = new GrayS16(width,height);
+		GrayS16 right = new GrayS16(width,height);
+		createStereo(left,right);
+
+		compareToSingleThread(left,right,GrayU8.class,
+				()->scoreDisparitySadRect_S16(minDisparity,maxDisparity,3,2,selectDisparity_S32(-1,2,0.1)));
+		compareToSingleThread(left,right,GrayU8.class,
+				()->scoreDisparitySadRectFive_S16(minDisparity,maxDisparity,2,3,selectDisparity_S32(-1,2,0.1)));
+	}
+
+	@Test
+	public void compareToSingleThread_F32() {
+		GrayF32 left = new GrayF32(width,height);
+		GrayF32 right = new GrayF32(width,height);
+		createStereo(left,right);
+
+		compareToSingleThread(left,right,GrayU8.class,
+				()->scoreDisparitySadRect_F32(minDisparity,maxDisparity,3,2,selectDisparity_F32(-1,2,0.1)));
+		compareToSingleThread(left,right,GrayF32.class,
+				()->scoreDisparitySadRectFive_F32(minDisparity,maxDisparity,2,3,selectDisparitySubpixel_F32(-1,2,0.1)),1e-4);
+	}
+
+	/**
+	 * Changing the disparity range should be passed on to every algorithm used internally
+	 */
+	@Test
+	public void setDisparityRange() {
+		GrayU8 left = new GrayU8(width,height);
+		GrayU8 right = new GrayU8(width,height);
+		createStereo(left,right);
+
+		DisparityScoreRowFormat<GrayU8,GrayU8> single =
+				scoreDisparitySadRect_U8(minDisparity,maxDisparity,3,2,selectDisparity_S32(-1,2,0.1));
+		single.setDisparityRange(4,12);
+		GrayU8 expected = new GrayU8(width,height);
+		GImageMiscOps.fill(expected,13);
+		single.process(left,right,expected);
+
+		BoofTesting.checkConcurrent(()->{
+			DisparityScoreRowFormat_MT<GrayU8,GrayU8> alg = new DisparityScoreRowFormat_MT<>(
+					()->scoreDisparitySadRect_U8(minDisparity,maxDisparity,3,2,selectDisparity_S32(-1,2,0.1)));
+			// process once with the original range so the internal algorithms are created
+			alg.process(left,right,new GrayU8(width,height));
+			alg.setDisparityRange(4,12);
+
+			GrayU8 found = new GrayU8(width,height);
+			GImageMiscOps.fill(found,13);
+			alg.process(left,right,found);
+			BoofTesting.assertEquals(expected,found,0);
+		});
+	}
+
+	/**
+	 * The factory should only select the concurrent algorithm when its results are identical
+	 */
+	@Test
+	public void factorySelection() {
+		BoofTesting.checkConcurrent(()->{
+			for( DisparityAlgorithms which : DisparityAlgorithms.values() ) {
+				WrapDisparitySadRect a = (WrapDisparitySadRect)FactoryStereoDisparity.
+						regionWta(which,minDisparity,maxDisparity,2,2,-1,2,0.1,GrayU8.class);
+				WrapDisparitySadRect b = (WrapDisparitySadRect)FactoryStereoDisparity.
+						regionSubpixelWta(which,minDisparity,maxDisparity,2,2,-1,2,0.1,GrayS16.class);
+				WrapDisparitySadRect c = (WrapDisparitySadRect)FactoryStereoDisparity.
+						regionWta(which,minDisparity,maxDisparity,2,2,-1,2,0.1,GrayF32.class);
+				WrapDisparitySadRect d = (WrapDisparitySadRect)FactoryStereoDisparity.
+						regionSubpixelWta(which,minDisparity,maxDisparity,2,2,-1,2,0.1,GrayF32.class);
+
+				assertTrue(a.getAlg() instanceof DisparityScoreRowFormat_MT);
+				assertTrue(b.getAlg() instanceof DisparityScoreRowFormat_MT);
+				assertFalse(c.getAlg() instanceof DisparityScoreRowFormat_MT);
+				assertFalse(d.getAlg() instanceof DisparityScoreRowFormat_MT);
+			}
+		});
+	}
+
+	private <I extends ImageGray<I>, D extends ImageGray<D>>
+	void compareToSingleThread( I left , I right , Class<D> disparityType ,
+								Supplier<DisparityScoreRowFormat<I,D>> factory ) {
+		compareToSingleThread(left, right, disparityType, factory, 0);
+	}
+
+	/**
+	 * @param tol Tolerance. Running sums of floats accumulate rounding errors differently when they are re-seeded
+	 */
+	private <I extends ImageGray<I>, D extends ImageGray<D>>
+	void compareToSingleThread( I left , I right , Class<D> disparityType ,
+								Supplier<DisparityScoreRowFormat<I,D>> factory , double tol ) {
+		D expected = GeneralizedImageOps.createSingleBand(disparityType,width,height);
+		GImageMiscOps.fill(expected,maxDisparity+1);
+		factory.get().process(left,right,expected);
+
+		BoofTesting.checkConcurrent(()->{
+			DisparityScoreRowFormat_MT<I,D> alg = new DisparityScoreRowFormat_MT<>(factory);
+
+			// process twice to make sure the workspace is reset
+			for (int trial = 0; trial < 2; trial++) {
+				D found = GeneralizedImageOps.createSingleBand(disparityType,width,height);
+				GImageMiscOps.fill(found,maxDisparity+1);
+				alg.process(left,right,found);
+				BoofTesting.assertEquals(expected,found,tol);
+			}
+		});
+	}
+
+	/**
+	 * The right image is the left image shifted by a disparity which varies with the row, plus noise
+	 */
+	private void createStereo( ImageGray left , ImageGray right ) {
+		GImageMiscOps.fillUniform(left,rand,0,100);
+		for (int y = 0; y < height; y++) {
+			int d = 4 + y/6;
+			for (int x = 0; x < width; x++) {
+				double value = x+d < width ? GeneralizedImageOps.get(left,x+d,y) : 0;
+				GeneralizedImageOps.set(right,x,y,value + rand.nextInt(5));
+			}
+		}
+	}
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.image.GrayU8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static boofcv.factory.feature.disparity.FactoryStereoDisparityAlgs.scoreDisparitySadRect_U8;
+import static boofcv.factory.feature.disparity.FactoryStereoDisparityAlgs.selectDisparity_S32;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestDisparityScoreTemporal {
+
+	Random rand = new Random(234);
+
+	int width = 160, height = 120;
+	int minDisparity = 2, maxDisparity = 50;
+
+	// texture of the background and the object
+	GrayU8 background = new GrayU8(width,height);
+	GrayU8 object = new GrayU8(30,30);
+
+	GrayU8 left = new GrayU8(width,height);
+	GrayU8 right = new GrayU8(width,height);
+
+	public TestDisparityScoreTemporal() {
+		createTexture(background);
+		createTexture(object);
+	}
+
+	private void createTexture( GrayU8 texture ) {
+		GrayU8 coarse = new GrayU8(texture.width/2+1,texture.height/2+1);
+		ImageMiscOps.fillUniform(coarse,rand,0,200);
+		for (int y = 0; y < texture.height; y++) {
+			for (int x = 0; x < texture.width; x++) {
+				texture.set(x,y,coarse.get(x/2,y/2)+rand.nextInt(10));
+			}
+		}
+	}
+
+	/**
+	 * The first frame should be identical to the algorithm it wraps
+	 */
+	@Test
+	public void firstFrame() {
+		renderScene(-1,-1);
+
+		DisparityScoreTemporal<GrayU8,GrayU8> alg = createAlg();
+		GrayU8 found = new GrayU8(width,height);
+		alg.process(left,right,found);
+
+		BoofTesting.assertEquals(fullSearch(),found,0);
+		assertEquals(-1,alg.getCountFull());
+	}
+
+	/**
+	 * If nothing changes then no tile should be fully searched and the results should be the same
+	 */
+	@Test
+	public void staticScene() {
+		renderScene(40,30);
+		GrayU8 expected = fullSearch();
+
+		DisparityScoreTemporal<GrayU8,GrayU8> alg = createAlg();
+		GrayU8 found = new GrayU8(width,height);
+		alg.process(left,right,found);
+		for (int trial = 0; trial < 2; trial++) {
+			alg.process(left,right,found);
+
+			assertEquals(0,alg.getCountFull());
+			assertTrue(alg.getCountRestricted() > 0);
+			assertTrue(fractionSame(expected,found) > 0.98);
+		}
+	}
+
+	/**
+	 * An object moves closer. Tiles it touches should be recomputed and find the new disparity.
+	 */
+	@Test
+	public void objectMoves() {
+		DisparityScoreTemporal<GrayU8,GrayU8> alg = createAlg();
+		GrayU8 found = new GrayU8(width,height);
+
+		renderScene(90,20);
+		alg.process(left,right,found);
+		renderScene(90,45);
+		alg.process(left,right,found);
+
+		assertTrue(alg.getCountFull() > 0);
+		assertTrue(alg.getCountRestricted() > 0);
+		assertTrue(fractionSame(fullSearch(),found) > 0.95);
+
+		// far from the object only a restricted search should be done
+		int tiles = ((width-4+31)/32)*((height-4+31)/32);
+		assertTrue(alg.getCountFull() < tiles/2);
+	}
+
+	/**
+	 * The user specified change mask should be used instead of the difference between frames
+	 */
+	@Test
+	public void changeMask() {
+		DisparityScoreTemporal<GrayU8,GrayU8> alg = createAlg();
+		GrayU8 mask = new GrayU8(width,height);
+		alg.setChangeMask(mask);
+		GrayU8 found = new GrayU8(width,height);
+
+		renderScene(90,20);
+		alg.process(left,right,found);
+
+		// nothing is marked as changed, so the new disparity should be missed
+		renderScene(90,45);
+		alg.process(left,right,found);
+		assertEquals(0,alg.getCountFull());
+		assertTrue(fractionObject(found,90,45) < 0.1);
+
+		// mark the entire image as changed
+		ImageMiscOps.fill(mask,1);
+		alg.process(left,right,found);
+		assertEquals(0,alg.getCountRestricted());
+		assertTrue(fractionObject(found,90,45) > 0.9);
+		assertTrue(fractionSame(fullSearch(),found) > 0.95);
+
+		// go back to automatic
+		alg.setChangeMask(null);
+		alg.process(left,right,found);
+		assertEquals(0,alg.getCountFull());
+	}
+
+	/**
+	 * After a reset the entire image should be processed
+	 */
+	@Test
+	public void reset() {
+		renderScene(40,30);
+		DisparityScoreTemporal<GrayU8,GrayU8> alg = createAlg();
+		GrayU8 found = new GrayU8(width,height);
+		alg.process(left,right,found);
+		alg.process(left,right,found);
+		assertEquals(0,alg.getCountFull());
+		alg.reset();
+		alg.process(left,right,found);
+		assertEquals(-1,alg.getCountFull());
+
+		// changing the range should also cause everything to be processed
+		alg.process(left,right,found);
+		alg.setDisparityRange(minDisparity,maxDisparity-1);
+		alg.process(left,right,found);
+		assertEquals(-1,alg.getCountFull());
+	}
+
+	private DisparityScoreTemporal<GrayU8,GrayU8> createAlg() {
+		return new DisparityScoreTemporal<>(
+				scoreDisparitySadRect_U8(minDisparity,maxDisparity,2,2,selectDisparity_S32(-1,2,-1)));
+	}
+
+	private GrayU8 fullSearch() {
+		GrayU8 expected = new GrayU8(width,height);
+		GImageMiscOps.fill(expected,maxDisparity-minDisparity+1);
+		scoreDisparitySadRect_U8(minDisparity,maxDisparity,2,2,selectDisparity_S32(-1,2,-1)).
+				process(left,right,expected);
+		return expected;
+	}
+
+	/**
+	 * Fraction of pixels which have the same value, ignoring the border and pixels which can't see the
+	 * whole range. Right to left validation inside a tile considers fewer pixels, which causes small
+	 * differences around the occluded regions.
+	 */
+	private double fractionSame( GrayU8 a , GrayU8 b ) {
+		int total = 0, same = 0;
+		for (int y = 2; y < height-2; y++) {
+			for (int x = 2+maxDisparity; x < width-2; x++) {
+				total++;
+				if( a.get(x,y) == b.get(x,y) )
+					same++;
+			}
+		}
+		return same/(double)total;
+	}
+
+	/**
+	 * Fraction of pixels inside the object, away from its edges, which have the expected disparity
+	 */
+	private double fractionObject( GrayU8 found , int objectX , int objectDisparity ) {
+		int total = 0, correct = 0;
+		for (int y = 43; y < 67; y++) {
+			for (int x = objectX+3; x < objectX+27; x++) {
+				total++;
+				if( found.get(x,y) == objectDisparity-minDisparity )
+					correct++;
+			}
+		}
+		return correct/(double)total;
+	}
+
+	/**
+	 * Renders a scene with a background at a disparity of 12 and a square object in front of it.
+	 *
+	 * @param objectX Location of the object's left side in the left image. If &lt; 0 then there is no object.
+	 * @param objectDisparity Disparity of the object
+	 */
+	private void renderScene( int objectX , int objectDisparity ) {
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				left.set(x,y, x-12 >= 0 ? background.get(x-12,y) : 0);
+				right.set(x,y, background.get(x,y));
+			}
+		}
+		if( objectX < 0 )
+			return;
+		for (int y = 0; y < object.height; y++) {
+			for (int x = 0; x < object.width; x++) {
+				left.set(objectX+x,40+y,object.get(x,y));
+				right.set(objectX-objectDisparity+x,40+y,object.get(x,y));
+			}
+		}
+	}
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.impl;
+
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayS64;
+import boofcv.struct.image.GrayU8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplDisparityScoreHammingRect_S64 {
+
+	Random rand = new Random(234);
+
+	/**
+	 * Compare to a simplistic implementation of stereo disparity using the Hamming distance
+	 */
+	@Test
+	public void compareToNaive() {
+		int w = 20, h = 25;
+		GrayS64 left = new GrayS64(w,h);
+		GrayS64 right = new GrayS64(w,h);
+
+		for (int i = 0; i < left.data.length; i++) {
+			left.data[i] = rand.nextLong();
+			right.data[i] = rand.nextLong();
+		}
+
+		compareToNaive(left, right, 0, 10, 3, 2);
+		compareToNaive(left, right, 4, 10, 3, 2);
+		compareToNaive(BoofTesting.createSubImageOf(left), BoofTesting.createSubImageOf(right), 4, 10, 2, 3);
+	}
+
+	private void compareToNaive(GrayS64 left, GrayS64 right,
+								int minDisparity, int maxDisparity,
+								int radiusX, int radiusY)
+	{
+		int w = left.width;
+		int h = left.height;
+
+		ImplDisparityScoreHammingRect_S64<GrayU8> alg = new ImplDisparityScoreHammingRect_S64<>(
+				minDisparity,maxDisparity,radiusX,radiusY,new ImplSelectRectBasicWta_S32_U8());
+		StereoDisparityWtoNaive<GrayS64> naive =
+				new StereoDisparityWtoNaive<GrayS64>(minDisparity, maxDisparity, radiusX, radiusY) {
+					@Override
+					protected double computeScore(int leftX, int rightX, int centerY) {
+						int ret = 0;
+						for( int y = -radiusY; y <= radiusY; y++ ) {
+							for( int x = -radiusX; x <= radiusX; x++ ) {
+								long l = imageLeft.get(leftX+x,centerY+y);
+								long r = imageRight.get(rightX+x,centerY+y);
+								ret += Long.bitCount(l^r);
+							}
+						}
+						return ret;
+					}
+				};
+
+		GrayU8 found = new GrayU8(w,h);
+		GrayF32 expected = new GrayF32(w,h);
+
+		alg.process(left,right,found);
+		naive.process(left,right,expected);
+
+		BoofTesting.assertEquals(found, expected, 0);
+	}
+}
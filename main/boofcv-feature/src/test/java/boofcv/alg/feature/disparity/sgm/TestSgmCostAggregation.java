@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.sgm;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestSgmCostAggregation {
+
+	static final int[][] DIRECTIONS = new int[][]{
+			{1,0},{-1,0},{0,1},{0,-1},{1,1},{-1,-1},{-1,1},{1,-1}};
+
+	Random rand = new Random(234);
+	int width = 14, height = 11, rangeDisparity = 7;
+
+	/**
+	 * Compare against a straight forward implementation of the equations
+	 */
+	@Test
+	public void compareToNaive() {
+		short[] cost = randomCost(rand,width,height,rangeDisparity);
+
+		for (int paths : new int[]{1,2,4,8}) {
+			SgmCostAggregation alg = new SgmCostAggregation();
+			alg.setPathsConsidered(paths);
+			alg.setPenalties(150,1200);
+
+			short[] found = new short[cost.length];
+			alg.process(cost,width,height,rangeDisparity,found);
+
+			int[] expected = naive(cost,paths,150,1200);
+			for (int i = 0; i < expected.length; i++) {
+				assertEquals(expected[i], found[i] & 0xFFFF);
+			}
+		}
+	}
+
+	/**
+	 * Only the first width*height*range elements should be used. The output should be reset each time
+	 */
+	@Test
+	public void largerArraysAndMultipleCalls() {
+		short[] cost = randomCost(rand,width,height,rangeDisparity);
+		short[] larger = new short[cost.length+20];
+		System.arraycopy(cost,0,larger,0,cost.length);
+
+		SgmCostAggregation alg = new SgmCostAggregation();
+		short[] expected = new short[cost.length];
+		alg.process(cost,width,height,rangeDisparity,expected);
+
+		short[] found = new short[larger.length];
+		for (int trial = 0; trial < 2; trial++) {
+			alg.process(larger,width,height,rangeDisparity,found);
+			for (int i = 0; i < expected.length; i++) {
+				assertEquals(expected[i], found[i]);
+			}
+		}
+	}
+
+	/**
+	 * Penalties which can cause the 16-bit aggregated cost to overflow should be rejected
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void checkOverflow() {
+		SgmCostAggregation alg = new SgmCostAggregation();
+		alg.setPathsConsidered(8);
+		alg.setPenalties(200,7000);
+	}
+
+	/**
+	 * The volume of large images has more elements than an int can hold. Should be an error and not overflow.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void volumeTooLarge() {
+		SgmCostAggregation alg = new SgmCostAggregation();
+		alg.process(new short[10],4000,3000,200,new short[10]);
+	}
+
+	static short[] randomCost( Random rand , int width , int height , int rangeDisparity ) {
+		short[] cost = new short[width*height*rangeDisparity];
+		for (int i = 0; i < cost.length; i++) {
+			cost[i] = (short)rand.nextInt(SgmDisparityCost.MAX_COST+1);
+		}
+		return cost;
+	}
+
+	private int[] naive( short[] cost , int paths , int P1 , int P2 ) {
+		int D = rangeDisparity;
+		int[] sum = new int[cost.length];
+
+		for (int i = 0; i < paths; i++) {
+			int dx = DIRECTIONS[i][0], dy = DIRECTIONS[i][1];
+			int[] L = new int[cost.length];
+
+			// traverse the image so that the previous pixel along the path has already been computed
+			for (int iy = 0; iy < height; iy++) {
+				int y = dy >= 0 ? iy : height-1-iy;
+				for (int ix = 0; ix < width; ix++) {
+					int x = dx >= 0 ? ix : width-1-ix;
+					int px = x-dx, py = y-dy;
+					int index = (y*width+x)*D;
+
+					if( px < 0 || px >= width || py < 0 || py >= height ) {
+						for (int d = 0; d < D; d++)
+							L[index+d] = cost[index+d];
+						continue;
+					}
+
+					int prevIndex = (py*width+px)*D;
+					int minPrev = Integer.MAX_VALUE;
+					for (int d = 0; d < D; d++)
+						minPrev = Math.min(minPrev,L[prevIndex+d]);
+
+					for (int d = 0; d < D; d++) {
+						int best = L[prevIndex+d];
+						if( d > 0 )
+							best = Math.min(best,L[prevIndex+d-1]+P1);
+						if( d < D-1 )
+							best = Math.min(best,L[prevIndex+d+1]+P1);
+						best = Math.min(best,minPrev+P2);
+						L[index+d] = cost[index+d] + best - minPrev;
+					}
+				}
+			}
+
+			for (int j = 0; j < sum.length; j++) {
+				sum[j] += L[j];
+			}
+		}
+		return sum;
+	}
+}
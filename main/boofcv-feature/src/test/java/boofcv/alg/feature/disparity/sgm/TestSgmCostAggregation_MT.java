@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.sgm;
+
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestSgmCostAggregation_MT {
+
+	Random rand = new Random(234);
+	int width = 45, height = 38, rangeDisparity = 9;
+
+	@Test
+	public void compareToSingleThread() {
+		short[] cost = TestSgmCostAggregation.randomCost(rand,width,height,rangeDisparity);
+
+		for (int paths : new int[]{4,8}) {
+			SgmCostAggregation single = new SgmCostAggregation();
+			single.setPathsConsidered(paths);
+			short[] expected = new short[cost.length];
+			single.process(cost,width,height,rangeDisparity,expected);
+
+			BoofTesting.checkConcurrent(()->{
+				SgmCostAggregation_MT alg = new SgmCostAggregation_MT();
+				alg.setPathsConsidered(paths);
+
+				// process twice to make sure the workspace is reset
+				for (int trial = 0; trial < 2; trial++) {
+					short[] found = new short[cost.length];
+					alg.process(cost,width,height,rangeDisparity,found);
+					for (int i = 0; i < expected.length; i++) {
+						assertEquals(expected[i], found[i]);
+					}
+				}
+			});
+		}
+	}
+}
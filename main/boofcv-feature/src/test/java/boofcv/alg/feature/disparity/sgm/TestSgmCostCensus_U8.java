@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.sgm;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.alg.transform.census.CensusTransform;
+import boofcv.struct.image.GrayS32;
+import boofcv.struct.image.GrayU8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestSgmCostCensus_U8 {
+	Random rand = new Random(234);
+	int width = 20, height = 10;
+	int minDisparity = 2, rangeDisparity = 6;
+
+	@Test
+	public void computeRow() {
+		GrayU8 left = new GrayU8(width,height);
+		GrayU8 right = new GrayU8(width,height);
+		ImageMiscOps.fillUniform(left,rand,0,255);
+		ImageMiscOps.fillUniform(right,rand,0,255);
+
+		checkRow(left, right);
+		// sub-images should produce the same result
+		checkRow(BoofTesting.createSubImageOf(left), BoofTesting.createSubImageOf(right));
+	}
+
+	private void checkRow(GrayU8 left, GrayU8 right) {
+		GrayS32 censusLeft = CensusTransform.dense5x5(left,null);
+		GrayS32 censusRight = CensusTransform.dense5x5(right,null);
+
+		SgmCostCensus_U8 alg = new SgmCostCensus_U8();
+		alg.initialize(left,right,minDisparity,rangeDisparity);
+
+		int offset = 5;
+		int y = 4;
+		short[] cost = new short[offset+width*rangeDisparity];
+		alg.computeRow(y,cost,offset);
+
+		for (int x = 0; x < width; x++) {
+			for (int d = 0; d < rangeDisparity; d++) {
+				int xr = x-d-minDisparity;
+				int expected = xr < 0 ? SgmDisparityCost.MAX_COST :
+						Integer.bitCount(censusLeft.get(x,y)^censusRight.get(xr,y))*SgmDisparityCost.MAX_COST/24;
+				assertEquals(expected, cost[offset+x*rangeDisparity+d]);
+			}
+		}
+	}
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.sgm;
+
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestSgmDisparitySelector {
+	int width = 20;
+	int minDisparity = 2, rangeDisparity = 6;
+	int invalid = rangeDisparity+1;
+
+	/**
+	 * Each pixel has a clear minimum. See if it's selected and that pixels with no valid disparities are invalid
+	 */
+	@Test
+	public void selectBest() {
+		short[] aggregated = createAggregated(3);
+
+		SgmDisparitySelector alg = createAlg(-1,0);
+		GrayU8 disparity = new GrayU8(width,2);
+		alg.selectRow(aggregated,0,1,disparity);
+
+		for (int x = 0; x < width; x++) {
+			if( x < minDisparity )
+				assertEquals(invalid, disparity.get(x,1));
+			else if( x-minDisparity < 3 )
+				// the best disparity is outside the image so it picks the largest possible
+				assertEquals(x-minDisparity, disparity.get(x,1));
+			else
+				assertEquals(3, disparity.get(x,1));
+			// other rows are not modified
+			assertEquals(0, disparity.get(x,0));
+		}
+	}
+
+	/**
+	 * Make the solution ambiguous by adding a second minimum which isn't adjacent to the best
+	 */
+	@Test
+	public void uniqueness() {
+		short[] aggregated = createAggregated(3);
+		int x = 12;
+		aggregated[x*rangeDisparity+0] = 102;
+
+		GrayU8 disparity = new GrayU8(width,1);
+		createAlg(-1,0.05).selectRow(aggregated,0,0,disparity);
+		assertEquals(invalid, disparity.get(x,0));
+		assertEquals(3, disparity.get(x+1,0));
+
+		// with uniqueness turned off it should be accepted
+		createAlg(-1,0).selectRow(aggregated,0,0,disparity);
+		assertEquals(3, disparity.get(x,0));
+
+		// An adjacent disparity with a similar value shouldn't matter
+		aggregated = createAggregated(3);
+		aggregated[x*rangeDisparity+4] = 101;
+		createAlg(-1,0.05).selectRow(aggregated,0,0,disparity);
+		assertEquals(3, disparity.get(x,0));
+	}
+
+	/**
+	 * The right image pixel associated with a left pixel prefers a different left pixel
+	 */
+	@Test
+	public void rightToLeft() {
+		short[] aggregated = createAggregated(3);
+		// left pixel x=12 matches right pixel 12-3-2=7. Make right pixel 7 prefer left pixel 7+2+1=10 with d=1
+		int x = 12;
+		aggregated[10*rangeDisparity+1] = 10;
+
+		GrayU8 disparity = new GrayU8(width,1);
+		createAlg(1,0).selectRow(aggregated,0,0,disparity);
+		assertEquals(invalid, disparity.get(x,0));
+		// left pixel 10's best is d=1 and now agrees with the right image
+		assertEquals(1, disparity.get(10,0));
+
+		// increase the tolerance so that it's accepted
+		createAlg(2,0).selectRow(aggregated,0,0,disparity);
+		assertEquals(3, disparity.get(x,0));
+		// disabled
+		createAlg(-1,0).selectRow(aggregated,0,0,disparity);
+		assertEquals(3, disparity.get(x,0));
+	}
+
+	@Test
+	public void subpixel() {
+		short[] aggregated = createAggregated(3);
+		int x = 12;
+		aggregated[x*rangeDisparity+2] = 110;
+		aggregated[x*rangeDisparity+3] = 100;
+		aggregated[x*rangeDisparity+4] = 130;
+
+		GrayF32 disparity = new GrayF32(width,1);
+		createAlg(-1,0).selectRow(aggregated,0,0,disparity);
+
+		// minimum of parabola through the three points
+		float expected = 3 + (110-130)/(2.0f*(110-200+130));
+		assertEquals(expected, disparity.get(x,0), 1e-4f);
+		assertEquals(invalid, disparity.get(0,0), 1e-4f);
+	}
+
+	private SgmDisparitySelector createAlg( int rightToLeft , double uniqueness ) {
+		SgmDisparitySelector alg = new SgmDisparitySelector();
+		alg.setRightToLeftTolerance(rightToLeft);
+		alg.setUniqueness(uniqueness);
+		alg.configure(width,minDisparity,rangeDisparity);
+		return alg;
+	}
+
+	/**
+	 * Every pixel has a minimum at the specified disparity with cost increasing away from it
+	 */
+	private short[] createAggregated( int best ) {
+		short[] aggregated = new short[width*rangeDisparity];
+		Arrays.fill(aggregated,(short)1000);
+		for (int x = 0; x < width; x++) {
+			for (int d = 0; d < rangeDisparity; d++) {
+				aggregated[x*rangeDisparity+d] = (short)(100 + 50*Math.abs(d-best));
+			}
+		}
+		return aggregated;
+	}
+}
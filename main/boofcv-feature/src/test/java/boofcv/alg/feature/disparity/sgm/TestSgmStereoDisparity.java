@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.sgm;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestSgmStereoDisparity {
+
+	Random rand = new Random(234);
+
+	int width = 80, height = 60;
+	int minDisparity = 2, maxDisparity = 20;
+
+	GrayU8 left = new GrayU8(width,height);
+	GrayU8 right = new GrayU8(width,height);
+
+	/**
+	 * The scene is a plane with a constant disparity. Nearly every pixel should be correct.
+	 */
+	@Test
+	public void constantDisparity() {
+		createStereo(left,right,rand,8);
+
+		for( SgmDisparityCost<GrayU8> cost : costs() ) {
+			SgmStereoDisparity<GrayU8> alg =
+					new SgmStereoDisparity<>(cost,new SgmCostAggregation(),minDisparity,maxDisparity);
+			GrayU8 disparity = new GrayU8(width,height);
+			alg.process(left,right,disparity);
+
+			assertTrue(fractionCorrect(disparity,8-minDisparity) > 0.95);
+		}
+	}
+
+	/**
+	 * Sub-pixel disparity should be close to the integer disparity
+	 */
+	@Test
+	public void subpixel() {
+		createStereo(left,right,rand,8);
+
+		SgmStereoDisparity<GrayU8> alg =
+				new SgmStereoDisparity<>(new SgmCostCensus_U8(),new SgmCostAggregation(),minDisparity,maxDisparity);
+		GrayF32 disparity = new GrayF32(width,height);
+		alg.process(left,right,disparity);
+
+		int total = 0;
+		for (int y = 0; y < height; y++) {
+			for (int x = maxDisparity; x < width; x++) {
+				if( Math.abs(disparity.get(x,y)-(8-minDisparity)) <= 0.5 )
+					total++;
+			}
+		}
+		assertTrue(total/(double)(height*(width-maxDisparity)) > 0.95);
+	}
+
+	/**
+	 * Process in blocks of rows due to a memory limit. Should produce a very similar result
+	 */
+	@Test
+	public void memoryLimit() {
+		createStereo(left,right,rand,8);
+
+		SgmStereoDisparity<GrayU8> alg =
+				new SgmStereoDisparity<>(new SgmCostCensus_U8(),new SgmCostAggregation(),minDisparity,maxDisparity);
+		GrayU8 expected = new GrayU8(width,height);
+		alg.process(left,right,expected);
+
+		// enough memory for 20 rows, with 5 rows overlap that's 10 rows per block
+		alg = new SgmStereoDisparity<>(new SgmCostCensus_U8(),new SgmCostAggregation(),minDisparity,maxDisparity);
+		alg.setMemoryLimit(20*4*width*(maxDisparity-minDisparity));
+		alg.setBlockOverlap(5);
+		GrayU8 found = new GrayU8(width,height);
+		alg.process(left,right,found);
+
+		assertEquals(20*width*(maxDisparity-minDisparity), alg.cost.length);
+		assertTrue(fractionCorrect(found,8-minDisparity) > 0.95);
+
+		int same = 0;
+		for (int i = 0; i < expected.data.length; i++) {
+			if( expected.data[i] == found.data[i] )
+				same++;
+		}
+		assertTrue(same/(double)expected.data.length > 0.95);
+	}
+
+	/**
+	 * If the cost volume has more elements than an array can hold it should be processed in blocks even
+	 * without a memory limit
+	 */
+	@Test
+	public void arrayLimit() {
+		createStereo(left,right,rand,8);
+
+		SgmStereoDisparity<GrayU8> alg =
+				new SgmStereoDisparity<>(new SgmCostCensus_U8(),new SgmCostAggregation(),minDisparity,maxDisparity);
+		alg.maxArrayLength = 20*width*(maxDisparity-minDisparity)+5;
+		alg.setBlockOverlap(5);
+		GrayU8 found = new GrayU8(width,height);
+		alg.process(left,right,found);
+
+		assertEquals(20*width*(maxDisparity-minDisparity), alg.cost.length);
+		assertTrue(fractionCorrect(found,8-minDisparity) > 0.95);
+	}
+
+	/**
+	 * A single row which can't fit inside an array should be an error and not overflow
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void arrayLimit_rowTooLarge() {
+		SgmStereoDisparity<GrayU8> alg =
+				new SgmStereoDisparity<>(new SgmCostCensus_U8(),new SgmCostAggregation(),minDisparity,maxDisparity);
+		alg.maxArrayLength = width*(maxDisparity-minDisparity)-1;
+		alg.process(left,right,new GrayU8(width,height));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void memoryLimit_tooSmall() {
+		SgmStereoDisparity<GrayU8> alg =
+				new SgmStereoDisparity<>(new SgmCostCensus_U8(),new SgmCostAggregation(),minDisparity,maxDisparity);
+		alg.setMemoryLimit(10*4*width*(maxDisparity-minDisparity));
+		alg.setBlockOverlap(5);
+		alg.process(left,right,new GrayU8(width,height));
+	}
+
+	@Test
+	public void subimage() {
+		createStereo(left,right,rand,8);
+
+		SgmStereoDisparity<GrayU8> alg =
+				new SgmStereoDisparity<>(new SgmCostCensus_U8(),new SgmCostAggregation(),minDisparity,maxDisparity);
+		GrayU8 expected = new GrayU8(width,height);
+		alg.process(left,right,expected);
+
+		GrayU8 found = BoofTesting.createSubImageOf(expected);
+		ImageMiscOps.fill(found,0);
+		alg.process(BoofTesting.createSubImageOf(left),BoofTesting.createSubImageOf(right),found);
+		BoofTesting.assertEquals(expected,found,0);
+	}
+
+	private SgmDisparityCost<GrayU8>[] costs() {
+		return new SgmDisparityCost[]{new SgmCostCensus_U8(),new SgmCostAbsoluteDifference_U8()};
+	}
+
+	/**
+	 * Fraction of pixels which could be matched that have the expected disparity
+	 */
+	private double fractionCorrect( GrayU8 disparity , int expected ) {
+		int total = 0;
+		for (int y = 0; y < height; y++) {
+			for (int x = maxDisparity; x < width; x++) {
+				if( disparity.get(x,y) == expected )
+					total++;
+			}
+		}
+		return total/(double)(height*(width-maxDisparity));
+	}
+
+	/**
+	 * The right image is the left image shifted by a constant disparity
+	 */
+	static void createStereo( GrayU8 left , GrayU8 right , Random rand , int disparity ) {
+		ImageMiscOps.fillUniform(left,rand,0,255);
+		for (int y = 0; y < left.height; y++) {
+			for (int x = 0; x < left.width; x++) {
+				int value = x+disparity < left.width ? left.get(x+disparity,y) : rand.nextInt(255);
+				right.set(x,y,value);
+			}
+		}
+	}
+}
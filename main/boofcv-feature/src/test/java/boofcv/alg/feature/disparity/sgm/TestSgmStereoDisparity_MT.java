@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.sgm;
+
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageGray;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestSgmStereoDisparity_MT {
+
+	Random rand = new Random(234);
+
+	int width = 80, height = 60;
+	int minDisparity = 2, maxDisparity = 20;
+
+	@Test
+	public void compareToSingleThread() {
+		GrayU8 left = new GrayU8(width,height);
+		GrayU8 right = new GrayU8(width,height);
+		TestSgmStereoDisparity.createStereo(left,right,rand,8);
+
+		compareToSingleThread(left,right,new GrayU8(width,height),new GrayU8(width,height),0);
+		compareToSingleThread(left,right,new GrayF32(width,height),new GrayF32(width,height),0);
+		// memory limited mode
+		compareToSingleThread(left,right,new GrayU8(width,height),new GrayU8(width,height),
+				20*4*width*(maxDisparity-minDisparity));
+	}
+
+	private void compareToSingleThread( GrayU8 left , GrayU8 right ,
+										ImageGray expected , ImageGray found , long memoryLimit ) {
+		SgmStereoDisparity<GrayU8> single =
+				new SgmStereoDisparity<>(new SgmCostCensus_U8(),new SgmCostAggregation(),minDisparity,maxDisparity);
+		single.setMemoryLimit(memoryLimit);
+		single.setBlockOverlap(5);
+		single.process(left,right,expected);
+
+		BoofTesting.checkConcurrent(()->{
+			SgmStereoDisparity_MT<GrayU8> alg = new SgmStereoDisparity_MT<>(new SgmCostCensus_U8(),minDisparity,maxDisparity);
+			alg.setMemoryLimit(memoryLimit);
+			alg.setBlockOverlap(5);
+
+			// process twice to make sure the workspace is reset
+			for (int trial = 0; trial < 2; trial++) {
+				alg.process(left,right,found);
+				BoofTesting.assertEquals(expected,found,0);
+			}
+		});
+	}
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.feature;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestPackedTupleArray_B {
+
+	Random rand = new Random(234);
+
+	@Test
+	public void append_getCopy() {
+		for( int numBits : new int[]{32,40,64,512} ) {
+			PackedTupleArray_B alg = new PackedTupleArray_B(numBits);
+			TupleDesc_B[] expected = new TupleDesc_B[25];
+
+			for (int i = 0; i < expected.length; i++) {
+				expected[i] = new TupleDesc_B(numBits);
+				for (int j = 0; j < expected[i].data.length; j++) {
+					expected[i].data[j] = rand.nextInt();
+				}
+				alg.append(expected[i]);
+			}
+			assertEquals(expected.length, alg.size());
+
+			TupleDesc_B found = new TupleDesc_B(numBits);
+			for (int i = 0; i < expected.length; i++) {
+				alg.getCopy(i,found);
+				for (int j = 0; j < found.data.length; j++) {
+					assertEquals(expected[i].data[j], found.data[j]);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void isBitTrue() {
+		int N = 100;
+		TupleDesc_B desc = new TupleDesc_B(N);
+		for (int j = 0; j < desc.data.length; j++) {
+			desc.data[j] = rand.nextInt();
+		}
+
+		PackedTupleArray_B alg = new PackedTupleArray_B(N);
+		alg.append(new TupleDesc_B(N));
+		alg.append(desc);
+
+		for( int i = 0; i < N; i++ ) {
+			assertEquals(desc.isBitTrue(i),alg.isBitTrue(1,i));
+		}
+	}
+
+	@Test
+	public void reset_reserve() {
+		PackedTupleArray_B alg = new PackedTupleArray_B(128);
+		alg.reserve(30);
+		assertEquals(60, alg.data.length);
+		alg.append(new TupleDesc_B(128));
+		assertEquals(1, alg.size());
+		alg.reset();
+		assertEquals(0, alg.size());
+		assertEquals(60, alg.data.length);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void append_wrongSize() {
+		PackedTupleArray_B alg = new PackedTupleArray_B(128);
+		alg.append(new TupleDesc_B(64));
+	}
+}
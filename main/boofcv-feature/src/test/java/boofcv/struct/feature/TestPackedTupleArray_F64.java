@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.feature;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestPackedTupleArray_F64 {
+
+	Random rand = new Random(234);
+
+	@Test
+	public void append_getCopy() {
+		PackedTupleArray_F64 alg = new PackedTupleArray_F64(7);
+		TupleDesc_F64[] expected = new TupleDesc_F64[25];
+
+		for (int i = 0; i < expected.length; i++) {
+			expected[i] = new TupleDesc_F64(7);
+			for (int j = 0; j < 7; j++) {
+				expected[i].value[j] = rand.nextDouble();
+			}
+			alg.append(expected[i]);
+		}
+		assertEquals(expected.length, alg.size());
+
+		TupleDesc_F64 found = alg.createDescription();
+		for (int i = 0; i < expected.length; i++) {
+			alg.getCopy(i,found);
+			for (int j = 0; j < 7; j++) {
+				assertEquals(expected[i].value[j], found.value[j], 0);
+				assertEquals(expected[i].value[j], alg.get(i,j), 0);
+			}
+		}
+	}
+
+	@Test
+	public void reset_reserve() {
+		PackedTupleArray_F64 alg = new PackedTupleArray_F64(7);
+		alg.reserve(30);
+		assertEquals(210, alg.data.length);
+		alg.append(new TupleDesc_F64(7));
+		assertEquals(1, alg.size());
+		alg.reset();
+		assertEquals(0, alg.size());
+		assertEquals(210, alg.data.length);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void append_wrongSize() {
+		PackedTupleArray_F64 alg = new PackedTupleArray_F64(7);
+		alg.append(new TupleDesc_F64(6));
+	}
+}
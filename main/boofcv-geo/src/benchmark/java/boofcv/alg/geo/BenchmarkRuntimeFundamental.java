@@ -16,93 +16,74 @@
  * limitations under the License.
  */
 
+
 package boofcv.alg.geo;
 
 import boofcv.abst.geo.Estimate1ofEpipolar;
 import boofcv.factory.geo.EnumEssential;
 import boofcv.factory.geo.EnumFundamental;
 import boofcv.factory.geo.FactoryMultiView;
-import boofcv.misc.Performer;
-import boofcv.misc.ProfileOperation;
 import boofcv.struct.geo.AssociatedPair;
 import org.ejml.data.DMatrixRMaj;
+import org.openjdk.jmh.annotations.*;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author Peter Abeles
  */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value=1)
 public class BenchmarkRuntimeFundamental extends ArtificialStereoScene{
-	static final long TEST_TIME = 1000;
-	static final int NUM_POINTS = 500;
-	static final boolean FUNDAMENTAL = false;
+	@Param({"500"})
+	public int numPoints;
 
-	List<AssociatedPair> pairs8 = new ArrayList<>();
-	List<AssociatedPair> pairs7 = new ArrayList<>();
-	List<AssociatedPair> pairs6 = new ArrayList<>();
-	List<AssociatedPair> pairs5 = new ArrayList<>();
+	List<AssociatedPair> pairs8;
+	List<AssociatedPair> pairs6;
 
 	DMatrixRMaj found = new DMatrixRMaj(3,3);
 
-	public class Estimate implements Performer {
-
-		Estimate1ofEpipolar alg;
-		String name;
-		List<AssociatedPair> list;
-		
-		public Estimate( String name ,
-						 Estimate1ofEpipolar alg ,
-						 List<AssociatedPair> list )
-		{
-			this.alg = alg;
-			this.name = name;
-			this.list = list;
-		}
+	Estimate1ofEpipolar fundamental8 = FactoryMultiView.fundamental_1(EnumFundamental.LINEAR_8, 0);
+	Estimate1ofEpipolar fundamental7 = FactoryMultiView.fundamental_1(EnumFundamental.LINEAR_7, 1);
+	Estimate1ofEpipolar essential8 = FactoryMultiView.essential_1(EnumEssential.LINEAR_8, 0);
+	Estimate1ofEpipolar essential7 = FactoryMultiView.essential_1(EnumEssential.LINEAR_7, 1);
+	Estimate1ofEpipolar essential5 = FactoryMultiView.essential_1(EnumEssential.NISTER_5, 1);
 
-		@Override
-		public void process() {
-			alg.process(list, found);
-		}
+	@Setup
+	public void setup() {
+		init(numPoints,false,false);
 
-		@Override
-		public String getName() {
-			return name;
-		}
+		pairs6 = pairs.subList(0,6);
+		pairs8 = pairs.subList(0,8);
 	}
-	
-	public void runAll() {
-		System.out.println("=========  Profile numFeatures "+NUM_POINTS);
-		System.out.println();
-
-		init(NUM_POINTS,FUNDAMENTAL,false);
 
-		for( int i = 0; i < 5; i++ )
-			pairs5.add(pairs.get(i));
-		for( int i = 0; i < 6; i++ )
-			pairs6.add(pairs.get(i));
+	@Benchmark
+	public void fundamental_Linear8() {
+		fundamental8.process(pairs8, found);
+	}
 
-		for( int i = 0; i < 7; i++ ) {
-			pairs7.add(pairs.get(i));
-			pairs8.add(pairs.get(i));
-		}
-		pairs8.add(pairs.get(7));
+	@Benchmark
+	public void fundamental_Linear7() {
+		fundamental7.process(pairs8, found);
+	}
 
-		System.out.println("Minimum Number");
-		if( FUNDAMENTAL ) {
-			ProfileOperation.printOpsPerSec(new Estimate("Linear 8", FactoryMultiView.fundamental_1(EnumFundamental.LINEAR_8, 0),pairs8), TEST_TIME);
-			ProfileOperation.printOpsPerSec(new Estimate("Linear 7", FactoryMultiView.fundamental_1(EnumFundamental.LINEAR_7, 1),pairs8), TEST_TIME);
-		} else {
-			ProfileOperation.printOpsPerSec(new Estimate("Linear 8", FactoryMultiView.essential_1(EnumEssential.LINEAR_8, 0),pairs8), TEST_TIME);
-			ProfileOperation.printOpsPerSec(new Estimate("Linear 7", FactoryMultiView.essential_1(EnumEssential.LINEAR_7, 1),pairs8), TEST_TIME);
-			ProfileOperation.printOpsPerSec(new Estimate("Linear 5", FactoryMultiView.essential_1(EnumEssential.NISTER_5, 1),pairs6), TEST_TIME);
-		}
+	@Benchmark
+	public void essential_Linear8() {
+		essential8.process(pairs8, found);
+	}
 
+	@Benchmark
+	public void essential_Linear7() {
+		essential7.process(pairs8, found);
 	}
-	
-	public static void main( String args[] ) {
-		BenchmarkRuntimeFundamental alg = new BenchmarkRuntimeFundamental();
 
-		alg.runAll();
+	@Benchmark
+	public void essential_Nister5() {
+		essential5.process(pairs6, found);
 	}
 }
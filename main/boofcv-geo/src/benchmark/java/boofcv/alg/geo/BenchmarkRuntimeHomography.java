@@ -20,73 +20,63 @@ package boofcv.alg.geo;
 
 import boofcv.abst.geo.Estimate1ofEpipolar;
 import boofcv.factory.geo.FactoryMultiView;
-import boofcv.misc.Performer;
-import boofcv.misc.ProfileOperation;
 import boofcv.struct.geo.AssociatedPair;
 import org.ejml.data.DMatrixRMaj;
+import org.openjdk.jmh.annotations.*;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author Peter Abeles
  */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value=1)
 public class BenchmarkRuntimeHomography extends ArtificialStereoScene {
-	static final long TEST_TIME = 1000;
-	static final int NUM_POINTS = 500;
-	static final boolean PIXELS = true;
+	@Param({"500"})
+	public int numPoints;
 
-	List<AssociatedPair> pairs4 = new ArrayList<>();
+	List<AssociatedPair> pairs4;
 
 	DMatrixRMaj H = new DMatrixRMaj(3,3);
 
-	public class Estimate implements Performer {
+	Estimate1ofEpipolar dltNorm = FactoryMultiView.homographyDLT(true);
+	Estimate1ofEpipolar dltUnorm = FactoryMultiView.homographyDLT(false);
+	Estimate1ofEpipolar tls = FactoryMultiView.homographyTLS();
 
-		Estimate1ofEpipolar alg;
-		String name;
-		List<AssociatedPair> list;
-		
-		public Estimate( String name , Estimate1ofEpipolar alg , List<AssociatedPair> list ) {
-			this.alg = alg;
-			this.name = name;
-			this.list = list;
-		}
+	@Setup
+	public void setup() {
+		init(numPoints, true,true);
 
-		@Override
-		public void process() {
-			alg.process(list, H);
-		}
-
-		@Override
-		public String getName() {
-			return name;
-		}
+		pairs4 = pairs.subList(0,4);
 	}
-	
-	public void runAll() {
-		System.out.println("=========  Profile numFeatures "+NUM_POINTS);
-		System.out.println();
 
-		init(NUM_POINTS, PIXELS,true);
-		
-		for( int i = 0; i < 4; i++ ) {
-			pairs4.add(pairs.get(i));
-		}
+	@Benchmark
+	public void dltNorm_4() {
+		dltNorm.process(pairs4, H);
+	}
 
-		System.out.println("4 pairs");
-		ProfileOperation.printOpsPerSec(new Estimate("DLT Norm", FactoryMultiView.homographyDLT(true), pairs4), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new Estimate("DLT Unorm", FactoryMultiView.homographyDLT(false),pairs4), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new Estimate("TLS", FactoryMultiView.homographyTLS(),pairs4), TEST_TIME);
+	@Benchmark
+	public void dltUnorm_4() {
+		dltUnorm.process(pairs4, H);
+	}
 
-		System.out.println(pairs.size()+" pairs");
-		ProfileOperation.printOpsPerSec(new Estimate("DLT Norm", FactoryMultiView.homographyDLT(true),pairs), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new Estimate("TLS", FactoryMultiView.homographyTLS(),pairs), TEST_TIME);
+	@Benchmark
+	public void tls_4() {
+		tls.process(pairs4, H);
+	}
 
+	@Benchmark
+	public void dltNorm_All() {
+		dltNorm.process(pairs, H);
 	}
-	
-	public static void main( String args[] ) {
-		BenchmarkRuntimeHomography alg = new BenchmarkRuntimeHomography();
 
-		alg.runAll();
+	@Benchmark
+	public void tls_All() {
+		tls.process(pairs, H);
 	}
 }
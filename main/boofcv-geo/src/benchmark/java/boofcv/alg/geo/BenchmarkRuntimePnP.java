@@ -16,129 +16,72 @@
  * limitations under the License.
  */
 
+
 package boofcv.alg.geo;
 
 import boofcv.abst.geo.Estimate1ofPnP;
 import boofcv.alg.geo.pose.PnPLepetitEPnP;
-import boofcv.alg.geo.pose.PoseFromPairLinear6;
 import boofcv.factory.geo.EnumPNP;
 import boofcv.factory.geo.FactoryMultiView;
-import boofcv.misc.PerformerBase;
-import boofcv.misc.ProfileOperation;
 import boofcv.struct.geo.Point2D3D;
 import georegression.struct.se.Se3_F64;
+import org.openjdk.jmh.annotations.*;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author Peter Abeles
  */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value=1)
 public class BenchmarkRuntimePnP extends ArtificialStereoScene {
-	static final long TEST_TIME = 1000;
-	static final int NUM_POINTS = 200;
-	static final boolean FUNDAMENTAL = false;
+	@Param({"200"})
+	public int numPoints;
 
 	Se3_F64 found = new Se3_F64();
 
-	public class EPnP extends PerformerBase {
-
-		PnPLepetitEPnP alg;
-
-		public EPnP( int numIterations ) {
-			alg = new PnPLepetitEPnP();
-			alg.setNumIterations(numIterations);
-		}
-
-		@Override
-		public void process() {
-			alg.process(worldPoints,observationCurrent,found);
-		}
-	}
+	PnPLepetitEPnP epnp0 = new PnPLepetitEPnP();
+	PnPLepetitEPnP epnp5 = new PnPLepetitEPnP();
+	Estimate1ofPnP grunert = FactoryMultiView.pnp_1(EnumPNP.P3P_GRUNERT,-1,1);
+	Estimate1ofPnP finster = FactoryMultiView.pnp_1(EnumPNP.P3P_FINSTERWALDER,-1,1);
+	Estimate1ofPnP ippe = FactoryMultiView.pnp_1(EnumPNP.IPPE,-1,1);
 
-	public class InterfacePNP_Min extends PerformerBase {
+	List<Point2D3D> obsMin = new ArrayList<>();
 
-		Estimate1ofPnP alg;
-		String name;
+	@Setup
+	public void setup() {
+		init(numPoints, false, false);
 
-		List<Point2D3D> obs = new ArrayList<>();
+		epnp0.setNumIterations(0);
+		epnp5.setNumIterations(5);
 
-		public InterfacePNP_Min(String name , Estimate1ofPnP alg) {
-			this.alg = alg;
-			this.name = name;
-
-			for( int i = 0; i < alg.getMinimumPoints(); i++ )
-				obs.add(observationPose.get(i));
-		}
-
-		@Override
-		public void process() {
-			alg.process(obs,found);
-		}
-
-		@Override
-		public String getName() {
-			return name;
-		}
+		for( int i = 0; i < grunert.getMinimumPoints(); i++ )
+			obsMin.add(observationPose.get(i));
 	}
 
-	public class InterfacePNP extends PerformerBase {
-
-		Estimate1ofPnP alg;
-		String name;
-
-		public InterfacePNP(String name , Estimate1ofPnP alg) {
-			this.alg = alg;
-			this.name = name;
-		}
-
-		@Override
-		public void process() {
-			alg.process(observationPose,found);
-		}
-
-		@Override
-		public String getName() {
-			return name;
-		}
+	@Benchmark
+	public void EPnP_0() {
+		epnp0.process(worldPoints,observationCurrent,found);
 	}
 
-	public class PairLinear extends PerformerBase {
-
-		PoseFromPairLinear6 alg = new PoseFromPairLinear6();
-
-		@Override
-		public void process() {
-			alg.process(pairs,worldPoints);
-		}
+	@Benchmark
+	public void EPnP_5() {
+		epnp5.process(worldPoints,observationCurrent,found);
 	}
-	
-	public void runAll() {
-		System.out.println("=========  Profile numFeatures "+NUM_POINTS);
-		System.out.println();
-
-		boolean planar = false;
-		init(NUM_POINTS, FUNDAMENTAL, planar);
-
-		Estimate1ofPnP grunert = FactoryMultiView.pnp_1(EnumPNP.P3P_GRUNERT,-1,1);
-		Estimate1ofPnP finster = FactoryMultiView.pnp_1(EnumPNP.P3P_FINSTERWALDER,-1,1);
-		Estimate1ofPnP ippe = FactoryMultiView.pnp_1(EnumPNP.IPPE,-1,1);
-
-		ProfileOperation.printOpsPerSec(new EPnP(0), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new EPnP(5), TEST_TIME);
-//		ProfileOperation.printOpsPerSec(new PairLinear(), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new InterfacePNP_Min("grunert",grunert), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new InterfacePNP_Min("finster",finster), TEST_TIME);
-		if( planar )
-			ProfileOperation.printOpsPerSec(new InterfacePNP("IPPE",ippe), TEST_TIME);
 
-		System.out.println();
-		System.out.println("Done");
+	@Benchmark
+	public void Grunert() {
+		grunert.process(obsMin,found);
 	}
-	
-	public static void main( String args[] ) {
-		BenchmarkRuntimePnP alg = new BenchmarkRuntimePnP();
 
-		alg.runAll();
+	@Benchmark
+	public void Finsterwalder() {
+		finster.process(obsMin,found);
 	}
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -18,70 +18,62 @@
 
 package boofcv.alg.geo;
 
+import boofcv.abst.geo.Estimate1ofEpipolar;
 import boofcv.abst.geo.RefineEpipolar;
-import boofcv.misc.Performer;
+import boofcv.factory.geo.EnumFundamental;
+import boofcv.factory.geo.EpipolarError;
+import boofcv.factory.geo.FactoryMultiView;
 import org.ejml.data.DMatrixRMaj;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author Peter Abeles
  */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value=1)
 public class BenchmarkRuntimeRefineFundamental extends ArtificialStereoScene{
-	static final long TEST_TIME = 1000;
-	static final int NUM_POINTS = 500;
-	static final boolean FUNDAMENTAL = false;
-	
-	protected DMatrixRMaj initialF;
+	@Param({"500"})
+	public int numPoints;
 
-	public class Refine implements Performer {
+	double tol = 1e-16;
+	int MAX_ITER = 100;
 
-		RefineEpipolar alg;
-		String name;
-		DMatrixRMaj refinement = new DMatrixRMaj(3,3);
+	DMatrixRMaj initialF = new DMatrixRMaj(3,3);
+	DMatrixRMaj refinement = new DMatrixRMaj(3,3);
 
-		public Refine( String name , RefineEpipolar alg) {
-			this.alg = alg;
-			this.name = name;
-		}
+	RefineEpipolar sampson = FactoryMultiView.fundamentalRefine(tol, MAX_ITER, EpipolarError.SAMPSON);
+	RefineEpipolar simple = FactoryMultiView.fundamentalRefine(tol, MAX_ITER, EpipolarError.SIMPLE);
+	RefineEpipolar quasiNewton = new QuasiNewtonFundamentalSampson(tol,MAX_ITER);
 
-		@Override
-		public void process() {
-			alg.fitModel(pairs, initialF, refinement);
-		}
+	@Setup
+	public void setup() {
+		init(numPoints,false,false);
 
-		@Override
-		public String getName() {
-			return name;
-		}
+		Estimate1ofEpipolar computeAlg = FactoryMultiView.fundamental_1(EnumFundamental.LINEAR_8, 0);
+		computeAlg.process(pairs,initialF);
+		initialF.data[0] += 0.1;
+		initialF.data[4] -= 0.15;
+		initialF.data[7] -= 0.2;
 	}
-	
-	public void runAll() {
-		System.out.println("=========  Profile numFeatures "+NUM_POINTS);
-		System.out.println();
-
-		double tol = 1e-16;
-		int MAX_ITER = 100;
 
-		init(NUM_POINTS,FUNDAMENTAL,false);
+	@Benchmark
+	public void lsSampson() {
+		sampson.fitModel(pairs, initialF, refinement);
+	}
 
-//		EpipolarMatrixEstimator computeAlg =
-//				FUNDAMENTAL ? FactoryMultiView.computeFundamental(8) : FactoryMultiView.computeEssential(8);
-//		computeAlg.process(pairs);
-//		initialF = computeAlg.getEpipolarMatrix();
-//		initialF.data[0] += 0.1;
-//		initialF.data[4] -= 0.15;
-//		initialF.data[7] -= 0.2;
-//
-//		ProfileOperation.printOpsPerSec(new Refine("LS Sampson",refineFundamental(tol, MAX_ITER, EpipolarError.SAMPSON)), TEST_TIME);
-//		ProfileOperation.printOpsPerSec(new Refine("LS Simple",refineFundamental(tol, MAX_ITER, EpipolarError.SIMPLE)), TEST_TIME);
-//		ProfileOperation.printOpsPerSec(new Refine("QN Sampson",new QuasiNewtonFundamentalSampson(tol,MAX_ITER)), TEST_TIME);
-//
-//		System.out.println();
-//		System.out.println("Done");
+	@Benchmark
+	public void lsSimple() {
+		simple.fitModel(pairs, initialF, refinement);
 	}
-	
-	public static void main( String args[] ) {
-		BenchmarkRuntimeRefineFundamental alg = new BenchmarkRuntimeRefineFundamental();
 
-		alg.runAll();
+	@Benchmark
+	public void qnSampson() {
+		quasiNewton.fitModel(pairs, initialF, refinement);
 	}
 }
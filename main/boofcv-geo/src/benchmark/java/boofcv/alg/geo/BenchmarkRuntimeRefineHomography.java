@@ -19,88 +19,61 @@
 package boofcv.alg.geo;
 
 import boofcv.abst.geo.Estimate1ofEpipolar;
+import boofcv.abst.geo.RefineEpipolar;
 import boofcv.alg.geo.h.HomographyDirectLinearTransform;
 import boofcv.factory.geo.EpipolarError;
 import boofcv.factory.geo.FactoryMultiView;
-import boofcv.misc.Performer;
-import boofcv.misc.PerformerBase;
-import boofcv.misc.ProfileOperation;
-import boofcv.struct.geo.AssociatedPair;
-import org.ddogleg.fitting.modelset.ModelFitter;
 import org.ejml.data.DMatrixRMaj;
+import org.openjdk.jmh.annotations.*;
 
-import static boofcv.factory.geo.FactoryMultiView.homographyRefine;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author Peter Abeles
  */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value=1)
 public class BenchmarkRuntimeRefineHomography extends ArtificialStereoScene{
-	static final long TEST_TIME = 1000;
-	static final int NUM_POINTS = 500;
-	static final boolean PIXELS = false;
-	
-	protected DMatrixRMaj H = new DMatrixRMaj(3,3);
-	DMatrixRMaj refinedF = new DMatrixRMaj(3,3);
-
-	public class Refine implements Performer {
-
-		ModelFitter<DMatrixRMaj,AssociatedPair> alg;
-		String name;
-
-		public Refine(String name , ModelFitter<DMatrixRMaj,AssociatedPair> alg) {
-			this.name = name;
-			this.alg = alg;
-		}
-
-		@Override
-		public void process() {
-			alg.fitModel(pairs, H, refinedF);
-		}
-
-		@Override
-		public String getName() {
-			return name;
-		}
-	}
+	@Param({"500"})
+	public int numPoints;
 
-	public class Linear4 extends PerformerBase {
+	double tol = 1e-16;
+	int MAX_ITER = 200;
 
-		HomographyDirectLinearTransform alg = new HomographyDirectLinearTransform(true);
-
-		@Override
-		public void process() {
-			alg.process(pairs,refinedF);
-		}
-	}
-	
-	public void runAll() {
-		System.out.println("=========  Profile numFeatures "+NUM_POINTS);
-		System.out.println();
+	DMatrixRMaj H = new DMatrixRMaj(3,3);
+	DMatrixRMaj refinedF = new DMatrixRMaj(3,3);
 
-		double tol = 1e-16;
-		int MAX_ITER = 200;
+	RefineEpipolar simple = FactoryMultiView.homographyRefine(tol, MAX_ITER, EpipolarError.SIMPLE);
+	RefineEpipolar sampson = FactoryMultiView.homographyRefine(tol, MAX_ITER, EpipolarError.SAMPSON);
+	HomographyDirectLinearTransform linear = new HomographyDirectLinearTransform(true);
 
-		init(NUM_POINTS, PIXELS, true);
+	@Setup
+	public void setup() {
+		init(numPoints, false, true);
 
 		Estimate1ofEpipolar computeAlg = FactoryMultiView.homographyDLT(true);
 		computeAlg.process(pairs, H);
 		H.data[0] += 0.1;
 		H.data[4] -= 0.15;
 		H.data[7] -= 0.2;
+	}
 
+	@Benchmark
+	public void simple() {
+		simple.fitModel(pairs, H, refinedF);
+	}
 
-		ProfileOperation.printOpsPerSec(new Refine("Simple", homographyRefine(tol, MAX_ITER, EpipolarError.SIMPLE)), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new Refine("Sampson", homographyRefine(tol, MAX_ITER, EpipolarError.SAMPSON)), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new Linear4(), TEST_TIME);
-
-		
-		System.out.println();
-		System.out.println("Done");
+	@Benchmark
+	public void sampson() {
+		sampson.fitModel(pairs, H, refinedF);
 	}
-	
-	public static void main( String args[] ) {
-		BenchmarkRuntimeRefineHomography alg = new BenchmarkRuntimeRefineHomography();
 
-		alg.runAll();
+	@Benchmark
+	public void linear() {
+		linear.process(pairs,refinedF);
 	}
 }
@@ -21,84 +21,54 @@ package boofcv.alg.geo;
 import boofcv.alg.geo.triangulate.PixelDepthLinear;
 import boofcv.alg.geo.triangulate.TriangulateCalibratedLinearDLT;
 import boofcv.alg.geo.triangulate.TriangulateGeometric;
-import boofcv.misc.PerformerBase;
-import boofcv.misc.ProfileOperation;
 import georegression.struct.point.Point3D_F64;
 import georegression.struct.point.Point4D_F64;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author Peter Abeles
  */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value=1)
 public class BenchmarkRuntimeTriangulate extends ArtificialStereoScene {
-	static final long TEST_TIME = 1000;
-	static final int NUM_POINTS = 500;
-	static final boolean FUNDAMENTAL = false;
-
-	public class DLT2 extends PerformerBase {
+	@Param({"500"})
+	public int numPoints;
 
-		TriangulateCalibratedLinearDLT alg;
-		Point4D_F64 found = new Point4D_F64();
+	TriangulateCalibratedLinearDLT dlt = new TriangulateCalibratedLinearDLT();
+	TriangulateGeometric geometric = new TriangulateGeometric();
+	PixelDepthLinear pixelDepth = new PixelDepthLinear();
 
-		public DLT2() {
-			alg = new TriangulateCalibratedLinearDLT();
-		}
+	Point4D_F64 found4 = new Point4D_F64();
+	Point3D_F64 found3 = new Point3D_F64();
 
-		@Override
-		public void process() {
-			for( int i = 0; i < NUM_POINTS; i++ )
-				alg.triangulate(pairs.get(i).p1,pairs.get(i).p2,motion,found);
-		}
+	@Setup
+	public void setup() {
+		init(numPoints,false,false);
 	}
 
-	public class Geo2 extends PerformerBase {
-
-		TriangulateGeometric alg;
-		Point3D_F64 found = new Point3D_F64();
-
-		public Geo2() {
-			alg = new TriangulateGeometric();
-		}
-
-		@Override
-		public void process() {
-			for( int i = 0; i < NUM_POINTS; i++ )
-				alg.triangulate(pairs.get(i).p1,pairs.get(i).p2,motion,found);
-		}
+	@Benchmark
+	public void dlt2() {
+		for( int i = 0; i < numPoints; i++ )
+			dlt.triangulate(pairs.get(i).p1,pairs.get(i).p2,motion,found4);
 	}
 
-	public class PixelDepth extends PerformerBase {
-
-		PixelDepthLinear alg;
-
-		public PixelDepth() {
-			alg = new PixelDepthLinear();
-		}
-
-		@Override
-		public void process() {
-			for( int i = 0; i < NUM_POINTS; i++ )
-				alg.depth2View(pairs.get(i).p1,pairs.get(i).p2,motion);
-		}
-	}
-
-	
-	public void runAll() {
-		System.out.println("=========  Profile numFeatures "+NUM_POINTS);
-		System.out.println();
-
-		init(NUM_POINTS,FUNDAMENTAL,false);
-
-		ProfileOperation.printOpsPerSec(new DLT2(), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new Geo2(), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new PixelDepth(), TEST_TIME);
-
-		System.out.println();
-		System.out.println("Done");
+	@Benchmark
+	public void geo2() {
+		for( int i = 0; i < numPoints; i++ )
+			geometric.triangulate(pairs.get(i).p1,pairs.get(i).p2,motion,found3);
 	}
-	
-	public static void main( String args[] ) {
-		BenchmarkRuntimeTriangulate alg = new BenchmarkRuntimeTriangulate();
 
-		alg.runAll();
+	@Benchmark
+	public double pixelDepth() {
+		double total = 0;
+		for( int i = 0; i < numPoints; i++ )
+			total += pixelDepth.depth2View(pairs.get(i).p1,pairs.get(i).p2,motion);
+		return total;
 	}
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -19,128 +19,98 @@
 package boofcv.io.image;
 
 import boofcv.alg.misc.GImageMiscOps;
-import boofcv.misc.PerformerBase;
-import boofcv.misc.ProfileOperation;
 import boofcv.struct.image.GrayU8;
-import boofcv.struct.image.ImageBase;
 import boofcv.struct.image.Planar;
+import org.openjdk.jmh.annotations.*;
 
 import java.awt.image.BufferedImage;
 import java.util.Random;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Benchmarks related to converting to and from BufferedImage.
  * 
  * @author Peter Abeles
  */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value=1)
 public class BenchmarkConvertBufferedImage {
-	static Random rand = new Random(342543);
-
-	static int imgWidth = 640;
-	static int imgHeight = 480;
-
-	static BufferedImage imgBuff;
-	static GrayU8 imgInt8;
-	static Planar<GrayU8> multiInt8;
-	
-	static ImageBase boofImg;
-
-	public static class FromBuffToBoof extends PerformerBase
-	{
-		@Override
-		public void process() {
-			ConvertBufferedImage.convertFrom(imgBuff,boofImg,true);
-		}
-	}
 
-	public static class FromBoofToBuff extends PerformerBase
-	{
-		@Override
-		public void process() {
-			ConvertBufferedImage.convertTo(boofImg,imgBuff,true);
-		}
-	}
+	@Param({"TYPE_3BYTE_BGR", "TYPE_INT_RGB", "TYPE_BYTE_GRAY"})
+	public String bufferedType;
 
-	public static class FromInt8ToGenericBuff extends PerformerBase
-	{
-		@Override
-		public void process() {
-			ConvertRaster.grayToBuffered(imgInt8,imgBuff);
-		}
-	}
+	int imgWidth = 640;
+	int imgHeight = 480;
 
-	public static class ExtractImageInt8 extends PerformerBase
-	{
-		@Override
-		public void process() {
-			ConvertBufferedImage.extractGrayU8(imgBuff);
-		}
-	}
+	BufferedImage imgBuff;
+	BufferedImage imgBuffGray;
+	GrayU8 imgInt8 = new GrayU8(imgWidth,imgHeight);
+	Planar<GrayU8> multiInt8;
 
-	public static class ExtractBuffered extends PerformerBase
-	{
-		@Override
-		public void process() {
-			ConvertBufferedImage.extractBuffered(imgInt8);
-		}
+	@Setup
+	public void setup() throws Exception {
+		Random rand = new Random(342543);
+
+		int type = BufferedImage.class.getField(bufferedType).getInt(null);
+		imgBuff = createBufferedImage(type, rand);
+		imgBuffGray = createBufferedImage(BufferedImage.TYPE_BYTE_GRAY, rand);
+
+		// planar image needs to have the same number of bands as the buffered image
+		int numBands = imgBuff.getRaster().getNumBands();
+		multiInt8 = new Planar<>(GrayU8.class,imgWidth,imgHeight,numBands);
+
+		GImageMiscOps.fillUniform(imgInt8, rand, 0, 100);
+		GImageMiscOps.fillUniform(multiInt8, rand, 0, 100);
 	}
 
-	public static void createBufferedImage( int type ) {
-		imgBuff = new BufferedImage(imgWidth,imgHeight,type);
+	private BufferedImage createBufferedImage( int type , Random rand ) {
+		BufferedImage img = new BufferedImage(imgWidth,imgHeight,type);
 
 		// randomize it to prevent some pathological condition
 		for( int i = 0; i < imgHeight; i++ ) {
 			for( int j = 0; j < imgWidth; j++ ) {
-				imgBuff.setRGB(j,i,rand.nextInt());
+				img.setRGB(j,i,rand.nextInt());
 			}
 		}
+		return img;
 	}
 
-	public static void evaluateConvert( ImageBase image , String name )
-	{
-		boofImg = image;
-		System.out.printf("Buffered to %s  %10.2f ops/sec\n",name,
-				ProfileOperation.profileOpsPerSec(new FromBuffToBoof(),1000, false));
-		System.out.printf("%s to Buffered  %10.2f ops/sec\n",name,
-				ProfileOperation.profileOpsPerSec(new FromBoofToBuff(),1000, false));
+	@Benchmark
+	public void bufferedToGray() {
+		ConvertBufferedImage.convertFrom(imgBuff,imgInt8,true);
+	}
 
+	@Benchmark
+	public void grayToBuffered() {
+		ConvertBufferedImage.convertTo(imgInt8,imgBuff,true);
 	}
-	
-	public static void main( String args[] ) {
-		imgInt8 = new GrayU8(imgWidth,imgHeight);
-		multiInt8 = new Planar<>(GrayU8.class,imgWidth,imgHeight,3);
-		
-		GImageMiscOps.fillUniform(imgInt8, rand, 0, 100);
-		for( int i = 0; i < multiInt8.getNumBands(); i++ )
-			GImageMiscOps.fillUniform(multiInt8.getBand(0), rand, 0, 100);
-
-		System.out.println("=========  Profiling for GrayU8 ==========");
-		System.out.println();
-
-		createBufferedImage(BufferedImage.TYPE_3BYTE_BGR);
-		System.out.println("------- BufferedImage RGB interface ---------- ");
-		System.out.printf("BufferedImage to GrayU8   %10.2f ops/sec\n",
-				ProfileOperation.profileOpsPerSec(new FromInt8ToGenericBuff(),1000, false));
-		System.out.println("---- TYPE_3BYTE_BGR ----");
-		evaluateConvert(imgInt8,"GrayU8");
-		evaluateConvert(multiInt8,"Planar_U8");
-
-		System.out.println("---- TYPE_INT_RGB ----");
-		createBufferedImage(BufferedImage.TYPE_INT_RGB);
-		evaluateConvert(imgInt8,"GrayU8");
-		evaluateConvert(multiInt8,"Planar_U8");
-
-		System.out.println("---- TYPE_BYTE_GRAY ----");
-		createBufferedImage(BufferedImage.TYPE_BYTE_GRAY);
-		evaluateConvert(imgInt8,"GrayU8");
-
-		System.out.printf("extractImageInt8             %10.2f ops/sec\n",
-				ProfileOperation.profileOpsPerSec(new ExtractImageInt8(),1000, false));
-		System.out.printf("extractBuffered              %10.2f ops/sec\n",
-				ProfileOperation.profileOpsPerSec(new ExtractBuffered(),1000, false));
-
-		System.out.println();
-		System.out.println("=========  Profiling for ImageInterleavedInt8 ==========");
-		System.out.println();
+
+	@Benchmark
+	public void bufferedToPlanar() {
+		ConvertBufferedImage.convertFrom(imgBuff,multiInt8,true);
+	}
+
+	@Benchmark
+	public void planarToBuffered() {
+		ConvertBufferedImage.convertTo(multiInt8,imgBuff,true);
+	}
+
+	@Benchmark
+	public void grayToGenericBuffered() {
+		ConvertRaster.grayToBuffered(imgInt8,imgBuff);
+	}
+
+	@Benchmark
+	public GrayU8 extractGrayU8() {
+		return ConvertBufferedImage.extractGrayU8(imgBuffGray);
+	}
+
+	@Benchmark
+	public BufferedImage extractBuffered() {
+		return ConvertBufferedImage.extractBuffered(imgInt8);
 	}
 }
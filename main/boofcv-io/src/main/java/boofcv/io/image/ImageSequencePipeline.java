@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.io.image;
+
+import boofcv.struct.image.ImageBase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * <p>
+ * Processes a {@link SimpleImageSequence} as a pipeline. A producer thread reads frames ahead of time into a fixed
+ * size ring of recycled {@link Frame frames}. Each stage runs in its own thread and sees every frame in the same
+ * order it was read, so stages can be stateful, e.g. a tracker. Since all the stages run at the same time the
+ * throughput is limited by the slowest stage instead of the sum of all the stages.
+ * </p>
+ *
+ * <p>
+ * The last stage is the sink and is run on the thread which called {@link #process}. Once the sink is done with a
+ * frame it is returned to the ring and will be filled with a new image. Stages must not save references to
+ * a frame or its image. Only the image returned by {@link SimpleImageSequence#next()} is copied.
+ * </p>
+ *
+ * @param <T> Type of image in the sequence
+ * @param <D> Type of user data attached to each frame. Used to pass results from one stage to the next.
+ *
+ * @author Peter Abeles
+ */
+public class ImageSequencePipeline<T extends ImageBase<T>, D> {
+
+	// number of frames in the ring
+	private final int bufferSize;
+	// creates the user data attached to each frame. Can be null.
+	private final DataFactory<D> factory;
+
+	// stages in the order they process each frame. The last one is the sink
+	private final List<Stage<T,D>> stages = new ArrayList<>();
+
+	// marks the end of the sequence
+	private final Frame<T,D> end = new Frame<>();
+
+	// the first exception thrown by the reader or any stage
+	private volatile Throwable error;
+	// signals the reader that it should stop early
+	private volatile boolean stopRequested;
+
+	private final List<Thread> threads = new ArrayList<>();
+
+	/**
+	 * Creates the pipeline.
+	 *
+	 * @param bufferSize Number of frames which can be in the pipeline at once. Must be at least the number of stages
+	 *                   for all the stages to be busy at the same time.
+	 * @param factory Creates the user data attached to each frame. If null the data will be null.
+	 */
+	public ImageSequencePipeline( int bufferSize , DataFactory<D> factory ) {
+		if( bufferSize < 1 )
+			throw new IllegalArgumentException("bufferSize must be at least 1");
+		this.bufferSize = bufferSize;
+		this.factory = factory;
+	}
+
+	public ImageSequencePipeline( int bufferSize ) {
+		this(bufferSize, null);
+	}
+
+	/**
+	 * Adds a stage to the end of the pipeline. The last stage added is the sink.
+	 */
+	public ImageSequencePipeline<T,D> addStage( Stage<T,D> stage ) {
+		stages.add(stage);
+		return this;
+	}
+
+	/**
+	 * Processes every frame in the sequence. Blocks until all the frames have been passed to the sink,
+	 * {@link #stop()} has been called, or a stage threw an exception. If a stage throws an exception then
+	 * it is rethrown here.
+	 *
+	 * @param sequence The image sequence. Only accessed by the reader thread.
+	 * @return Number of frames which were processed by the sink
+	 */
+	public int process( final SimpleImageSequence<T> sequence ) {
+		if( stages.isEmpty() )
+			throw new IllegalArgumentException("Add at least one stage");
+
+		error = null;
+		stopRequested = false;
+		threads.clear();
+
+		// recycled frames waiting to be filled by the reader
+		final BlockingQueue<Frame<T,D>> available = new ArrayBlockingQueue<>(bufferSize);
+		for (int i = 0; i < bufferSize; i++) {
+			Frame<T,D> f = new Frame<>();
+			f.image = sequence.getImageType().createImage(1,1);
+			f.data = factory == null ? null : factory.create();
+			available.add(f);
+		}
+
+		// queue into each stage. Bounded by the number of frames in the ring
+		final List<BlockingQueue<Frame<T,D>>> queues = new ArrayList<>();
+		for (int i = 0; i < stages.size(); i++) {
+			queues.add(new LinkedBlockingQueue<>());
+		}
+		final BlockingQueue<Frame<T,D>> sinkQueue = queues.get(queues.size()-1);
+
+		threads.add(new Thread(() -> {
+			try {
+				int count = 0;
+				while( !stopRequested && sequence.hasNext() ) {
+					Frame<T,D> f = available.take();
+					T image = sequence.next();
+					f.image.setTo(image);
+					f.frameNumber = sequence.getFrameNumber();
+					f.index = count++;
+					queues.get(0).put(f);
+				}
+				queues.get(0).put(end);
+			} catch( InterruptedException ignore ) {
+			} catch( Throwable t ) {
+				abort(t, sinkQueue);
+			}
+		},"ImageSequencePipeline reader"));
+
+		for (int i = 0; i < stages.size()-1; i++) {
+			final Stage<T,D> stage = stages.get(i);
+			final BlockingQueue<Frame<T,D>> input = queues.get(i);
+			final BlockingQueue<Frame<T,D>> output = queues.get(i+1);
+			threads.add(new Thread(() -> {
+				try {
+					while( true ) {
+						Frame<T,D> f = input.take();
+						if( f != end )
+							stage.process(f);
+						output.put(f);
+						if( f == end )
+							break;
+					}
+				} catch( InterruptedException ignore ) {
+				} catch( Throwable t ) {
+					abort(t, sinkQueue);
+				}
+			},"ImageSequencePipeline stage "+i));
+		}
+
+		for( Thread t : threads ) {
+			t.setDaemon(true);
+			t.start();
+		}
+
+		// the sink is run on the caller's thread
+		Stage<T,D> sink = stages.get(stages.size()-1);
+		int total = 0;
+		try {
+			while( true ) {
+				Frame<T,D> f = sinkQueue.take();
+				if( f == end || error != null )
+					break;
+				sink.process(f);
+				total++;
+				available.put(f);
+			}
+		} catch( InterruptedException e ) {
+			Thread.currentThread().interrupt();
+			error = e;
+		} catch( RuntimeException e ) {
+			error = e;
+		} finally {
+			stopRequested = true;
+			for( Thread t : threads ) {
+				t.interrupt();
+			}
+			for( Thread t : threads ) {
+				try {
+					t.join();
+				} catch (InterruptedException ignore) {}
+			}
+			threads.clear();
+		}
+
+		if( error != null ) {
+			if( error instanceof RuntimeException )
+				throw (RuntimeException)error;
+			throw new RuntimeException(error);
+		}
+		return total;
+	}
+
+	/**
+	 * Requests that the reader stop reading new frames. Frames already read will still be processed.
+	 * Can be called from any thread, including inside a stage.
+	 */
+	public void stop() {
+		stopRequested = true;
+	}
+
+	/**
+	 * Saves the first error and wakes up the sink so that it exits
+	 */
+	private synchronized void abort( Throwable t , BlockingQueue<Frame<T,D>> sinkQueue ) {
+		if( error == null )
+			error = t;
+		sinkQueue.add(end);
+	}
+
+	public int getBufferSize() {
+		return bufferSize;
+	}
+
+	public int getNumberOfStages() {
+		return stages.size();
+	}
+
+	/**
+	 * A single frame in the pipeline. Frames and their images and data are recycled.
+	 */
+	public static class Frame<T extends ImageBase<T>, D> {
+		/** Copy of the image read from the sequence */
+		public T image;
+		/** User data which is passed between stages */
+		public D data;
+		/** The sequence's frame number for this image */
+		public int frameNumber;
+		/** Order the frame was read in by the pipeline, starting at zero */
+		public int index;
+	}
+
+	/**
+	 * Processes a frame. Each stage is invoked by a single thread and sees frames in the order they were read.
+	 */
+	public interface Stage<T extends ImageBase<T>, D> {
+		void process( Frame<T,D> frame );
+	}
+
+	/**
+	 * Creates the user data for each frame in the ring
+	 */
+	public interface DataFactory<D> {
+		D create();
+	}
+}
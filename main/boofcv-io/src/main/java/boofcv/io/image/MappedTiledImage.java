@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.io.image;
+
+import boofcv.struct.image.*;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.*;
+import java.nio.channels.FileChannel;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>
+ * Single band image which is stored in a file and broken up into tiles, allowing images with far more pixels than
+ * can fit in memory or inside a single array to be processed. Each tile is memory mapped when it's first
+ * accessed so only the parts of the image being used need to be in RAM. At most {@link #getMaxMappedTiles()}
+ * tiles are kept mapped. When that limit is exceeded the least recently used tile is discarded and its
+ * mapping is released by the garbage collector. Regions are copied in and out of regular
+ * images using {@link #read} and {@link #write}. See {@link TiledImageOps} for processing the image one
+ * tile at a time.
+ * </p>
+ *
+ * <p>
+ * The file is a raw array of tiles in row-major order. Inside a tile pixels are also in row-major order and use the
+ * platform's native byte order. Tiles along the right and bottom edges are full sized and padded. The file has
+ * no header, so it must be opened with the same shape and type it was created with.
+ * </p>
+ *
+ * <p>NOTE: Not thread safe.</p>
+ *
+ * @author Peter Abeles
+ */
+public class MappedTiledImage<T extends ImageGray<T>> implements Closeable {
+
+	// shape of the image
+	int width, height;
+	// shape of each tile
+	int tileWidth, tileHeight;
+	// number of tiles along each axis
+	int numTileCols, numTileRows;
+
+	ImageType<T> imageType;
+	ImageDataType dataType;
+	// number of bytes in a single tile
+	int tileBytes;
+
+	RandomAccessFile file;
+	FileChannel channel;
+
+	// total number of tiles in the image
+	int numTiles;
+	// maximum number of tiles which are kept mapped at once
+	int maxMappedTiles;
+	// Tiles which have been mapped, in least recently used order. Contains a view of the data using the
+	// image's primitive type
+	Map<Integer,Buffer> tiles = new LinkedHashMap<Integer,Buffer>(16,0.75f,true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Integer, Buffer> eldest) {
+			return size() > maxMappedTiles;
+		}
+	};
+
+	/**
+	 * Opens the file or creates it if it doesn't exist. Up to 64 tiles are kept mapped.
+	 *
+	 * @see #MappedTiledImage(File, Class, int, int, int, int, int)
+	 */
+	public MappedTiledImage( File file , Class<T> imageType ,
+							 int width , int height , int tileWidth , int tileHeight ) throws IOException {
+		this(file, imageType, width, height, tileWidth, tileHeight, 64);
+	}
+
+	/**
+	 * Opens the file or creates it if it doesn't exist.
+	 *
+	 * @param file File the image is stored in
+	 * @param imageType Type of gray scale image
+	 * @param width Image width
+	 * @param height Image height
+	 * @param tileWidth Width of a tile
+	 * @param tileHeight Height of a tile
+	 * @param maxMappedTiles Maximum number of tiles which are kept mapped at once
+	 */
+	public MappedTiledImage( File file , Class<T> imageType ,
+							 int width , int height , int tileWidth , int tileHeight ,
+							 int maxMappedTiles ) throws IOException {
+		if( width <= 0 || height <= 0 || tileWidth <= 0 || tileHeight <= 0 )
+			throw new IllegalArgumentException("Image and tile shapes must be positive");
+		setMaxMappedTiles(maxMappedTiles);
+
+		this.imageType = ImageType.single(imageType);
+		this.dataType = this.imageType.getDataType();
+		this.width = width;
+		this.height = height;
+		this.tileWidth = tileWidth;
+		this.tileHeight = tileHeight;
+		this.numTileCols = (width + tileWidth - 1)/tileWidth;
+		this.numTileRows = (height + tileHeight - 1)/tileHeight;
+
+		long bytes = (long)tileWidth*tileHeight*(dataType.getNumBits()/8);
+		if( bytes > Integer.MAX_VALUE )
+			throw new IllegalArgumentException("Tiles are too large to be mapped");
+		this.tileBytes = (int)bytes;
+		this.numTiles = numTileCols*numTileRows;
+
+		this.file = new RandomAccessFile(file, "rw");
+		this.channel = this.file.getChannel();
+		long fileSize = (long)tileBytes*numTiles;
+		if( this.file.length() < fileSize )
+			this.file.setLength(fileSize);
+	}
+
+	/**
+	 * Copies a rectangular region of this image into 'dst'. The region's size is the same as 'dst'.
+	 *
+	 * @param x0 Left column of the region
+	 * @param y0 Top row of the region
+	 * @param dst (Output) Storage for the region. Can be a sub-image.
+	 */
+	public void read( int x0 , int y0 , T dst ) throws IOException {
+		copy(x0, y0, dst, true);
+	}
+
+	/**
+	 * Copies 'src' into a rectangular region of this image. The region's size is the same as 'src'.
+	 *
+	 * @param x0 Left column of the region
+	 * @param y0 Top row of the region
+	 * @param src The image being written. Can be a sub-image.
+	 */
+	public void write( int x0 , int y0 , T src ) throws IOException {
+		copy(x0, y0, src, false);
+	}
+
+	private void copy( int x0 , int y0 , T image , boolean read ) throws IOException {
+		int x1 = x0 + image.width;
+		int y1 = y0 + image.height;
+		if( x0 < 0 || y0 < 0 || x1 > width || y1 > height )
+			throw new IllegalArgumentException("Region is outside the image");
+
+		for (int tileRow = y0/tileHeight; tileRow*tileHeight < y1; tileRow++) {
+			int tileY0 = tileRow*tileHeight;
+			int rowStart = Math.max(y0, tileY0);
+			int rowEnd = Math.min(y1, tileY0 + tileHeight);
+
+			for (int tileCol = x0/tileWidth; tileCol*tileWidth < x1; tileCol++) {
+				int tileX0 = tileCol*tileWidth;
+				int colStart = Math.max(x0, tileX0);
+				int length = Math.min(x1, tileX0 + tileWidth) - colStart;
+
+				Buffer tile = getTile(tileRow, tileCol);
+				for (int y = rowStart; y < rowEnd; y++) {
+					tile.position((y - tileY0)*tileWidth + colStart - tileX0);
+					int index = image.startIndex + (y - y0)*image.stride + colStart - x0;
+					copyRow(tile, image, index, length, read);
+				}
+			}
+		}
+	}
+
+	private void copyRow( Buffer tile , T image , int index , int length , boolean read ) {
+		switch( dataType ) {
+			case U8: case S8:
+				if( read ) ((ByteBuffer)tile).get(((GrayI8)image).data, index, length);
+				else ((ByteBuffer)tile).put(((GrayI8)image).data, index, length);
+				break;
+
+			case U16: case S16:
+				if( read ) ((ShortBuffer)tile).get(((GrayI16)image).data, index, length);
+				else ((ShortBuffer)tile).put(((GrayI16)image).data, index, length);
+				break;
+
+			case S32:
+				if( read ) ((IntBuffer)tile).get(((GrayS32)image).data, index, length);
+				else ((IntBuffer)tile).put(((GrayS32)image).data, index, length);
+				break;
+
+			case S64:
+				if( read ) ((LongBuffer)tile).get(((GrayS64)image).data, index, length);
+				else ((LongBuffer)tile).put(((GrayS64)image).data, index, length);
+				break;
+
+			case F32:
+				if( read ) ((FloatBuffer)tile).get(((GrayF32)image).data, index, length);
+				else ((FloatBuffer)tile).put(((GrayF32)image).data, index, length);
+				break;
+
+			case F64:
+				if( read ) ((DoubleBuffer)tile).get(((GrayF64)image).data, index, length);
+				else ((DoubleBuffer)tile).put(((GrayF64)image).data, index, length);
+				break;
+
+			default:
+				throw new IllegalArgumentException("Unsupported image type "+dataType);
+		}
+	}
+
+	/**
+	 * Returns a view of the tile, mapping it into memory if needed. If too many tiles are mapped then the least
+	 * recently used one is discarded.
+	 */
+	private Buffer getTile( int tileRow , int tileCol ) throws IOException {
+		int index = tileRow*numTileCols + tileCol;
+		Buffer tile = tiles.get(index);
+		if( tile == null ) {
+			MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, (long)index*tileBytes, tileBytes);
+			mapped.order(ByteOrder.nativeOrder());
+			switch( dataType ) {
+				case U8: case S8: tile = mapped; break;
+				case U16: case S16: tile = mapped.asShortBuffer(); break;
+				case S32: tile = mapped.asIntBuffer(); break;
+				case S64: tile = mapped.asLongBuffer(); break;
+				case F32: tile = mapped.asFloatBuffer(); break;
+				case F64: tile = mapped.asDoubleBuffer(); break;
+				default: throw new IllegalArgumentException("Unsupported image type "+dataType);
+			}
+			tiles.put(index, tile);
+		}
+		return tile;
+	}
+
+	/**
+	 * Creates a regular image which can store a single tile
+	 */
+	public T createTileImage() {
+		return imageType.createImage(tileWidth, tileHeight);
+	}
+
+	/**
+	 * Closes the file. Mapped tiles are released by the garbage collector.
+	 */
+	@Override
+	public void close() throws IOException {
+		tiles.clear();
+		channel.close();
+		file.close();
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public int getHeight() {
+		return height;
+	}
+
+	public int getTileWidth() {
+		return tileWidth;
+	}
+
+	public int getTileHeight() {
+		return tileHeight;
+	}
+
+	public int getNumTileCols() {
+		return numTileCols;
+	}
+
+	public int getNumTileRows() {
+		return numTileRows;
+	}
+
+	/**
+	 * Maximum number of tiles which are kept mapped at once
+	 */
+	public int getMaxMappedTiles() {
+		return maxMappedTiles;
+	}
+
+	public void setMaxMappedTiles( int maxMappedTiles ) {
+		if( maxMappedTiles < 1 )
+			throw new IllegalArgumentException("At least one tile must be mapped");
+		this.maxMappedTiles = maxMappedTiles;
+		// discard tiles until the new limit is satisfied
+		while( tiles.size() > maxMappedTiles ) {
+			tiles.remove(tiles.keySet().iterator().next());
+		}
+	}
+
+	/**
+	 * Number of tiles which are currently mapped
+	 */
+	public int getNumMappedTiles() {
+		return tiles.size();
+	}
+
+	public ImageType<T> getImageType() {
+		return imageType;
+	}
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.io.image;
+
+import boofcv.struct.image.ImageGray;
+
+import java.io.IOException;
+import java.util.function.BiConsumer;
+
+/**
+ * Applies regular image operations to a {@link MappedTiledImage} one tile at a time, so only a few tiles need to
+ * be in memory at once. For example, to blur an image
+ *
+ * <pre>
+ * TiledImageOps.process(input, output, radius, (a, b) -&gt; BlurImageOps.gaussian(a, b, -1, radius, null));
+ * </pre>
+ *
+ * @author Peter Abeles
+ */
+public class TiledImageOps {
+
+	/**
+	 * <p>
+	 * Processes the image one output tile at a time. For each tile the input region, expanded by 'halo' pixels,
+	 * is read into memory and passed to the operation. The part of the operation's output which is inside the tile
+	 * is then written out. If the halo is at least as large as the radius of the operation, e.g. the radius of a
+	 * blur kernel, then the output is identical to processing the whole image at once. The image border is handled by
+	 * the operation itself since the halo is clipped at the image's edge.
+	 * </p>
+	 *
+	 * <p>
+	 * The input and output can be the same image if halo is zero.
+	 * </p>
+	 *
+	 * @param input Input image
+	 * @param output Output image. Same shape as the input.
+	 * @param halo Number of pixels around each tile which are needed to compute the tile
+	 * @param op Operation which is applied to each region. Input and output images have the same shape.
+	 */
+	public static <In extends ImageGray<In>, Out extends ImageGray<Out>>
+	void process( MappedTiledImage<In> input , MappedTiledImage<Out> output , int halo , BiConsumer<In,Out> op ) {
+		if( input.width != output.width || input.height != output.height )
+			throw new IllegalArgumentException("Input and output must have the same shape");
+		if( input == (Object)output && halo != 0 )
+			throw new IllegalArgumentException("The halo must be zero when processing in place");
+		if( halo < 0 )
+			throw new IllegalArgumentException("The halo can't be negative");
+
+		int tileWidth = output.tileWidth;
+		int tileHeight = output.tileHeight;
+
+		// work space is declared once and reshaped to the size of each region
+		In regionIn = input.getImageType().createImage(tileWidth + 2*halo, tileHeight + 2*halo);
+		Out regionOut = output.getImageType().createImage(tileWidth + 2*halo, tileHeight + 2*halo);
+		Out tileOut = null;
+
+		try {
+			for (int tileRow = 0; tileRow < output.numTileRows; tileRow++) {
+				int y0 = tileRow*tileHeight;
+				int y1 = Math.min(output.height, y0 + tileHeight);
+				int regionY0 = Math.max(0, y0 - halo);
+				int regionY1 = Math.min(output.height, y1 + halo);
+
+				for (int tileCol = 0; tileCol < output.numTileCols; tileCol++) {
+					int x0 = tileCol*tileWidth;
+					int x1 = Math.min(output.width, x0 + tileWidth);
+					int regionX0 = Math.max(0, x0 - halo);
+					int regionX1 = Math.min(output.width, x1 + halo);
+
+					regionIn.reshape(regionX1 - regionX0, regionY1 - regionY0);
+					regionOut.reshape(regionIn.width, regionIn.height);
+
+					input.read(regionX0, regionY0, regionIn);
+					op.accept(regionIn, regionOut);
+					tileOut = regionOut.subimage(x0 - regionX0, y0 - regionY0, x1 - regionX0, y1 - regionY0, tileOut);
+					output.write(x0, y0, tileOut);
+				}
+			}
+		} catch( IOException e ) {
+			throw new RuntimeException(e);
+		}
+	}
+}
@@ -18,6 +18,7 @@
 
 package boofcv.io.wrapper.images;
 
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.io.image.ConvertBufferedImage;
 import boofcv.io.image.SimpleImageSequence;
 import boofcv.io.video.VideoMjpegCodec;
@@ -27,10 +28,22 @@ import boofcv.struct.image.ImageType;
 import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
 import java.io.*;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 /**
+ * <p>
  * Instead of loading and decompressing the whole MJPEG at once, it loads the images
  * one at a time until it reaches the end of the file.
+ * </p>
+ *
+ * <p>
+ * If the read ahead is more than zero then the JPEG data for the next few frames is read in and each frame
+ * is decompressed by a task in {@link BoofConcurrency}'s thread pool. Frames are still returned in order.
+ * The read ahead limits how many frames are held in memory at once.
+ * </p>
  *
  * @author Peter Abeles
  */
@@ -45,28 +58,81 @@ public class MjpegStreamSequence<T extends ImageBase<T>>
 	int frameNumber;
 	ImageType<T> imageType;
 
-	public MjpegStreamSequence( InputStream in , ImageType<T> imageType ) {
+	// maximum number of frames being decompressed in the thread pool
+	int readAhead;
+	// frames being decompressed in the order they were read
+	Deque<Future<BufferedImage>> decoding = new ArrayDeque<>();
+
+	/**
+	 * Creates the sequence
+	 *
+	 * @param in Stream containing the MJPEG
+	 * @param imageType Type of output image
+	 * @param readAhead Number of frames which are decompressed in parallel. If zero then frames are
+	 *                  decompressed in the calling thread.
+	 */
+	public MjpegStreamSequence( InputStream in , ImageType<T> imageType , int readAhead ) {
+		if( readAhead < 0 )
+			throw new IllegalArgumentException("readAhead can't be negative");
 		this.in = new DataInputStream(in);
 		this.imageType = imageType;
+		this.readAhead = readAhead;
 		image = imageType.createImage(1,1);
 		readNext();
 	}
 
+	public MjpegStreamSequence( InputStream in , ImageType<T> imageType ) {
+		this(in, imageType, defaultReadAhead());
+	}
+
+	public MjpegStreamSequence( String fileName , ImageType<T> imageType , int readAhead ) throws FileNotFoundException {
+		this(new DataInputStream(new BufferedInputStream(new FileInputStream(fileName),1024*200)),imageType,readAhead);
+	}
+
 	public MjpegStreamSequence( String fileName , ImageType<T> imageType ) throws FileNotFoundException {
-		this(new DataInputStream(new BufferedInputStream(new FileInputStream(fileName),1024*200)),imageType);
+		this(fileName,imageType,defaultReadAhead());
+	}
+
+	/**
+	 * Keeps every thread busy with a frame to spare when concurrency is turned on
+	 */
+	private static int defaultReadAhead() {
+		return BoofConcurrency.USE_CONCURRENT ? 2*BoofConcurrency.getMaxThreads() : 0;
 	}
 
 	private void readNext() {
-		byte[] data = codec.readFrame(in);
-		if( data == null ) {
-			next = null;
+		if( readAhead == 0 ) {
+			byte[] data = codec.readFrame(in);
+			next = data == null ? null : decode(data);
 		} else {
-			try {
-				next = ImageIO.read(new ByteArrayInputStream(data));
-				frameNumber++;
-			} catch (IOException e) {
-				throw new RuntimeException(e);
+			while( decoding.size() < readAhead ) {
+				final byte[] data = codec.readFrame(in);
+				if( data == null )
+					break;
+				decoding.add(BoofConcurrency.submit(() -> decode(data)));
 			}
+			next = decoding.isEmpty() ? null : waitForFrame(decoding.poll());
+		}
+	}
+
+	private static BufferedImage decode( byte[] data ) {
+		try {
+			return ImageIO.read(new ByteArrayInputStream(data));
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	private static BufferedImage waitForFrame( Future<BufferedImage> future ) {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		} catch (ExecutionException e) {
+			if( e.getCause() instanceof RuntimeException )
+				throw (RuntimeException)e.getCause();
+			throw new RuntimeException(e.getCause());
 		}
 	}
 
@@ -90,6 +156,7 @@ public class MjpegStreamSequence<T extends ImageBase<T>>
 		original = next;
 		image.reshape(original.getWidth(),original.getHeight());
 		ConvertBufferedImage.convertFrom(original,image, true);
+		frameNumber++;
 		readNext();
 		return image;
 	}
@@ -101,6 +168,10 @@ public class MjpegStreamSequence<T extends ImageBase<T>>
 
 	@Override
 	public void close() {
+		for( Future<BufferedImage> f : decoding ) {
+			f.cancel(false);
+		}
+		decoding.clear();
 		try {
 			in.close();
 		} catch (IOException e) {
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.io.image;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageType;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImageSequencePipeline {
+
+	Random rand = new Random(234);
+
+	/**
+	 * Each stage should see every frame in order and the image should be a copy of what the sequence returned
+	 */
+	@Test
+	public void process_order() {
+		for( int bufferSize : new int[]{1,2,5} ) {
+			ImageSequencePipeline<GrayU8,int[]> alg = new ImageSequencePipeline<>(bufferSize, () -> new int[1]);
+
+			List<Integer> seenA = new ArrayList<>();
+			List<Integer> seenSink = new ArrayList<>();
+
+			alg.addStage(f -> {
+				seenA.add(f.frameNumber);
+				f.data[0] = f.image.get(0,0) + 1;
+				sleep(rand.nextInt(3));
+			});
+			alg.addStage(f -> {
+				f.data[0] *= 2;
+				sleep(rand.nextInt(3));
+			});
+			alg.addStage(f -> {
+				assertEquals(f.frameNumber, f.image.get(0,0));
+				assertEquals(2*(f.frameNumber+1), f.data[0]);
+				assertEquals(seenSink.size(), f.index);
+				seenSink.add(f.frameNumber);
+			});
+
+			assertEquals(20, alg.process(new DummySequence(20)));
+
+			assertEquals(20, seenA.size());
+			assertEquals(20, seenSink.size());
+			for (int i = 0; i < 20; i++) {
+				assertEquals(i, (int)seenA.get(i));
+				assertEquals(i, (int)seenSink.get(i));
+			}
+		}
+	}
+
+	/**
+	 * Only a single stage which is also the sink
+	 */
+	@Test
+	public void process_sinkOnly() {
+		ImageSequencePipeline<GrayU8,Object> alg = new ImageSequencePipeline<>(3);
+		List<Integer> seen = new ArrayList<>();
+		alg.addStage(f -> {
+			assertNull(f.data);
+			seen.add(f.frameNumber);
+		});
+
+		assertEquals(7, alg.process(new DummySequence(7)));
+		assertEquals(7, seen.size());
+	}
+
+	/**
+	 * An exception inside of a stage should be thrown by process() and all threads should stop
+	 */
+	@Test
+	public void process_exceptionInStage() {
+		ImageSequencePipeline<GrayU8,Object> alg = new ImageSequencePipeline<>(2);
+		alg.addStage(f -> {
+			if( f.frameNumber == 5 )
+				throw new IllegalStateException("Test");
+		});
+		alg.addStage(f -> {});
+
+		try {
+			alg.process(new DummySequence(100));
+			fail("Exception expected");
+		} catch( IllegalStateException ignore ) {}
+	}
+
+	/**
+	 * An exception inside of the sink should be thrown by process()
+	 */
+	@Test
+	public void process_exceptionInSink() {
+		ImageSequencePipeline<GrayU8,Object> alg = new ImageSequencePipeline<>(2);
+		alg.addStage(f -> {});
+		alg.addStage(f -> {
+			if( f.frameNumber == 5 )
+				throw new IllegalStateException("Test");
+		});
+
+		try {
+			alg.process(new DummySequence(100));
+			fail("Exception expected");
+		} catch( IllegalStateException ignore ) {}
+	}
+
+	/**
+	 * Stop should prevent new frames from being read but frames already read are processed
+	 */
+	@Test
+	public void stop() {
+		ImageSequencePipeline<GrayU8,Object> alg = new ImageSequencePipeline<>(3);
+		alg.addStage(f -> {});
+		alg.addStage(f -> {
+			if( f.frameNumber == 10 )
+				alg.stop();
+		});
+
+		int total = alg.process(new DummySequence(1000));
+		assertTrue(total > 10 && total <= 10+3+1);
+
+		// can be run again after stopping
+		assertEquals(5, alg.process(new DummySequence(5)));
+	}
+
+	private static void sleep( long milli ) {
+		try {
+			Thread.sleep(milli);
+		} catch (InterruptedException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * Sequence which fills the image with the frame number and reuses the same output image
+	 */
+	private class DummySequence implements SimpleImageSequence<GrayU8> {
+		int total;
+		int frame = -1;
+		GrayU8 image = new GrayU8(30,20);
+
+		DummySequence(int total) {
+			this.total = total;
+		}
+
+		@Override public int getNextWidth() { return image.width; }
+		@Override public int getNextHeight() { return image.height; }
+		@Override public boolean hasNext() { return frame+1 < total; }
+
+		@Override
+		public GrayU8 next() {
+			frame++;
+			GImageMiscOps.fill(image, frame % 256);
+			return image;
+		}
+
+		@Override public <InternalImage> InternalImage getGuiImage() { return null; }
+		@Override public void close() {}
+		@Override public int getFrameNumber() { return frame; }
+		@Override public void setLoop(boolean loop) {}
+		@Override public ImageType<GrayU8> getImageType() { return ImageType.single(GrayU8.class); }
+		@Override public void reset() { frame = -1; }
+	}
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.io.image;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.*;
+import boofcv.testing.BoofTesting;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestMappedTiledImage {
+
+	Random rand = new Random(234);
+
+	File file;
+
+	@Before
+	public void before() throws IOException {
+		file = File.createTempFile("tiled", ".bin");
+	}
+
+	@After
+	public void after() {
+		file.delete();
+	}
+
+	/**
+	 * Write then read back regions which span multiple tiles for each image type
+	 */
+	@Test
+	public void readWrite() throws IOException {
+		Class[] types = {GrayU8.class, GrayS16.class, GrayS32.class, GrayS64.class, GrayF32.class, GrayF64.class};
+
+		for( Class type : types ) {
+			readWrite(type);
+		}
+	}
+
+	private <T extends ImageGray<T>> void readWrite( Class<T> type ) throws IOException {
+		file.delete();
+		try( MappedTiledImage<T> tiled = new MappedTiledImage<>(file, type, 53, 41, 10, 8) ) {
+			assertEquals(6, tiled.getNumTileCols());
+			assertEquals(6, tiled.getNumTileRows());
+
+			T image = GeneralizedImageOps.createSingleBand(type, 53, 41);
+			GImageMiscOps.fillUniform(image, rand, 0, 100);
+			tiled.write(0, 0, image);
+
+			// read a region which doesn't line up with the tiles into a sub-image
+			T region = BoofTesting.createSubImageOf(GeneralizedImageOps.createSingleBand(type, 23, 17));
+			tiled.read(7, 5, region);
+			BoofTesting.assertEquals(image.subimage(7, 5, 30, 22), region, 0);
+
+			// write a region and see if only that region changed
+			GImageMiscOps.fill(region, 5);
+			tiled.write(7, 5, region);
+			GImageMiscOps.fillRectangle(image, 5, 7, 5, 23, 17);
+
+			T found = GeneralizedImageOps.createSingleBand(type, 53, 41);
+			tiled.read(0, 0, found);
+			BoofTesting.assertEquals(image, found, 0);
+		}
+	}
+
+	/**
+	 * The image should still be there after closing and opening the file again
+	 */
+	@Test
+	public void reopen() throws IOException {
+		GrayF32 image = new GrayF32(30, 20);
+		GImageMiscOps.fillUniform(image, rand, -1, 1);
+
+		try( MappedTiledImage<GrayF32> tiled = new MappedTiledImage<>(file, GrayF32.class, 30, 20, 16, 16) ) {
+			tiled.write(0, 0, image);
+		}
+
+		try( MappedTiledImage<GrayF32> tiled = new MappedTiledImage<>(file, GrayF32.class, 30, 20, 16, 16) ) {
+			GrayF32 found = new GrayF32(30, 20);
+			tiled.read(0, 0, found);
+			BoofTesting.assertEquals(image, found, 0);
+		}
+	}
+
+	/**
+	 * Walk through more tiles than can be mapped at once. The number of mapped tiles should never exceed the
+	 * limit and tiles which were discarded should still have their data when mapped again.
+	 */
+	@Test
+	public void evictTiles() throws IOException {
+		try( MappedTiledImage<GrayU8> tiled = new MappedTiledImage<>(file, GrayU8.class, 50, 40, 10, 10, 3) ) {
+			GrayU8 tile = tiled.createTileImage();
+
+			// write each tile with a unique value
+			for (int row = 0; row < tiled.getNumTileRows(); row++) {
+				for (int col = 0; col < tiled.getNumTileCols(); col++) {
+					GImageMiscOps.fill(tile, row*tiled.getNumTileCols() + col);
+					tiled.write(col*10, row*10, tile);
+					assertTrue(tiled.getNumMappedTiles() <= 3);
+				}
+			}
+			assertEquals(3, tiled.getNumMappedTiles());
+
+			// read them back after they have been discarded
+			for (int row = 0; row < tiled.getNumTileRows(); row++) {
+				for (int col = 0; col < tiled.getNumTileCols(); col++) {
+					tiled.read(col*10, row*10, tile);
+					assertTrue(tiled.getNumMappedTiles() <= 3);
+					assertEquals(row*tiled.getNumTileCols() + col, tile.get(0, 0));
+					assertEquals(row*tiled.getNumTileCols() + col, tile.get(9, 9));
+				}
+			}
+
+			// a region which spans more tiles than can be mapped
+			GrayU8 found = new GrayU8(50, 40);
+			tiled.read(0, 0, found);
+			assertEquals(3, tiled.getNumMappedTiles());
+			assertEquals(19, found.get(45, 35));
+		}
+	}
+
+	/**
+	 * The least recently used tile should be the one which is discarded
+	 */
+	@Test
+	public void evictTiles_leastRecentlyUsed() throws IOException {
+		try( MappedTiledImage<GrayU8> tiled = new MappedTiledImage<>(file, GrayU8.class, 40, 10, 10, 10, 3) ) {
+			GrayU8 tile = tiled.createTileImage();
+
+			tiled.read(0, 0, tile);
+			tiled.read(10, 0, tile);
+			tiled.read(20, 0, tile);
+			tiled.read(0, 0, tile);
+			tiled.read(30, 0, tile);
+
+			assertTrue(tiled.tiles.containsKey(0));
+			assertFalse(tiled.tiles.containsKey(1));
+			assertTrue(tiled.tiles.containsKey(2));
+			assertTrue(tiled.tiles.containsKey(3));
+
+			// shrinking the limit discards the least recently used tiles
+			tiled.setMaxMappedTiles(1);
+			assertEquals(1, tiled.getNumMappedTiles());
+			assertTrue(tiled.tiles.containsKey(3));
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void read_outside() throws IOException {
+		try( MappedTiledImage<GrayU8> tiled = new MappedTiledImage<>(file, GrayU8.class, 30, 20, 16, 16) ) {
+			tiled.read(10, 10, new GrayU8(21, 5));
+		}
+	}
+}
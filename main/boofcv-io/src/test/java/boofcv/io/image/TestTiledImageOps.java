@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.io.image;
+
+import boofcv.alg.filter.binary.ThresholdImageOps;
+import boofcv.alg.filter.blur.BlurImageOps;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.core.image.ConvertImage;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import boofcv.testing.BoofTesting;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestTiledImageOps {
+
+	Random rand = new Random(234);
+
+	int width = 57, height = 43;
+
+	File fileA, fileB;
+	GrayU8 image = new GrayU8(width, height);
+
+	@Before
+	public void before() throws IOException {
+		fileA = File.createTempFile("tiledA", ".bin");
+		fileB = File.createTempFile("tiledB", ".bin");
+		ImageMiscOps.fillUniform(image, rand, 0, 200);
+	}
+
+	@After
+	public void after() {
+		fileA.delete();
+		fileB.delete();
+	}
+
+	/**
+	 * With a large enough halo the blurred image should be identical to blurring the whole image at once
+	 */
+	@Test
+	public void process_blur() throws IOException {
+		int radius = 3;
+		GrayU8 expected = BlurImageOps.gaussian(image, null, -1, radius, null);
+
+		try( MappedTiledImage<GrayU8> input = new MappedTiledImage<>(fileA, GrayU8.class, width, height, 16, 12);
+			 MappedTiledImage<GrayU8> output = new MappedTiledImage<>(fileB, GrayU8.class, width, height, 16, 12) ) {
+			input.write(0, 0, image);
+
+			TiledImageOps.process(input, output, radius,
+					(a, b) -> BlurImageOps.gaussian(a, b, -1, radius, null));
+
+			GrayU8 found = new GrayU8(width, height);
+			output.read(0, 0, found);
+			BoofTesting.assertEquals(expected, found, 0);
+		}
+	}
+
+	/**
+	 * Input and output have different types
+	 */
+	@Test
+	public void process_convert() throws IOException {
+		GrayF32 expected = ConvertImage.convert(image, (GrayF32)null);
+
+		try( MappedTiledImage<GrayU8> input = new MappedTiledImage<>(fileA, GrayU8.class, width, height, 20, 20);
+			 MappedTiledImage<GrayF32> output = new MappedTiledImage<>(fileB, GrayF32.class, width, height, 20, 20) ) {
+			input.write(0, 0, image);
+
+			TiledImageOps.process(input, output, 0, ConvertImage::convert);
+
+			GrayF32 found = new GrayF32(width, height);
+			output.read(0, 0, found);
+			BoofTesting.assertEquals(expected, found, 0);
+		}
+	}
+
+	/**
+	 * Operation is applied in place
+	 */
+	@Test
+	public void process_inplace() throws IOException {
+		GrayU8 expected = ThresholdImageOps.threshold(image, null, 100, false);
+
+		try( MappedTiledImage<GrayU8> tiled = new MappedTiledImage<>(fileA, GrayU8.class, width, height, 20, 10) ) {
+			tiled.write(0, 0, image);
+
+			TiledImageOps.process(tiled, tiled, 0, (a, b) -> ThresholdImageOps.threshold(a, b, 100, false));
+
+			GrayU8 found = new GrayU8(width, height);
+			tiled.read(0, 0, found);
+			BoofTesting.assertEquals(expected, found, 0);
+		}
+	}
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.io.wrapper.images;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.io.image.ConvertBufferedImage;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageType;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestMjpegStreamSequence {
+
+	Random rand = new Random(234);
+
+	/**
+	 * Decompressing frames in parallel should produce the same images in the same order
+	 */
+	@Test
+	public void readAhead() throws IOException {
+		int numFrames = 11;
+		byte[] mjpeg = createMjpeg(numFrames);
+
+		List<GrayU8> expected = readAll(new MjpegStreamSequence<>(
+				new ByteArrayInputStream(mjpeg), ImageType.single(GrayU8.class), 0));
+		assertEquals(numFrames, expected.size());
+
+		for( int readAhead : new int[]{1,3,20} ) {
+			List<GrayU8> found = readAll(new MjpegStreamSequence<>(
+					new ByteArrayInputStream(mjpeg), ImageType.single(GrayU8.class), readAhead));
+
+			assertEquals(numFrames, found.size());
+			for (int i = 0; i < numFrames; i++) {
+				BoofTesting.assertEquals(expected.get(i), found.get(i), 0);
+			}
+		}
+	}
+
+	/**
+	 * Makes sure the frames are actually different from each other, otherwise the order isn't tested
+	 */
+	@Test
+	public void framesAreDifferent() throws IOException {
+		List<GrayU8> found = readAll(new MjpegStreamSequence<>(
+				new ByteArrayInputStream(createMjpeg(3)), ImageType.single(GrayU8.class), 2));
+
+		assertNotEquals(found.get(0).get(0,0), found.get(1).get(0,0));
+		assertNotEquals(found.get(1).get(0,0), found.get(2).get(0,0));
+	}
+
+	private List<GrayU8> readAll( MjpegStreamSequence<GrayU8> sequence ) {
+		List<GrayU8> frames = new ArrayList<>();
+		while( sequence.hasNext() ) {
+			frames.add(sequence.next().clone());
+			assertEquals(frames.size()-1, sequence.getFrameNumber());
+			assertNotNull(sequence.getGuiImage());
+		}
+		sequence.close();
+		return frames;
+	}
+
+	/**
+	 * Creates a MJPEG by concatenating JPEG images together. Each frame has a different shade
+	 */
+	private byte[] createMjpeg( int numFrames ) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		GrayU8 gray = new GrayU8(40,30);
+		for (int i = 0; i < numFrames; i++) {
+			ImageMiscOps.fillUniform(gray, rand, 0, 50);
+			ImageMiscOps.fillRectangle(gray, 20*i%250, 0, 0, 10, 10);
+			BufferedImage buffered = ConvertBufferedImage.convertTo(gray, null);
+			ImageIO.write(buffered, "jpg", out);
+		}
+		return out.toByteArray();
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -18,154 +18,104 @@
 
 package boofcv;
 
-import boofcv.misc.PerformerBase;
-import boofcv.misc.ProfileOperation;
 import org.ddogleg.struct.FastQueue;
+import org.openjdk.jmh.annotations.*;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
-
+import java.util.concurrent.TimeUnit;
 
 /**
  * Benchmark to see how much faster it is to work with raw arrays than using the list interface
  *
  * @author Peter Abeles
  */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value=1)
 public class ArrayVsListAccess {
 
-	static long TEST_TIME = 1000;
-
-	private static class ListAccess extends PerformerBase
-	{
-		List<Double> data = new ArrayList<>();
-		int ret;
+	List<Double> list = new ArrayList<>();
+	Double array[];
+	FastQueue<Double> queue = new FastQueue<>(100, Double.class, false);
 
-		public ListAccess( double data [] ) {
-			for( double d : data ) {
-				this.data.add(d);
-			}
-		}
-		
-		@Override
-		public void process() {
-			ret = 0;
-
-			final int N = data.size();
-			for( int i = 0; i < N; i++ ) {
-				double a = data.get(i);
-				for( int j = 0; j < N; j++ ) {
-					if( data.get(j) < a ) {
-						ret++;
-					}
-				}
-			}
+	@Setup
+	public void setup() {
+		Random rand = new Random(2342);
+		array = new Double[5000];
+		for( int i = 0; i < array.length; i++ ) {
+			double d = rand.nextDouble()*100;
+			array[i] = d;
+			list.add(d);
+			queue.add(d);
 		}
 	}
 
-	private static class ArrayAccess extends PerformerBase
-	{
-		Double data[];
-		int ret;
-
-		public ArrayAccess( double data [] ) {
-			this.data = new Double[ data.length ];
-			int i = 0;
-			for( Double d : data ) {
-				this.data[i++] = d;
-			}
-		}
-
-		@Override
-		public void process() {
-			ret = 0;
+	@Benchmark
+	public int listAccess() {
+		int ret = 0;
 
-			final int N = data.length;
-			for( int i = 0; i < N; i++ ) {
-				double a = data[i];
-				for( int j = 0; j < N; j++ ) {
-					if( data[j] < a ) {
-						ret++;
-					}
+		final int N = list.size();
+		for( int i = 0; i < N; i++ ) {
+			double a = list.get(i);
+			for( int j = 0; j < N; j++ ) {
+				if( list.get(j) < a ) {
+					ret++;
 				}
 			}
 		}
+		return ret;
 	}
 
-	private static class FastQueueAccess extends PerformerBase
-	{
-		FastQueue<Double> queue = new FastQueue<>(100, Double.class, false);
-		int ret;
+	@Benchmark
+	public int arrayAccess() {
+		int ret = 0;
 
-		public FastQueueAccess( double data [] ) {
-			for( Double d : data ) {
-				queue.add(d);
-			}
-		}
-
-		@Override
-		public void process() {
-			ret = 0;
-
-			final int N = queue.size;
-			for( int i = 0; i < N; i++ ) {
-				double a = queue.get(i);
-				for( int j = 0; j < N; j++ ) {
-					if( queue.get(j) < a ) {
-						ret++;
-					}
+		final int N = array.length;
+		for( int i = 0; i < N; i++ ) {
+			double a = array[i];
+			for( int j = 0; j < N; j++ ) {
+				if( array[j] < a ) {
+					ret++;
 				}
 			}
 		}
+		return ret;
 	}
 
-	private static class FastQueueAccessRaw extends PerformerBase
-	{
-		FastQueue<Double> queue = new FastQueue<>(100, Double.class, false);
-		int ret;
+	@Benchmark
+	public int fastQueueAccess() {
+		int ret = 0;
 
-		public FastQueueAccessRaw( double data [] ) {
-			for( Double d : data ) {
-				queue.add(d);
+		final int N = queue.size;
+		for( int i = 0; i < N; i++ ) {
+			double a = queue.get(i);
+			for( int j = 0; j < N; j++ ) {
+				if( queue.get(j) < a ) {
+					ret++;
+				}
 			}
 		}
+		return ret;
+	}
 
-		@Override
-		public void process() {
-			ret = 0;
+	@Benchmark
+	public int fastQueueAccessRaw() {
+		int ret = 0;
 
-			final int N = queue.size;
-			for( int i = 0; i < N; i++ ) {
-				double a = queue.data[i];
-				for( int j = 0; j < N; j++ ) {
-					if( queue.data[j] < a ) {
-						ret++;
-					}
+		final int N = queue.size;
+		for( int i = 0; i < N; i++ ) {
+			double a = queue.data[i];
+			for( int j = 0; j < N; j++ ) {
+				if( queue.data[j] < a ) {
+					ret++;
 				}
 			}
 		}
-	}
-
-	public static void main( String args[] ) {
-		Random rand = new Random(2342);
-		double data[] = new double[5000];
-		for( int i = 0; i < data.length; i++ ) {
-			data[i] = rand.nextDouble()*100;
-		}
-
-		ListAccess list = new ListAccess(data);
-		ArrayAccess array = new ArrayAccess(data);
-		FastQueueAccess fastQueue = new FastQueueAccess(data);
-		FastQueueAccessRaw fastRaw = new FastQueueAccessRaw(data);
-
-		ProfileOperation.printOpsPerSec(fastRaw, TEST_TIME);
-		ProfileOperation.printOpsPerSec(fastQueue, TEST_TIME);
-		ProfileOperation.printOpsPerSec(list, TEST_TIME);
-		ProfileOperation.printOpsPerSec(array, TEST_TIME);
-
-		System.out.println("list.ret = "+list.ret);
-		System.out.println("array.ret = "+array.ret);
-		System.out.println("fast.ret = "+fastQueue.ret);
-		System.out.println("raw.ret = "+fastRaw.ret);
+		return ret;
 	}
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -20,93 +20,73 @@ package boofcv.abst.filter.convolve;
 
 import boofcv.abst.filter.FilterImageInterface;
 import boofcv.alg.filter.convolve.ConvolveImageNoBorder;
+import boofcv.alg.misc.ImageMiscOps;
 import boofcv.core.image.border.BorderType;
 import boofcv.factory.filter.convolve.FactoryConvolve;
 import boofcv.factory.filter.kernel.FactoryKernel;
-import boofcv.misc.PerformerBase;
-import boofcv.misc.ProfileOperation;
-import boofcv.struct.convolve.Kernel1D_F32;
 import boofcv.struct.convolve.Kernel1D_S32;
-import boofcv.struct.image.*;
+import boofcv.struct.image.GrayS16;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
 
 /**
- * Benchmark for different convolution operations.
+ * Measures the overhead of going through the abstracted convolution interface.
+ *
  * @author Peter Abeles
  */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value=1)
 public class BenchmarkConvolveAbstracted {
-	static int imgWidth = 640;
-	static int imgHeight = 480;
-	static int radius;
-	static long TEST_TIME = 1000;
-
-	static Kernel1D_F32 kernelF32;
-	static GrayF32 imgFloat32;
-	static GrayF32 out_F32;
-	static Kernel1D_S32 kernelI32;
-	static GrayU8 imgInt8;
-	static GrayS16 imgInt16;
-	static GrayU8 out_I8;
-	static GrayS16 out_I16;
-	static GrayS32 out_I32;
-
-	public static class Convolve_Vertical_I8_I16 extends PerformerBase
-	{
-		@Override
-		public void process() {
-			ConvolveImageNoBorder.vertical(kernelI32,imgInt8,out_I16);
-		}
-	}
-
-	public static class Abstracted_Vertical_I8_I16 extends PerformerBase
-	{
-		@Override
-		public void process() {
-			FilterImageInterface<GrayU8,GrayS16> filter =
-			FactoryConvolve.convolve(kernelI32,
-					ImageType.single(GrayU8.class),ImageType.single(GrayS16.class), BorderType.SKIP,false);
-			filter.process(imgInt8,out_I16);
-		}
-	}
+	@Param({"640", "1920"})
+	public int width;
 
-	public static class Pre_Vertical_I8_I16 extends PerformerBase
-	{
-		FilterImageInterface<GrayU8,GrayS16> filter =
-					FactoryConvolve.convolve(kernelI32,
-							ImageType.single(GrayU8.class),ImageType.single(GrayS16.class),BorderType.SKIP,false);
+	@Param({"1", "5", "9"})
+	public int radius;
 
-		@Override
-		public void process() {
-			filter.process(imgInt8,out_I16);
-		}
-	}
+	Kernel1D_S32 kernelI32;
+	GrayU8 imgInt8 = new GrayU8(1,1);
+	GrayS16 out_I16 = new GrayS16(1,1);
 
+	FilterImageInterface<GrayU8,GrayS16> filter;
 
-	public static void main( String args[] ) {
-		imgInt8 = new GrayU8(imgWidth,imgHeight);
-		imgInt16 = new GrayS16(imgWidth,imgHeight);
-		out_I32 = new GrayS32(imgWidth,imgHeight);
-		out_I16 = new GrayS16(imgWidth,imgHeight);
-		out_I8 = new GrayU8(imgWidth,imgHeight);
-		imgFloat32 = new GrayF32(imgWidth,imgHeight);
-		out_F32 = new GrayF32(imgWidth,imgHeight);
+	@Setup
+	public void setup() {
+		int height = width*3/4;
+		imgInt8.reshape(width,height);
+		out_I16.reshape(width,height);
 
+		Random rand = new Random(234);
+		ImageMiscOps.fillUniform(imgInt8, rand, 0, 100);
 
-		System.out.println("=========  Profile Image Size "+imgWidth+" x "+imgHeight+" ==========");
-		System.out.println();
+		kernelI32 = FactoryKernel.table1D_I32(radius);
+		filter = createFilter();
+	}
 
-		for( int radius = 1; radius < 10; radius += 1 ) {
-			System.out.println("Radius: "+radius);
-			System.out.println();
-			BenchmarkConvolveAbstracted.radius = radius;
-			kernelF32 = FactoryKernel.table1D_F32(radius,true);
-			kernelI32 = FactoryKernel.table1D_I32(radius);
-			
+	private FilterImageInterface<GrayU8,GrayS16> createFilter() {
+		return FactoryConvolve.convolve(kernelI32,
+				ImageType.single(GrayU8.class),ImageType.single(GrayS16.class), BorderType.SKIP,false);
+	}
 
-			ProfileOperation.printOpsPerSec(new Convolve_Vertical_I8_I16(),TEST_TIME);
-			ProfileOperation.printOpsPerSec(new Abstracted_Vertical_I8_I16(),TEST_TIME);
-			ProfileOperation.printOpsPerSec(new Pre_Vertical_I8_I16(),TEST_TIME);
-		}
+	@Benchmark
+	public void convolve_Vertical_I8_I16() {
+		ConvolveImageNoBorder.vertical(kernelI32,imgInt8,out_I16);
+	}
 
+	@Benchmark
+	public void abstracted_Vertical_I8_I16() {
+		createFilter().process(imgInt8,out_I16);
+	}
 
+	@Benchmark
+	public void pre_Vertical_I8_I16() {
+		filter.process(imgInt8,out_I16);
 	}
 }
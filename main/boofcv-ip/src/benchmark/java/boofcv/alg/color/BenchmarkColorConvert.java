@@ -19,8 +19,6 @@
 package boofcv.alg.color;
 
 import boofcv.alg.misc.GImageMiscOps;
-import boofcv.misc.PerformerBase;
-import boofcv.misc.ProfileOperation;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.Planar;
 import org.openjdk.jmh.annotations.*;
@@ -42,8 +40,6 @@ public class BenchmarkColorConvert {
 	public static final int imgHeight = 480;
 	public static final Random rand = new Random(234);
 
-	public static final int TEST_TIME = 1000;
-
 	public static Planar<GrayF32> src_F32;
 	public static Planar<GrayF32> dst_F32;
 
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -19,111 +19,74 @@
 package boofcv.alg.distort;
 
 import boofcv.alg.interpolate.InterpolatePixelS;
-import boofcv.core.image.GeneralizedImageOps;
+import boofcv.alg.misc.ImageMiscOps;
 import boofcv.core.image.border.BorderType;
 import boofcv.factory.distort.FactoryDistort;
 import boofcv.factory.interpolate.FactoryInterpolation;
-import boofcv.misc.PerformerBase;
-import boofcv.misc.ProfileOperation;
-import boofcv.struct.distort.PixelTransform2_F32;
 import boofcv.struct.image.GrayF32;
-import boofcv.struct.image.ImageGray;
 import georegression.struct.homography.Homography2D_F32;
+import org.openjdk.jmh.annotations.*;
 
 import java.util.Random;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author Peter Abeles
  */
-public class BenchmarkImageDistort<T extends ImageGray<T>> {
-	public static final int imgWidth = 640;
-	public static final int imgHeight = 480;
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value=1)
+public class BenchmarkImageDistort {
+	@Param({"640", "1920"})
+	public int width;
+
+	GrayF32 src_F32 = new GrayF32(1,1);
+	GrayF32 dst_F32 = new GrayF32(1,1);
+
+	ImageDistort<GrayF32,GrayF32> distort;
+	ImageDistort<GrayF32,GrayF32> distortCached;
+
+	@Setup
+	public void setup() {
+		int height = width*3/4;
+		src_F32.reshape(width,height);
+		dst_F32.reshape(width,height);
 
-	public static final int TEST_TIME = 1000;
-
-	Class<T> imageType;
-	
-	public T src_F32;
-	public T dst_F32;
-
-	public BenchmarkImageDistort(Class<T> imageType) {
-		this.imageType = imageType;
-		src_F32 = GeneralizedImageOps.createSingleBand(imageType,imgWidth,imgHeight);
-		dst_F32 = GeneralizedImageOps.createSingleBand(imageType,imgWidth,imgHeight);
-	}
-
-	public class HomographyBilinear_F32 extends PerformerBase {
-		ImageDistort<T,T> alg;
-
-		public HomographyBilinear_F32(Homography2D_F32 affine) {
-			PixelTransform2_F32 tran = new PixelTransformHomography_F32(affine);
-			InterpolatePixelS<T> interp = FactoryInterpolation.bilinearPixelS(imageType, BorderType.EXTENDED);
-			
-			alg = FactoryDistort.distortSB(false, interp, imageType);
-			alg.setModel(tran);
-		}
-
-		@Override
-		public void process() {
-			alg.apply(src_F32, dst_F32);
-		}
-	}
-
-	public class HomographyBilinearCrop_F32 extends PerformerBase {
-		ImageDistort<T,T> alg;
-
-		public HomographyBilinearCrop_F32(Homography2D_F32 affine) {
-			PixelTransform2_F32 tran = new PixelTransformHomography_F32(affine);
-			InterpolatePixelS<T> interp = FactoryInterpolation.bilinearPixelS(imageType, BorderType.EXTENDED);
-
-			alg = FactoryDistort.distortSB(false, interp, imageType);
-			alg.setModel(tran);
-		}
-
-		@Override
-		public void process() {
-			alg.apply(src_F32, dst_F32,0,0,imgWidth,imgHeight);
-		}
-	}
-
-	public class MapBilinear_F32 extends PerformerBase {
-		ImageDistort<T,T> alg;
-
-		public MapBilinear_F32( Homography2D_F32 homography ) {
-			PixelTransform2_F32 tran = new PixelTransformHomography_F32(homography);
-			InterpolatePixelS<T> interp = FactoryInterpolation.bilinearPixelS(imageType, BorderType.EXTENDED);
-
-			alg = FactoryDistort.distortSB(true, interp, imageType);
-			alg.setModel(tran);
-		}
-
-		@Override
-		public void process() {
-			alg.apply(src_F32, dst_F32,0,0,imgWidth,imgHeight);
-		}
-	}
-
-	private void benchmark() {
 		Random rand = new Random(234);
+		ImageMiscOps.fillUniform(src_F32, rand, 0, 200);
 
-		Homography2D_F32 affine = new Homography2D_F32((float)rand.nextGaussian(),(float)rand.nextGaussian(),
+		Homography2D_F32 homography = new Homography2D_F32((float)rand.nextGaussian(),(float)rand.nextGaussian(),
 				(float)rand.nextGaussian(),(float)rand.nextGaussian(),(float)rand.nextGaussian(),
 				(float)rand.nextGaussian(),(float)rand.nextGaussian(),(float)rand.nextGaussian(),
 				(float)rand.nextGaussian());
 
-		System.out.println("=========  Profile Image Size " + imgWidth + " x " + imgHeight + " ==========");
-		System.out.println();
+		distort = createDistort(false, homography);
+		distortCached = createDistort(true, homography);
+	}
 
-		ProfileOperation.printOpsPerSec(new MapBilinear_F32(affine),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new HomographyBilinear_F32(affine),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new HomographyBilinearCrop_F32(affine),TEST_TIME);
+	private static ImageDistort<GrayF32,GrayF32> createDistort( boolean cached , Homography2D_F32 homography ) {
+		InterpolatePixelS<GrayF32> interp = FactoryInterpolation.bilinearPixelS(GrayF32.class, BorderType.EXTENDED);
 
+		ImageDistort<GrayF32,GrayF32> alg = FactoryDistort.distortSB(cached, interp, GrayF32.class);
+		alg.setModel(new PixelTransformHomography_F32(homography));
+		return alg;
 	}
 
+	@Benchmark
+	public void homographyBilinear_F32() {
+		distort.apply(src_F32, dst_F32);
+	}
 
-	public static void main( String args[] ) {
-		BenchmarkImageDistort benchmark = new BenchmarkImageDistort(GrayF32.class);
+	@Benchmark
+	public void homographyBilinearCrop_F32() {
+		distort.apply(src_F32, dst_F32,0,0,dst_F32.width,dst_F32.height);
+	}
 
-		benchmark.benchmark();
+	@Benchmark
+	public void mapBilinear_F32() {
+		distortCached.apply(src_F32, dst_F32,0,0,dst_F32.width,dst_F32.height);
 	}
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -18,69 +18,58 @@
 
 package boofcv.alg.distort;
 
-import boofcv.misc.Performer;
-import boofcv.misc.ProfileOperation;
 import boofcv.struct.distort.PixelTransform2_F32;
 import georegression.struct.affine.Affine2D_F32;
 import georegression.struct.homography.Homography2D_F32;
+import org.openjdk.jmh.annotations.*;
 
 import java.util.Random;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author Peter Abeles
  */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value=1)
 public class BenchmarkPixelTransform {
+	@Param({"640", "1920"})
+	public int width;
 
+	PixelTransform2_F32 homography;
+	PixelTransform2_F32 affine;
 
-	public static final int imgWidth = 640;
-	public static final int imgHeight = 480;
-	
-	public static final int TEST_TIME = 1000;
-
-	public static class TestPixelTransform_F32 implements Performer {
-		PixelTransform2_F32 alg;
-		String name;
-
-		public TestPixelTransform_F32(PixelTransform2_F32 alg, String name ) {
-			this.alg = alg;
-			this.name = name;
-		}
-
-		@Override
-		public void process() {
-			for (int y = 0; y < imgHeight; y++ )
-				for (int x = 0; x < imgWidth; x++)
-					alg.compute(x, y);
-		}
-
-		@Override
-		public String getName() {
-			return name;
-		}
-	}
-
-	
-	private static void benchmark(PixelTransform2_F32 alg , String name ) {
-		ProfileOperation.printOpsPerSec(new TestPixelTransform_F32(alg,name), TEST_TIME);
-	}
-	
-	public static void main( String args[] ) {
+	@Setup
+	public void setup() {
 		Random rand = new Random(234);
 
-		Affine2D_F32 affine = new Affine2D_F32((float)rand.nextGaussian(),(float)rand.nextGaussian(),
+		affine = new PixelTransformAffine_F32(new Affine2D_F32((float)rand.nextGaussian(),(float)rand.nextGaussian(),
 				(float)rand.nextGaussian(),(float)rand.nextGaussian(),(float)rand.nextGaussian(),
-				(float)rand.nextGaussian());
+				(float)rand.nextGaussian()));
 
-		Homography2D_F32 homography = new Homography2D_F32((float)rand.nextGaussian(),(float)rand.nextGaussian(),
+		homography = new PixelTransformHomography_F32(new Homography2D_F32((float)rand.nextGaussian(),(float)rand.nextGaussian(),
 				(float)rand.nextGaussian(),(float)rand.nextGaussian(),(float)rand.nextGaussian(),
 				(float)rand.nextGaussian(),(float)rand.nextGaussian(),(float)rand.nextGaussian(),
-				(float)rand.nextGaussian());
+				(float)rand.nextGaussian()));
+	}
 
-		System.out.println("=========  Profile Image Size " + imgWidth + " x " + imgHeight + " ==========");
-		System.out.println();
+	@Benchmark
+	public void homography() {
+		computeAll(homography);
+	}
 
-		benchmark(new PixelTransformHomography_F32(homography), "Homography");
-		benchmark(new PixelTransformAffine_F32(affine), "Affine");
+	@Benchmark
+	public void affine() {
+		computeAll(affine);
+	}
 
+	private void computeAll( PixelTransform2_F32 alg ) {
+		int height = width*3/4;
+		for (int y = 0; y < height; y++ )
+			for (int x = 0; x < width; x++)
+				alg.compute(x, y);
 	}
 }
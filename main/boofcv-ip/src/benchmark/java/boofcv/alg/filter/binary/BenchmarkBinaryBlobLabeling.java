@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -19,68 +19,53 @@
 package boofcv.alg.filter.binary;
 
 import boofcv.alg.misc.ImageMiscOps;
-import boofcv.misc.PerformerBase;
-import boofcv.misc.ProfileOperation;
 import boofcv.struct.ConnectRule;
 import boofcv.struct.image.GrayS32;
 import boofcv.struct.image.GrayU8;
+import org.openjdk.jmh.annotations.*;
 
 import java.util.Random;
+import java.util.concurrent.TimeUnit;
 
 /**
- * Benchmark for different convolution operations.
+ * Benchmark for labeling binary blobs with different connect rules
  *
  * @author Peter Abeles
  */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value=1)
 public class BenchmarkBinaryBlobLabeling {
+	@Param({"640", "1920"})
+	public int width;
 
-	static final long TEST_TIME = 1000;
+	GrayU8 input = new GrayU8(1,1);
+	GrayS32 output = new GrayS32(1,1);
 
-	static int imgWidth = 640;
-	static int imgHeight = 480;
+	LinearContourLabelChang2004 alg8 = new LinearContourLabelChang2004(ConnectRule.EIGHT);
+	LinearContourLabelChang2004 alg4 = new LinearContourLabelChang2004(ConnectRule.FOUR);
 
-	static GrayU8 original = new GrayU8(imgWidth, imgHeight);
-	static GrayU8 input = new GrayU8(imgWidth, imgHeight);
-	static GrayS32 output = new GrayS32(imgWidth, imgHeight);
+	@Setup
+	public void setup() {
+		int height = width*3/4;
+		input.reshape(width,height);
+		output.reshape(width,height);
 
-	public static class NewAlg8 extends PerformerBase {
-
-		LinearContourLabelChang2004 alg = new LinearContourLabelChang2004(ConnectRule.EIGHT);
-
-		@Override
-		public void process() {
-			alg.process(input,output);
-		}
+		Random rand = new Random(234);
+		ImageMiscOps.fillUniform(input, rand, 0, 2);
+		ImageMiscOps.fillBorder(input, 0, 1);
 	}
 
-	public static class NewAlg4 extends PerformerBase {
-
-		LinearContourLabelChang2004 alg = new LinearContourLabelChang2004(ConnectRule.FOUR);
-
-		@Override
-		public void process() {
-			alg.process(input,output);
-//			System.out.println("new 4 = "+alg.getContours().size);
-		}
+	@Benchmark
+	public void rule8() {
+		alg8.process(input,output);
 	}
 
-	public static void main(String args[]) {
-		System.out.println("=========  Profile Image Size "+ imgWidth +" x "+ imgHeight  +" ==========");
-
-		Random rand = new Random(234);
-		ImageMiscOps.fillUniform(original, rand, 0, 2);
-
-		for( int y = 0; y < original.height; y++ ) {
-			for( int x = 0; x < original.width; x++ ) {
-				if( x == 0 || y == 0 || x == original.width-1 || y == original.height-1 )
-					original.unsafe_set(x,y,0);
-			}
-		}
-
-		input.setTo(original);
-
-		ProfileOperation.printOpsPerSec(new NewAlg8(), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new NewAlg4(), TEST_TIME);
-
+	@Benchmark
+	public void rule4() {
+		alg4.process(input,output);
 	}
 }
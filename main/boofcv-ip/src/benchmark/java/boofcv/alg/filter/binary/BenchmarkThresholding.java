@@ -23,116 +23,94 @@ import boofcv.alg.filter.binary.impl.ThresholdBlockMinMax_U8;
 import boofcv.alg.filter.binary.impl.ThresholdSauvola;
 import boofcv.alg.misc.ImageMiscOps;
 import boofcv.core.image.ConvertImage;
-import boofcv.misc.PerformerBase;
-import boofcv.misc.ProfileOperation;
 import boofcv.struct.ConfigLength;
 import boofcv.struct.image.GrayF32;
-import boofcv.struct.image.GrayS32;
 import boofcv.struct.image.GrayU8;
+import org.openjdk.jmh.annotations.*;
 
 import java.util.Random;
+import java.util.concurrent.TimeUnit;
 
 /**
- * Benchmark for different convolution operations.
+ * Benchmark for different thresholding operations.
  *
  * @author Peter Abeles
  */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value=1)
 public class BenchmarkThresholding {
-	static int imgWidth = 640;
-	static int imgHeight = 480;
-	static long TEST_TIME = 1000;
+	@Param({"640", "1920"})
+	public int width;
 
-	static GrayU8 input = new GrayU8(imgWidth, imgHeight);
-	static GrayF32 inputF32 = new GrayF32(imgWidth, imgHeight);
-	static GrayS32 output_S32 = new GrayS32(imgWidth, imgHeight);
-	static GrayU8 output_U8 = new GrayU8(imgWidth, imgHeight);
-	static GrayU8 work = new GrayU8(imgWidth, imgHeight);
-	static GrayU8 work2 = new GrayU8(imgWidth, imgHeight);
+	GrayU8 input = new GrayU8(1,1);
+	GrayF32 inputF32 = new GrayF32(1,1);
+	GrayU8 output_U8 = new GrayU8(1,1);
+	GrayU8 work = new GrayU8(1,1);
+	GrayU8 work2 = new GrayU8(1,1);
 
-	static int threshLower = 20;
-	static int threshUpper = 30;
+	int threshLower = 20;
 
-	static ConfigLength adaptiveWidth = ConfigLength.fixed(13);
+	ConfigLength adaptiveWidth = ConfigLength.fixed(13);
+
+	ThresholdSauvola sauvola = new ThresholdSauvola(adaptiveWidth,0.3f, true);
+	ThresholdBlockMinMax_F32 blockMinMax_F32 = new ThresholdBlockMinMax_F32(20,adaptiveWidth,0.95f,true, true);
+	ThresholdBlockMinMax_U8 blockMinMax_U8 = new ThresholdBlockMinMax_U8(20,adaptiveWidth,0.95,true, true);
+
+	@Setup
+	public void setup() {
+		int height = width*3/4;
+		input.reshape(width,height);
+		inputF32.reshape(width,height);
+		output_U8.reshape(width,height);
+		work.reshape(width,height);
+		work2.reshape(width,height);
 
-	public BenchmarkThresholding() {
 		Random rand = new Random(234);
 		ImageMiscOps.fillUniform(input, rand, 0, 100);
 		ConvertImage.convert(input,inputF32);
 	}
 
-	public static class Threshold extends PerformerBase {
-		@Override
-		public void process() {
-			ThresholdImageOps.threshold(input, output_U8, threshLower, true);
-		}
-	}
-
-	public static class LocalMean extends PerformerBase {
-		@Override
-		public void process() {
-			ThresholdImageOps.localMean(input, output_U8, adaptiveWidth, 0, true, work, work2);
-		}
+	@Benchmark
+	public void threshold() {
+		ThresholdImageOps.threshold(input, output_U8, threshLower, true);
 	}
 
-	public static class LocalGaussian extends PerformerBase {
-		@Override
-		public void process() {
-			ThresholdImageOps.localGaussian(input, output_U8, adaptiveWidth, 0, true, work, work2);
-		}
+	@Benchmark
+	public void localMean() {
+		ThresholdImageOps.localMean(input, output_U8, adaptiveWidth, 0, true, work, work2);
 	}
 
-	public static class LocalSauvola extends PerformerBase {
-		@Override
-		public void process() {
-			GThresholdImageOps.localSauvola(input, output_U8, adaptiveWidth, 0.3f, true);
-		}
+	@Benchmark
+	public void localGaussian() {
+		ThresholdImageOps.localGaussian(input, output_U8, adaptiveWidth, 0, true, work, work2);
 	}
 
-	public static class LocalSauvola2 extends PerformerBase {
-		ThresholdSauvola alg = new ThresholdSauvola(adaptiveWidth,0.3f, true);
-		@Override
-		public void process() {
-			alg.process(inputF32,output_U8);
-		}
+	@Benchmark
+	public void localSauvola() {
+		GThresholdImageOps.localSauvola(input, output_U8, adaptiveWidth, 0.3f, true);
 	}
 
-	public static class LocalNick extends PerformerBase {
-		@Override
-		public void process() {
-			GThresholdImageOps.localNick(input, output_U8, adaptiveWidth, -0.2f, true);
-		}
+	@Benchmark
+	public void localSauvola2() {
+		sauvola.process(inputF32,output_U8);
 	}
 
-	public static class SquareBlockMinMax_F32 extends PerformerBase {
-		ThresholdBlockMinMax_F32 alg = new ThresholdBlockMinMax_F32(20,adaptiveWidth,0.95f,true, true);
-		@Override
-		public void process() {
-			alg.process(inputF32,output_U8);
-		}
+	@Benchmark
+	public void localNick() {
+		GThresholdImageOps.localNick(input, output_U8, adaptiveWidth, -0.2f, true);
 	}
 
-	public static class SquareBlockMinMax_U8 extends PerformerBase {
-		ThresholdBlockMinMax_U8 alg = new ThresholdBlockMinMax_U8(20,adaptiveWidth,0.95,true, true);
-		@Override
-		public void process() {
-			alg.process(input,output_U8);
-		}
+	@Benchmark
+	public void squareBlockMinMax_F32() {
+		blockMinMax_F32.process(inputF32,output_U8);
 	}
 
-
-	public static void main(String args[]) {
-
-		System.out.println("=========  Profile Image Size " + imgWidth + " x " + imgHeight + " ==========");
-		System.out.println();
-
-		ProfileOperation.printOpsPerSec(new Threshold(), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new LocalMean(), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new LocalGaussian(), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new LocalSauvola(), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new LocalSauvola2(), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new LocalNick(), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new SquareBlockMinMax_F32(), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new SquareBlockMinMax_U8(), TEST_TIME);
-
+	@Benchmark
+	public void squareBlockMinMax_U8() {
+		blockMinMax_U8.process(input,output_U8);
 	}
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -23,62 +23,50 @@ import boofcv.core.image.border.*;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.GrayS16;
 import boofcv.struct.image.GrayU8;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
 
 import java.util.Random;
 
 /**
- * Base class for benchmarking derivative classes
+ * Base class for benchmarking derivative classes. Declares the input and output images shared by all the derivative
+ * benchmarks.
  * 
  * @author Peter Abeles
  */
+@State(Scope.Benchmark)
 public abstract class BenchmarkDerivativeBase {
-	public static int imgWidth = 640;
-	public static int imgHeight = 480;
-	public static long TEST_TIME = 1000;
-	public static boolean border = true;
-	public static ImageBorder_S32 borderI32 = new ImageBorder1D_S32(BorderIndex1D_Extend.class);
-	public static ImageBorder_F32 borderF32 = new ImageBorder1D_F32(BorderIndex1D_Extend.class);
+	@Param({"640", "1920"})
+	public int width;
 
-	public static GrayF32 imgFloat32;
-	public static GrayF32 derivX_F32;
-	public static GrayF32 derivY_F32;
-	public static GrayF32 derivXY_F32;
-	public static GrayU8 imgInt8;
-	public static GrayS16 derivX_I16;
-	public static GrayS16 derivY_I16;
+	public ImageBorder_S32 borderI32 = new ImageBorder1D_S32(BorderIndex1D_Extend.class);
+	public ImageBorder_F32 borderF32 = new ImageBorder1D_F32(BorderIndex1D_Extend.class);
 
-	public static GrayS16 derivXY_I16;
+	public GrayF32 imgFloat32 = new GrayF32(1,1);
+	public GrayF32 derivX_F32 = new GrayF32(1,1);
+	public GrayF32 derivY_F32 = new GrayF32(1,1);
+	public GrayF32 derivXY_F32 = new GrayF32(1,1);
+	public GrayU8 imgInt8 = new GrayU8(1,1);
+	public GrayS16 derivX_I16 = new GrayS16(1,1);
+	public GrayS16 derivY_I16 = new GrayS16(1,1);
+	public GrayS16 derivXY_I16 = new GrayS16(1,1);
 
+	@Setup
+	public void setup() {
+		int height = width*3/4;
+		imgInt8.reshape(width,height);
+		derivX_I16.reshape(width,height);
+		derivY_I16.reshape(width,height);
+		derivXY_I16.reshape(width,height);
+		imgFloat32.reshape(width,height);
+		derivX_F32.reshape(width,height);
+		derivY_F32.reshape(width,height);
+		derivXY_F32.reshape(width,height);
 
-	public abstract void profile_I8();
-	public abstract void profile_F32();
-
-	public void process() {
-		imgInt8 = new GrayU8(imgWidth,imgHeight);
-		derivX_I16 = new GrayS16(imgWidth,imgHeight);
-		derivY_I16 = new GrayS16(imgWidth,imgHeight);
-		derivXY_I16 = new GrayS16(imgWidth,imgHeight);
-		imgFloat32 = new GrayF32(imgWidth,imgHeight);
-		derivX_F32 = new GrayF32(imgWidth,imgHeight);
-		derivY_F32 = new GrayF32(imgWidth,imgHeight);
-		derivXY_F32 = new GrayF32(imgWidth,imgHeight);
-
-		Random rand = new Random(123);
+		Random rand = new Random(234);
 		GImageMiscOps.fillUniform(imgInt8, rand, 0, 100);
 		GImageMiscOps.fillUniform(imgFloat32,rand,0,100);
-		
-		System.out.println("=========  Profile Image Size "+imgWidth+" x "+imgHeight+" ==========");
-		System.out.println("               border = "+border);
-		System.out.println();
-		System.out.println("             GrayU8");
-		System.out.println();
-
-		profile_I8();
-
-		System.out.println("\n             GrayF32");
-		System.out.println();
-
-		profile_F32();
-
 	}
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -19,153 +19,89 @@
 package boofcv.alg.filter.derivative;
 
 import boofcv.alg.filter.derivative.impl.HessianThree_Standard;
-import boofcv.misc.PerformerBase;
-import boofcv.misc.ProfileOperation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
 
 /**
  * Benchmarks related to computing image derivatives
  * 
  * @author Peter Abeles
  */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value=1)
 public class BenchmarkImageDerivative extends BenchmarkDerivativeBase {
-
-	public static class Sobel_I8 extends PerformerBase
-	{
-		@Override
-		public void process() {
-			GradientSobel.process(imgInt8,derivX_I16,derivY_I16,borderI32);
-		}
-	}
-
-	public static class Sobel_F32 extends PerformerBase
-	{
-		@Override
-		public void process() {
-			GradientSobel.process(imgFloat32,derivX_F32,derivY_F32,borderF32);
-		}
-	}
-
-	public static class DerivativeThree_F32 extends PerformerBase
-	{
-		@Override
-		public void process() {
-			GradientThree.process(imgFloat32,derivX_F32,derivY_F32,borderF32);
-		}
+	@Benchmark
+	public void sobel_I8() {
+		GradientSobel.process(imgInt8,derivX_I16,derivY_I16,borderI32);
 	}
 
-	public static class DerivativeThree_I8 extends PerformerBase
-	{
-		@Override
-		public void process() {
-			GradientThree.process(imgInt8,derivX_I16,derivY_I16,borderI32);
-		}
+	@Benchmark
+	public void sobel_F32() {
+		GradientSobel.process(imgFloat32,derivX_F32,derivY_F32,borderF32);
 	}
 
-	public static class HessianThree_Std_I8 extends PerformerBase
-	{
-		@Override
-		public void process() {
-			HessianThree_Standard.process(imgInt8,derivX_I16,derivY_I16,derivXY_I16);
-		}
+	@Benchmark
+	public void prewitt_I8() {
+		GradientPrewitt.process(imgInt8,derivX_I16,derivY_I16,borderI32);
 	}
 
-	public static class HessianThree_I8 extends PerformerBase
-	{
-		@Override
-		public void process() {
-			HessianThree.process(imgInt8,derivX_I16,derivY_I16,derivXY_I16,borderI32);
-		}
+	@Benchmark
+	public void prewitt_F32() {
+		GradientPrewitt.process(imgFloat32,derivX_F32,derivY_F32,borderF32);
 	}
 
-	public static class HessianThree_Std_F32 extends PerformerBase
-	{
-		@Override
-		public void process() {
-			HessianThree_Standard.process(imgFloat32,derivX_F32,derivY_F32,derivXY_F32);
-		}
+	@Benchmark
+	public void three_I8() {
+		GradientThree.process(imgInt8,derivX_I16,derivY_I16,borderI32);
 	}
 
-	public static class HessianThree_F32 extends PerformerBase
-	{
-		@Override
-		public void process() {
-			HessianThree.process(imgFloat32,derivX_F32,derivY_F32,derivXY_F32,borderF32);
-		}
+	@Benchmark
+	public void three_F32() {
+		GradientThree.process(imgFloat32,derivX_F32,derivY_F32,borderF32);
 	}
 
-	public static class HessianSobel_I8 extends PerformerBase
-	{
-		@Override
-		public void process() {
-			HessianSobel.process(imgInt8,derivX_I16,derivY_I16,derivXY_I16,borderI32);
-		}
+	@Benchmark
+	public void hessianThreeStd_I8() {
+		HessianThree_Standard.process(imgInt8,derivX_I16,derivY_I16,derivXY_I16);
 	}
 
-	public static class HessianSobel_F32 extends PerformerBase
-	{
-		@Override
-		public void process() {
-			HessianSobel.process(imgFloat32,derivX_F32,derivY_F32,derivXY_F32,borderF32);
-		}
+	@Benchmark
+	public void hessianThreeStd_F32() {
+		HessianThree_Standard.process(imgFloat32,derivX_F32,derivY_F32,derivXY_F32);
 	}
 
-	public static class LaplacianEdge_F32 extends PerformerBase
-	{
-		@Override
-		public void process() {
-			LaplacianEdge.process(imgFloat32,derivX_F32);
-		}
+	@Benchmark
+	public void hessianThree_I8() {
+		HessianThree.process(imgInt8,derivX_I16,derivY_I16,derivXY_I16,borderI32);
 	}
 
-	public static class LaplacianEdge_I8 extends PerformerBase
-	{
-		@Override
-		public void process() {
-			LaplacianEdge.process(imgInt8,derivX_I16);
-		}
+	@Benchmark
+	public void hessianThree_F32() {
+		HessianThree.process(imgFloat32,derivX_F32,derivY_F32,derivXY_F32,borderF32);
 	}
 
-	public static class Prewitt_I8 extends PerformerBase
-	{
-		@Override
-		public void process() {
-			GradientPrewitt.process(imgInt8,derivX_I16,derivY_I16,borderI32);
-		}
+	@Benchmark
+	public void hessianSobel_I8() {
+		HessianSobel.process(imgInt8,derivX_I16,derivY_I16,derivXY_I16,borderI32);
 	}
 
-	public static class Prewitt_F32 extends PerformerBase
-	{
-		@Override
-		public void process() {
-			GradientPrewitt.process(imgFloat32,derivX_F32,derivY_F32,borderF32);
-		}
+	@Benchmark
+	public void hessianSobel_F32() {
+		HessianSobel.process(imgFloat32,derivX_F32,derivY_F32,derivXY_F32,borderF32);
 	}
 
-	@Override
-	public void profile_I8() {
-		ProfileOperation.printOpsPerSec(new Sobel_I8(),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new Prewitt_I8(),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new DerivativeThree_I8(),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new HessianThree_I8(),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new HessianSobel_I8(),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new LaplacianEdge_I8(),TEST_TIME);
+	@Benchmark
+	public void laplacianEdge_I8() {
+		LaplacianEdge.process(imgInt8,derivX_I16);
 	}
 
-	@Override
-	public void profile_F32() {
-		ProfileOperation.printOpsPerSec(new Sobel_F32(),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new Prewitt_F32(),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new DerivativeThree_F32(),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new HessianThree_F32(),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new HessianSobel_F32(),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new LaplacianEdge_F32(),TEST_TIME);
+	@Benchmark
+	public void laplacianEdge_F32() {
+		LaplacianEdge.process(imgFloat32,derivX_F32);
 	}
-
-	public static void main( String args[] ) {
-		BenchmarkImageDerivative benchmark = new BenchmarkImageDerivative();
-
-		BenchmarkImageDerivative.border = true;
-		benchmark.process();
-	}
-
 }
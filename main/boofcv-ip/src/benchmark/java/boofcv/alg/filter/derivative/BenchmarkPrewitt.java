@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -19,65 +19,39 @@
 package boofcv.alg.filter.derivative;
 
 import boofcv.alg.filter.derivative.impl.GradientPrewitt_Shared;
-import boofcv.misc.PerformerBase;
-import boofcv.misc.ProfileOperation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
 
 /**
  * Benchmarks related to computing image derivatives
  * 
  * @author Peter Abeles
  */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value=1)
 public class BenchmarkPrewitt extends BenchmarkDerivativeBase {
-
-	public static class Prewitt_I8 extends PerformerBase
-	{
-		@Override
-		public void process() {
-			GradientPrewitt.process(imgInt8,derivX_I16,derivY_I16,borderI32);
-		}
-	}
-
-	public static class Prewitt_F32 extends PerformerBase
-	{
-		@Override
-		public void process() {
-			GradientPrewitt.process(imgFloat32,derivX_F32,derivY_F32,borderF32);
-		}
-	}
-
-	public static class PrewittShared_I8 extends PerformerBase
-	{
-		@Override
-		public void process() {
-			GradientPrewitt_Shared.process(imgInt8,derivX_I16,derivY_I16);
-		}
+	@Benchmark
+	public void prewitt_I8() {
+		GradientPrewitt.process(imgInt8,derivX_I16,derivY_I16,borderI32);
 	}
 
-	public static class PrewittShared_F32 extends PerformerBase
-	{
-		@Override
-		public void process() {
-			GradientPrewitt_Shared.process(imgFloat32,derivX_F32,derivY_F32);
-		}
+	@Benchmark
+	public void prewitt_F32() {
+		GradientPrewitt.process(imgFloat32,derivX_F32,derivY_F32,borderF32);
 	}
 
-	@Override
-	public void profile_I8() {
-		ProfileOperation.printOpsPerSec(new Prewitt_I8(),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new PrewittShared_I8(),TEST_TIME);
+	@Benchmark
+	public void prewittShared_I8() {
+		GradientPrewitt_Shared.process(imgInt8,derivX_I16,derivY_I16);
 	}
 
-	@Override
-	public void profile_F32() {
-		ProfileOperation.printOpsPerSec(new Prewitt_F32(),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new PrewittShared_F32(),TEST_TIME);
+	@Benchmark
+	public void prewittShared_F32() {
+		GradientPrewitt_Shared.process(imgFloat32,derivX_F32,derivY_F32);
 	}
-
-	public static void main( String args[] ) {
-		BenchmarkPrewitt benchmark = new BenchmarkPrewitt();
-
-		BenchmarkPrewitt.border = true;
-		benchmark.process();
-	}
-
 }
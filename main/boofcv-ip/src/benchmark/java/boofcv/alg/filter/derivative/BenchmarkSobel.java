@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -21,118 +21,69 @@ package boofcv.alg.filter.derivative;
 import boofcv.alg.filter.derivative.impl.GradientSobel_Naive;
 import boofcv.alg.filter.derivative.impl.GradientSobel_Outer;
 import boofcv.alg.filter.derivative.impl.GradientSobel_UnrolledOuter;
-import boofcv.misc.PerformerBase;
-import boofcv.misc.ProfileOperation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
 
 /**
  * Benchmarks related to computing image derivatives
  * 
  * @author Peter Abeles
  */
-public class BenchmarkSobel extends BenchmarkDerivativeBase{
-
-	public static class Sobel_I8 extends PerformerBase
-	{
-		@Override
-		public void process() {
-			GradientSobel.process(imgInt8,derivX_I16,derivY_I16,borderI32);
-		}
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value=1)
+public class BenchmarkSobel extends BenchmarkDerivativeBase {
+	@Benchmark
+	public void sobel_I8() {
+		GradientSobel.process(imgInt8,derivX_I16,derivY_I16,borderI32);
 	}
 
-	public static class Sobel_F32 extends PerformerBase
-	{
-		@Override
-		public void process() {
-			GradientSobel.process(imgFloat32,derivX_F32,derivY_F32,borderF32);
-		}
+	@Benchmark
+	public void sobel_F32() {
+		GradientSobel.process(imgFloat32,derivX_F32,derivY_F32,borderF32);
 	}
 
-	public static class SobelNaive_I8 extends PerformerBase
-	{
-		@Override
-		public void process() {
-			GradientSobel_Naive.process(imgInt8,derivX_I16,derivY_I16);
-		}
+	@Benchmark
+	public void sobelNaive_I8() {
+		GradientSobel_Naive.process(imgInt8,derivX_I16,derivY_I16);
 	}
 
-	public static class SobelNaive_F32 extends PerformerBase
-	{
-		@Override
-		public void process() {
-			GradientSobel_Naive.process(imgFloat32,derivX_F32,derivY_F32);
-		}
+	@Benchmark
+	public void sobelNaive_F32() {
+		GradientSobel_Naive.process(imgFloat32,derivX_F32,derivY_F32);
 	}
 
-	public static class SobelOuter_I8 extends PerformerBase
-	{
-		@Override
-		public void process() {
-			GradientSobel_Outer.process_I8(imgInt8,derivX_I16,derivY_I16);
-		}
+	@Benchmark
+	public void sobelOuter_I8() {
+		GradientSobel_Outer.process_I8(imgInt8,derivX_I16,derivY_I16);
 	}
 
-	public static class SobelOuter_I8_Sub extends PerformerBase
-	{
-		@Override
-		public void process() {
-			GradientSobel_Outer.process_I8_sub(imgInt8,derivX_I16,derivY_I16);
-		}
+	@Benchmark
+	public void sobelOuter_I8_Sub() {
+		GradientSobel_Outer.process_I8_sub(imgInt8,derivX_I16,derivY_I16);
 	}
 
-	public static class SobelOuter_F32 extends PerformerBase
-	{
-		@Override
-		public void process() {
-			GradientSobel_Outer.process_F32(imgFloat32,derivX_F32,derivY_F32);
-		}
+	@Benchmark
+	public void sobelOuter_F32() {
+		GradientSobel_Outer.process_F32(imgFloat32,derivX_F32,derivY_F32);
 	}
 
-	public static class SobelUnrolledOuter_I8 extends PerformerBase
-	{
-		@Override
-		public void process() {
-			GradientSobel_UnrolledOuter.process_I8(imgInt8,derivX_I16,derivY_I16);
-		}
+	@Benchmark
+	public void sobelUnrolledOuter_I8() {
+		GradientSobel_UnrolledOuter.process_I8(imgInt8,derivX_I16,derivY_I16);
 	}
 
-	public static class SobelUnrolledOuter_F32 extends PerformerBase
-	{
-		@Override
-		public void process() {
-			GradientSobel_UnrolledOuter.process_F32(imgFloat32,derivX_F32,derivY_F32);
-		}
+	@Benchmark
+	public void sobelUnrolledOuter_F32() {
+		GradientSobel_UnrolledOuter.process_F32(imgFloat32,derivX_F32,derivY_F32);
 	}
 
-	public static class SobelUnrolledOuter_F32_Sub extends PerformerBase
-	{
-		@Override
-		public void process() {
-			GradientSobel_UnrolledOuter.process_F32_sub(imgFloat32,derivX_F32,derivY_F32);
-		}
-	}
-
-	@Override
-	public void profile_I8() {
-		ProfileOperation.printOpsPerSec(new Sobel_I8(),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new SobelNaive_I8(),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new SobelOuter_I8(),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new SobelOuter_I8_Sub(),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new SobelUnrolledOuter_I8(),TEST_TIME);
-	}
-
-	@Override
-	public void profile_F32() {
-		ProfileOperation.printOpsPerSec(new Sobel_F32(),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new SobelNaive_F32(),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new SobelOuter_F32(),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new SobelUnrolledOuter_F32(),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new SobelUnrolledOuter_F32_Sub(),TEST_TIME);
-	}
-
-	public static void main( String args[] ) {
-		BenchmarkSobel benchmark = new BenchmarkSobel();
-
-		BenchmarkSobel.border = true;
-		benchmark.process();
+	@Benchmark
+	public void sobelUnrolledOuter_F32_Sub() {
+		GradientSobel_UnrolledOuter.process_F32_sub(imgFloat32,derivX_F32,derivY_F32);
 	}
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -19,64 +19,39 @@
 package boofcv.alg.filter.derivative;
 
 import boofcv.alg.filter.derivative.impl.GradientThree_Standard;
-import boofcv.misc.PerformerBase;
-import boofcv.misc.ProfileOperation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
 
 /**
  * Benchmarks related to computing image derivatives
  * 
  * @author Peter Abeles
  */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value=1)
 public class BenchmarkThree extends BenchmarkDerivativeBase {
-
-	public static class Three_I8 extends PerformerBase
-	{
-		@Override
-		public void process() {
-			GradientThree.process(imgInt8,derivX_I16,derivY_I16,borderI32);
-		}
+	@Benchmark
+	public void three_I8() {
+		GradientThree.process(imgInt8,derivX_I16,derivY_I16,borderI32);
 	}
 
-	public static class Three_F32 extends PerformerBase
-	{
-		@Override
-		public void process() {
-			GradientThree.process(imgFloat32,derivX_F32,derivY_F32,borderF32);
-		}
+	@Benchmark
+	public void three_F32() {
+		GradientThree.process(imgFloat32,derivX_F32,derivY_F32,borderF32);
 	}
 
-	public static class ThreeStandard_I8 extends PerformerBase
-	{
-		@Override
-		public void process() {
-			GradientThree_Standard.process(imgInt8,derivX_I16,derivY_I16);
-		}
+	@Benchmark
+	public void threeStandard_I8() {
+		GradientThree_Standard.process(imgInt8,derivX_I16,derivY_I16);
 	}
 
-	public static class ThreeStandard_F32 extends PerformerBase
-	{
-		@Override
-		public void process() {
-			GradientThree_Standard.process(imgFloat32,derivX_F32,derivY_F32);
-		}
-	}
-
-	@Override
-	public void profile_I8() {
-		ProfileOperation.printOpsPerSec(new Three_I8(),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new ThreeStandard_I8(),TEST_TIME);
-	}
-
-	@Override
-	public void profile_F32() {
-		ProfileOperation.printOpsPerSec(new Three_F32(),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new ThreeStandard_F32(),TEST_TIME);
-	}
-
-	public static void main( String args[] ) {
-		BenchmarkThree benchmark = new BenchmarkThree();
-
-		BenchmarkThree.border = true;
-		benchmark.process();
+	@Benchmark
+	public void threeStandard_F32() {
+		GradientThree_Standard.process(imgFloat32,derivX_F32,derivY_F32);
 	}
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -19,78 +19,64 @@
 package boofcv.alg.filter.misc;
 
 import boofcv.alg.misc.ImageMiscOps;
-import boofcv.misc.PerformerBase;
-import boofcv.misc.ProfileOperation;
 import boofcv.struct.image.GrayS8;
 import boofcv.struct.image.GrayU8;
+import org.openjdk.jmh.annotations.*;
 
 import java.util.Random;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author Peter Abeles
  */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value=1)
 public class BenchmarkAverageDownSample {
-	static final long TEST_TIME = 1000;
-	static final Random rand = new Random(234234);
-	static final int width = 640;
-	static final int height = 480;
+	@Param({"640", "1920"})
+	public int width;
 
-	static GrayU8 inputU8 = new GrayU8(width,height);
-	static GrayS8 inputS8 = new GrayS8(width,height);
-	static GrayU8 out8 = new GrayU8(1,1);
+	GrayU8 inputU8 = new GrayU8(1,1);
+	GrayS8 inputS8 = new GrayS8(1,1);
+	GrayU8 out2 = new GrayU8(1,1);
+	GrayU8 outN = new GrayU8(1,1);
 
-	static int square = 4;
+	int square = 4;
 
-	public static class General2 extends PerformerBase {
+	@Setup
+	public void setup() {
+		int height = width*3/4;
+		inputU8.reshape(width,height);
+		inputS8.reshape(width,height);
 
-		@Override
-		public void process() {
-			ImplAverageDownSampleN.down(inputU8, 2, out8);
-		}
-	}
-
-	public static class General2S extends PerformerBase {
+		Random rand = new Random(234);
+		ImageMiscOps.fillUniform(inputU8,rand,0,100);
+		ImageMiscOps.fillUniform(inputS8,rand,-50,50);
 
-		@Override
-		public void process() {
-			ImplAverageDownSampleN.down(inputS8, 2, out8);
-		}
+		AverageDownSampleOps.reshapeDown(out2,width,height,2);
+		AverageDownSampleOps.reshapeDown(outN,width,height,square);
 	}
 
-	public static class GeneralN extends PerformerBase {
-
-		@Override
-		public void process() {
-			ImplAverageDownSampleN.down(inputU8, square, out8);
-		}
+	@Benchmark
+	public void general2() {
+		ImplAverageDownSampleN.down(inputU8, 2, out2);
 	}
 
-
-
-	public static class Special2 extends PerformerBase {
-
-		@Override
-		public void process() {
-			ImplAverageDownSample2.down(inputU8, out8);
-		}
+	@Benchmark
+	public void general2S() {
+		ImplAverageDownSampleN.down(inputS8, 2, out2);
 	}
 
+	@Benchmark
+	public void generalN() {
+		ImplAverageDownSampleN.down(inputU8, square, outN);
+	}
 
-	public static void main( String argsp[ ] ) {
-		System.out.println("=========  "+width+"  "+height);
-		System.out.println();
-
-		ImageMiscOps.fillUniform(inputU8,rand,0,100);
-		ImageMiscOps.fillUniform(inputS8,rand,-50,50);
-
-		AverageDownSampleOps.reshapeDown(out8,width,height,2);
-
-		ProfileOperation.printOpsPerSec(new General2(), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new Special2(), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new General2S(), TEST_TIME);
-
-		AverageDownSampleOps.reshapeDown(out8,width,height,square);
-		ProfileOperation.printOpsPerSec(new GeneralN(), TEST_TIME);
-
+	@Benchmark
+	public void special2() {
+		ImplAverageDownSample2.down(inputU8, out2);
 	}
 }
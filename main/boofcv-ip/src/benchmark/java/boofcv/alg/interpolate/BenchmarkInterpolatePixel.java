@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -24,103 +24,89 @@ import boofcv.alg.interpolate.impl.ImplPolynomialPixel_F32;
 import boofcv.alg.interpolate.impl.NearestNeighborPixel_F32;
 import boofcv.alg.interpolate.kernel.BicubicKernel_F32;
 import boofcv.alg.misc.ImageMiscOps;
-import boofcv.misc.PerformerBase;
-import boofcv.misc.ProfileOperation;
 import boofcv.struct.image.GrayF32;
-import boofcv.struct.image.GrayU8;
+import org.openjdk.jmh.annotations.*;
 
 import java.util.Random;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Benchmark for interpolating on a per-pixel basis
  *
  * @author Peter Abeles
  */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value=1)
 public class BenchmarkInterpolatePixel {
-	static int imgWidth = 640;
-	static int imgHeight = 480;
-	static long TEST_TIME = 1000;
-
-	static GrayF32 imgFloat32;
-	static GrayU8 imgInt8;
+	GrayF32 imgFloat32 = new GrayF32(640,480);
 
 	// defines the region its interpolation
-	static float start = 10.1f;
-	static float end = 310.1f;
-	static float step = 1f;
-
-	public static class Bilinear_Safe_F32 extends PerformerBase {
-		ImplBilinearPixel_F32 alg = new ImplBilinearPixel_F32(imgFloat32);
+	float start = 10.1f;
+	float end = 310.1f;
+	float step = 1f;
 
-		@Override
-		public void process() {
-			for (float x = start; x <= end; x += step)
-				for (float y = start; y <= end; y += step)
-					alg.get(x, y);
-		}
-	}
+	ImplBilinearPixel_F32 bilinear = new ImplBilinearPixel_F32();
+	NearestNeighborPixel_F32 nearest = new NearestNeighborPixel_F32();
+	ImplInterpolatePixelConvolution_F32 bicubic = new ImplInterpolatePixelConvolution_F32(new BicubicKernel_F32(-0.5f),0,255);
+	ImplPolynomialPixel_F32 polynomial = new ImplPolynomialPixel_F32(5,0,255);
 
-	public static class Bilinear_UnSafe_F32 extends PerformerBase {
-		ImplBilinearPixel_F32 alg = new ImplBilinearPixel_F32(imgFloat32);
+	@Setup
+	public void setup() {
+		Random rand = new Random(234);
+		ImageMiscOps.fillUniform(imgFloat32, rand, 0, 200);
 
-		@Override
-		public void process() {
-			for (float x = start; x <= end; x += step)
-				for (float y = start; y <= end; y += step)
-					alg.get_fast(x, y);
-		}
+		bilinear.setImage(imgFloat32);
+		nearest.setImage(imgFloat32);
+		bicubic.setImage(imgFloat32);
+		polynomial.setImage(imgFloat32);
 	}
 
-	public static class NearestNeighbor_Safe_F32 extends PerformerBase {
-		NearestNeighborPixel_F32 alg = new NearestNeighborPixel_F32(imgFloat32);
-
-		@Override
-		public void process() {
-			for (float x = start; x <= end; x += step)
-				for (float y = start; y <= end; y += step)
-					alg.get(x, y);
-		}
+	@Benchmark
+	public float bilinear_Safe_F32() {
+		float sum = 0;
+		for (float x = start; x <= end; x += step)
+			for (float y = start; y <= end; y += step)
+				sum += bilinear.get(x, y);
+		return sum;
 	}
 
-	public static class BilinearConvolution_Safe_F32 extends PerformerBase {
-		ImplInterpolatePixelConvolution_F32 alg = new ImplInterpolatePixelConvolution_F32(new BicubicKernel_F32(-0.5f),0,255);
-
-		@Override
-		public void process() {
-			alg.setImage(imgFloat32);
-			for (float x = start; x <= end; x += step)
-				for (float y = start; y <= end; y += step)
-					alg.get(x, y);
-		}
+	@Benchmark
+	public float bilinear_UnSafe_F32() {
+		float sum = 0;
+		for (float x = start; x <= end; x += step)
+			for (float y = start; y <= end; y += step)
+				sum += bilinear.get_fast(x, y);
+		return sum;
 	}
 
-	public static class Polynomial_Safe_F32 extends PerformerBase {
-		ImplPolynomialPixel_F32 alg = new ImplPolynomialPixel_F32(5,0,255);
-
-		@Override
-		public void process() {
-			alg.setImage(imgFloat32);
-			for (float x = start; x <= end; x += step)
-				for (float y = start; y <= end; y += step)
-					alg.get(x, y);
-		}
+	@Benchmark
+	public float nearestNeighbor_Safe_F32() {
+		float sum = 0;
+		for (float x = start; x <= end; x += step)
+			for (float y = start; y <= end; y += step)
+				sum += nearest.get(x, y);
+		return sum;
 	}
 
-	public static void main(String args[]) {
-		imgInt8 = new GrayU8(imgWidth, imgHeight);
-		imgFloat32 = new GrayF32(imgWidth, imgHeight);
-
-		Random rand = new Random(234);
-		ImageMiscOps.fillUniform(imgInt8, rand, 0, 100);
-		ImageMiscOps.fillUniform(imgFloat32, rand, 0, 200);
-
-		System.out.println("=========  Profile Image Size " + imgWidth + " x " + imgHeight + " ==========");
-		System.out.println();
+	@Benchmark
+	public float bicubicConvolution_Safe_F32() {
+		float sum = 0;
+		for (float x = start; x <= end; x += step)
+			for (float y = start; y <= end; y += step)
+				sum += bicubic.get(x, y);
+		return sum;
+	}
 
-		ProfileOperation.printOpsPerSec(new Bilinear_Safe_F32(), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new Bilinear_UnSafe_F32(), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new NearestNeighbor_Safe_F32(), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new BilinearConvolution_Safe_F32(), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new Polynomial_Safe_F32(), TEST_TIME);
+	@Benchmark
+	public float polynomial_Safe_F32() {
+		float sum = 0;
+		for (float x = start; x <= end; x += step)
+			for (float y = start; y <= end; y += step)
+				sum += polynomial.get(x, y);
+		return sum;
 	}
 }
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.misc;
+
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayS16;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageGray;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for per-pixel functions inside of {@link PixelMath} and {@link ImageStatistics}. Sub-images
+ * are included since they can't be processed as a single contiguous row.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value=1)
+public class BenchmarkPixelMath {
+	@Param({"640", "1920"})
+	public int width;
+
+	@Param({"false", "true"})
+	public boolean subimage;
+
+	GrayU8 inputU8, outputU8;
+	GrayS16 inputS16, outputS16;
+	GrayF32 inputF32, outputF32;
+
+	@Setup
+	public void setup() {
+		Random rand = new Random(234);
+		int height = width*3/4;
+
+		inputU8 = create(new GrayU8(1,1), width, height);
+		outputU8 = create(new GrayU8(1,1), width, height);
+		inputS16 = create(new GrayS16(1,1), width, height);
+		outputS16 = create(new GrayS16(1,1), width, height);
+		inputF32 = create(new GrayF32(1,1), width, height);
+		outputF32 = create(new GrayF32(1,1), width, height);
+
+		ImageMiscOps.fillUniform(inputU8, rand, 0, 200);
+		ImageMiscOps.fillUniform(inputS16, rand, -200, 200);
+		ImageMiscOps.fillUniform(inputF32, rand, -200, 200);
+	}
+
+	private <T extends ImageGray<T>> T create( T image , int width , int height ) {
+		if( subimage ) {
+			image.reshape(width+10, height+10);
+			return image.subimage(5,5,width+5,height+5);
+		} else {
+			image.reshape(width, height);
+			return image;
+		}
+	}
+
+	@Benchmark
+	public int max_U8() {
+		return ImageStatistics.max(inputU8);
+	}
+
+	@Benchmark
+	public int maxAbs_S16() {
+		return ImageStatistics.maxAbs(inputS16);
+	}
+
+	@Benchmark
+	public float max_F32() {
+		return ImageStatistics.max(inputF32);
+	}
+
+	@Benchmark
+	public void multiply_U8() {
+		PixelMath.multiply(inputU8,1.5,outputU8);
+	}
+
+	@Benchmark
+	public void abs_S16() {
+		PixelMath.abs(inputS16,outputS16);
+	}
+
+	@Benchmark
+	public void abs_F32() {
+		PixelMath.abs(inputF32,outputF32);
+	}
+
+	@Benchmark
+	public void plus_F32() {
+		PixelMath.plus(inputF32,2.5f,outputF32);
+	}
+}
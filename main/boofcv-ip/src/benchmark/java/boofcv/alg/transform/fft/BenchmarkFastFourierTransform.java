@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -20,46 +20,46 @@ package boofcv.alg.transform.fft;
 
 import boofcv.abst.transform.fft.DiscreteFourierTransform;
 import boofcv.alg.misc.ImageMiscOps;
-import boofcv.misc.PerformerBase;
-import boofcv.misc.ProfileOperation;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.InterleavedF32;
+import org.openjdk.jmh.annotations.*;
 
 import java.util.Random;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author Peter Abeles
  */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value=1)
 public class BenchmarkFastFourierTransform {
+	@Param({"640", "1920"})
+	public int width;
 
-	static int width = 640;
-	static int height = 480;
-	static long TEST_TIME = 1000;
+	GrayF32 input = new GrayF32(1,1);
+	InterleavedF32 fourier = new InterleavedF32(1,1,2);
+	GrayF32 output = new GrayF32(1,1);
 
-	static GrayF32 input = new GrayF32(width,height);
-	static InterleavedF32 fourier = new InterleavedF32(width,height,2);
-	static GrayF32 output = new GrayF32(width,height);
+	DiscreteFourierTransform<GrayF32,InterleavedF32> dft = DiscreteFourierTransformOps.createTransformF32();
 
-
-	public static class ComputeFFT extends PerformerBase {
-
-		DiscreteFourierTransform dft = DiscreteFourierTransformOps.createTransformF32();
-
-		@Override
-		public void process() {
-			dft.forward(input,fourier);
-			dft.inverse(fourier,output);
-		}
-	}
-
-	public static void main( String args[] ) {
+	@Setup
+	public void setup() {
+		int height = width*3/4;
+		input.reshape(width,height);
+		fourier.reshape(width,height);
+		output.reshape(width,height);
 
 		Random rand = new Random(234);
 		ImageMiscOps.fillUniform(input, rand, 0, 100);
+	}
 
-		System.out.println("=========  Profile Image Size " + width + " x " + height + " ==========");
-		System.out.println();
-
-		ProfileOperation.printOpsPerSec(new ComputeFFT(), TEST_TIME);
+	@Benchmark
+	public void forwardInverse() {
+		dft.forward(input,fourier);
+		dft.inverse(fourier,output);
 	}
 }
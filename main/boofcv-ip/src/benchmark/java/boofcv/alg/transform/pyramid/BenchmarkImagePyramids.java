@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -16,76 +16,69 @@
  * limitations under the License.
  */
 
+
 package boofcv.alg.transform.pyramid;
 
 import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.factory.filter.kernel.FactoryKernelGaussian;
 import boofcv.factory.transform.pyramid.FactoryPyramid;
-import boofcv.misc.PerformerBase;
-import boofcv.misc.ProfileOperation;
 import boofcv.struct.convolve.Kernel1D_F32;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.ImageType;
 import boofcv.struct.pyramid.PyramidDiscrete;
 import boofcv.struct.pyramid.PyramidFloat;
+import org.openjdk.jmh.annotations.*;
 
 import java.util.Random;
-
+import java.util.concurrent.TimeUnit;
 
 /**
  * Shows runtime performance difference of each type of image pyramid given similar configurations.
  *
  * @author Peter Abeles
  */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value=1)
 public class BenchmarkImagePyramids {
-	static int width = 640;
-	static int height = 480;
-	static long TEST_TIME = 1000;
-
-	static GrayF32 input = new GrayF32(width,height);
-
-	static int scalesD[] = new int[]{1,2,4,8};
-	static double scalesF[] = new double[]{1,2,4,8};
+	@Param({"640", "1920"})
+	public int width;
 
-	static PyramidDiscrete<GrayF32> pyramidD;
-	static PyramidFloat<GrayF32> pyramidF;
+	@Param({"true", "false"})
+	public boolean concurrent;
 
-	static Class<GrayF32> imageType = GrayF32.class;
+	GrayF32 input = new GrayF32(1,1);
 
-	public static class Float_F32 extends PerformerBase {
+	int scalesD[] = new int[]{1,2,4,8};
+	double scalesF[] = new double[]{1,2,4,8};
 
-		@Override
-		public void process() {
-			pyramidF.process(input);
-		}
-	}
+	PyramidDiscrete<GrayF32> pyramidD;
+	PyramidFloat<GrayF32> pyramidF;
 
-	public static class Discrete_F32 extends PerformerBase {
+	@Setup
+	public void setup() {
+		BoofConcurrency.USE_CONCURRENT = concurrent;
 
-		@Override
-		public void process() {
-			pyramidD.process(input);
-		}
-	}
+		Random rand = new Random(234);
+		input.reshape(width, width*3/4);
+		ImageMiscOps.fillUniform(input, rand, 0, 100);
 
-	private static void createUpdate() {
 		Kernel1D_F32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_F32.class,-1.0,2);
 		pyramidD = new PyramidDiscreteSampleBlur<>(kernel,2, ImageType.single(GrayF32.class),true,scalesD);
-
 		pyramidF = FactoryPyramid.scaleSpacePyramid(scalesF, GrayF32.class);
-
 	}
 
-	public static void main(String args[]) {
-
-		Random rand = new Random(234);
-		ImageMiscOps.fillUniform(input, rand, 0, 100);
-		createUpdate();
-
-		System.out.println("=========  Profile Image Size " + width + " x " + height + " ==========");
-		System.out.println();
+	@Benchmark
+	public void float_F32() {
+		pyramidF.process(input);
+	}
 
-		ProfileOperation.printOpsPerSec(new Float_F32(), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new Discrete_F32(), TEST_TIME);
+	@Benchmark
+	public void discrete_F32() {
+		pyramidD.process(input);
 	}
 }
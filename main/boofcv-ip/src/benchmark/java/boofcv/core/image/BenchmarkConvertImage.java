@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -16,103 +16,81 @@
  * limitations under the License.
  */
 
+
 package boofcv.core.image;
 
-import boofcv.misc.PerformerBase;
-import boofcv.misc.ProfileOperation;
-import boofcv.struct.image.GrayF32;
-import boofcv.struct.image.GrayS16;
-import boofcv.struct.image.GrayU8;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.image.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Benchmarks related to functions inside of ConvertImage
  * 
  * @author Peter Abeles
  */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value=1)
 public class BenchmarkConvertImage {
-	static int imgWidth = 640;
-	static int imgHeight = 480;
-
-	static GrayF32 imgFloat32;
-	static GrayU8 imgUInt8;
-	static GrayS16 imgUInt16;
-	static GrayU8 imgSInt8;
-	static GrayS16 imgSInt16;
-
-	public static class Float32toInt8 extends PerformerBase
-	{
-		@Override
-		public void process() {
-			ConvertImage.convert(imgFloat32,imgUInt8);
-		}
+	@Param({"640", "1920"})
+	public int width;
+
+	@Param({"true", "false"})
+	public boolean concurrent;
+
+	GrayF32 imgF32 = new GrayF32(1,1);
+	GrayU8 imgU8 = new GrayU8(1,1);
+	GrayS16 imgS16 = new GrayS16(1,1);
+	InterleavedU8 interU8 = new InterleavedU8(1,1,3);
+	Planar<GrayU8> planarU8 = new Planar<>(GrayU8.class,1,1,3);
+
+	@Setup
+	public void setup() {
+		BoofConcurrency.USE_CONCURRENT = concurrent;
+
+		Random rand = new Random(234);
+		int height = width*3/4;
+		imgF32.reshape(width, height);
+		imgU8.reshape(width, height);
+		imgS16.reshape(width, height);
+		interU8.reshape(width, height);
+		planarU8.reshape(width, height);
+
+		GImageMiscOps.fillUniform(imgF32, rand, 0, 200);
+		GImageMiscOps.fillUniform(imgU8, rand, 0, 200);
+		GImageMiscOps.fillUniform(imgS16, rand, 0, 200);
+		GImageMiscOps.fillUniform(interU8, rand, 0, 200);
 	}
 
-	public static class Int8ToFloat32 extends PerformerBase
-	{
-		GrayU8 img;
-
-		public Int8ToFloat32(GrayU8 img) {
-			this.img = img;
-		}
-
-		@Override
-		public void process() {
-			ConvertImage.convert(img,imgFloat32);
-		}
+	@Benchmark
+	public void F32_to_U8() {
+		ConvertImage.convert(imgF32,imgU8);
 	}
 
-	public static class Int16ToFloat32 extends PerformerBase
-	{
-		GrayS16 img;
-
-		public Int16ToFloat32(GrayS16 img) {
-			this.img = img;
-		}
-
-		@Override
-		public void process() {
-			ConvertImage.convert(img,imgFloat32);
-		}
+	@Benchmark
+	public void U8_to_F32() {
+		ConvertImage.convert(imgU8,imgF32);
 	}
 
-	public static class Int16ToInt8 extends PerformerBase
-	{
-		GrayS16 img;
-
-		public Int16ToInt8(GrayS16 img) {
-			this.img = img;
-		}
-
-		@Override
-		public void process() {
-			ConvertImage.convert(img,imgSInt8);
-		}
+	@Benchmark
+	public void S16_to_F32() {
+		ConvertImage.convert(imgS16,imgF32);
 	}
 
-	public static void main( String args[] ) {
-		imgSInt8 = new GrayU8(imgWidth,imgHeight);
-		imgSInt16 = new GrayS16(imgWidth,imgHeight);
-		imgUInt8 = new GrayU8(imgWidth,imgHeight);
-		imgUInt16 = new GrayS16(imgWidth,imgHeight);
-		imgFloat32 = new GrayF32(imgWidth,imgHeight);
-
-		System.out.println("=========  Profile Image Size "+imgWidth+" x "+imgHeight+" ==========");
-		System.out.println();
-
-		System.out.printf("Float32 to Int8              %10.2f ops/sec\n",
-				ProfileOperation.profileOpsPerSec(new Float32toInt8(),1000, false));
-		System.out.printf("Int8 to Float32 signed       %10.2f ops/sec\n",
-				ProfileOperation.profileOpsPerSec(new Int8ToFloat32(imgSInt8),1000, false));
-		System.out.printf("Int8 to Float32 unsigned     %10.2f ops/sec\n",
-				ProfileOperation.profileOpsPerSec(new Int8ToFloat32(imgUInt8),1000, false));
-		System.out.printf("Int16 to Float32 signed       %10.2f ops/sec\n",
-				ProfileOperation.profileOpsPerSec(new Int16ToFloat32(imgSInt16),1000, false));
-		System.out.printf("Int16 to Float32 unsigned     %10.2f ops/sec\n",
-				ProfileOperation.profileOpsPerSec(new Int16ToFloat32(imgUInt16),1000, false));
-		System.out.printf("Int16 to Int8 signed          %10.2f ops/sec\n",
-				ProfileOperation.profileOpsPerSec(new Int16ToInt8(imgSInt16),1000, false));
-		System.out.printf("Int16 to Int8 unsigned        %10.2f ops/sec\n",
-				ProfileOperation.profileOpsPerSec(new Int16ToInt8(imgUInt16),1000, false));
+	@Benchmark
+	public void S16_to_U8() {
+		ConvertImage.convert(imgS16,imgU8);
+	}
 
+	@Benchmark
+	public void interleaved_to_planar_U8() {
+		ConvertImage.convert(interU8,planarU8);
 	}
 }
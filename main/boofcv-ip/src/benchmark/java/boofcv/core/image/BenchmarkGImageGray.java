@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -19,125 +19,104 @@
 package boofcv.core.image;
 
 import boofcv.alg.misc.ImageMiscOps;
-import boofcv.misc.PerformerBase;
-import boofcv.misc.ProfileOperation;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.GrayU8;
-import boofcv.struct.image.ImageGray;
+import org.openjdk.jmh.annotations.*;
 
 import java.util.Random;
+import java.util.concurrent.TimeUnit;
 
 /**
+ * Compares direct array access against going through the {@link GImageGray} wrapper
+ *
  * @author Peter Abeles
  */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value=1)
 public class BenchmarkGImageGray {
+	@Param({"640", "1920"})
+	public int width;
 
-	static int period = 1000;
+	GrayF32 input = new GrayF32(1,1);
+	GrayF32 output_F32 = new GrayF32(1,1);
+	GrayU8 output_U8 = new GrayU8(1,1);
 
-	static int width = 640;
-	static int height = 480;
+	GImageGray wrapped_F32;
+	GImageGray wrapped_U8;
 
-	static GrayF32 input = new GrayF32(width,height);
+	@Setup
+	public void setup() {
+		int height = width*3/4;
+		input.reshape(width,height);
+		output_F32.reshape(width,height);
+		output_U8.reshape(width,height);
 
-	public static class IndexDirect_U8 extends PerformerBase
-	{
-		GrayU8 output;
+		Random rand = new Random(234);
+		ImageMiscOps.fillUniform(input,rand,0,50);
 
-		public IndexDirect_U8(GrayU8 output) {
-			this.output = output;
-		}
+		wrapped_F32 = FactoryGImageGray.wrap(output_F32);
+		wrapped_U8 = FactoryGImageGray.wrap(output_U8);
+	}
 
-		@Override
-		public void process() {
-			int index = 0;
-			for( int y = 0; y < input.height; y++ ) {
-				for( int x = 0; x < input.width; x++ , index++) {
-					output.data[index] = (byte)input.data[index];
-				}
+	@Benchmark
+	public void indexDirect_U8() {
+		int index = 0;
+		for( int y = 0; y < input.height; y++ ) {
+			for( int x = 0; x < input.width; x++ , index++) {
+				output_U8.data[index] = (byte)input.data[index];
 			}
 		}
 	}
 
-	public static class IndexDirect_F32 extends PerformerBase
-	{
-		GrayF32 output;
-
-		public IndexDirect_F32( GrayF32 output) {
-			this.output = output;
-		}
-
-		@Override
-		public void process() {
-			int index = 0;
-			for( int y = 0; y < input.height; y++ ) {
-				for( int x = 0; x < input.width; x++ , index++) {
-					output.data[index] = input.data[index];
-				}
+	@Benchmark
+	public void indexDirect_F32() {
+		int index = 0;
+		for( int y = 0; y < input.height; y++ ) {
+			for( int x = 0; x < input.width; x++ , index++) {
+				output_F32.data[index] = input.data[index];
 			}
 		}
 	}
 
-	public static class IndexAccess extends PerformerBase
-	{
-		GImageGray output;
-
-		public IndexAccess( ImageGray output) {
-			this.output = FactoryGImageGray.wrap(output);
-		}
-
-		@Override
-		public void process() {
-			int index = 0;
-			for( int y = 0; y < input.height; y++ ) {
-				for( int x = 0; x < input.width; x++ , index++) {
-					output.set(index,input.data[index]);
-				}
-			}
-		}
+	@Benchmark
+	public void indexAccess_U8() {
+		indexAccess(wrapped_U8);
 	}
 
-	public static class PixelAccess extends PerformerBase
-	{
-		GImageGray output;
+	@Benchmark
+	public void indexAccess_F32() {
+		indexAccess(wrapped_F32);
+	}
 
-		public PixelAccess( ImageGray output) {
-			this.output = FactoryGImageGray.wrap(output);
-		}
+	@Benchmark
+	public void pixelAccess_U8() {
+		pixelAccess(wrapped_U8);
+	}
 
-		@Override
-		public void process() {
+	@Benchmark
+	public void pixelAccess_F32() {
+		pixelAccess(wrapped_F32);
+	}
 
-			int index = 0;
-			for( int y = 0; y < input.height; y++ ) {
-				for( int x = 0; x < input.width; x++ , index++) {
-					output.set(x,y,input.data[index]);
-				}
+	private void indexAccess( GImageGray output ) {
+		int index = 0;
+		for( int y = 0; y < input.height; y++ ) {
+			for( int x = 0; x < input.width; x++ , index++) {
+				output.set(index,input.data[index]);
 			}
 		}
 	}
 
-	public static void main( String args[] ) {
-		GrayF32 output_F32 = new GrayF32(width,height);
-		GrayU8 output_U8 = new GrayU8(width,height);
-
-		Random rand = new Random(234);
-
-		ImageMiscOps.fillUniform(input,rand,0,50);
-
-		System.out.println("=========  Profile Image Size "+width+" x "+height+" ==========");
-		System.out.println();
-
-		System.out.printf("Direct  U8          %10.2f ops/sec\n",
-				ProfileOperation.profileOpsPerSec(new IndexDirect_U8(output_U8), period, false));
-		System.out.printf("Wrapped U8 Index    %10.2f ops/sec\n",
-				ProfileOperation.profileOpsPerSec(new IndexAccess(output_U8),period, false));
-		System.out.printf("Wrapped U8 Pixel    %10.2f ops/sec\n",
-				ProfileOperation.profileOpsPerSec(new PixelAccess(output_U8),period, false));
-		System.out.printf("Direct  F32         %10.2f ops/sec\n",
-				ProfileOperation.profileOpsPerSec(new IndexDirect_F32(output_F32), period, false));
-		System.out.printf("Wrapped F32 Index   %10.2f ops/sec\n",
-				ProfileOperation.profileOpsPerSec(new IndexAccess(output_F32),period, false));
-		System.out.printf("Wrapped F32 Pixel   %10.2f ops/sec\n",
-				ProfileOperation.profileOpsPerSec(new PixelAccess(output_F32),period, false));
+	private void pixelAccess( GImageGray output ) {
+		int index = 0;
+		for( int y = 0; y < input.height; y++ ) {
+			for( int x = 0; x < input.width; x++ , index++) {
+				output.set(x,y,input.data[index]);
+			}
+		}
 	}
 }
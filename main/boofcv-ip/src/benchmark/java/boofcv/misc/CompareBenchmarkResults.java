@@ -0,0 +1,368 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.misc;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * Compares two sets of JMH results saved in JSON format, e.g. "-rf json -rff results.json", and reports
+ * benchmarks which have become slower than the baseline by more than a tolerance. Benchmarks are matched
+ * by their name and parameters. Intended to be used to check for performance regressions between commits.
+ * A change is only flagged if the difference in score is also larger than the sum of both score errors, so
+ * noisy results aren't reported as a change. Benchmarks which are only in one of the files are listed as new
+ * or missing.
+ *
+ * <pre>
+ * CompareBenchmarkResults baseline.json current.json [tolerance]
+ * </pre>
+ *
+ * The exit code is 1 if a regression is found so that it can be used to fail a build.
+ *
+ * @author Peter Abeles
+ */
+public class CompareBenchmarkResults {
+
+	/**
+	 * Fractional change in run time which is considered a regression. 0.1 = 10% slower
+	 */
+	public double tolerance = 0.1;
+
+	/**
+	 * Result for a single benchmark and set of parameters
+	 */
+	public static class Result {
+		/** Name of the benchmark with its parameters */
+		public String name;
+		/** JMH mode, e.g. "avgt" or "thrpt" */
+		public String mode;
+		public String unit;
+		public double score;
+		public double error;
+	}
+
+	/**
+	 * Comparison of a benchmark in the baseline against the current results
+	 */
+	public static class Comparison {
+		/** Result in the baseline. null if the benchmark is new */
+		public Result baseline;
+		/** Result in the current set. null if the benchmark is missing */
+		public Result current;
+		/** Fractional change in run time. Positive is slower. NaN if not in both. */
+		public double change = Double.NaN;
+		/** Slower by more than the tolerance and the score errors */
+		public boolean regression;
+		/** Faster by more than the tolerance and the score errors */
+		public boolean faster;
+
+		public boolean isNew() {
+			return baseline == null;
+		}
+
+		public boolean isMissing() {
+			return current == null;
+		}
+
+		public Result any() {
+			return current != null ? current : baseline;
+		}
+	}
+
+	/**
+	 * Reads JMH results from a JSON file
+	 */
+	public static List<Result> parse( Reader reader ) throws IOException {
+		Object json = new JsonReader(reader).parseValue();
+		if( !(json instanceof List) )
+			throw new IOException("Expected a JSON array of JMH results");
+
+		List<Result> results = new ArrayList<>();
+		for( Object o : (List)json ) {
+			Map benchmark = (Map)o;
+			Map metric = (Map)benchmark.get("primaryMetric");
+
+			Result r = new Result();
+			r.name = (String)benchmark.get("benchmark");
+			Map params = (Map)benchmark.get("params");
+			if( params != null ) {
+				r.name += new TreeMap<Object,Object>(params).toString();
+			}
+			r.mode = (String)benchmark.get("mode");
+			r.unit = (String)metric.get("scoreUnit");
+			r.score = toDouble(metric.get("score"));
+			r.error = toDouble(metric.get("scoreError"));
+			results.add(r);
+		}
+		return results;
+	}
+
+	/**
+	 * Compares the two sets of results. Benchmarks which are only in the current results are returned as new
+	 * and the ones only in the baseline as missing. Benchmarks whose units changed can't be compared and are
+	 * treated as both missing and new.
+	 */
+	public List<Comparison> compare( List<Result> baseline , List<Result> current ) {
+		Map<String,Result> lookup = new LinkedHashMap<>();
+		for( Result r : baseline ) {
+			lookup.put(r.name+" "+r.mode, r);
+		}
+
+		List<Comparison> comparisons = new ArrayList<>();
+		List<Comparison> missing = new ArrayList<>();
+		for( Result r : current ) {
+			Result b = lookup.remove(r.name+" "+r.mode);
+			Comparison c = new Comparison();
+			c.current = r;
+			comparisons.add(c);
+
+			if( b == null )
+				continue;
+			if( !b.unit.equals(r.unit) ) {
+				Comparison m = new Comparison();
+				m.baseline = b;
+				missing.add(m);
+				continue;
+			}
+
+			c.baseline = b;
+			// throughput is the inverse of time, so a drop in the score is a slow down
+			if( r.mode.equals("thrpt") )
+				c.change = b.score/r.score - 1.0;
+			else
+				c.change = r.score/b.score - 1.0;
+
+			// differences inside the error bounds could just be noise
+			boolean significant = Math.abs(r.score-b.score) > errorBound(b) + errorBound(r);
+			c.regression = significant && c.change > tolerance;
+			c.faster = significant && c.change < -tolerance;
+		}
+
+		for( Result b : lookup.values() ) {
+			Comparison m = new Comparison();
+			m.baseline = b;
+			missing.add(m);
+		}
+		comparisons.addAll(missing);
+
+		return comparisons;
+	}
+
+	/**
+	 * JMH reports NaN for the error when there are too few measurements to compute it
+	 */
+	private static double errorBound( Result r ) {
+		return Double.isNaN(r.error) ? 0.0 : Math.abs(r.error);
+	}
+
+	/**
+	 * Prints a table of the comparisons
+	 */
+	public void printReport( List<Comparison> comparisons , PrintStream out ) {
+		int numCompared = 0, numRegressions = 0, numFaster = 0, numNew = 0, numMissing = 0;
+		out.printf("%-80s %20s %20s %8s\n","Benchmark","Baseline","Current","Change");
+		for( Comparison c : comparisons ) {
+			String name = c.any().name+" ("+c.any().unit+")";
+			if( c.isNew() ) {
+				out.printf("%-80s %20s %20s %8s NEW\n",name,"",format(c.current),"");
+				numNew++;
+			} else if( c.isMissing() ) {
+				out.printf("%-80s %20s %20s %8s MISSING\n",name,format(c.baseline),"","");
+				numMissing++;
+			} else {
+				String flag = c.regression ? "REGRESSION" : c.faster ? "FASTER" : "";
+				out.printf("%-80s %20s %20s %7.1f%% %s\n",name,
+						format(c.baseline),format(c.current),100.0*c.change,flag);
+				numCompared++;
+				if( c.regression )
+					numRegressions++;
+				if( c.faster )
+					numFaster++;
+			}
+		}
+		out.println();
+		out.printf("Compared %d benchmarks. %d regressions and %d faster with tolerance %.1f%%. %d new and %d missing\n",
+				numCompared,numRegressions,numFaster,100.0*tolerance,numNew,numMissing);
+	}
+
+	private static String format( Result r ) {
+		return String.format("%.4f +- %.4f",r.score,errorBound(r));
+	}
+
+	private static double toDouble( Object o ) {
+		if( o instanceof Number )
+			return ((Number)o).doubleValue();
+		// JMH saves values such as NaN as strings
+		return Double.parseDouble((String)o);
+	}
+
+	private static List<Result> parse( String fileName ) throws IOException {
+		try( Reader reader = new BufferedReader(new FileReader(fileName)) ) {
+			return parse(reader);
+		}
+	}
+
+	/**
+	 * Minimal JSON parser. Objects are returned as a Map, arrays as a List, and numbers as Double.
+	 */
+	static class JsonReader {
+		Reader reader;
+		int c;
+
+		JsonReader( Reader reader ) throws IOException {
+			this.reader = reader;
+			c = reader.read();
+		}
+
+		Object parseValue() throws IOException {
+			skipWhiteSpace();
+			switch( c ) {
+				case '{': return parseObject();
+				case '[': return parseArray();
+				case '"': return parseString();
+				case 't': expect("true"); return Boolean.TRUE;
+				case 'f': expect("false"); return Boolean.FALSE;
+				case 'n': expect("null"); return null;
+				default: return parseNumber();
+			}
+		}
+
+		Map<String,Object> parseObject() throws IOException {
+			Map<String,Object> map = new LinkedHashMap<>();
+			next();
+			skipWhiteSpace();
+			if( c == '}' ) {
+				next();
+				return map;
+			}
+			while( true ) {
+				skipWhiteSpace();
+				String key = parseString();
+				skipWhiteSpace();
+				expect(":");
+				map.put(key, parseValue());
+				skipWhiteSpace();
+				if( c == '}' ) {
+					next();
+					return map;
+				}
+				expect(",");
+			}
+		}
+
+		List<Object> parseArray() throws IOException {
+			List<Object> list = new ArrayList<>();
+			next();
+			skipWhiteSpace();
+			if( c == ']' ) {
+				next();
+				return list;
+			}
+			while( true ) {
+				list.add(parseValue());
+				skipWhiteSpace();
+				if( c == ']' ) {
+					next();
+					return list;
+				}
+				expect(",");
+			}
+		}
+
+		String parseString() throws IOException {
+			expect("\"");
+			StringBuilder sb = new StringBuilder();
+			while( c != '"' ) {
+				if( c == -1 )
+					throw new IOException("Unexpected end of file");
+				if( c == '\\' ) {
+					next();
+					switch( c ) {
+						case 'n': sb.append('\n'); break;
+						case 't': sb.append('\t'); break;
+						case 'r': sb.append('\r'); break;
+						case 'b': sb.append('\b'); break;
+						case 'f': sb.append('\f'); break;
+						case 'u':
+							char[] hex = new char[4];
+							for( int i = 0; i < 4; i++ ) {
+								next();
+								hex[i] = (char)c;
+							}
+							sb.append((char)Integer.parseInt(new String(hex),16));
+							break;
+						default: sb.append((char)c);
+					}
+				} else {
+					sb.append((char)c);
+				}
+				next();
+			}
+			next();
+			return sb.toString();
+		}
+
+		Double parseNumber() throws IOException {
+			StringBuilder sb = new StringBuilder();
+			while( c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E' || Character.isDigit(c) ) {
+				sb.append((char)c);
+				next();
+			}
+			if( sb.length() == 0 )
+				throw new IOException("Unexpected character '"+(char)c+"'");
+			return Double.parseDouble(sb.toString());
+		}
+
+		void expect( String text ) throws IOException {
+			for( int i = 0; i < text.length(); i++ ) {
+				if( c != text.charAt(i) )
+					throw new IOException("Expected '"+text+"'");
+				next();
+			}
+		}
+
+		void skipWhiteSpace() throws IOException {
+			while( Character.isWhitespace(c) )
+				next();
+		}
+
+		void next() throws IOException {
+			c = reader.read();
+		}
+	}
+
+	public static void main( String args[] ) throws IOException {
+		if( args.length < 2 ) {
+			System.out.println("CompareBenchmarkResults <baseline.json> <current.json> [tolerance]");
+			System.exit(2);
+		}
+
+		CompareBenchmarkResults app = new CompareBenchmarkResults();
+		if( args.length > 2 )
+			app.tolerance = Double.parseDouble(args[2]);
+
+		List<Comparison> comparisons = app.compare(parse(args[0]),parse(args[1]));
+		app.printReport(comparisons, System.out);
+
+		for( Comparison c : comparisons ) {
+			if( c.regression )
+				System.exit(1);
+		}
+	}
+}
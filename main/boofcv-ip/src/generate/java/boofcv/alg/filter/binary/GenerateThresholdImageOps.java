@@ -42,6 +42,8 @@ public class GenerateThresholdImageOps extends CodeGeneratorBase {
 		printLocal(AutoTypeImage.U8);
 		printLocal(AutoTypeImage.F32);
 
+		printDirect();
+
 		out.print("\n" +
 				"}\n");
 	}
@@ -260,6 +262,113 @@ public class GenerateThresholdImageOps extends CodeGeneratorBase {
 
 	}
 
+	public void printDirect() {
+		out.print("\t/**\n" +
+				"\t * Applies a global threshold to an image stored in a ByteBuffer.  If 'down' is true, then pixels with values <=\n" +
+				"\t * to 'threshold' are set to 1 and the others set to 0.  If 'down' is false, then pixels with values >\n" +
+				"\t * to 'threshold' are set to 1 and the others set to 0.\n" +
+				"\t *\n" +
+				"\t * @param input Input image. Not modified.\n" +
+				"\t * @param output (Optional) Binary output image. If null a new image will be declared. Modified.\n" +
+				"\t * @param threshold threshold value.\n" +
+				"\t * @param down If true then the inequality <= is used, otherwise if false then &gt; is used.\n" +
+				"\t * @return Output image.\n" +
+				"\t */\n" +
+				"\tpublic static GrayU8 threshold( DirectGrayU8 input , GrayU8 output ,\n" +
+				"\t\t\t\t\t\t\t\t\tint threshold , boolean down )\n" +
+				"\t{\n" +
+				"\t\toutput = checkDeclare(input,output);\n" +
+				"\n" +
+				"\t\tif( down ) {\n" +
+				"\t\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
+				"\t\t\t\tint indexIn = input.startIndex + y*input.stride;\n" +
+				"\t\t\t\tint indexOut = output.startIndex + y*output.stride;\n" +
+				"\n" +
+				"\t\t\t\tfor( int i = input.width; i>0; i-- ) {\n" +
+				"\t\t\t\t\toutput.data[indexOut++] = (byte)((input.data.get(indexIn++)& 0xFF) <= threshold ? 1 : 0);\n" +
+				"\t\t\t\t}\n" +
+				"\t\t\t}\n" +
+				"\t\t} else {\n" +
+				"\t\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
+				"\t\t\t\tint indexIn = input.startIndex + y*input.stride;\n" +
+				"\t\t\t\tint indexOut = output.startIndex + y*output.stride;\n" +
+				"\n" +
+				"\t\t\t\tfor( int i = input.width; i>0; i-- ) {\n" +
+				"\t\t\t\t\toutput.data[indexOut++] = (byte)((input.data.get(indexIn++)& 0xFF) > threshold ? 1 : 0);\n" +
+				"\t\t\t\t}\n" +
+				"\t\t\t}\n" +
+				"\t\t}\n" +
+				"\n" +
+				"\t\treturn output;\n" +
+				"\t}\n\n");
+
+		out.print("\t/**\n" +
+				"\t * Same as {@link #localMean(GrayU8, GrayU8, ConfigLength, float, boolean, GrayU8, GrayU8)} but for an\n" +
+				"\t * image stored in a ByteBuffer. The local mean is computed with\n" +
+				"\t * {@link BlurImageOps#mean(DirectGrayU8, GrayU8, int, GrayU8)}.\n" +
+				"\t *\n" +
+				"\t * @param input Input image.\n" +
+				"\t * @param output (optional) Output binary image.  If null it will be declared internally.\n" +
+				"\t * @param width Width of square region.\n" +
+				"\t * @param scale Scale factor used to adjust threshold.  Try 0.95\n" +
+				"\t * @param down Should it threshold up or down.\n" +
+				"\t * @param storage1 (Optional) Storage for intermediate step. If null will be declared internally.\n" +
+				"\t * @param storage2 (Optional) Storage for intermediate step. If null will be declared internally.\n" +
+				"\t * @return Thresholded image.\n" +
+				"\t */\n" +
+				"\tpublic static GrayU8 localMean(DirectGrayU8 input , GrayU8 output ,\n" +
+				"\t\t\t\t\t\t\t\t   ConfigLength width , float scale , boolean down ,\n" +
+				"\t\t\t\t\t\t\t\t   GrayU8 storage1 , GrayU8 storage2 ) {\n" +
+				"\n" +
+				"\t\toutput = checkDeclare(input,output);\n" +
+				"\t\tstorage1 = checkDeclare(input,storage1);\n" +
+				"\t\tstorage2 = checkDeclare(input,storage2);\n" +
+				"\n" +
+				"\t\tint radius = width.computeI(Math.min(input.width,input.height))/2;\n" +
+				"\n" +
+				"\t\tGrayU8 mean = storage1;\n" +
+				"\n" +
+				"\t\tBlurImageOps.mean(input,mean,radius,storage2);\n" +
+				"\n" +
+				"\t\tif( down ) {\n" +
+				"\t\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
+				"\t\t\t\tint indexIn = input.startIndex + y*input.stride;\n" +
+				"\t\t\t\tint indexOut = output.startIndex + y*output.stride;\n" +
+				"\t\t\t\tint indexMean = mean.startIndex + y*mean.stride;\n" +
+				"\n" +
+				"\t\t\t\tint end = indexIn + input.width;\n" +
+				"\n" +
+				"\t\t\t\twhile(indexIn < end) {\n" +
+				"\t\t\t\t\tfloat threshold = (mean.data[indexMean++]& 0xFF) * scale;\n" +
+				"\t\t\t\t\toutput.data[indexOut++] = (input.data.get(indexIn++)& 0xFF) <= threshold ? (byte)1:0;\n" +
+				"\t\t\t\t}\n" +
+				"\t\t\t}\n" +
+				"\t\t} else {\n" +
+				"\t\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
+				"\t\t\t\tint indexIn = input.startIndex + y*input.stride;\n" +
+				"\t\t\t\tint indexOut = output.startIndex + y*output.stride;\n" +
+				"\t\t\t\tint indexMean = mean.startIndex + y*mean.stride;\n" +
+				"\n" +
+				"\t\t\t\tint end = indexIn + input.width;\n" +
+				"\n" +
+				"\t\t\t\twhile(indexIn < end) {\n" +
+				"\t\t\t\t\tfloat threshold = (mean.data[indexMean++]& 0xFF);\n" +
+				"\t\t\t\t\toutput.data[indexOut++] = (input.data.get(indexIn++)& 0xFF)*scale > threshold ? (byte)1:0;\n" +
+				"\t\t\t\t}\n" +
+				"\t\t\t}\n" +
+				"\t\t}\n" +
+				"\n" +
+				"\t\treturn output;\n" +
+				"\t}\n\n");
+
+		out.print("\tprivate static GrayU8 checkDeclare( DirectGrayU8 input , GrayU8 output ) {\n" +
+				"\t\tif( output == null )\n" +
+				"\t\t\treturn new GrayU8(input.width, input.height);\n" +
+				"\t\tInputSanityCheck.checkSameShape(input, output);\n" +
+				"\t\treturn output;\n" +
+				"\t}\n");
+	}
+
 	public static void main( String args[] ) throws FileNotFoundException {
 		GenerateThresholdImageOps app = new GenerateThresholdImageOps();
 		app.generate();
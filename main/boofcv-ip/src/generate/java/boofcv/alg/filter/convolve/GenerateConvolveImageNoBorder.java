@@ -22,12 +22,17 @@ import boofcv.misc.AutoTypeImage;
 import boofcv.misc.CodeGeneratorBase;
 
 /**
- * NOTE: There is a tinny bit of manual work required.  need to comment out a few lines to unroll
+ * Generates {@link ConvolveImageNoBorder}.  Unrolled functions are only called for the image types listed in
+ * {@link #unrolled}, which needs to be kept in sync with GenerateConvolvedUnrolled_SB.
  *
  * @author Peter Abeles
  */
 public class GenerateConvolveImageNoBorder extends CodeGeneratorBase {
 
+	// input/output type combinations which have an unrolled implementation
+	static final String[] unrolled = new String[]{"F32_F32","F64_F64","U8_I8_Div","U8_I16",
+			"S16_I16","S16_I16_Div","S32_S32","S32_S32_Div"};
+
 	String kernelType;
 	String inputName, outputName, typeIn, typeOut, sumType;
 
@@ -53,10 +58,11 @@ public class GenerateConvolveImageNoBorder extends CodeGeneratorBase {
 		System.out.println("Total functions generated "+totalFunctions);
 	}
 
-	private void printPreamble() {
+	protected void printPreamble() {
 		out.print(
 				"import boofcv.alg.InputSanityCheck;\n" +
 				"import boofcv.alg.filter.convolve.noborder.*;\n" +
+				"import boofcv.concurrency.BoofConcurrency;\n" +
 				"import boofcv.struct.convolve.*;\n" +
 				"import boofcv.struct.image.*;\n");
 		out.println();
@@ -76,6 +82,10 @@ public class GenerateConvolveImageNoBorder extends CodeGeneratorBase {
 				" * the whole kernel can be convolved image borders are skipped.  In special cases where there is a clear way to\n" +
 				" * handle image edges specialized functions are provided.\n" +
 				" * </p>\n" +
+				" * <p>\n" +
+				" * If {@link BoofConcurrency#USE_CONCURRENT} is true then the image is processed by\n" +
+				" * {@link ConvolveImageNoBorder_MT}, which produces identical results using multiple threads.\n" +
+				" * </p>\n" +
 				" * <p>Automatically generated by "+getClass().getSimpleName()+" DO NOT MODIFY</p>\n" +
 				" *\n" +
 				" * @author Peter Abeles\n" +
@@ -113,7 +123,7 @@ public class GenerateConvolveImageNoBorder extends CodeGeneratorBase {
 		}
 	}
 
-	private void printFunction(  String name , boolean singleBand , boolean hasDivide ) {
+	protected void printFunction(  String name , boolean singleBand , boolean hasDivide ) {
 
 		totalFunctions++;
 
@@ -138,14 +148,27 @@ public class GenerateConvolveImageNoBorder extends CodeGeneratorBase {
 		out.print("\tpublic static void "+name+"(Kernel"+dimen+"_"+kernelType+" kernel,\n" +
 				"\t\t\t\t\t\t\t\t  "+inputName+" input, "+outputName+" output"+divideArg+") {\n" +
 				"\t\tInputSanityCheck.checkSameShape(input, output);\n" +
-				"\n");
-		if( singleBand ) {
-			out.print("\t\tif (!ConvolveImageUnrolled_SB_"+typeIn+"_"+typeOut+divideSuf+"."+name+"(kernel, input, output"+divideInput+"))\n" +
+				"\n" +
+				"\t\tif( BoofConcurrency.USE_CONCURRENT ) {\n" +
+				"\t\t\tConvolveImageNoBorder_MT."+name+"(kernel, input, output"+divideInput+");\n");
+		String unrolledName = typeIn+"_"+typeOut+divideSuf;
+		if( singleBand && hasUnrolled(unrolledName) ) {
+			out.print("\t\t} else if (!ConvolveImageUnrolled_SB_"+unrolledName+"."+name+"(kernel, input, output"+divideInput+")) {\n" +
 					"\t\t\tConvolveImageStandard_SB."+name+"(kernel, input, output"+divideInput+");\n");
 		} else {
-			out.print("\t\tConvolveImageStandard_IL."+name+"(kernel, input, output"+divideInput+");\n");
+			out.print("\t\t} else {\n" +
+					"\t\t\tConvolveImageStandard_"+(singleBand?"SB":"IL")+"."+name+"(kernel, input, output"+divideInput+");\n");
+		}
+		out.print("\t\t}\n" +
+				"\t}\n\n");
+	}
+
+	static boolean hasUnrolled( String name ) {
+		for( String s : unrolled ) {
+			if( s.equals(name))
+				return true;
 		}
-		out.print("\t}\n\n");
+		return false;
 	}
 
 	public static void main(String[] args) {
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.convolve;
+
+/**
+ * Generates {@link ConvolveImageNoBorder_MT}.  Same functions as {@link ConvolveImageNoBorder} but each image
+ * is split into bands of rows which are convolved in parallel.
+ *
+ * @author Peter Abeles
+ */
+public class GenerateConvolveImageNoBorder_MT extends GenerateConvolveImageNoBorder {
+
+	@Override
+	protected void printPreamble() {
+		out.print(
+				"import boofcv.alg.InputSanityCheck;\n" +
+				"import boofcv.alg.filter.convolve.noborder.*;\n" +
+				"import boofcv.concurrency.ImageBands;\n" +
+				"import boofcv.struct.convolve.*;\n" +
+				"import boofcv.struct.image.*;\n");
+		out.println();
+		out.print("/**\n" +
+				" * <p>\n" +
+				" * Concurrent version of {@link ConvolveImageNoBorder}.  The image is split into bands of rows using\n" +
+				" * {@link ImageBands} and each band is convolved in a different thread.  Results are identical\n" +
+				" * to the single threaded implementation.\n" +
+				" * </p>\n" +
+				" * <p>Automatically generated by "+getClass().getSimpleName()+" DO NOT MODIFY</p>\n" +
+				" *\n" +
+				" * @author Peter Abeles\n" +
+				" */\n" +
+				"@SuppressWarnings({\"ForLoopReplaceableByForEach\"})\n" +
+				"public class "+className+" {\n\n");
+	}
+
+	@Override
+	protected void printFunction(  String name , boolean singleBand , boolean hasDivide ) {
+
+		totalFunctions++;
+
+		String divideArg = hasDivide ? ", int divisor" : "";
+		String divideSuf = hasDivide ? "_Div" : "";
+		String divideInput = hasDivide ? ", divisor" : "";
+
+		String dimen = name.equals("convolve") ? "2D" : "1D";
+
+		String halo = name.equals("horizontal") ? "0, 0" : "kernel.offset, kernel.width-kernel.offset-1";
+
+		out.print("\tpublic static void "+name+"(Kernel"+dimen+"_"+kernelType+" kernel,\n" +
+				"\t\t\t\t\t\t\t\t  "+inputName+" input, "+outputName+" output"+divideArg+") {\n" +
+				"\t\tInputSanityCheck.checkSameShape(input, output);\n" +
+				"\n" +
+				"\t\tImageBands.rows(input, output, "+halo+", (in, out) -> {\n");
+		String unrolledName = typeIn+"_"+typeOut+divideSuf;
+		if( singleBand && hasUnrolled(unrolledName) ) {
+			out.print("\t\t\tif (!ConvolveImageUnrolled_SB_"+unrolledName+"."+name+"(kernel, in, out"+divideInput+"))\n" +
+					"\t\t\t\tConvolveImageStandard_SB."+name+"(kernel, in, out"+divideInput+");\n");
+		} else {
+			out.print("\t\t\tConvolveImageStandard_"+(singleBand?"SB":"IL")+"."+name+"(kernel, in, out"+divideInput+");\n");
+		}
+		out.print("\t\t});\n" +
+				"\t}\n\n");
+	}
+
+	public static void main(String[] args) {
+		GenerateConvolveImageNoBorder_MT gen = new GenerateConvolveImageNoBorder_MT();
+		gen.generate();
+	}
+}
@@ -41,12 +41,15 @@ public class GenerateImageMiscOps extends CodeGeneratorBase {
 		printPreamble();
 		printAllGeneric();
 		printAllSpecific();
+		printCopyDirect("DirectGrayU8","GrayU8","");
+		printCopyDirect("DirectInterleavedU8","InterleavedU8","*numBands");
 		out.println("}");
 	}
 
 	private void printPreamble() {
 		out.print("import boofcv.struct.image.*;\n" +
 				"\n" +
+				"import java.nio.ByteBuffer;\n" +
 				"import java.util.Random;\n" +
 				"import java.util.Arrays;\n" +
 				"\n" +
@@ -179,6 +182,50 @@ public class GenerateImageMiscOps extends CodeGeneratorBase {
 				"\t}\n\n");
 	}
 
+	public void printCopyDirect( String inputName , String outputName , String bands ) {
+		boolean interleaved = bands.length() > 0;
+
+		out.print("\t/**\n" +
+				"\t * Copies a rectangular region from an image stored in a ByteBuffer into a regular image.<br>\n" +
+				"\t * output[dstX:(dstX+width) , dstY:(dstY+height-1)] = input[srcX:(srcX+width) , srcY:(srcY+height-1)]\n" +
+				"\t *\n" +
+				"\t * @param srcX x-coordinate of corner in input image\n" +
+				"\t * @param srcY y-coordinate of corner in input image\n" +
+				"\t * @param dstX x-coordinate of corner in output image\n" +
+				"\t * @param dstY y-coordinate of corner in output image\n" +
+				"\t * @param width Width of region to be copied\n" +
+				"\t * @param height Height of region to be copied\n" +
+				"\t * @param input Input image\n" +
+				"\t * @param output output image\n" +
+				"\t */\n" +
+				"\tpublic static void copy( int srcX , int srcY , int dstX , int dstY , int width , int height ,\n" +
+				"\t\t\t\t\t\t\t "+inputName+" input , "+outputName+" output ) {\n" +
+				"\n" +
+				"\t\tif( input.width < srcX+width || input.height < srcY+height )\n" +
+				"\t\t\tthrow new IllegalArgumentException(\"Copy region must be contained input image\");\n" +
+				"\t\tif( output.width < dstX+width || output.height < dstY+height )\n" +
+				"\t\t\tthrow new IllegalArgumentException(\"Copy region must be contained output image\");\n");
+		if( interleaved ) {
+			out.print(
+				"\t\tif( output.numBands != input.numBands )\n" +
+				"\t\t\tthrow new IllegalArgumentException(\"Number of bands must match. \"+input.numBands+\" != \"+output.numBands);\n" +
+				"\n" +
+				"\t\tfinal int numBands = input.numBands;\n");
+		}
+		out.print(
+				"\n" +
+				"\t\t// read from a duplicate so that the input buffer's position isn't modified\n" +
+				"\t\tByteBuffer src = input.data.duplicate();\n" +
+				"\t\tfor (int y = 0; y < height; y++) {\n" +
+				"\t\t\tint indexSrc = input.startIndex + (srcY + y) * input.stride + srcX"+bands+";\n" +
+				"\t\t\tint indexDst = output.startIndex + (dstY + y) * output.stride + dstX"+bands+";\n" +
+				"\n" +
+				"\t\t\tsrc.position(indexSrc);\n" +
+				"\t\t\tsrc.get(output.data,indexDst,width"+bands+");\n" +
+				"\t\t}\n" +
+				"\t}\n\n");
+	}
+
 	public void printFill()
 	{
 		String typeCast = imageType.getTypeCastFromSum();
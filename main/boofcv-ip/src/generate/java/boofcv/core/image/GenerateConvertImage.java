@@ -47,6 +47,7 @@ public class GenerateConvertImage extends CodeGeneratorBase {
 			printInterleaveToMulti(in);
 			printIntegerRange(in);
 		}
+		printDirect();
 
 		out.print("\n" +
 				"}\n");
@@ -54,6 +55,9 @@ public class GenerateConvertImage extends CodeGeneratorBase {
 
 	private void printPreamble() {
 		out.print("import boofcv.alg.InputSanityCheck;\n" +
+				"import boofcv.concurrency.BoofConcurrency;\n" +
+				"import boofcv.concurrency.ImageBands;\n" +
+				"import boofcv.core.image.impl.ImplConvertDirectImage;\n" +
 				"import boofcv.core.image.impl.ImplConvertImage;\n" +
 				"import boofcv.core.image.impl.ImplConvertMsToSingle;\n" +
 				"import boofcv.core.image.impl.ConvertInterleavedToSingle;\n" +
@@ -95,7 +99,11 @@ public class GenerateConvertImage extends CodeGeneratorBase {
 				"\t\t\tInputSanityCheck.checkSameShape(input, output);\n" +
 				"\t\t}\n" +
 				"\n" +
-				"\t\tImplConvertImage.convert(input, output);\n" +
+				"\t\tif( BoofConcurrency.USE_CONCURRENT ) {\n" +
+				"\t\t\tImageBands.rows(input, output, ImplConvertImage::convert);\n" +
+				"\t\t} else {\n" +
+				"\t\t\tImplConvertImage.convert(input, output);\n" +
+				"\t\t}\n" +
 				"\n" +
 				"\t\treturn output;\n" +
 				"\t}\n\n");
@@ -119,7 +127,11 @@ public class GenerateConvertImage extends CodeGeneratorBase {
 				"\t\t\tInputSanityCheck.checkSameShape(input, output);\n" +
 				"\t\t}\n" +
 				"\n" +
-				"\t\tImplConvertImage.convert(input, output);\n" +
+				"\t\tif( BoofConcurrency.USE_CONCURRENT ) {\n" +
+				"\t\t\tImageBands.rows(input, output, ImplConvertImage::convert);\n" +
+				"\t\t} else {\n" +
+				"\t\t\tImplConvertImage.convert(input, output);\n" +
+				"\t\t}\n" +
 				"\n" +
 				"\t\treturn output;\n" +
 				"\t}\n\n");
@@ -194,7 +206,11 @@ public class GenerateConvertImage extends CodeGeneratorBase {
 				"\t\t\tInputSanityCheck.checkSameShape(input, output);\n" +
 				"\t\t}\n" +
 				"\n" +
-				"\t\tImplConvertImage.convert(input,output);\n" +
+				"\t\tif( BoofConcurrency.USE_CONCURRENT ) {\n" +
+				"\t\t\tImageBands.rows(input, output, ImplConvertImage::convert);\n" +
+				"\t\t} else {\n" +
+				"\t\t\tImplConvertImage.convert(input,output);\n" +
+				"\t\t}\n" +
 				"\n" +
 				"\t\treturn output;\n" +
 				"\t}\n\n");
@@ -218,7 +234,11 @@ public class GenerateConvertImage extends CodeGeneratorBase {
 				"\t\t\tInputSanityCheck.checkSameShape(input, output);\n" +
 				"\t\t}\n" +
 				"\n" +
-				"\t\tImplConvertImage.convert(input,output);\n" +
+				"\t\tif( BoofConcurrency.USE_CONCURRENT ) {\n" +
+				"\t\t\tImageBands.rows(input, output, ImplConvertImage::convert);\n" +
+				"\t\t} else {\n" +
+				"\t\t\tImplConvertImage.convert(input,output);\n" +
+				"\t\t}\n" +
 				"\n" +
 				"\t\treturn output;\n" +
 				"\t}\n\n");
@@ -266,6 +286,49 @@ public class GenerateConvertImage extends CodeGeneratorBase {
 				"\t}\n\n");
 	}
 
+	private void printDirect() {
+		printDirect("DirectGrayU8","GrayU8","convert","Converts a {@link DirectGrayU8} into a {@link GrayU8}",
+				"new GrayU8(input.width, input.height)");
+		printDirect("DirectGrayU8","GrayF32","convert","Converts a {@link DirectGrayU8} into a {@link GrayF32}",
+				"new GrayF32(input.width, input.height)");
+		printDirect("DirectInterleavedU8","InterleavedU8","convert",
+				"Converts a {@link DirectInterleavedU8} into a {@link InterleavedU8}",
+				"new InterleavedU8(input.width, input.height, input.numBands)");
+		printDirect("DirectInterleavedU8","Planar<GrayU8>","convert",
+				"Converts a {@link DirectInterleavedU8} into the equivalent {@link Planar}",
+				"new Planar<GrayU8>(GrayU8.class,input.width, input.height,input.numBands)");
+		printDirect("DirectInterleavedU8","GrayU8","average",
+				"Converts a {@link DirectInterleavedU8} into a {@link GrayU8} by computing the average value of each pixel\n" +
+				"\t * across all the bands.",
+				"new GrayU8(input.width, input.height)");
+	}
+
+	private void printDirect( String inputName , String outputName , String function , String description ,
+							  String declare ) {
+		out.print("\t/**\n" +
+				"\t * "+description+"\n" +
+				"\t *\n" +
+				"\t * @param input (Input) Image stored in a ByteBuffer. Not modified.\n" +
+				"\t * @param output (Optional) The output image.  If null a new image is created. Modified.\n" +
+				"\t * @return Converted image.\n" +
+				"\t */\n" +
+				"\tpublic static "+outputName+" "+function+"( "+inputName+" input , "+outputName+" output ) {\n" +
+				"\t\tif (output == null) {\n" +
+				"\t\t\toutput = "+declare+";\n" +
+				"\t\t} else {\n" +
+				"\t\t\tInputSanityCheck.checkSameShape(input, output);\n" +
+				"\t\t}\n" +
+				"\n" +
+				"\t\tif( BoofConcurrency.USE_CONCURRENT ) {\n" +
+				"\t\t\tImageBands.rows(input, output, ImplConvertDirectImage::"+function+");\n" +
+				"\t\t} else {\n" +
+				"\t\t\tImplConvertDirectImage."+function+"(input,output);\n" +
+				"\t\t}\n" +
+				"\n" +
+				"\t\treturn output;\n" +
+				"\t}\n\n");
+	}
+
 	public static void main( String args[] ) throws FileNotFoundException {
 		GenerateConvertImage app = new GenerateConvertImage();
 
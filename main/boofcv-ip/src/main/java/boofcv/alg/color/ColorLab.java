@@ -19,6 +19,9 @@
 package boofcv.alg.color;
 
 import boofcv.alg.InputSanityCheck;
+import boofcv.alg.color.impl.ImplColorLab;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.ImageBands;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.GrayU8;
 import boofcv.struct.image.Planar;
@@ -124,43 +127,10 @@ public class ColorLab {
 
 		InputSanityCheck.checkSameShape(lab, rgb);
 
-		GrayU8 R = rgb.getBand(0);
-		GrayU8 G = rgb.getBand(1);
-		GrayU8 B = rgb.getBand(2);
-
-		GrayF32 L_ = lab.getBand(0);
-		GrayF32 A_ = lab.getBand(1);
-		GrayF32 B_ = lab.getBand(2);
-
-		for( int row = 0; row < lab.height; row++ ) {
-			int indexLab = lab.startIndex + row*lab.stride;
-			int indexRgb = rgb.startIndex + row*rgb.stride;
-
-			for( int col = 0; col < lab.width; col++ , indexLab++ , indexRgb++) {
-				float r = (R.data[indexRgb]&0xFF)/255f;
-				float g = (G.data[indexRgb]&0xFF)/255f;
-				float b = (B.data[indexRgb]&0xFF)/255f;
-
-				float X = 0.412453f*r + 0.35758f*g + 0.180423f*b;
-				float Y = 0.212671f*r + 0.71516f*g + 0.072169f*b;
-				float Z = 0.019334f*r + 0.119193f*g + 0.950227f*b;
-
-				float xr = X/Xr_f;
-				float yr = Y/Yr_f;
-				float zr = Z/Zr_f;
-
-				float fx, fy, fz;
-				if(xr > epsilon_f)	fx = (float)Math.pow(xr, 1.0f/3.0f);
-				else				fx = (kappa_f*xr + 16.0f)/116.0f;
-				if(yr > epsilon_f)	fy = (float)Math.pow(yr, 1.0/3.0f);
-				else				fy = (kappa_f*yr + 16.0f)/116.0f;
-				if(zr > epsilon_f)	fz = (float)Math.pow(zr, 1.0/3.0f);
-				else				fz = (kappa_f*zr + 16.0f)/116.0f;
-
-				L_.data[indexLab] = 116.0f*fy-16.0f;
-				A_.data[indexLab] = 500.0f*(fx-fy);
-				B_.data[indexLab] = 200.0f*(fy-fz);
-			}
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ImageBands.rows(rgb, lab, ImplColorLab::rgbToLab_U8);
+		} else {
+			ImplColorLab.rgbToLab_U8(rgb, lab);
 		}
 	}
 
@@ -177,43 +147,10 @@ public class ColorLab {
 
 		InputSanityCheck.checkSameShape(lab, rgb);
 
-		GrayF32 R = rgb.getBand(0);
-		GrayF32 G = rgb.getBand(1);
-		GrayF32 B = rgb.getBand(2);
-
-		GrayF32 L_ = lab.getBand(0);
-		GrayF32 A_ = lab.getBand(1);
-		GrayF32 B_ = lab.getBand(2);
-
-		for( int row = 0; row < lab.height; row++ ) {
-			int indexLab = lab.startIndex + row*lab.stride;
-			int indexRgb = rgb.startIndex + row*rgb.stride;
-
-			for( int col = 0; col < lab.width; col++ , indexLab++ , indexRgb++) {
-				float r = R.data[indexRgb]/255f;
-				float g = G.data[indexRgb]/255f;
-				float b = B.data[indexRgb]/255f;
-
-				float X = 0.412453f*r + 0.35758f*g + 0.180423f*b;
-				float Y = 0.212671f*r + 0.71516f*g + 0.072169f*b;
-				float Z = 0.019334f*r + 0.119193f*g + 0.950227f*b;
-
-				float xr = X/Xr_f;
-				float yr = Y/Yr_f;
-				float zr = Z/Zr_f;
-
-				float fx, fy, fz;
-				if(xr > epsilon_f)	fx = (float)Math.pow(xr, 1.0f/3.0f);
-				else				fx = (kappa_f*xr + 16.0f)/116.0f;
-				if(yr > epsilon_f)	fy = (float)Math.pow(yr, 1.0/3.0f);
-				else				fy = (kappa_f*yr + 16.0f)/116.0f;
-				if(zr > epsilon_f)	fz = (float)Math.pow(zr, 1.0/3.0f);
-				else				fz = (kappa_f*zr + 16.0f)/116.0f;
-
-				L_.data[indexLab] = 116.0f*fy-16.0f;
-				A_.data[indexLab] = 500.0f*(fx-fy);
-				B_.data[indexLab] = 200.0f*(fy-fz);
-			}
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ImageBands.rows(rgb, lab, ImplColorLab::rgbToLab_F32);
+		} else {
+			ImplColorLab.rgbToLab_F32(rgb, lab);
 		}
 	}
 }
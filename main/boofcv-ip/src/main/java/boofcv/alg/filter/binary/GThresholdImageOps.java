@@ -353,6 +353,36 @@ public class GThresholdImageOps {
 		}
 	}
 
+	/**
+	 * Same as {@link #localMean(ImageGray, GrayU8, ConfigLength, double, boolean, ImageGray, ImageGray)} but the
+	 * intermediate images are borrowed from the pool and returned to it before this function exits. If the output
+	 * is null it's borrowed from the pool too and the caller is responsible for recycling it. After the first call
+	 * no new images are declared when processing images with the same shape.
+	 *
+	 * @param input Input image.
+	 * @param output (optional) Output binary image.  If null it will be borrowed from the pool.
+	 * @param width Width of square region.
+	 * @param scale Scale factor used to adjust threshold
+	 * @param down Should it threshold up or down.
+	 * @param pool Source of intermediate images
+	 * @return binary image.
+	 */
+	public static <T extends ImageGray<T>>
+	GrayU8 localMean(T input, GrayU8 output,
+					 ConfigLength width, double scale, boolean down, ImagePool pool)
+	{
+		if( output == null )
+			output = pool.borrow(GrayU8.class, input.width, input.height);
+		T work1 = pool.borrowLike(input);
+		T work2 = pool.borrowLike(input);
+		try {
+			return localMean(input, output, width, scale, down, work1, work2);
+		} finally {
+			pool.recycle(work1);
+			pool.recycle(work2);
+		}
+	}
+
 	/**
 	 * <p>
 	 * Thresholds the image using a locally adaptive threshold that is computed using a local square region centered
@@ -391,6 +421,35 @@ public class GThresholdImageOps {
 		}
 	}
 
+	/**
+	 * Same as {@link #localGaussian(ImageGray, GrayU8, ConfigLength, double, boolean, ImageGray, ImageGray)} but the
+	 * intermediate images are borrowed from the pool and returned to it before this function exits. If the output
+	 * is null it's borrowed from the pool too and the caller is responsible for recycling it.
+	 *
+	 * @param input Input image.
+	 * @param output (optional) Output binary image.  If null it will be borrowed from the pool.
+	 * @param width Width of square region.
+	 * @param scale Scale factor used to adjust threshold
+	 * @param down Should it threshold up or down.
+	 * @param pool Source of intermediate images
+	 * @return binary image.
+	 */
+	public static <T extends ImageGray<T>>
+	GrayU8 localGaussian(T input, GrayU8 output,
+						 ConfigLength width, double scale, boolean down, ImagePool pool)
+	{
+		if( output == null )
+			output = pool.borrow(GrayU8.class, input.width, input.height);
+		T work1 = pool.borrowLike(input);
+		T work2 = pool.borrowLike(input);
+		try {
+			return localGaussian(input, output, width, scale, down, work1, work2);
+		} finally {
+			pool.recycle(work1);
+			pool.recycle(work2);
+		}
+	}
+
 	/**
 	 *
 	 * @see FactoryThresholdBinary#localOtsu(boolean, ConfigLength, double, double, boolean, Class)
@@ -525,5 +525,110 @@ public class ThresholdImageOps {
 		return output;
 	}
 
+	/**
+	 * Applies a global threshold to an image stored in a ByteBuffer.  If 'down' is true, then pixels with values <=
+	 * to 'threshold' are set to 1 and the others set to 0.  If 'down' is false, then pixels with values >
+	 * to 'threshold' are set to 1 and the others set to 0.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output (Optional) Binary output image. If null a new image will be declared. Modified.
+	 * @param threshold threshold value.
+	 * @param down If true then the inequality <= is used, otherwise if false then &gt; is used.
+	 * @return Output image.
+	 */
+	public static GrayU8 threshold( DirectGrayU8 input , GrayU8 output ,
+									int threshold , boolean down )
+	{
+		output = checkDeclare(input,output);
+
+		if( down ) {
+			for( int y = 0; y < input.height; y++ ) {
+				int indexIn = input.startIndex + y*input.stride;
+				int indexOut = output.startIndex + y*output.stride;
+
+				for( int i = input.width; i>0; i-- ) {
+					output.data[indexOut++] = (byte)((input.data.get(indexIn++)& 0xFF) <= threshold ? 1 : 0);
+				}
+			}
+		} else {
+			for( int y = 0; y < input.height; y++ ) {
+				int indexIn = input.startIndex + y*input.stride;
+				int indexOut = output.startIndex + y*output.stride;
+
+				for( int i = input.width; i>0; i-- ) {
+					output.data[indexOut++] = (byte)((input.data.get(indexIn++)& 0xFF) > threshold ? 1 : 0);
+				}
+			}
+		}
+
+		return output;
+	}
+
+	/**
+	 * Same as {@link #localMean(GrayU8, GrayU8, ConfigLength, float, boolean, GrayU8, GrayU8)} but for an
+	 * image stored in a ByteBuffer. The local mean is computed with
+	 * {@link BlurImageOps#mean(DirectGrayU8, GrayU8, int, GrayU8)}.
+	 *
+	 * @param input Input image.
+	 * @param output (optional) Output binary image.  If null it will be declared internally.
+	 * @param width Width of square region.
+	 * @param scale Scale factor used to adjust threshold.  Try 0.95
+	 * @param down Should it threshold up or down.
+	 * @param storage1 (Optional) Storage for intermediate step. If null will be declared internally.
+	 * @param storage2 (Optional) Storage for intermediate step. If null will be declared internally.
+	 * @return Thresholded image.
+	 */
+	public static GrayU8 localMean(DirectGrayU8 input , GrayU8 output ,
+								   ConfigLength width , float scale , boolean down ,
+								   GrayU8 storage1 , GrayU8 storage2 ) {
+
+		output = checkDeclare(input,output);
+		storage1 = checkDeclare(input,storage1);
+		storage2 = checkDeclare(input,storage2);
+
+		int radius = width.computeI(Math.min(input.width,input.height))/2;
+
+		GrayU8 mean = storage1;
+
+		BlurImageOps.mean(input,mean,radius,storage2);
+
+		if( down ) {
+			for( int y = 0; y < input.height; y++ ) {
+				int indexIn = input.startIndex + y*input.stride;
+				int indexOut = output.startIndex + y*output.stride;
+				int indexMean = mean.startIndex + y*mean.stride;
+
+				int end = indexIn + input.width;
+
+				while(indexIn < end) {
+					float threshold = (mean.data[indexMean++]& 0xFF) * scale;
+					output.data[indexOut++] = (input.data.get(indexIn++)& 0xFF) <= threshold ? (byte)1:0;
+				}
+			}
+		} else {
+			for( int y = 0; y < input.height; y++ ) {
+				int indexIn = input.startIndex + y*input.stride;
+				int indexOut = output.startIndex + y*output.stride;
+				int indexMean = mean.startIndex + y*mean.stride;
+
+				int end = indexIn + input.width;
+
+				while(indexIn < end) {
+					float threshold = (mean.data[indexMean++]& 0xFF);
+					output.data[indexOut++] = (input.data.get(indexIn++)& 0xFF)*scale > threshold ? (byte)1:0;
+				}
+			}
+		}
+
+		return output;
+	}
+
+	private static GrayU8 checkDeclare( DirectGrayU8 input , GrayU8 output ) {
+		if( output == null )
+			return new GrayU8(input.width, input.height);
+		InputSanityCheck.checkSameShape(input, output);
+		return output;
+	}
+
 
 }
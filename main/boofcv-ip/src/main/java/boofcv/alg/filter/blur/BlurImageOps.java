@@ -24,6 +24,7 @@ import boofcv.alg.filter.blur.impl.ImplMedianSortEdgeNaive;
 import boofcv.alg.filter.blur.impl.ImplMedianSortNaive;
 import boofcv.alg.filter.convolve.ConvolveImageMean;
 import boofcv.alg.filter.convolve.ConvolveImageNormalized;
+import boofcv.alg.filter.convolve.normalized.ConvolveNormalizedDirect_SB;
 import boofcv.core.image.GeneralizedImageOps;
 import boofcv.factory.filter.kernel.FactoryKernelGaussian;
 import boofcv.struct.convolve.Kernel1D_F32;
@@ -68,6 +69,30 @@ public class BlurImageOps {
 		return output;
 	}
 
+	/**
+	 * Applies a mean box filter to an image stored in a ByteBuffer. The horizontal pass reads directly from
+	 * the buffer and the output is identical to {@link #mean(GrayU8, GrayU8, int, GrayU8)}.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Storage for output image, Can be null.  Modified.
+	 * @param radius Radius of the box blur function.
+	 * @param storage (Optional) Storage for intermediate results.  Same size as input image.  Can be null.
+	 * @return Output blurred image.
+	 */
+	public static GrayU8 mean(DirectGrayU8 input, @Nullable GrayU8 output, int radius, @Nullable GrayU8 storage) {
+
+		if( radius <= 0 )
+			throw new IllegalArgumentException("Radius must be > 0");
+
+		output = checkDeclare(input,output);
+		storage = checkDeclare(input,storage);
+
+		ConvolveNormalizedDirect_SB.horizontalMean(input, storage, radius);
+		ConvolveImageMean.vertical(storage, output, radius);
+
+		return output;
+	}
+
 	/**
 	 * Applies a mean box filter.
 	 *
@@ -244,6 +269,36 @@ public class BlurImageOps {
 		return output;
 	}
 
+	/**
+	 * Applies Gaussian blur to an image stored in a ByteBuffer. The horizontal pass reads directly from
+	 * the buffer and the output is identical to {@link #gaussian(GrayU8, GrayU8, double, int, GrayU8)}.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Storage for output image, Can be null.  Modified.
+	 * @param sigma Gaussian distribution's sigma.  If &le; 0 then will be selected based on radius.
+	 * @param radius Radius of the Gaussian blur function. If &le; 0 then radius will be determined by sigma.
+	 * @param storage (Optional) Storage for intermediate results.  Same size as input image.  Can be null.
+	 * @return Output blurred image.
+	 */
+	public static GrayU8 gaussian(DirectGrayU8 input, @Nullable GrayU8 output, double sigma , int radius,
+								  @Nullable GrayU8 storage ) {
+		output = checkDeclare(input,output);
+		storage = checkDeclare(input,storage);
+
+		Kernel1D_S32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_S32.class, sigma, radius);
+		ConvolveNormalizedDirect_SB.horizontal(kernel, input, storage);
+		ConvolveImageNormalized.vertical(kernel, storage, output);
+
+		return output;
+	}
+
+	private static GrayU8 checkDeclare( DirectGrayU8 input , @Nullable GrayU8 output ) {
+		if( output == null )
+			return new GrayU8(input.width, input.height);
+		InputSanityCheck.checkSameShape(input, output);
+		return output;
+	}
+
 	public static InterleavedU8 gaussian(InterleavedU8 input, @Nullable InterleavedU8 output,
 										 double sigma , int radius,
 										 InterleavedU8 storage ) {
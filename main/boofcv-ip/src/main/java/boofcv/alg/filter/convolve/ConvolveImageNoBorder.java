@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -20,6 +20,7 @@ package boofcv.alg.filter.convolve;
 
 import boofcv.alg.InputSanityCheck;
 import boofcv.alg.filter.convolve.noborder.*;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.convolve.*;
 import boofcv.struct.image.*;
 
@@ -39,6 +40,10 @@ import boofcv.struct.image.*;
  * the whole kernel can be convolved image borders are skipped.  In special cases where there is a clear way to
  * handle image edges specialized functions are provided.
  * </p>
+ * <p>
+ * If {@link BoofConcurrency#USE_CONCURRENT} is true then the image is processed by
+ * {@link ConvolveImageNoBorder_MT}, which produces identical results using multiple threads.
+ * </p>
  * <p>Automatically generated by GenerateConvolveImageNoBorder DO NOT MODIFY</p>
  *
  * @author Peter Abeles
@@ -50,435 +55,638 @@ public class ConvolveImageNoBorder {
 								  GrayF32 input, GrayF32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (!ConvolveImageUnrolled_SB_F32_F32.horizontal(kernel, input, output))
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.horizontal(kernel, input, output);
+		} else if (!ConvolveImageUnrolled_SB_F32_F32.horizontal(kernel, input, output)) {
 			ConvolveImageStandard_SB.horizontal(kernel, input, output);
+		}
 	}
 
 	public static void vertical(Kernel1D_F32 kernel,
 								  GrayF32 input, GrayF32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (!ConvolveImageUnrolled_SB_F32_F32.vertical(kernel, input, output))
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.vertical(kernel, input, output);
+		} else if (!ConvolveImageUnrolled_SB_F32_F32.vertical(kernel, input, output)) {
 			ConvolveImageStandard_SB.vertical(kernel, input, output);
+		}
 	}
 
 	public static void convolve(Kernel2D_F32 kernel,
 								  GrayF32 input, GrayF32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (!ConvolveImageUnrolled_SB_F32_F32.convolve(kernel, input, output))
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.convolve(kernel, input, output);
+		} else if (!ConvolveImageUnrolled_SB_F32_F32.convolve(kernel, input, output)) {
 			ConvolveImageStandard_SB.convolve(kernel, input, output);
+		}
 	}
 
 	public static void horizontal(Kernel1D_F32 kernel,
 								  InterleavedF32 input, InterleavedF32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		ConvolveImageStandard_IL.horizontal(kernel, input, output);
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.horizontal(kernel, input, output);
+		} else {
+			ConvolveImageStandard_IL.horizontal(kernel, input, output);
+		}
 	}
 
 	public static void vertical(Kernel1D_F32 kernel,
 								  InterleavedF32 input, InterleavedF32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		ConvolveImageStandard_IL.vertical(kernel, input, output);
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.vertical(kernel, input, output);
+		} else {
+			ConvolveImageStandard_IL.vertical(kernel, input, output);
+		}
 	}
 
 	public static void convolve(Kernel2D_F32 kernel,
 								  InterleavedF32 input, InterleavedF32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		ConvolveImageStandard_IL.convolve(kernel, input, output);
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.convolve(kernel, input, output);
+		} else {
+			ConvolveImageStandard_IL.convolve(kernel, input, output);
+		}
 	}
 
 	public static void horizontal(Kernel1D_F64 kernel,
 								  GrayF64 input, GrayF64 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (!ConvolveImageUnrolled_SB_F64_F64.horizontal(kernel, input, output))
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.horizontal(kernel, input, output);
+		} else if (!ConvolveImageUnrolled_SB_F64_F64.horizontal(kernel, input, output)) {
 			ConvolveImageStandard_SB.horizontal(kernel, input, output);
+		}
 	}
 
 	public static void vertical(Kernel1D_F64 kernel,
 								  GrayF64 input, GrayF64 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (!ConvolveImageUnrolled_SB_F64_F64.vertical(kernel, input, output))
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.vertical(kernel, input, output);
+		} else if (!ConvolveImageUnrolled_SB_F64_F64.vertical(kernel, input, output)) {
 			ConvolveImageStandard_SB.vertical(kernel, input, output);
+		}
 	}
 
 	public static void convolve(Kernel2D_F64 kernel,
 								  GrayF64 input, GrayF64 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (!ConvolveImageUnrolled_SB_F64_F64.convolve(kernel, input, output))
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.convolve(kernel, input, output);
+		} else if (!ConvolveImageUnrolled_SB_F64_F64.convolve(kernel, input, output)) {
 			ConvolveImageStandard_SB.convolve(kernel, input, output);
+		}
 	}
 
 	public static void horizontal(Kernel1D_F64 kernel,
 								  InterleavedF64 input, InterleavedF64 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		ConvolveImageStandard_IL.horizontal(kernel, input, output);
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.horizontal(kernel, input, output);
+		} else {
+			ConvolveImageStandard_IL.horizontal(kernel, input, output);
+		}
 	}
 
 	public static void vertical(Kernel1D_F64 kernel,
 								  InterleavedF64 input, InterleavedF64 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		ConvolveImageStandard_IL.vertical(kernel, input, output);
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.vertical(kernel, input, output);
+		} else {
+			ConvolveImageStandard_IL.vertical(kernel, input, output);
+		}
 	}
 
 	public static void convolve(Kernel2D_F64 kernel,
 								  InterleavedF64 input, InterleavedF64 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		ConvolveImageStandard_IL.convolve(kernel, input, output);
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.convolve(kernel, input, output);
+		} else {
+			ConvolveImageStandard_IL.convolve(kernel, input, output);
+		}
 	}
 
 	public static void horizontal(Kernel1D_S32 kernel,
 								  GrayU8 input, GrayI16 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (!ConvolveImageUnrolled_SB_U8_I16.horizontal(kernel, input, output))
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.horizontal(kernel, input, output);
+		} else if (!ConvolveImageUnrolled_SB_U8_I16.horizontal(kernel, input, output)) {
 			ConvolveImageStandard_SB.horizontal(kernel, input, output);
+		}
 	}
 
 	public static void vertical(Kernel1D_S32 kernel,
 								  GrayU8 input, GrayI16 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (!ConvolveImageUnrolled_SB_U8_I16.vertical(kernel, input, output))
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.vertical(kernel, input, output);
+		} else if (!ConvolveImageUnrolled_SB_U8_I16.vertical(kernel, input, output)) {
 			ConvolveImageStandard_SB.vertical(kernel, input, output);
+		}
 	}
 
 	public static void convolve(Kernel2D_S32 kernel,
 								  GrayU8 input, GrayI16 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (!ConvolveImageUnrolled_SB_U8_I16.convolve(kernel, input, output))
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.convolve(kernel, input, output);
+		} else if (!ConvolveImageUnrolled_SB_U8_I16.convolve(kernel, input, output)) {
 			ConvolveImageStandard_SB.convolve(kernel, input, output);
+		}
 	}
 
 	public static void horizontal(Kernel1D_S32 kernel,
 								  InterleavedU8 input, InterleavedI16 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		ConvolveImageStandard_IL.horizontal(kernel, input, output);
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.horizontal(kernel, input, output);
+		} else {
+			ConvolveImageStandard_IL.horizontal(kernel, input, output);
+		}
 	}
 
 	public static void vertical(Kernel1D_S32 kernel,
 								  InterleavedU8 input, InterleavedI16 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		ConvolveImageStandard_IL.vertical(kernel, input, output);
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.vertical(kernel, input, output);
+		} else {
+			ConvolveImageStandard_IL.vertical(kernel, input, output);
+		}
 	}
 
 	public static void convolve(Kernel2D_S32 kernel,
 								  InterleavedU8 input, InterleavedI16 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		ConvolveImageStandard_IL.convolve(kernel, input, output);
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.convolve(kernel, input, output);
+		} else {
+			ConvolveImageStandard_IL.convolve(kernel, input, output);
+		}
 	}
 
 	public static void horizontal(Kernel1D_S32 kernel,
 								  GrayU8 input, GrayS32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-//		if (!ConvolveImageUnrolled_U8_S32.horizontal(kernel, input, output))
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.horizontal(kernel, input, output);
+		} else {
 			ConvolveImageStandard_SB.horizontal(kernel, input, output);
+		}
 	}
 
 	public static void vertical(Kernel1D_S32 kernel,
 								  GrayU8 input, GrayS32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-//		if (!ConvolveImageUnrolled_U8_S32.vertical(kernel, input, output))
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.vertical(kernel, input, output);
+		} else {
 			ConvolveImageStandard_SB.vertical(kernel, input, output);
+		}
 	}
 
 	public static void convolve(Kernel2D_S32 kernel,
 								  GrayU8 input, GrayS32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-//		if (!ConvolveImageUnrolled_U8_S32.convolve(kernel, input, output))
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.convolve(kernel, input, output);
+		} else {
 			ConvolveImageStandard_SB.convolve(kernel, input, output);
+		}
 	}
 
 	public static void horizontal(Kernel1D_S32 kernel,
 								  InterleavedU8 input, InterleavedS32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		ConvolveImageStandard_IL.horizontal(kernel, input, output);
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.horizontal(kernel, input, output);
+		} else {
+			ConvolveImageStandard_IL.horizontal(kernel, input, output);
+		}
 	}
 
 	public static void vertical(Kernel1D_S32 kernel,
 								  InterleavedU8 input, InterleavedS32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		ConvolveImageStandard_IL.vertical(kernel, input, output);
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.vertical(kernel, input, output);
+		} else {
+			ConvolveImageStandard_IL.vertical(kernel, input, output);
+		}
 	}
 
 	public static void convolve(Kernel2D_S32 kernel,
 								  InterleavedU8 input, InterleavedS32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		ConvolveImageStandard_IL.convolve(kernel, input, output);
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.convolve(kernel, input, output);
+		} else {
+			ConvolveImageStandard_IL.convolve(kernel, input, output);
+		}
 	}
 
 	public static void vertical(Kernel1D_S32 kernel,
 								  GrayU16 input, GrayI8 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
-//		if (!ConvolveImageUnrolled_U16_I8_Div.vertical(kernel, input, output, divisor))
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.vertical(kernel, input, output, divisor);
+		} else {
 			ConvolveImageStandard_SB.vertical(kernel, input, output, divisor);
+		}
 	}
 
 	public static void vertical(Kernel1D_S32 kernel,
 								  InterleavedU16 input, InterleavedI8 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		ConvolveImageStandard_IL.vertical(kernel, input, output, divisor);
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.vertical(kernel, input, output, divisor);
+		} else {
+			ConvolveImageStandard_IL.vertical(kernel, input, output, divisor);
+		}
 	}
 
 	public static void horizontal(Kernel1D_S32 kernel,
 								  GrayS16 input, GrayI16 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (!ConvolveImageUnrolled_SB_S16_I16.horizontal(kernel, input, output))
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.horizontal(kernel, input, output);
+		} else if (!ConvolveImageUnrolled_SB_S16_I16.horizontal(kernel, input, output)) {
 			ConvolveImageStandard_SB.horizontal(kernel, input, output);
+		}
 	}
 
 	public static void vertical(Kernel1D_S32 kernel,
 								  GrayS16 input, GrayI16 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (!ConvolveImageUnrolled_SB_S16_I16.vertical(kernel, input, output))
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.vertical(kernel, input, output);
+		} else if (!ConvolveImageUnrolled_SB_S16_I16.vertical(kernel, input, output)) {
 			ConvolveImageStandard_SB.vertical(kernel, input, output);
+		}
 	}
 
 	public static void convolve(Kernel2D_S32 kernel,
 								  GrayS16 input, GrayI16 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (!ConvolveImageUnrolled_SB_S16_I16.convolve(kernel, input, output))
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.convolve(kernel, input, output);
+		} else if (!ConvolveImageUnrolled_SB_S16_I16.convolve(kernel, input, output)) {
 			ConvolveImageStandard_SB.convolve(kernel, input, output);
+		}
 	}
 
 	public static void horizontal(Kernel1D_S32 kernel,
 								  InterleavedS16 input, InterleavedI16 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		ConvolveImageStandard_IL.horizontal(kernel, input, output);
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.horizontal(kernel, input, output);
+		} else {
+			ConvolveImageStandard_IL.horizontal(kernel, input, output);
+		}
 	}
 
 	public static void vertical(Kernel1D_S32 kernel,
 								  InterleavedS16 input, InterleavedI16 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		ConvolveImageStandard_IL.vertical(kernel, input, output);
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.vertical(kernel, input, output);
+		} else {
+			ConvolveImageStandard_IL.vertical(kernel, input, output);
+		}
 	}
 
 	public static void convolve(Kernel2D_S32 kernel,
 								  InterleavedS16 input, InterleavedI16 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		ConvolveImageStandard_IL.convolve(kernel, input, output);
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.convolve(kernel, input, output);
+		} else {
+			ConvolveImageStandard_IL.convolve(kernel, input, output);
+		}
 	}
 
 	public static void horizontal(Kernel1D_S32 kernel,
 								  GrayU8 input, GrayI8 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (!ConvolveImageUnrolled_SB_U8_I8_Div.horizontal(kernel, input, output, divisor))
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.horizontal(kernel, input, output, divisor);
+		} else if (!ConvolveImageUnrolled_SB_U8_I8_Div.horizontal(kernel, input, output, divisor)) {
 			ConvolveImageStandard_SB.horizontal(kernel, input, output, divisor);
+		}
 	}
 
 	public static void vertical(Kernel1D_S32 kernel,
 								  GrayU8 input, GrayI8 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (!ConvolveImageUnrolled_SB_U8_I8_Div.vertical(kernel, input, output, divisor))
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.vertical(kernel, input, output, divisor);
+		} else if (!ConvolveImageUnrolled_SB_U8_I8_Div.vertical(kernel, input, output, divisor)) {
 			ConvolveImageStandard_SB.vertical(kernel, input, output, divisor);
+		}
 	}
 
 	public static void convolve(Kernel2D_S32 kernel,
 								  GrayU8 input, GrayI8 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (!ConvolveImageUnrolled_SB_U8_I8_Div.convolve(kernel, input, output, divisor))
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.convolve(kernel, input, output, divisor);
+		} else if (!ConvolveImageUnrolled_SB_U8_I8_Div.convolve(kernel, input, output, divisor)) {
 			ConvolveImageStandard_SB.convolve(kernel, input, output, divisor);
+		}
 	}
 
 	public static void horizontal(Kernel1D_S32 kernel,
 								  InterleavedU8 input, InterleavedI8 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		ConvolveImageStandard_IL.horizontal(kernel, input, output, divisor);
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.horizontal(kernel, input, output, divisor);
+		} else {
+			ConvolveImageStandard_IL.horizontal(kernel, input, output, divisor);
+		}
 	}
 
 	public static void vertical(Kernel1D_S32 kernel,
 								  InterleavedU8 input, InterleavedI8 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		ConvolveImageStandard_IL.vertical(kernel, input, output, divisor);
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.vertical(kernel, input, output, divisor);
+		} else {
+			ConvolveImageStandard_IL.vertical(kernel, input, output, divisor);
+		}
 	}
 
 	public static void convolve(Kernel2D_S32 kernel,
 								  InterleavedU8 input, InterleavedI8 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		ConvolveImageStandard_IL.convolve(kernel, input, output, divisor);
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.convolve(kernel, input, output, divisor);
+		} else {
+			ConvolveImageStandard_IL.convolve(kernel, input, output, divisor);
+		}
 	}
 
 	public static void horizontal(Kernel1D_S32 kernel,
 								  GrayS16 input, GrayI16 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (!ConvolveImageUnrolled_SB_S16_I16_Div.horizontal(kernel, input, output, divisor))
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.horizontal(kernel, input, output, divisor);
+		} else if (!ConvolveImageUnrolled_SB_S16_I16_Div.horizontal(kernel, input, output, divisor)) {
 			ConvolveImageStandard_SB.horizontal(kernel, input, output, divisor);
+		}
 	}
 
 	public static void vertical(Kernel1D_S32 kernel,
 								  GrayS16 input, GrayI16 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (!ConvolveImageUnrolled_SB_S16_I16_Div.vertical(kernel, input, output, divisor))
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.vertical(kernel, input, output, divisor);
+		} else if (!ConvolveImageUnrolled_SB_S16_I16_Div.vertical(kernel, input, output, divisor)) {
 			ConvolveImageStandard_SB.vertical(kernel, input, output, divisor);
+		}
 	}
 
 	public static void convolve(Kernel2D_S32 kernel,
 								  GrayS16 input, GrayI16 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (!ConvolveImageUnrolled_SB_S16_I16_Div.convolve(kernel, input, output, divisor))
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.convolve(kernel, input, output, divisor);
+		} else if (!ConvolveImageUnrolled_SB_S16_I16_Div.convolve(kernel, input, output, divisor)) {
 			ConvolveImageStandard_SB.convolve(kernel, input, output, divisor);
+		}
 	}
 
 	public static void horizontal(Kernel1D_S32 kernel,
 								  InterleavedS16 input, InterleavedI16 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		ConvolveImageStandard_IL.horizontal(kernel, input, output, divisor);
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.horizontal(kernel, input, output, divisor);
+		} else {
+			ConvolveImageStandard_IL.horizontal(kernel, input, output, divisor);
+		}
 	}
 
 	public static void vertical(Kernel1D_S32 kernel,
 								  InterleavedS16 input, InterleavedI16 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		ConvolveImageStandard_IL.vertical(kernel, input, output, divisor);
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.vertical(kernel, input, output, divisor);
+		} else {
+			ConvolveImageStandard_IL.vertical(kernel, input, output, divisor);
+		}
 	}
 
 	public static void convolve(Kernel2D_S32 kernel,
 								  InterleavedS16 input, InterleavedI16 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		ConvolveImageStandard_IL.convolve(kernel, input, output, divisor);
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.convolve(kernel, input, output, divisor);
+		} else {
+			ConvolveImageStandard_IL.convolve(kernel, input, output, divisor);
+		}
 	}
 
 	public static void vertical(Kernel1D_S32 kernel,
 								  GrayS32 input, GrayI16 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
-//		if (!ConvolveImageUnrolled_S32_I16_Div.vertical(kernel, input, output, divisor))
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.vertical(kernel, input, output, divisor);
+		} else {
 			ConvolveImageStandard_SB.vertical(kernel, input, output, divisor);
+		}
 	}
 
 	public static void vertical(Kernel1D_S32 kernel,
 								  InterleavedS32 input, InterleavedI16 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		ConvolveImageStandard_IL.vertical(kernel, input, output, divisor);
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.vertical(kernel, input, output, divisor);
+		} else {
+			ConvolveImageStandard_IL.vertical(kernel, input, output, divisor);
+		}
 	}
 
 	public static void horizontal(Kernel1D_S32 kernel,
 								  GrayS32 input, GrayS32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (!ConvolveImageUnrolled_SB_S32_S32.horizontal(kernel, input, output))
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.horizontal(kernel, input, output);
+		} else if (!ConvolveImageUnrolled_SB_S32_S32.horizontal(kernel, input, output)) {
 			ConvolveImageStandard_SB.horizontal(kernel, input, output);
+		}
 	}
 
 	public static void vertical(Kernel1D_S32 kernel,
 								  GrayS32 input, GrayS32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (!ConvolveImageUnrolled_SB_S32_S32.vertical(kernel, input, output))
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.vertical(kernel, input, output);
+		} else if (!ConvolveImageUnrolled_SB_S32_S32.vertical(kernel, input, output)) {
 			ConvolveImageStandard_SB.vertical(kernel, input, output);
+		}
 	}
 
 	public static void convolve(Kernel2D_S32 kernel,
 								  GrayS32 input, GrayS32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (!ConvolveImageUnrolled_SB_S32_S32.convolve(kernel, input, output))
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.convolve(kernel, input, output);
+		} else if (!ConvolveImageUnrolled_SB_S32_S32.convolve(kernel, input, output)) {
 			ConvolveImageStandard_SB.convolve(kernel, input, output);
+		}
 	}
 
 	public static void horizontal(Kernel1D_S32 kernel,
 								  InterleavedS32 input, InterleavedS32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		ConvolveImageStandard_IL.horizontal(kernel, input, output);
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.horizontal(kernel, input, output);
+		} else {
+			ConvolveImageStandard_IL.horizontal(kernel, input, output);
+		}
 	}
 
 	public static void vertical(Kernel1D_S32 kernel,
 								  InterleavedS32 input, InterleavedS32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		ConvolveImageStandard_IL.vertical(kernel, input, output);
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.vertical(kernel, input, output);
+		} else {
+			ConvolveImageStandard_IL.vertical(kernel, input, output);
+		}
 	}
 
 	public static void convolve(Kernel2D_S32 kernel,
 								  InterleavedS32 input, InterleavedS32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		ConvolveImageStandard_IL.convolve(kernel, input, output);
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.convolve(kernel, input, output);
+		} else {
+			ConvolveImageStandard_IL.convolve(kernel, input, output);
+		}
 	}
 
 	public static void horizontal(Kernel1D_S32 kernel,
 								  GrayS32 input, GrayS32 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (!ConvolveImageUnrolled_SB_S32_S32_Div.horizontal(kernel, input, output, divisor))
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.horizontal(kernel, input, output, divisor);
+		} else if (!ConvolveImageUnrolled_SB_S32_S32_Div.horizontal(kernel, input, output, divisor)) {
 			ConvolveImageStandard_SB.horizontal(kernel, input, output, divisor);
+		}
 	}
 
 	public static void vertical(Kernel1D_S32 kernel,
 								  GrayS32 input, GrayS32 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (!ConvolveImageUnrolled_SB_S32_S32_Div.vertical(kernel, input, output, divisor))
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.vertical(kernel, input, output, divisor);
+		} else if (!ConvolveImageUnrolled_SB_S32_S32_Div.vertical(kernel, input, output, divisor)) {
 			ConvolveImageStandard_SB.vertical(kernel, input, output, divisor);
+		}
 	}
 
 	public static void convolve(Kernel2D_S32 kernel,
 								  GrayS32 input, GrayS32 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (!ConvolveImageUnrolled_SB_S32_S32_Div.convolve(kernel, input, output, divisor))
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.convolve(kernel, input, output, divisor);
+		} else if (!ConvolveImageUnrolled_SB_S32_S32_Div.convolve(kernel, input, output, divisor)) {
 			ConvolveImageStandard_SB.convolve(kernel, input, output, divisor);
+		}
 	}
 
 	public static void horizontal(Kernel1D_S32 kernel,
 								  InterleavedS32 input, InterleavedS32 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		ConvolveImageStandard_IL.horizontal(kernel, input, output, divisor);
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.horizontal(kernel, input, output, divisor);
+		} else {
+			ConvolveImageStandard_IL.horizontal(kernel, input, output, divisor);
+		}
 	}
 
 	public static void vertical(Kernel1D_S32 kernel,
 								  InterleavedS32 input, InterleavedS32 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		ConvolveImageStandard_IL.vertical(kernel, input, output, divisor);
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.vertical(kernel, input, output, divisor);
+		} else {
+			ConvolveImageStandard_IL.vertical(kernel, input, output, divisor);
+		}
 	}
 
 	public static void convolve(Kernel2D_S32 kernel,
 								  InterleavedS32 input, InterleavedS32 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		ConvolveImageStandard_IL.convolve(kernel, input, output, divisor);
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ConvolveImageNoBorder_MT.convolve(kernel, input, output, divisor);
+		} else {
+			ConvolveImageStandard_IL.convolve(kernel, input, output, divisor);
+		}
 	}
 
 }
@@ -0,0 +1,586 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.convolve;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.alg.filter.convolve.noborder.*;
+import boofcv.concurrency.ImageBands;
+import boofcv.struct.convolve.*;
+import boofcv.struct.image.*;
+
+/**
+ * <p>
+ * Concurrent version of {@link ConvolveImageNoBorder}.  The image is split into bands of rows using
+ * {@link ImageBands} and each band is convolved in a different thread.  Results are identical
+ * to the single threaded implementation.
+ * </p>
+ * <p>Automatically generated by GenerateConvolveImageNoBorder_MT DO NOT MODIFY</p>
+ *
+ * @author Peter Abeles
+ */
+@SuppressWarnings({"ForLoopReplaceableByForEach"})
+public class ConvolveImageNoBorder_MT {
+
+	public static void horizontal(Kernel1D_F32 kernel,
+								  GrayF32 input, GrayF32 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, 0, 0, (in, out) -> {
+			if (!ConvolveImageUnrolled_SB_F32_F32.horizontal(kernel, in, out))
+				ConvolveImageStandard_SB.horizontal(kernel, in, out);
+		});
+	}
+
+	public static void vertical(Kernel1D_F32 kernel,
+								  GrayF32 input, GrayF32 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, kernel.offset, kernel.width-kernel.offset-1, (in, out) -> {
+			if (!ConvolveImageUnrolled_SB_F32_F32.vertical(kernel, in, out))
+				ConvolveImageStandard_SB.vertical(kernel, in, out);
+		});
+	}
+
+	public static void convolve(Kernel2D_F32 kernel,
+								  GrayF32 input, GrayF32 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, kernel.offset, kernel.width-kernel.offset-1, (in, out) -> {
+			if (!ConvolveImageUnrolled_SB_F32_F32.convolve(kernel, in, out))
+				ConvolveImageStandard_SB.convolve(kernel, in, out);
+		});
+	}
+
+	public static void horizontal(Kernel1D_F32 kernel,
+								  InterleavedF32 input, InterleavedF32 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, 0, 0, (in, out) -> {
+			ConvolveImageStandard_IL.horizontal(kernel, in, out);
+		});
+	}
+
+	public static void vertical(Kernel1D_F32 kernel,
+								  InterleavedF32 input, InterleavedF32 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, kernel.offset, kernel.width-kernel.offset-1, (in, out) -> {
+			ConvolveImageStandard_IL.vertical(kernel, in, out);
+		});
+	}
+
+	public static void convolve(Kernel2D_F32 kernel,
+								  InterleavedF32 input, InterleavedF32 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, kernel.offset, kernel.width-kernel.offset-1, (in, out) -> {
+			ConvolveImageStandard_IL.convolve(kernel, in, out);
+		});
+	}
+
+	public static void horizontal(Kernel1D_F64 kernel,
+								  GrayF64 input, GrayF64 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, 0, 0, (in, out) -> {
+			if (!ConvolveImageUnrolled_SB_F64_F64.horizontal(kernel, in, out))
+				ConvolveImageStandard_SB.horizontal(kernel, in, out);
+		});
+	}
+
+	public static void vertical(Kernel1D_F64 kernel,
+								  GrayF64 input, GrayF64 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, kernel.offset, kernel.width-kernel.offset-1, (in, out) -> {
+			if (!ConvolveImageUnrolled_SB_F64_F64.vertical(kernel, in, out))
+				ConvolveImageStandard_SB.vertical(kernel, in, out);
+		});
+	}
+
+	public static void convolve(Kernel2D_F64 kernel,
+								  GrayF64 input, GrayF64 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, kernel.offset, kernel.width-kernel.offset-1, (in, out) -> {
+			if (!ConvolveImageUnrolled_SB_F64_F64.convolve(kernel, in, out))
+				ConvolveImageStandard_SB.convolve(kernel, in, out);
+		});
+	}
+
+	public static void horizontal(Kernel1D_F64 kernel,
+								  InterleavedF64 input, InterleavedF64 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, 0, 0, (in, out) -> {
+			ConvolveImageStandard_IL.horizontal(kernel, in, out);
+		});
+	}
+
+	public static void vertical(Kernel1D_F64 kernel,
+								  InterleavedF64 input, InterleavedF64 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, kernel.offset, kernel.width-kernel.offset-1, (in, out) -> {
+			ConvolveImageStandard_IL.vertical(kernel, in, out);
+		});
+	}
+
+	public static void convolve(Kernel2D_F64 kernel,
+								  InterleavedF64 input, InterleavedF64 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, kernel.offset, kernel.width-kernel.offset-1, (in, out) -> {
+			ConvolveImageStandard_IL.convolve(kernel, in, out);
+		});
+	}
+
+	public static void horizontal(Kernel1D_S32 kernel,
+								  GrayU8 input, GrayI16 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, 0, 0, (in, out) -> {
+			if (!ConvolveImageUnrolled_SB_U8_I16.horizontal(kernel, in, out))
+				ConvolveImageStandard_SB.horizontal(kernel, in, out);
+		});
+	}
+
+	public static void vertical(Kernel1D_S32 kernel,
+								  GrayU8 input, GrayI16 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, kernel.offset, kernel.width-kernel.offset-1, (in, out) -> {
+			if (!ConvolveImageUnrolled_SB_U8_I16.vertical(kernel, in, out))
+				ConvolveImageStandard_SB.vertical(kernel, in, out);
+		});
+	}
+
+	public static void convolve(Kernel2D_S32 kernel,
+								  GrayU8 input, GrayI16 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, kernel.offset, kernel.width-kernel.offset-1, (in, out) -> {
+			if (!ConvolveImageUnrolled_SB_U8_I16.convolve(kernel, in, out))
+				ConvolveImageStandard_SB.convolve(kernel, in, out);
+		});
+	}
+
+	public static void horizontal(Kernel1D_S32 kernel,
+								  InterleavedU8 input, InterleavedI16 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, 0, 0, (in, out) -> {
+			ConvolveImageStandard_IL.horizontal(kernel, in, out);
+		});
+	}
+
+	public static void vertical(Kernel1D_S32 kernel,
+								  InterleavedU8 input, InterleavedI16 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, kernel.offset, kernel.width-kernel.offset-1, (in, out) -> {
+			ConvolveImageStandard_IL.vertical(kernel, in, out);
+		});
+	}
+
+	public static void convolve(Kernel2D_S32 kernel,
+								  InterleavedU8 input, InterleavedI16 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, kernel.offset, kernel.width-kernel.offset-1, (in, out) -> {
+			ConvolveImageStandard_IL.convolve(kernel, in, out);
+		});
+	}
+
+	public static void horizontal(Kernel1D_S32 kernel,
+								  GrayU8 input, GrayS32 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, 0, 0, (in, out) -> {
+			ConvolveImageStandard_SB.horizontal(kernel, in, out);
+		});
+	}
+
+	public static void vertical(Kernel1D_S32 kernel,
+								  GrayU8 input, GrayS32 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, kernel.offset, kernel.width-kernel.offset-1, (in, out) -> {
+			ConvolveImageStandard_SB.vertical(kernel, in, out);
+		});
+	}
+
+	public static void convolve(Kernel2D_S32 kernel,
+								  GrayU8 input, GrayS32 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, kernel.offset, kernel.width-kernel.offset-1, (in, out) -> {
+			ConvolveImageStandard_SB.convolve(kernel, in, out);
+		});
+	}
+
+	public static void horizontal(Kernel1D_S32 kernel,
+								  InterleavedU8 input, InterleavedS32 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, 0, 0, (in, out) -> {
+			ConvolveImageStandard_IL.horizontal(kernel, in, out);
+		});
+	}
+
+	public static void vertical(Kernel1D_S32 kernel,
+								  InterleavedU8 input, InterleavedS32 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, kernel.offset, kernel.width-kernel.offset-1, (in, out) -> {
+			ConvolveImageStandard_IL.vertical(kernel, in, out);
+		});
+	}
+
+	public static void convolve(Kernel2D_S32 kernel,
+								  InterleavedU8 input, InterleavedS32 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, kernel.offset, kernel.width-kernel.offset-1, (in, out) -> {
+			ConvolveImageStandard_IL.convolve(kernel, in, out);
+		});
+	}
+
+	public static void vertical(Kernel1D_S32 kernel,
+								  GrayU16 input, GrayI8 output, int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, kernel.offset, kernel.width-kernel.offset-1, (in, out) -> {
+			ConvolveImageStandard_SB.vertical(kernel, in, out, divisor);
+		});
+	}
+
+	public static void vertical(Kernel1D_S32 kernel,
+								  InterleavedU16 input, InterleavedI8 output, int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, kernel.offset, kernel.width-kernel.offset-1, (in, out) -> {
+			ConvolveImageStandard_IL.vertical(kernel, in, out, divisor);
+		});
+	}
+
+	public static void horizontal(Kernel1D_S32 kernel,
+								  GrayS16 input, GrayI16 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, 0, 0, (in, out) -> {
+			if (!ConvolveImageUnrolled_SB_S16_I16.horizontal(kernel, in, out))
+				ConvolveImageStandard_SB.horizontal(kernel, in, out);
+		});
+	}
+
+	public static void vertical(Kernel1D_S32 kernel,
+								  GrayS16 input, GrayI16 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, kernel.offset, kernel.width-kernel.offset-1, (in, out) -> {
+			if (!ConvolveImageUnrolled_SB_S16_I16.vertical(kernel, in, out))
+				ConvolveImageStandard_SB.vertical(kernel, in, out);
+		});
+	}
+
+	public static void convolve(Kernel2D_S32 kernel,
+								  GrayS16 input, GrayI16 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, kernel.offset, kernel.width-kernel.offset-1, (in, out) -> {
+			if (!ConvolveImageUnrolled_SB_S16_I16.convolve(kernel, in, out))
+				ConvolveImageStandard_SB.convolve(kernel, in, out);
+		});
+	}
+
+	public static void horizontal(Kernel1D_S32 kernel,
+								  InterleavedS16 input, InterleavedI16 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, 0, 0, (in, out) -> {
+			ConvolveImageStandard_IL.horizontal(kernel, in, out);
+		});
+	}
+
+	public static void vertical(Kernel1D_S32 kernel,
+								  InterleavedS16 input, InterleavedI16 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, kernel.offset, kernel.width-kernel.offset-1, (in, out) -> {
+			ConvolveImageStandard_IL.vertical(kernel, in, out);
+		});
+	}
+
+	public static void convolve(Kernel2D_S32 kernel,
+								  InterleavedS16 input, InterleavedI16 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, kernel.offset, kernel.width-kernel.offset-1, (in, out) -> {
+			ConvolveImageStandard_IL.convolve(kernel, in, out);
+		});
+	}
+
+	public static void horizontal(Kernel1D_S32 kernel,
+								  GrayU8 input, GrayI8 output, int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, 0, 0, (in, out) -> {
+			if (!ConvolveImageUnrolled_SB_U8_I8_Div.horizontal(kernel, in, out, divisor))
+				ConvolveImageStandard_SB.horizontal(kernel, in, out, divisor);
+		});
+	}
+
+	public static void vertical(Kernel1D_S32 kernel,
+								  GrayU8 input, GrayI8 output, int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, kernel.offset, kernel.width-kernel.offset-1, (in, out) -> {
+			if (!ConvolveImageUnrolled_SB_U8_I8_Div.vertical(kernel, in, out, divisor))
+				ConvolveImageStandard_SB.vertical(kernel, in, out, divisor);
+		});
+	}
+
+	public static void convolve(Kernel2D_S32 kernel,
+								  GrayU8 input, GrayI8 output, int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, kernel.offset, kernel.width-kernel.offset-1, (in, out) -> {
+			if (!ConvolveImageUnrolled_SB_U8_I8_Div.convolve(kernel, in, out, divisor))
+				ConvolveImageStandard_SB.convolve(kernel, in, out, divisor);
+		});
+	}
+
+	public static void horizontal(Kernel1D_S32 kernel,
+								  InterleavedU8 input, InterleavedI8 output, int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, 0, 0, (in, out) -> {
+			ConvolveImageStandard_IL.horizontal(kernel, in, out, divisor);
+		});
+	}
+
+	public static void vertical(Kernel1D_S32 kernel,
+								  InterleavedU8 input, InterleavedI8 output, int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, kernel.offset, kernel.width-kernel.offset-1, (in, out) -> {
+			ConvolveImageStandard_IL.vertical(kernel, in, out, divisor);
+		});
+	}
+
+	public static void convolve(Kernel2D_S32 kernel,
+								  InterleavedU8 input, InterleavedI8 output, int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, kernel.offset, kernel.width-kernel.offset-1, (in, out) -> {
+			ConvolveImageStandard_IL.convolve(kernel, in, out, divisor);
+		});
+	}
+
+	public static void horizontal(Kernel1D_S32 kernel,
+								  GrayS16 input, GrayI16 output, int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, 0, 0, (in, out) -> {
+			if (!ConvolveImageUnrolled_SB_S16_I16_Div.horizontal(kernel, in, out, divisor))
+				ConvolveImageStandard_SB.horizontal(kernel, in, out, divisor);
+		});
+	}
+
+	public static void vertical(Kernel1D_S32 kernel,
+								  GrayS16 input, GrayI16 output, int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, kernel.offset, kernel.width-kernel.offset-1, (in, out) -> {
+			if (!ConvolveImageUnrolled_SB_S16_I16_Div.vertical(kernel, in, out, divisor))
+				ConvolveImageStandard_SB.vertical(kernel, in, out, divisor);
+		});
+	}
+
+	public static void convolve(Kernel2D_S32 kernel,
+								  GrayS16 input, GrayI16 output, int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, kernel.offset, kernel.width-kernel.offset-1, (in, out) -> {
+			if (!ConvolveImageUnrolled_SB_S16_I16_Div.convolve(kernel, in, out, divisor))
+				ConvolveImageStandard_SB.convolve(kernel, in, out, divisor);
+		});
+	}
+
+	public static void horizontal(Kernel1D_S32 kernel,
+								  InterleavedS16 input, InterleavedI16 output, int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, 0, 0, (in, out) -> {
+			ConvolveImageStandard_IL.horizontal(kernel, in, out, divisor);
+		});
+	}
+
+	public static void vertical(Kernel1D_S32 kernel,
+								  InterleavedS16 input, InterleavedI16 output, int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, kernel.offset, kernel.width-kernel.offset-1, (in, out) -> {
+			ConvolveImageStandard_IL.vertical(kernel, in, out, divisor);
+		});
+	}
+
+	public static void convolve(Kernel2D_S32 kernel,
+								  InterleavedS16 input, InterleavedI16 output, int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, kernel.offset, kernel.width-kernel.offset-1, (in, out) -> {
+			ConvolveImageStandard_IL.convolve(kernel, in, out, divisor);
+		});
+	}
+
+	public static void vertical(Kernel1D_S32 kernel,
+								  GrayS32 input, GrayI16 output, int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, kernel.offset, kernel.width-kernel.offset-1, (in, out) -> {
+			ConvolveImageStandard_SB.vertical(kernel, in, out, divisor);
+		});
+	}
+
+	public static void vertical(Kernel1D_S32 kernel,
+								  InterleavedS32 input, InterleavedI16 output, int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, kernel.offset, kernel.width-kernel.offset-1, (in, out) -> {
+			ConvolveImageStandard_IL.vertical(kernel, in, out, divisor);
+		});
+	}
+
+	public static void horizontal(Kernel1D_S32 kernel,
+								  GrayS32 input, GrayS32 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, 0, 0, (in, out) -> {
+			if (!ConvolveImageUnrolled_SB_S32_S32.horizontal(kernel, in, out))
+				ConvolveImageStandard_SB.horizontal(kernel, in, out);
+		});
+	}
+
+	public static void vertical(Kernel1D_S32 kernel,
+								  GrayS32 input, GrayS32 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, kernel.offset, kernel.width-kernel.offset-1, (in, out) -> {
+			if (!ConvolveImageUnrolled_SB_S32_S32.vertical(kernel, in, out))
+				ConvolveImageStandard_SB.vertical(kernel, in, out);
+		});
+	}
+
+	public static void convolve(Kernel2D_S32 kernel,
+								  GrayS32 input, GrayS32 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, kernel.offset, kernel.width-kernel.offset-1, (in, out) -> {
+			if (!ConvolveImageUnrolled_SB_S32_S32.convolve(kernel, in, out))
+				ConvolveImageStandard_SB.convolve(kernel, in, out);
+		});
+	}
+
+	public static void horizontal(Kernel1D_S32 kernel,
+								  InterleavedS32 input, InterleavedS32 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, 0, 0, (in, out) -> {
+			ConvolveImageStandard_IL.horizontal(kernel, in, out);
+		});
+	}
+
+	public static void vertical(Kernel1D_S32 kernel,
+								  InterleavedS32 input, InterleavedS32 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, kernel.offset, kernel.width-kernel.offset-1, (in, out) -> {
+			ConvolveImageStandard_IL.vertical(kernel, in, out);
+		});
+	}
+
+	public static void convolve(Kernel2D_S32 kernel,
+								  InterleavedS32 input, InterleavedS32 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, kernel.offset, kernel.width-kernel.offset-1, (in, out) -> {
+			ConvolveImageStandard_IL.convolve(kernel, in, out);
+		});
+	}
+
+	public static void horizontal(Kernel1D_S32 kernel,
+								  GrayS32 input, GrayS32 output, int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, 0, 0, (in, out) -> {
+			if (!ConvolveImageUnrolled_SB_S32_S32_Div.horizontal(kernel, in, out, divisor))
+				ConvolveImageStandard_SB.horizontal(kernel, in, out, divisor);
+		});
+	}
+
+	public static void vertical(Kernel1D_S32 kernel,
+								  GrayS32 input, GrayS32 output, int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, kernel.offset, kernel.width-kernel.offset-1, (in, out) -> {
+			if (!ConvolveImageUnrolled_SB_S32_S32_Div.vertical(kernel, in, out, divisor))
+				ConvolveImageStandard_SB.vertical(kernel, in, out, divisor);
+		});
+	}
+
+	public static void convolve(Kernel2D_S32 kernel,
+								  GrayS32 input, GrayS32 output, int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, kernel.offset, kernel.width-kernel.offset-1, (in, out) -> {
+			if (!ConvolveImageUnrolled_SB_S32_S32_Div.convolve(kernel, in, out, divisor))
+				ConvolveImageStandard_SB.convolve(kernel, in, out, divisor);
+		});
+	}
+
+	public static void horizontal(Kernel1D_S32 kernel,
+								  InterleavedS32 input, InterleavedS32 output, int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, 0, 0, (in, out) -> {
+			ConvolveImageStandard_IL.horizontal(kernel, in, out, divisor);
+		});
+	}
+
+	public static void vertical(Kernel1D_S32 kernel,
+								  InterleavedS32 input, InterleavedS32 output, int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, kernel.offset, kernel.width-kernel.offset-1, (in, out) -> {
+			ConvolveImageStandard_IL.vertical(kernel, in, out, divisor);
+		});
+	}
+
+	public static void convolve(Kernel2D_S32 kernel,
+								  InterleavedS32 input, InterleavedS32 output, int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		ImageBands.rows(input, output, kernel.offset, kernel.width-kernel.offset-1, (in, out) -> {
+			ConvolveImageStandard_IL.convolve(kernel, in, out, divisor);
+		});
+	}
+
+}
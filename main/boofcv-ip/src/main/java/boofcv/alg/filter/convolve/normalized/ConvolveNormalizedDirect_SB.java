@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.convolve.normalized;
+
+import boofcv.struct.convolve.Kernel1D_S32;
+import boofcv.struct.image.DirectGrayU8;
+import boofcv.struct.image.GrayU8;
+
+import java.nio.ByteBuffer;
+
+/**
+ * <p>
+ * Horizontal normalized convolution which reads from an image stored in a {@link ByteBuffer}. Each row is copied
+ * into a work array with a single bulk get and then convolved. Every pixel is computed as
+ * (total + weight/2)/weight, where weight is the sum of the kernel elements inside the image, which is the
+ * same rounding used by {@link boofcv.alg.filter.convolve.ConvolveImageNormalized} and
+ * {@link boofcv.alg.filter.convolve.ConvolveImageMean}. The output is identical to processing a {@link GrayU8}
+ * which contains the same pixels.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ConvolveNormalizedDirect_SB {
+
+	public static void horizontal( Kernel1D_S32 kernel , DirectGrayU8 input , GrayU8 output ) {
+		final int[] dataKer = kernel.data;
+		final int kernelWidth = kernel.getWidth();
+		final int offset = kernel.getOffset();
+		final int width = input.width;
+
+		ByteBuffer src = input.data.duplicate();
+		int[] row = new int[width];
+		byte[] work = new byte[width];
+
+		for (int y = 0; y < input.height; y++) {
+			readRow(src, input, y, work, row);
+
+			int indexDst = output.startIndex + y*output.stride;
+			for (int x = 0; x < width; x++) {
+				int k0 = Math.max(0, offset - x);
+				int k1 = Math.min(kernelWidth, width - x + offset);
+
+				int total = 0;
+				int weight = 0;
+				int indexSrc = x - offset + k0;
+				for (int k = k0; k < k1; k++) {
+					int w = dataKer[k];
+					weight += w;
+					total += row[indexSrc++]*w;
+				}
+				output.data[indexDst++] = (byte)((total+weight/2)/weight);
+			}
+		}
+	}
+
+	/**
+	 * Horizontal mean filter. Same as {@link #horizontal} with a kernel which is all ones, but the sum
+	 * is updated as the kernel slides along the row.
+	 */
+	public static void horizontalMean( DirectGrayU8 input , GrayU8 output , int radius ) {
+		final int width = input.width;
+
+		ByteBuffer src = input.data.duplicate();
+		int[] row = new int[width];
+		byte[] work = new byte[width];
+
+		for (int y = 0; y < input.height; y++) {
+			readRow(src, input, y, work, row);
+
+			// sum of the pixels inside the kernel at x = 0
+			int total = 0;
+			int end = Math.min(width, radius+1);
+			for (int i = 0; i < end; i++) {
+				total += row[i];
+			}
+
+			int indexDst = output.startIndex + y*output.stride;
+			for (int x = 0; x < width; x++) {
+				int x0 = Math.max(0, x - radius);
+				int x1 = Math.min(width, x + radius + 1);
+				int weight = x1 - x0;
+				output.data[indexDst++] = (byte)((total+weight/2)/weight);
+
+				if( x - radius >= 0 )
+					total -= row[x-radius];
+				if( x + radius + 1 < width )
+					total += row[x+radius+1];
+			}
+		}
+	}
+
+	private static void readRow( ByteBuffer src , DirectGrayU8 input , int y , byte[] work , int[] row ) {
+		src.position(input.startIndex + y*input.stride);
+		src.get(work, 0, input.width);
+		for (int x = 0; x < input.width; x++) {
+			row[x] = work[x] & 0xFF;
+		}
+	}
+}
@@ -20,6 +20,7 @@ package boofcv.alg.misc;
 
 import boofcv.struct.image.*;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Random;
 
@@ -3957,4 +3958,72 @@ public class ImageMiscOps {
 		}
 	}
 
+	/**
+	 * Copies a rectangular region from an image stored in a ByteBuffer into a regular image.<br>
+	 * output[dstX:(dstX+width) , dstY:(dstY+height-1)] = input[srcX:(srcX+width) , srcY:(srcY+height-1)]
+	 *
+	 * @param srcX x-coordinate of corner in input image
+	 * @param srcY y-coordinate of corner in input image
+	 * @param dstX x-coordinate of corner in output image
+	 * @param dstY y-coordinate of corner in output image
+	 * @param width Width of region to be copied
+	 * @param height Height of region to be copied
+	 * @param input Input image
+	 * @param output output image
+	 */
+	public static void copy( int srcX , int srcY , int dstX , int dstY , int width , int height ,
+							 DirectGrayU8 input , GrayU8 output ) {
+
+		if( input.width < srcX+width || input.height < srcY+height )
+			throw new IllegalArgumentException("Copy region must be contained input image");
+		if( output.width < dstX+width || output.height < dstY+height )
+			throw new IllegalArgumentException("Copy region must be contained output image");
+
+		// read from a duplicate so that the input buffer's position isn't modified
+		ByteBuffer src = input.data.duplicate();
+		for (int y = 0; y < height; y++) {
+			int indexSrc = input.startIndex + (srcY + y) * input.stride + srcX;
+			int indexDst = output.startIndex + (dstY + y) * output.stride + dstX;
+
+			src.position(indexSrc);
+			src.get(output.data,indexDst,width);
+		}
+	}
+
+	/**
+	 * Copies a rectangular region from an image stored in a ByteBuffer into a regular image.<br>
+	 * output[dstX:(dstX+width) , dstY:(dstY+height-1)] = input[srcX:(srcX+width) , srcY:(srcY+height-1)]
+	 *
+	 * @param srcX x-coordinate of corner in input image
+	 * @param srcY y-coordinate of corner in input image
+	 * @param dstX x-coordinate of corner in output image
+	 * @param dstY y-coordinate of corner in output image
+	 * @param width Width of region to be copied
+	 * @param height Height of region to be copied
+	 * @param input Input image
+	 * @param output output image
+	 */
+	public static void copy( int srcX , int srcY , int dstX , int dstY , int width , int height ,
+							 DirectInterleavedU8 input , InterleavedU8 output ) {
+
+		if( input.width < srcX+width || input.height < srcY+height )
+			throw new IllegalArgumentException("Copy region must be contained input image");
+		if( output.width < dstX+width || output.height < dstY+height )
+			throw new IllegalArgumentException("Copy region must be contained output image");
+		if( output.numBands != input.numBands )
+			throw new IllegalArgumentException("Number of bands must match. "+input.numBands+" != "+output.numBands);
+
+		final int numBands = input.numBands;
+
+		// read from a duplicate so that the input buffer's position isn't modified
+		ByteBuffer src = input.data.duplicate();
+		for (int y = 0; y < height; y++) {
+			int indexSrc = input.startIndex + (srcY + y) * input.stride + srcX*numBands;
+			int indexDst = output.startIndex + (dstY + y) * output.stride + dstX*numBands;
+
+			src.position(indexSrc);
+			src.get(output.data,indexDst,width*numBands);
+		}
+	}
+
 }
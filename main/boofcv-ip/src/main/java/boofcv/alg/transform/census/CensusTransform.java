@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.census;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.struct.image.GrayS32;
+import boofcv.struct.image.GrayS64;
+import boofcv.struct.image.GrayU8;
+import georegression.struct.point.Point2D_I32;
+import org.ddogleg.struct.FastQueue;
+
+/**
+ * <p>
+ * The Census Transform [1] encodes the local neighborhood around each pixel into a bit string. A bit is set to
+ * 1 if the neighbor's value is greater than the center pixel's value and 0 otherwise. Neighbors are visited
+ * in row-major order with the center pixel skipped. The similarity of two pixels can then be found by computing
+ * the Hamming distance between their encodings, which is robust to changes in gain and bias between images.
+ * </p>
+ *
+ * <p>
+ * Pixels along the image border are encoded using the closest pixel inside the image for neighbors which lie
+ * outside of the image.
+ * </p>
+ *
+ * <p>
+ * [1] Zabih, Ramin, and John Woodfill. "Non-parametric local transforms for computing visual correspondence."
+ * European conference on computer vision. Springer, Berlin, Heidelberg, 1994.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class CensusTransform {
+
+	/**
+	 * Census transform for a 3x3 region. The 8 neighbors are encoded in an 8-bit image.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Encoded image. If null a new image will be declared. Modified.
+	 * @return Encoded image.
+	 */
+	public static GrayU8 dense3x3( GrayU8 input , GrayU8 output ) {
+		output = InputSanityCheck.checkDeclare(input,output,GrayU8.class);
+
+		final int radius = 1;
+		final int[] offsets = offsets(input.stride,radius);
+
+		for (int y = radius; y < input.height-radius; y++) {
+			int indexIn = input.startIndex + y*input.stride + radius;
+			int indexOut = output.startIndex + y*output.stride + radius;
+			for (int x = radius; x < input.width-radius; x++, indexIn++ ) {
+				int center = input.data[indexIn] & 0xFF;
+				int census = 0;
+				for (int i = 0; i < offsets.length; i++) {
+					if( (input.data[indexIn+offsets[i]] & 0xFF) > center )
+						census |= 1 << i;
+				}
+				output.data[indexOut++] = (byte)census;
+			}
+		}
+
+		// handle the image border
+		for (int y = 0; y < input.height; y++) {
+			boolean borderRow = y < radius || y >= input.height-radius;
+			for (int x = 0; x < input.width; x++) {
+				if( borderRow || x < radius || x >= input.width-radius ) {
+					output.data[output.startIndex + y*output.stride + x] = (byte)censusBorder(input,x,y,radius);
+				}
+			}
+		}
+
+		return output;
+	}
+
+	/**
+	 * Census transform for a 5x5 region. The 24 neighbors are encoded in the lower bits of a 32-bit image.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Encoded image. If null a new image will be declared. Modified.
+	 * @return Encoded image.
+	 */
+	public static GrayS32 dense5x5( GrayU8 input , GrayS32 output ) {
+		output = InputSanityCheck.checkDeclare(input,output,GrayS32.class);
+
+		final int radius = 2;
+		final int[] offsets = offsets(input.stride,radius);
+
+		for (int y = radius; y < input.height-radius; y++) {
+			int indexIn = input.startIndex + y*input.stride + radius;
+			int indexOut = output.startIndex + y*output.stride + radius;
+			for (int x = radius; x < input.width-radius; x++, indexIn++ ) {
+				int center = input.data[indexIn] & 0xFF;
+				int census = 0;
+				for (int i = 0; i < offsets.length; i++) {
+					if( (input.data[indexIn+offsets[i]] & 0xFF) > center )
+						census |= 1 << i;
+				}
+				output.data[indexOut++] = census;
+			}
+		}
+
+		// handle the image border
+		for (int y = 0; y < input.height; y++) {
+			boolean borderRow = y < radius || y >= input.height-radius;
+			for (int x = 0; x < input.width; x++) {
+				if( borderRow || x < radius || x >= input.width-radius ) {
+					output.data[output.startIndex + y*output.stride + x] = (int)censusBorder(input,x,y,radius);
+				}
+			}
+		}
+
+		return output;
+	}
+
+	/**
+	 * Census transform for an arbitrary set of up to 64 samples. The i-th sample is encoded in the i-th bit.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param sample Location of each sample relative to the center pixel. Not modified.
+	 * @param output Encoded image. If null a new image will be declared. Modified.
+	 * @return Encoded image.
+	 * @see #createBlockSamples(int)
+	 */
+	public static GrayS64 sample_S64( GrayU8 input , FastQueue<Point2D_I32> sample , GrayS64 output ) {
+		if( sample.size > 64 )
+			throw new IllegalArgumentException("Can't have more than 64 samples");
+		output = InputSanityCheck.checkDeclare(input,output,GrayS64.class);
+
+		int radius = 0;
+		final int[] offsets = new int[sample.size];
+		for (int i = 0; i < sample.size; i++) {
+			Point2D_I32 p = sample.get(i);
+			offsets[i] = p.y*input.stride + p.x;
+			radius = Math.max(radius,Math.max(Math.abs(p.x),Math.abs(p.y)));
+		}
+
+		for (int y = radius; y < input.height-radius; y++) {
+			int indexIn = input.startIndex + y*input.stride + radius;
+			int indexOut = output.startIndex + y*output.stride + radius;
+			for (int x = radius; x < input.width-radius; x++, indexIn++ ) {
+				int center = input.data[indexIn] & 0xFF;
+				long census = 0;
+				for (int i = 0; i < offsets.length; i++) {
+					if( (input.data[indexIn+offsets[i]] & 0xFF) > center )
+						census |= 1L << i;
+				}
+				output.data[indexOut++] = census;
+			}
+		}
+
+		// handle the image border
+		for (int y = 0; y < input.height; y++) {
+			boolean borderRow = y < radius || y >= input.height-radius;
+			for (int x = 0; x < input.width; x++) {
+				if( borderRow || x < radius || x >= input.width-radius ) {
+					output.data[output.startIndex + y*output.stride + x] = censusBorder(input,x,y,sample);
+				}
+			}
+		}
+
+		return output;
+	}
+
+	/**
+	 * Creates samples for every pixel in a square region, excluding the center, in row-major order. Encoding
+	 * these samples with {@link #sample_S64} is the same as a dense transform. A radius of 3 results in 48 samples.
+	 *
+	 * @param radius Radius of the square region. Must be 1 to 3 so the samples fit inside 64 bits.
+	 * @return List of samples
+	 */
+	public static FastQueue<Point2D_I32> createBlockSamples( int radius ) {
+		if( radius < 1 || radius > 3 )
+			throw new IllegalArgumentException("Radius must be from 1 to 3");
+		FastQueue<Point2D_I32> samples = new FastQueue<>(Point2D_I32.class,true);
+		for (int y = -radius; y <= radius; y++) {
+			for (int x = -radius; x <= radius; x++) {
+				if( x == 0 && y == 0 )
+					continue;
+				samples.grow().set(x,y);
+			}
+		}
+		return samples;
+	}
+
+	/**
+	 * Index offsets of every neighbor in a square region relative to the center, center excluded.
+	 */
+	static int[] offsets( int stride , int radius ) {
+		int width = radius*2+1;
+		int[] offsets = new int[width*width-1];
+		int i = 0;
+		for (int y = -radius; y <= radius; y++) {
+			for (int x = -radius; x <= radius; x++) {
+				if( x == 0 && y == 0 )
+					continue;
+				offsets[i++] = y*stride + x;
+			}
+		}
+		return offsets;
+	}
+
+	/**
+	 * Computes the census encoding at a single pixel. Neighbors outside the image are replaced by the
+	 * closest pixel inside the image.
+	 */
+	static long censusBorder( GrayU8 input , int cx , int cy , int radius ) {
+		int center = input.unsafe_get(cx,cy);
+		long census = 0;
+		int bit = 0;
+		for (int y = -radius; y <= radius; y++) {
+			int yy = Math.min(input.height-1,Math.max(0,cy+y));
+			for (int x = -radius; x <= radius; x++) {
+				if( x == 0 && y == 0 )
+					continue;
+				int xx = Math.min(input.width-1,Math.max(0,cx+x));
+				if( input.unsafe_get(xx,yy) > center )
+					census |= 1L << bit;
+				bit++;
+			}
+		}
+		return census;
+	}
+
+	/**
+	 * Computes the census encoding from a list of samples at a single pixel. Samples outside the image are
+	 * replaced by the closest pixel inside the image.
+	 */
+	static long censusBorder( GrayU8 input , int cx , int cy , FastQueue<Point2D_I32> sample ) {
+		int center = input.unsafe_get(cx,cy);
+		long census = 0;
+		for (int i = 0; i < sample.size; i++) {
+			Point2D_I32 p = sample.get(i);
+			int xx = Math.min(input.width-1,Math.max(0,cx+p.x));
+			int yy = Math.min(input.height-1,Math.max(0,cy+p.y));
+			if( input.unsafe_get(xx,yy) > center )
+				census |= 1L << i;
+		}
+		return census;
+	}
+}
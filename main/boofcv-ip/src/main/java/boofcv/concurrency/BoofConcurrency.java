@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.concurrency;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * <p>
+ * Central location for controlling concurrency inside of BoofCV. Algorithms which have a concurrent
+ * implementation check {@link #USE_CONCURRENT} to decide if it should be used and run their work on the
+ * thread pool owned by this class.
+ * </p>
+ *
+ * <p>
+ * The maximum number of threads is set with {@link #setMaxThreads(int)}. If a concurrent algorithm is invoked
+ * from inside a {@link ForkJoinPool} created by the application then that pool is used instead of the shared one
+ * and the limit set by {@link #setMaxThreads(int)} does not apply. This allows an application to limit the number
+ * of threads used by each of its tasks, e.g. one pool per client. Calls made from inside the common pool,
+ * e.g. from a parallel stream, always use the shared pool.
+ * To turn off threading entirely, e.g. for deterministic tests, set {@link #USE_CONCURRENT} to false.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class BoofConcurrency {
+
+	/**
+	 * If true then algorithms with a concurrent implementation will use it by default.
+	 */
+	public static boolean USE_CONCURRENT = true;
+
+	// Thread pool that is shared by all concurrent algorithms
+	static volatile ForkJoinPool pool = new ForkJoinPool();
+
+	/**
+	 * Changes the maximum number of threads used by concurrent algorithms. A new thread pool is created
+	 * and the old one is shutdown once all of its tasks finish. Algorithms invoked from inside a
+	 * {@link ForkJoinPool} created by the application use that pool instead and are not limited by this value.
+	 *
+	 * @param maxThreads Maximum number of threads. Must be 1 or more.
+	 */
+	public static synchronized void setMaxThreads( int maxThreads ) {
+		if( maxThreads < 1 )
+			throw new IllegalArgumentException("Maximum number of threads must be at least 1");
+		if( maxThreads == pool.getParallelism() )
+			return;
+		ForkJoinPool old = pool;
+		pool = new ForkJoinPool(maxThreads);
+		old.shutdown();
+	}
+
+	/**
+	 * Returns the maximum number of threads that will be used by the calling thread
+	 */
+	public static int getMaxThreads() {
+		return selectPool().getParallelism();
+	}
+
+	/**
+	 * Processes every integer in the range in parallel. The order they are processed in is not specified.
+	 *
+	 * @param start First index, inclusive
+	 * @param endExclusive Last index, exclusive
+	 * @param consumer Processes a single index
+	 */
+	public static void loopFor( int start , int endExclusive , IntConsumer consumer ) {
+		if( endExclusive-start <= 1 || selectPool().getParallelism() <= 1 ) {
+			for (int i = start; i < endExclusive; i++) {
+				consumer.accept(i);
+			}
+			return;
+		}
+
+		execute(() -> IntStream.range(start,endExclusive).parallel().forEach(consumer));
+	}
+
+	/**
+	 * Splits the range into contiguous blocks and processes them in parallel. Blocks are created so that
+	 * there are no more blocks than threads and each block has at least minBlock elements. If only one
+	 * block is needed then it's processed in the calling thread.
+	 *
+	 * @param start First index, inclusive
+	 * @param endExclusive Last index, exclusive
+	 * @param minBlock Minimum number of elements in a block
+	 * @param consumer Processes a single block
+	 */
+	public static void loopBlocks( int start , int endExclusive , int minBlock , IntRangeConsumer consumer ) {
+		final int range = endExclusive-start;
+		if( range <= 0 )
+			return;
+
+		final int numBlocks = Math.min(getMaxThreads(), range/Math.max(1,minBlock));
+		if( numBlocks <= 1 ) {
+			consumer.accept(start,endExclusive);
+			return;
+		}
+
+		execute(() -> IntStream.range(0,numBlocks).parallel().forEach(block -> {
+			int b0 = start + (int)((long)range*block/numBlocks);
+			int b1 = start + (int)((long)range*(block+1)/numBlocks);
+			consumer.accept(b0,b1);
+		}));
+	}
+
+	/**
+	 * Same as {@link #loopBlocks(int, int, int, IntRangeConsumer)} but each block is also given its own workspace
+	 * from the pool. A workspace is never shared by two blocks in the same loop, so results can be saved inside
+	 * of it and read later with {@link WorkspacePool#getUsed()}. All the workspaces are returned to the pool when
+	 * the loop finishes, even if an exception is thrown.
+	 *
+	 * @param start First index, inclusive
+	 * @param endExclusive Last index, exclusive
+	 * @param minBlock Minimum number of elements in a block
+	 * @param workspaces Pool that workspaces are taken from
+	 * @param consumer Processes a single block using the workspace
+	 */
+	public static <W> void loopBlocks( int start , int endExclusive , int minBlock ,
+									   WorkspacePool<W> workspaces , IntRangeWorkspaceConsumer<W> consumer ) {
+		workspaces.resetUsed();
+		try {
+			loopBlocks(start, endExclusive, minBlock, (i0,i1)->consumer.accept(workspaces.takeUsed(),i0,i1));
+		} finally {
+			workspaces.releaseUsed();
+		}
+	}
+
+	/**
+	 * Submits a task to the thread pool without waiting for it to finish. Used when the caller has other
+	 * work to do while the task runs, e.g. reading the next frame in a video.
+	 *
+	 * @param task The task
+	 * @return Future for the task's result
+	 */
+	public static <V> Future<V> submit( Callable<V> task ) {
+		return selectPool().submit(task);
+	}
+
+	/**
+	 * Selects the pool which work from the calling thread should be run inside of. If the caller is already
+	 * inside a pool created by the application then that pool is used and {@link #setMaxThreads(int)} is ignored.
+	 * Otherwise the shared pool is used. The common pool is never used since it's shared by every parallel
+	 * stream in the JVM and wasn't selected to limit the number of threads.
+	 */
+	static ForkJoinPool selectPool() {
+		ForkJoinPool current = ForkJoinTask.getPool();
+		if( current == null || current == ForkJoinPool.commonPool() )
+			return pool;
+		return current;
+	}
+
+	/**
+	 * Runs the task inside the thread pool and waits for it to finish. Exceptions thrown inside the task
+	 * are passed along to the caller.
+	 */
+	static void execute( Runnable task ) {
+		ForkJoinPool selected = selectPool();
+		if( ForkJoinTask.getPool() == selected ) {
+			// already inside the pool. Run it directly and let the parallel stream fork from here
+			task.run();
+			return;
+		}
+
+		try {
+			selected.submit(task).get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if( cause instanceof RuntimeException )
+				throw (RuntimeException)cause;
+			if( cause instanceof Error )
+				throw (Error)cause;
+			throw new RuntimeException(cause);
+		}
+	}
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.concurrency;
+
+import boofcv.struct.image.ImageBase;
+
+import java.util.function.BiConsumer;
+
+/**
+ * <p>
+ * Splits an image into horizontal bands of rows and processes each band in parallel. A band is a sub-image
+ * of the original, so single threaded code which supports sub-images can be applied to each band without
+ * modification. Since every output pixel is computed by the exact same code the results are identical to
+ * the single threaded implementation.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImageBands {
+
+	/**
+	 * Images with fewer pixels than this in a band are not split up since the overhead will exceed the gain
+	 */
+	public static int MIN_BAND_PIXELS = 20_000;
+
+	/**
+	 * Processes the image in bands of rows. Each output pixel must only depend on the input pixel with the same
+	 * coordinate.
+	 *
+	 * @param input Input image
+	 * @param output Output image. Same shape as input
+	 * @param op The single threaded operation
+	 */
+	public static <In extends ImageBase<In>, Out extends ImageBase<Out>>
+	void rows( In input , Out output , BiConsumer<In,Out> op ) {
+		rows(input, output, 0, 0, op);
+	}
+
+	/**
+	 * Processes the rows from 'before' to 'height-after' in parallel. Each band passed to the operation
+	 * is padded by the number of rows the operation reads above and below it, e.g. for a convolution kernel.
+	 *
+	 * @param input Input image
+	 * @param output Output image. Same shape as input
+	 * @param before Number of rows above a pixel which are read. For a kernel this is the offset.
+	 * @param after Number of rows below a pixel which are read. For a kernel this is width - offset - 1
+	 * @param op The single threaded operation
+	 */
+	public static <In extends ImageBase<In>, Out extends ImageBase<Out>>
+	void rows( In input , Out output , int before , int after , BiConsumer<In,Out> op ) {
+		final int y0 = before;
+		final int y1 = input.height - after;
+		final int minRows = Math.max(1, MIN_BAND_PIXELS/Math.max(1,input.width));
+
+		if( y1-y0 <= minRows ) {
+			op.accept(input,output);
+			return;
+		}
+
+		BoofConcurrency.loopBlocks(y0, y1, minRows, (bandY0, bandY1) -> {
+			In bandIn = input.subimage(0, bandY0-before, input.width, bandY1+after);
+			Out bandOut = output.subimage(0, bandY0-before, output.width, bandY1+after);
+			op.accept(bandIn, bandOut);
+		});
+	}
+}
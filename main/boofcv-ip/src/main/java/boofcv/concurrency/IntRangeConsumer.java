@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.concurrency;
+
+/**
+ * Functional interface for processing a range of integers, e.g. a band of rows inside an image.
+ *
+ * @author Peter Abeles
+ */
+@FunctionalInterface
+public interface IntRangeConsumer {
+	/**
+	 * Process all the integers inside the range
+	 *
+	 * @param minInclusive Lower extent of the range, inclusive
+	 * @param maxExclusive Upper extent of the range, exclusive
+	 */
+	void accept( int minInclusive , int maxExclusive );
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.concurrency;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * Thread safe pool of workspaces, e.g. an algorithm and its storage, which can't be shared between threads.
+ * A workspace is taken from the pool, used by a single thread, then returned. New workspaces are only created
+ * when none are available, so after the first call no new workspaces are created.
+ * </p>
+ *
+ * <p>
+ * Typically used with {@link BoofConcurrency#loopBlocks(int, int, int, WorkspacePool, IntRangeWorkspaceConsumer)},
+ * which gives each block its own workspace and returns them all to the pool once the loop finishes. Results
+ * which were saved in the workspaces can then be read using {@link #getUsed()}.
+ * </p>
+ *
+ * @param <W> Type of workspace
+ *
+ * @author Peter Abeles
+ */
+public class WorkspacePool<W> {
+	// creates new workspaces
+	private final Supplier<W> factory;
+
+	// workspaces which can be taken
+	private final List<W> available = new ArrayList<>();
+	// workspaces used by the most recent loop
+	private final List<W> used = new ArrayList<>();
+
+	/**
+	 * @param factory Creates a new workspace when none are available
+	 */
+	public WorkspacePool( Supplier<W> factory ) {
+		this.factory = factory;
+	}
+
+	/**
+	 * Removes a workspace from the pool or creates a new one if none are available. It must be returned
+	 * with {@link #release} when finished.
+	 */
+	public W take() {
+		synchronized (available) {
+			return available.isEmpty() ? factory.get() : available.remove(available.size()-1);
+		}
+	}
+
+	/**
+	 * Returns a workspace to the pool so that it can be taken again. Can also be used to add a workspace
+	 * which was created elsewhere.
+	 */
+	public void release( W workspace ) {
+		synchronized (available) {
+			available.add(workspace);
+		}
+	}
+
+	/**
+	 * Takes a workspace and records that it's being used by the current loop
+	 */
+	W takeUsed() {
+		W workspace = take();
+		synchronized (used) {
+			used.add(workspace);
+		}
+		return workspace;
+	}
+
+	/**
+	 * Discards the list of workspaces used by the previous loop
+	 */
+	void resetUsed() {
+		synchronized (used) {
+			used.clear();
+		}
+	}
+
+	/**
+	 * Returns all the workspaces used by the current loop to the pool
+	 */
+	void releaseUsed() {
+		synchronized (available) {
+			synchronized (used) {
+				available.addAll(used);
+			}
+		}
+	}
+
+	/**
+	 * Workspaces which were used by the most recent call to
+	 * {@link BoofConcurrency#loopBlocks(int, int, int, WorkspacePool, IntRangeWorkspaceConsumer)}, in the order
+	 * they were taken, which isn't the order of the blocks. They have already been returned to the pool and
+	 * are only valid until the pool is used again.
+	 */
+	public List<W> getUsed() {
+		return used;
+	}
+}
@@ -24,13 +24,144 @@ import org.ddogleg.struct.GrowQueue_I8;
 import java.nio.ByteBuffer;
 
 /**
- * Converts images that are stored in {@link java.nio.ByteBuffer} into BoofCV image types and performs
- * a local copy when the raw array can't be accessed
+ * <p>
+ * Converts images that are stored in {@link java.nio.ByteBuffer} into BoofCV image types. Heap buffers can be
+ * wrapped without copying using one of the wrap functions. Everything else, including direct buffers, is
+ * copied using one of the from_ functions.
+ * </p>
+ *
+ * <p>
+ * Direct buffers, such as the ones filled by native capture libraries, have no Java array and are wrapped
+ * by {@link DirectGrayU8} or {@link DirectInterleavedU8} instead. Those images can be read by the functions
+ * which explicitly accept them, e.g. conversion in {@link ConvertImage}, copy in
+ * {@link boofcv.alg.misc.ImageMiscOps}, blur and thresholding. Converting into a regular image is one pass
+ * over the frame. The from_ functions convert the pixel format while copying so the frame is only traversed once.
+ * </p>
  *
  * @author Peter Abeles
  */
 public class ConvertByteBufferImage {
 
+	/**
+	 * Turns 'dst' into a view of the array which backs a heap ByteBuffer. No data is copied and the image can be
+	 * passed into any function which accepts sub-images. Only possible when the buffer's array can be accessed,
+	 * see {@link ByteBuffer#hasArray()}. Direct and read only buffers are wrapped with
+	 * {@link #wrap(ByteBuffer, int, int, int, int, DirectGrayU8)} instead.
+	 * Since the image doesn't own its data it's marked as a sub-image and can't be reshaped.
+	 *
+	 * @param src Buffer containing a single band 8-bit image
+	 * @param srcOffset Offset of the first pixel, relative to the buffer's array offset
+	 * @param srcStride Number of bytes between rows
+	 * @param width Image width
+	 * @param height Image height
+	 * @param dst The image which is turned into a view of the buffer
+	 * @return true if the image now references the buffer or false if the buffer has no accessible array
+	 */
+	public static boolean wrap( ByteBuffer src , int srcOffset , int srcStride , int width , int height ,
+								GrayU8 dst )
+	{
+		if( !src.hasArray() )
+			return false;
+		checkWrap(src, srcOffset, srcStride, width, height, 1);
+
+		dst.data = src.array();
+		dst.startIndex = src.arrayOffset() + srcOffset;
+		dst.stride = srcStride;
+		dst.width = width;
+		dst.height = height;
+		dst.subImage = true;
+		return true;
+	}
+
+	/**
+	 * Turns 'dst' into a view of the array which backs the ByteBuffer. Same as
+	 * {@link #wrap(ByteBuffer, int, int, int, int, GrayU8)} but for interleaved images.
+	 *
+	 * @param numBands Number of bands in the interleaved image
+	 * @return true if the image now references the buffer or false if the buffer has no accessible array
+	 */
+	public static boolean wrap( ByteBuffer src , int srcOffset , int srcStride , int width , int height ,
+								int numBands , InterleavedU8 dst )
+	{
+		if( !src.hasArray() )
+			return false;
+		checkWrap(src, srcOffset, srcStride, width, height, numBands);
+
+		// the array is large enough for the image so changing the number of bands won't declare new memory
+		dst.subImage = false;
+		dst.data = src.array();
+		dst.width = width;
+		dst.height = height;
+		dst.setNumberOfBands(numBands);
+		dst.startIndex = src.arrayOffset() + srcOffset;
+		dst.stride = srcStride;
+		dst.subImage = true;
+		return true;
+	}
+
+	/**
+	 * Turns 'dst' into a view of any ByteBuffer, including direct and read only buffers. No data is copied.
+	 * The image must end before the buffer's limit, its position is ignored.
+	 * Since the image doesn't own its data it's marked as a sub-image and can't be reshaped.
+	 *
+	 * @param src Buffer containing a single band 8-bit image
+	 * @param srcOffset Index of the first pixel in the buffer
+	 * @param srcStride Number of bytes between rows
+	 * @param width Image width
+	 * @param height Image height
+	 * @param dst The image which is turned into a view of the buffer
+	 */
+	public static void wrap( ByteBuffer src , int srcOffset , int srcStride , int width , int height ,
+							 DirectGrayU8 dst )
+	{
+		checkWrapDirect(src, srcOffset, srcStride, width, height, 1);
+
+		dst.data = src;
+		dst.startIndex = srcOffset;
+		dst.stride = srcStride;
+		dst.width = width;
+		dst.height = height;
+		dst.subImage = true;
+	}
+
+	/**
+	 * Turns 'dst' into a view of any ByteBuffer. Same as
+	 * {@link #wrap(ByteBuffer, int, int, int, int, DirectGrayU8)} but for interleaved images.
+	 *
+	 * @param numBands Number of bands in the interleaved image
+	 */
+	public static void wrap( ByteBuffer src , int srcOffset , int srcStride , int width , int height ,
+							 int numBands , DirectInterleavedU8 dst )
+	{
+		checkWrapDirect(src, srcOffset, srcStride, width, height, numBands);
+
+		dst.data = src;
+		dst.numBands = numBands;
+		dst.startIndex = srcOffset;
+		dst.stride = srcStride;
+		dst.width = width;
+		dst.height = height;
+		dst.subImage = true;
+	}
+
+	private static void checkWrapDirect( ByteBuffer src , int srcOffset , int srcStride ,
+										 int width , int height , int numBands ) {
+		if( srcOffset < 0 || srcStride < width*numBands )
+			throw new IllegalArgumentException("Invalid offset or the stride is less than a row");
+		long end = srcOffset + (long)srcStride*(height-1) + width*numBands;
+		if( height > 0 && end > src.limit() )
+			throw new IllegalArgumentException("The image extends past the end of the buffer");
+	}
+
+	private static void checkWrap( ByteBuffer src , int srcOffset , int srcStride ,
+								   int width , int height , int numBands ) {
+		if( srcOffset < 0 || srcStride < width*numBands )
+			throw new IllegalArgumentException("Invalid offset or the stride is less than a row");
+		int end = src.arrayOffset() + srcOffset + srcStride*(height-1) + width*numBands;
+		if( height > 0 && end > src.array().length )
+			throw new IllegalArgumentException("The image extends past the end of the buffer");
+	}
+
 	public static void from_3BU8_to_U8(ByteBuffer src , int srcOffset , int srcStride ,
 									   GrayU8 dst , GrowQueue_I8 work )
 	{
@@ -85,7 +216,7 @@ public class ConvertByteBufferImage {
 		int indexSrc = srcOffset;
 		for (int y = 0; y < dst.height; y++) {
 			src.position(indexSrc);
-			src.get(dst.data,0,dst.width*3);
+			src.get(dst.data,dst.startIndex + dst.stride * y,dst.width*3);
 			indexSrc += srcStride;
 		}
 	}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.core.image.impl;
+
+import boofcv.struct.image.*;
+
+import java.nio.ByteBuffer;
+
+/**
+ * <p>
+ * Converts images stored in a {@link ByteBuffer}, i.e. {@link DirectGrayU8} and {@link DirectInterleavedU8}, into
+ * regular array based images. Rows are copied with the buffer's bulk get function, which is much faster than
+ * reading one byte at a time from a direct buffer. Each function works on a duplicate of the buffer so several
+ * threads can read from the same buffer.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplConvertDirectImage {
+
+	public static void convert( DirectGrayU8 from , GrayU8 to ) {
+		ByteBuffer src = from.data.duplicate();
+		for (int y = 0; y < from.height; y++) {
+			src.position(from.startIndex + y*from.stride);
+			src.get(to.data, to.startIndex + y*to.stride, from.width);
+		}
+	}
+
+	public static void convert( DirectGrayU8 from , GrayF32 to ) {
+		ByteBuffer src = from.data.duplicate();
+		byte[] row = new byte[from.width];
+		for (int y = 0; y < from.height; y++) {
+			src.position(from.startIndex + y*from.stride);
+			src.get(row, 0, from.width);
+
+			int indexTo = to.startIndex + y*to.stride;
+			for (int x = 0; x < from.width; x++) {
+				to.data[indexTo++] = row[x] & 0xFF;
+			}
+		}
+	}
+
+	public static void convert( DirectInterleavedU8 from , InterleavedU8 to ) {
+		ByteBuffer src = from.data.duplicate();
+		int length = from.width*from.numBands;
+		for (int y = 0; y < from.height; y++) {
+			src.position(from.startIndex + y*from.stride);
+			src.get(to.data, to.startIndex + y*to.stride, length);
+		}
+	}
+
+	public static void convert( DirectInterleavedU8 from , Planar<GrayU8> to ) {
+		ByteBuffer src = from.data.duplicate();
+		final int numBands = from.numBands;
+		byte[] row = new byte[from.width*numBands];
+		for (int y = 0; y < from.height; y++) {
+			src.position(from.startIndex + y*from.stride);
+			src.get(row, 0, row.length);
+
+			for (int i = 0; i < numBands; i++) {
+				GrayU8 band = to.bands[i];
+				int indexSrc = i;
+				int indexDst = to.startIndex + y*to.stride;
+				int end = indexDst + from.width;
+				while( indexDst != end ) {
+					band.data[indexDst++] = row[indexSrc];
+					indexSrc += numBands;
+				}
+			}
+		}
+	}
+
+	public static void average( DirectInterleavedU8 from , GrayU8 to ) {
+		ByteBuffer src = from.data.duplicate();
+		final int numBands = from.numBands;
+		byte[] row = new byte[from.width*numBands];
+		for (int y = 0; y < from.height; y++) {
+			src.position(from.startIndex + y*from.stride);
+			src.get(row, 0, row.length);
+
+			int indexFrom = 0;
+			int indexTo = to.startIndex + y*to.stride;
+			for (int x = 0; x < from.width; x++ ) {
+				int sum = 0;
+				int indexFromEnd = indexFrom + numBands;
+				while( indexFrom < indexFromEnd ) {
+					sum += row[indexFrom++] & 0xFF;
+				}
+				to.data[indexTo++] = (byte)(sum/numBands);
+			}
+		}
+	}
+}
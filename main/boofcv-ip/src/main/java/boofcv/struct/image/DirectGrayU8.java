@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.image;
+
+import java.nio.ByteBuffer;
+
+/**
+ * <p>
+ * Single band unsigned 8-bit image whose pixels are stored in a {@link ByteBuffer} instead of a Java array. The
+ * main use is to process frames which are in native memory, e.g. a direct buffer filled by a capture library,
+ * without copying them first. See {@link boofcv.core.image.ConvertByteBufferImage#wrap(ByteBuffer, int, int, int, int, DirectGrayU8)}.
+ * </p>
+ *
+ * <p>
+ * The layout is the same as {@link GrayU8}, pixel (x,y) is at startIndex + y*stride + x in the buffer, but pixels
+ * are read using the buffer's absolute get functions. Only functions which explicitly accept this type can process
+ * it. Which includes conversion to {@link GrayU8} and {@link GrayF32} in {@link boofcv.core.image.ConvertImage},
+ * {@link boofcv.alg.misc.ImageMiscOps#copy}, mean and Gaussian blur in {@link boofcv.alg.filter.blur.BlurImageOps},
+ * and global or local mean thresholding in {@link boofcv.alg.filter.binary.ThresholdImageOps}.
+ * Anything else should convert it into a {@link GrayU8} first.
+ * </p>
+ *
+ * <p>
+ * There is no {@link ImageType} for this image, {@link #getImageType()} returns null.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class DirectGrayU8 extends ImageBase<DirectGrayU8> {
+	/**
+	 * Buffer which stores the pixels. Pixels are read with absolute indexes, so the buffer's position is ignored.
+	 */
+	public transient ByteBuffer data;
+
+	/**
+	 * Creates a new image which is backed by a newly allocated direct buffer.
+	 *
+	 * @param width  number of columns in the image.
+	 * @param height number of rows in the image.
+	 */
+	public DirectGrayU8(int width, int height) {
+		this.data = ByteBuffer.allocateDirect(width*height);
+		this.stride = width;
+		this.width = width;
+		this.height = height;
+	}
+
+	public DirectGrayU8() {
+	}
+
+	/**
+	 * Returns the value of the specified pixel.
+	 *
+	 * @param x pixel coordinate.
+	 * @param y pixel coordinate.
+	 * @return an intensity value.
+	 */
+	public int get(int x, int y) {
+		if (!isInBounds(x, y))
+			throw new ImageAccessException("Requested pixel is out of bounds: ( " + x + " , " + y + " )");
+
+		return unsafe_get(x,y);
+	}
+
+	public int unsafe_get(int x, int y) {
+		return data.get(getIndex(x, y)) & 0xFF;
+	}
+
+	/**
+	 * Sets the value of the specified pixel.
+	 *
+	 * @param x     pixel coordinate.
+	 * @param y     pixel coordinate.
+	 * @param value The pixel's new value.
+	 */
+	public void set(int x, int y, int value) {
+		if (!isInBounds(x, y))
+			throw new ImageAccessException("Requested pixel is out of bounds: "+x+" "+y);
+
+		data.put(getIndex(x, y), (byte) value);
+	}
+
+	@Override
+	public DirectGrayU8 subimage(int x0, int y0, int x1, int y1, DirectGrayU8 subimage) {
+		if (x0 < 0 || y0 < 0)
+			throw new IllegalArgumentException("x0 or y0 is less than zero");
+		if (x1 < x0 || y1 < y0)
+			throw new IllegalArgumentException("x1 or y1 is less than x0 or y0 respectively");
+		if (x1 > width || y1 > height)
+			throw new IllegalArgumentException("x1 or y1 is more than the width or height respectively");
+
+		if( subimage == null ) {
+			subimage = new DirectGrayU8();
+		}
+
+		subimage.data = data;
+		subimage.stride = stride;
+		subimage.width = x1 - x0;
+		subimage.height = y1 - y0;
+		subimage.startIndex = startIndex + y0 * stride + x0;
+		subimage.subImage = true;
+
+		return subimage;
+	}
+
+	/**
+	 * Changes the image's width and height. If the buffer is too small a new direct buffer is allocated.
+	 * Sub-images, which includes images wrapped around an external buffer, can't be reshaped.
+	 */
+	@Override
+	public void reshape(int width, int height) {
+		if( this.width == width && this.height == height )
+			return;
+		if( isSubimage() )
+			throw new IllegalArgumentException("Can't reshape sub-images");
+
+		if( data == null || data.capacity() < width*height ) {
+			data = ByteBuffer.allocateDirect(width*height);
+		}
+
+		this.stride = width;
+		this.width = width;
+		this.height = height;
+	}
+
+	@Override
+	public void setTo(DirectGrayU8 orig) {
+		if( width != orig.width || height != orig.height)
+			reshape(orig.width,orig.height);
+
+		for (int y = 0; y < height; y++) {
+			int indexSrc = orig.startIndex + y*orig.stride;
+			int indexDst = startIndex + y*stride;
+			int end = indexSrc + width;
+			while( indexSrc < end ) {
+				data.put(indexDst++, orig.data.get(indexSrc++));
+			}
+		}
+	}
+
+	@Override
+	public DirectGrayU8 createNew(int imgWidth, int imgHeight) {
+		if (imgWidth == -1 || imgHeight == -1) {
+			return new DirectGrayU8();
+		}
+		return new DirectGrayU8(imgWidth, imgHeight);
+	}
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.image;
+
+import java.nio.ByteBuffer;
+
+/**
+ * <p>
+ * Interleaved unsigned 8-bit image whose pixels are stored in a {@link ByteBuffer} instead of a Java array. It's
+ * the multi-band version of {@link DirectGrayU8} and has the same layout as {@link InterleavedU8}, band 'b' of
+ * pixel (x,y) is at startIndex + y*stride + x*numBands + b in the buffer.
+ * </p>
+ *
+ * <p>
+ * Only functions which explicitly accept this type can process it. Which includes conversion to
+ * {@link InterleavedU8}, {@link Planar} and the band average in {@link boofcv.core.image.ConvertImage}, and
+ * {@link boofcv.alg.misc.ImageMiscOps#copy}. There is no {@link ImageType} for this image,
+ * {@link #getImageType()} returns null.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class DirectInterleavedU8 extends ImageBase<DirectInterleavedU8> {
+	/**
+	 * Buffer which stores the pixels. Pixels are read with absolute indexes, so the buffer's position is ignored.
+	 */
+	public transient ByteBuffer data;
+
+	/**
+	 * Number of bands in each pixel
+	 */
+	public int numBands;
+
+	/**
+	 * Creates a new image which is backed by a newly allocated direct buffer.
+	 *
+	 * @param width    number of columns in the image.
+	 * @param height   number of rows in the image.
+	 * @param numBands number of bands in the image.
+	 */
+	public DirectInterleavedU8(int width, int height, int numBands) {
+		this.data = ByteBuffer.allocateDirect(width*height*numBands);
+		this.stride = width*numBands;
+		this.width = width;
+		this.height = height;
+		this.numBands = numBands;
+	}
+
+	public DirectInterleavedU8() {
+	}
+
+	/**
+	 * Returns the value of the specified band in the specified pixel.
+	 *
+	 * @param x    pixel coordinate.
+	 * @param y    pixel coordinate.
+	 * @param band which color band in the pixel
+	 * @return an intensity value.
+	 */
+	public int getBand(int x, int y, int band) {
+		if (!isInBounds(x, y))
+			throw new ImageAccessException("Requested pixel is out of bounds.");
+		if (band < 0 || band >= numBands)
+			throw new ImageAccessException("Invalid band requested.");
+
+		return data.get(getIndex(x, y, band)) & 0xFF;
+	}
+
+	/**
+	 * Sets the value of the specified band in the specified pixel.
+	 *
+	 * @param x     pixel coordinate.
+	 * @param y     pixel coordinate.
+	 * @param band  which color band in the pixel
+	 * @param value The new value of the element.
+	 */
+	public void setBand(int x, int y, int band, int value) {
+		if (!isInBounds(x, y))
+			throw new ImageAccessException("Requested pixel is out of bounds.");
+		if (band < 0 || band >= numBands)
+			throw new ImageAccessException("Invalid band requested.");
+
+		data.put(getIndex(x, y, band), (byte) value);
+	}
+
+	@Override
+	public int getIndex(int x, int y) {
+		return startIndex + y * stride + x * numBands;
+	}
+
+	public int getIndex(int x, int y, int band) {
+		return startIndex + y * stride + x * numBands + band;
+	}
+
+	@Override
+	public DirectInterleavedU8 subimage(int x0, int y0, int x1, int y1, DirectInterleavedU8 subimage) {
+		if (x0 < 0 || y0 < 0)
+			throw new IllegalArgumentException("x0 or y0 is less than zero");
+		if (x1 < x0 || y1 < y0)
+			throw new IllegalArgumentException("x1 or y1 is less than x0 or y0 respectively");
+		if (x1 > width || y1 > height)
+			throw new IllegalArgumentException("x1 or y1 is more than the width or height respectively");
+
+		if( subimage == null ) {
+			subimage = new DirectInterleavedU8();
+		}
+
+		subimage.data = data;
+		subimage.numBands = numBands;
+		subimage.stride = stride;
+		subimage.width = x1 - x0;
+		subimage.height = y1 - y0;
+		subimage.startIndex = startIndex + y0 * stride + x0 * numBands;
+		subimage.subImage = true;
+
+		return subimage;
+	}
+
+	/**
+	 * Changes the image's width and height. If the buffer is too small a new direct buffer is allocated.
+	 * Sub-images, which includes images wrapped around an external buffer, can't be reshaped.
+	 */
+	@Override
+	public void reshape(int width, int height) {
+		reshape(width, height, numBands);
+	}
+
+	/**
+	 * Changes the image's width, height and number of bands. See {@link #reshape(int, int)}.
+	 */
+	public void reshape(int width, int height, int numBands) {
+		if( this.width == width && this.height == height && this.numBands == numBands )
+			return;
+		if( isSubimage() )
+			throw new IllegalArgumentException("Can't reshape sub-images");
+
+		if( data == null || data.capacity() < width*height*numBands ) {
+			data = ByteBuffer.allocateDirect(width*height*numBands);
+		}
+
+		this.stride = width*numBands;
+		this.width = width;
+		this.height = height;
+		this.numBands = numBands;
+	}
+
+	@Override
+	public void setTo(DirectInterleavedU8 orig) {
+		if( width != orig.width || height != orig.height || numBands != orig.numBands )
+			reshape(orig.width,orig.height,orig.numBands);
+
+		for (int y = 0; y < height; y++) {
+			int indexSrc = orig.startIndex + y*orig.stride;
+			int indexDst = startIndex + y*stride;
+			int end = indexSrc + width*numBands;
+			while( indexSrc < end ) {
+				data.put(indexDst++, orig.data.get(indexSrc++));
+			}
+		}
+	}
+
+	@Override
+	public DirectInterleavedU8 createNew(int imgWidth, int imgHeight) {
+		if (imgWidth == -1 || imgHeight == -1) {
+			return new DirectInterleavedU8();
+		}
+		return new DirectInterleavedU8(imgWidth, imgHeight, numBands);
+	}
+}
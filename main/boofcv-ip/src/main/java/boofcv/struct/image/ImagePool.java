@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.image;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * Pool of images which can be borrowed as temporary storage and then returned. Images are matched by their
+ * {@link ImageType} and shape, so after the first frame a pipeline which asks for the same images every frame
+ * no longer declares new memory. Functions which accept a pool, such as
+ * {@link boofcv.alg.filter.binary.GThresholdImageOps#localMean(ImageGray, GrayU8, boofcv.struct.ConfigLength, double, boolean, ImagePool)},
+ * borrow all their intermediate images from it. Borrowed images can also be passed into the optional
+ * storage/work parameters found in functions like {@link boofcv.alg.filter.blur.GBlurImageOps}.
+ * </p>
+ *
+ * <p>
+ * The number of images declared by the pool is recorded. Reset it with {@link #resetCounters()} at the start
+ * of each frame and check {@link #getDeclaredCount()} at the end to verify that steady state processing
+ * isn't allocating images. Only images declared by the pool are counted. An algorithm which is given a null
+ * storage parameter and declares its own image will not show up.
+ * </p>
+ *
+ * <p>NOTE: Not thread safe. Each thread should have its own pool.</p>
+ *
+ * @author Peter Abeles
+ */
+public class ImagePool {
+
+	// images which are available to be borrowed
+	private Map<Key,List<ImageBase>> available = new HashMap<>();
+
+	// number of images declared since the counters were reset
+	private int declaredCount;
+	// number of images which have been borrowed and not yet recycled
+	private int borrowedCount;
+
+	// used to look up images without declaring a new key
+	private Key lookup = new Key();
+
+	/**
+	 * Borrows an image of the specified type and shape. If none are available a new one is declared.
+	 * The contents of the image are not defined.
+	 *
+	 * @param type Type of image
+	 * @param width Image width
+	 * @param height Image height
+	 * @return The image
+	 */
+	public <T extends ImageBase<T>> T borrow( ImageType<T> type , int width , int height ) {
+		lookup.set(type.getFamily(), type.getDataType(), type.getNumBands(), width, height);
+		T image = borrowLookup();
+		return image != null ? image : declare(type, width, height);
+	}
+
+	/**
+	 * Borrows a gray scale image of the specified type and shape.
+	 *
+	 * @see #borrow(ImageType, int, int)
+	 */
+	public <T extends ImageGray<T>> T borrow( Class<T> type , int width , int height ) {
+		lookup.set(ImageType.Family.GRAY, ImageDataType.classToType(type), 1, width, height);
+		T image = borrowLookup();
+		return image != null ? image : declare(ImageType.single(type), width, height);
+	}
+
+	/**
+	 * Borrows an image with the same type and shape as the provided image
+	 *
+	 * @see #borrow(ImageType, int, int)
+	 */
+	public <T extends ImageBase<T>> T borrowLike( T image ) {
+		return borrow(image.getImageType(), image.width, image.height);
+	}
+
+	/**
+	 * Removes an image which matches {@link #lookup} from the pool or returns null if there are none
+	 */
+	private <T extends ImageBase<T>> T borrowLookup() {
+		List<ImageBase> list = available.get(lookup);
+		if( list == null || list.isEmpty() )
+			return null;
+		borrowedCount++;
+		return (T)list.remove(list.size()-1);
+	}
+
+	private <T extends ImageBase<T>> T declare( ImageType<T> type , int width , int height ) {
+		declaredCount++;
+		borrowedCount++;
+		return type.createImage(width, height);
+	}
+
+	/**
+	 * Returns a borrowed image to the pool so that it can be borrowed again. Images which were not declared by the
+	 * pool can also be added.
+	 *
+	 * @param image The image being returned. Can't be a sub-image.
+	 */
+	public void recycle( ImageBase image ) {
+		if( image.isSubimage() )
+			throw new IllegalArgumentException("Sub-images can't be recycled");
+
+		ImageType type = image.getImageType();
+		lookup.set(type.getFamily(), type.getDataType(), type.getNumBands(), image.width, image.height);
+		List<ImageBase> list = available.get(lookup);
+		if( list == null ) {
+			list = new ArrayList<>();
+			available.put(lookup.copy(), list);
+		} else {
+			for (int i = 0; i < list.size(); i++) {
+				if( list.get(i) == image )
+					throw new IllegalArgumentException("The image has already been recycled");
+			}
+		}
+		list.add(image);
+		borrowedCount--;
+	}
+
+	/**
+	 * Discards all the images available in the pool
+	 */
+	public void clear() {
+		available.clear();
+	}
+
+	/**
+	 * Resets the number of images which have been declared
+	 */
+	public void resetCounters() {
+		declaredCount = 0;
+	}
+
+	/**
+	 * Number of images the pool has declared since the counters were last reset. Images declared outside of the
+	 * pool are not included.
+	 */
+	public int getDeclaredCount() {
+		return declaredCount;
+	}
+
+	/**
+	 * Number of images which have been borrowed and not yet recycled. This can be negative if images
+	 * which were not borrowed were recycled.
+	 */
+	public int getBorrowedCount() {
+		return borrowedCount;
+	}
+
+	/**
+	 * Total number of images which are in the pool and can be borrowed
+	 */
+	public int getAvailableCount() {
+		int total = 0;
+		for( List<ImageBase> list : available.values() ) {
+			total += list.size();
+		}
+		return total;
+	}
+
+	/**
+	 * Images with the same key can be used interchangeably
+	 */
+	private static class Key {
+		ImageType.Family family;
+		ImageDataType dataType;
+		int numBands;
+		int width, height;
+
+		void set( ImageType.Family family , ImageDataType dataType , int numBands , int width , int height ) {
+			this.family = family;
+			this.dataType = dataType;
+			this.numBands = numBands;
+			this.width = width;
+			this.height = height;
+		}
+
+		Key copy() {
+			Key k = new Key();
+			k.family = family;
+			k.dataType = dataType;
+			k.numBands = numBands;
+			k.width = width;
+			k.height = height;
+			return k;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if( !(o instanceof Key) )
+				return false;
+			Key k = (Key)o;
+			return family == k.family && dataType == k.dataType && numBands == k.numBands &&
+					width == k.width && height == k.height;
+		}
+
+		@Override
+		public int hashCode() {
+			int result = family.hashCode();
+			result = 31*result + dataType.hashCode();
+			result = 31*result + numBands;
+			result = 31*result + width;
+			result = 31*result + height;
+			return result;
+		}
+	}
+}
@@ -18,6 +18,8 @@
 
 package boofcv.testing;
 
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.ImageBands;
 import boofcv.core.image.*;
 import boofcv.struct.image.*;
 
@@ -700,6 +702,26 @@ public class BoofTesting {
 		}
 	}
 
+	/**
+	 * Runs the test with concurrency turned on and images split into many small bands, processed by several threads
+	 * even on a single core machine. The original settings are restored afterwards.
+	 */
+	public static void checkConcurrent( Runnable test ) {
+		boolean useConcurrent = BoofConcurrency.USE_CONCURRENT;
+		int minBandPixels = ImageBands.MIN_BAND_PIXELS;
+		int maxThreads = BoofConcurrency.getMaxThreads();
+		try {
+			BoofConcurrency.USE_CONCURRENT = true;
+			ImageBands.MIN_BAND_PIXELS = 1;
+			BoofConcurrency.setMaxThreads(4);
+			test.run();
+		} finally {
+			BoofConcurrency.USE_CONCURRENT = useConcurrent;
+			ImageBands.MIN_BAND_PIXELS = minBandPixels;
+			BoofConcurrency.setMaxThreads(maxThreads);
+		}
+	}
+
 	public static void printDiff(ImageGray imgA, ImageGray imgB) {
 
 		GImageGray a = FactoryGImageGray.wrap(imgA);
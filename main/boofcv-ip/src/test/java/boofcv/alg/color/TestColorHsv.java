@@ -21,6 +21,7 @@ package boofcv.alg.color;
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.Planar;
+import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
 import java.util.Random;
@@ -143,4 +144,12 @@ public class TestColorHsv {
 		assertEquals(b,found[1],tol);
 		assertEquals(c,found[2],tol);
 	}
+
+	/**
+	 * Process the image in several bands at once and see if the results are unchanged
+	 */
+	@Test
+	public void concurrent() {
+		BoofTesting.checkConcurrent(this::Planar_F32);
+	}
 }
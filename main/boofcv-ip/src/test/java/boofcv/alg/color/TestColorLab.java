@@ -22,6 +22,7 @@ import boofcv.alg.misc.GImageMiscOps;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.GrayU8;
 import boofcv.struct.image.Planar;
+import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
 import java.util.Random;
@@ -98,4 +99,14 @@ public class TestColorLab {
 		}
 	}
 
+	/**
+	 * Process the image in several bands at once and see if the results are unchanged
+	 */
+	@Test
+	public void concurrent() {
+		BoofTesting.checkConcurrent(() -> {
+			rgbToLab_U8();
+			rgbToLab_F32();
+		});
+	}
 }
@@ -22,6 +22,7 @@ import boofcv.alg.misc.GImageMiscOps;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.GrayU8;
 import boofcv.struct.image.Planar;
+import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
 import java.util.Random;
@@ -174,4 +175,15 @@ public class TestColorYuv {
 		assertEquals(b,found[1],tol);
 		assertEquals(c, found[2], tol);
 	}
+
+	/**
+	 * Process the image in several bands at once and see if the results are unchanged
+	 */
+	@Test
+	public void concurrent() {
+		BoofTesting.checkConcurrent(() -> {
+			yuvToRgb_F32_Planar();
+			ycbcrToRgb_U8_Planar();
+		});
+	}
 }
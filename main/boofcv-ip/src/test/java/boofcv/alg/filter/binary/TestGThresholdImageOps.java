@@ -18,6 +18,15 @@
 
 package boofcv.alg.filter.binary;
 
+import boofcv.alg.filter.blur.GBlurImageOps;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.ConfigLength;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageGray;
+import boofcv.struct.image.ImagePool;
+import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
 import java.util.Random;
@@ -51,6 +60,49 @@ public class TestGThresholdImageOps {
 		}
 	}
 
+	/**
+	 * Blur then threshold an image with every intermediate image borrowed from a pool. After the first frame
+	 * nothing should be declared and the results should match the version which declares its own images.
+	 */
+	@Test
+	public void blurThreshold_pool() {
+		blurThreshold_pool(GrayU8.class);
+		blurThreshold_pool(GrayF32.class);
+	}
+
+	private <T extends ImageGray<T>> void blurThreshold_pool( Class<T> type ) {
+		ImagePool pool = new ImagePool();
+		ConfigLength width = ConfigLength.fixed(7);
+
+		for (int frame = 0; frame < 3; frame++) {
+			T input = GeneralizedImageOps.createSingleBand(type, 40, 30);
+			GImageMiscOps.fillUniform(input, rand, 0, 200);
+
+			T blurred = GBlurImageOps.gaussian(input, null, -1, 2, null);
+			GrayU8 expectedMean = GThresholdImageOps.localMean(blurred, null, width, 0.95, true, null, null);
+			GrayU8 expectedGaussian = GThresholdImageOps.localGaussian(blurred, null, width, 0.95, true, null, null);
+
+			pool.resetCounters();
+			T poolBlurred = pool.borrowLike(input);
+			T storage = pool.borrowLike(input);
+			GBlurImageOps.gaussian(input, poolBlurred, -1, 2, storage);
+			pool.recycle(storage);
+			GrayU8 foundMean = GThresholdImageOps.localMean(poolBlurred, null, width, 0.95, true, pool);
+			GrayU8 foundGaussian = GThresholdImageOps.localGaussian(poolBlurred, null, width, 0.95, true, pool);
+
+			BoofTesting.assertEquals(expectedMean, foundMean, 0);
+			BoofTesting.assertEquals(expectedGaussian, foundGaussian, 0);
+
+			pool.recycle(poolBlurred);
+			pool.recycle(foundMean);
+			pool.recycle(foundGaussian);
+
+			assertEquals(0, pool.getBorrowedCount());
+			if( frame > 0 )
+				assertEquals(0, pool.getDeclaredCount());
+		}
+	}
+
 	private int bruteForceOtsu(int[] histogram, int total) {
 		int best = -1;
 		double bestScore = Double.MAX_VALUE;
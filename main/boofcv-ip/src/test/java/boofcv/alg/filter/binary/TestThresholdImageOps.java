@@ -26,6 +26,7 @@ import boofcv.core.image.FactoryGImageGray;
 import boofcv.core.image.GImageGray;
 import boofcv.core.image.GeneralizedImageOps;
 import boofcv.struct.ConfigLength;
+import boofcv.struct.image.DirectGrayU8;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.GrayU8;
 import boofcv.struct.image.ImageGray;
@@ -58,6 +59,9 @@ public class TestThresholdImageOps {
 				continue;
 
 			Class param[] = m.getParameterTypes();
+			// images stored in a ByteBuffer are tested in TestConvertByteBufferImage
+			if( param[0] == DirectGrayU8.class )
+				continue;
 
 			ImageGray input = GeneralizedImageOps.createSingleBand(param[0], width, height);
 			GrayU8 output = new GrayU8(width,height);
@@ -248,6 +252,9 @@ public class TestThresholdImageOps {
 				continue;
 
 			Class param[] = m.getParameterTypes();
+			// images stored in a ByteBuffer are tested in TestConvertByteBufferImage
+			if( param[0] == DirectGrayU8.class )
+				continue;
 
 			ImageGray input = GeneralizedImageOps.createSingleBand(param[0], width, height);
 			GrayU8 output = new GrayU8(width,height);
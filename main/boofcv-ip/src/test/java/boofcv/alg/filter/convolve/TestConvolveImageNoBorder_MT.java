@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.convolve;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.ImageBands;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestConvolveImageNoBorder_MT {
+
+	int originalPixels;
+	int originalThreads;
+
+	/**
+	 * Make the bands small so that the images are split up into several of them, even on a single core machine
+	 */
+	@Before
+	public void before() {
+		originalPixels = ImageBands.MIN_BAND_PIXELS;
+		originalThreads = BoofConcurrency.getMaxThreads();
+		ImageBands.MIN_BAND_PIXELS = 1;
+		BoofConcurrency.setMaxThreads(4);
+	}
+
+	@After
+	public void after() {
+		ImageBands.MIN_BAND_PIXELS = originalPixels;
+		BoofConcurrency.setMaxThreads(originalThreads);
+	}
+
+	@Test
+	public void compareToStandard_symmetric() {
+		CompareToStandardConvolution a = new CompareToStandardConvolution(ConvolveImageNoBorder_MT.class);
+		a.setKernelWidth(5);
+		a.setOffset(2);
+		a.performTests(58);
+	}
+
+	@Test
+	public void compareToStandard_UNsymmetric() {
+		CompareToStandardConvolution a = new CompareToStandardConvolution(ConvolveImageNoBorder_MT.class);
+		a.setKernelWidth(5);
+		a.setOffset(1);
+		a.performTests(58);
+	}
+
+	@Test
+	public void compareToStandard_even() {
+		CompareToStandardConvolution a = new CompareToStandardConvolution(ConvolveImageNoBorder_MT.class);
+		a.setKernelWidth(4);
+		a.setOffset(3);
+		a.performTests(58);
+	}
+}
@@ -19,6 +19,8 @@
 package boofcv.alg.misc;
 
 import boofcv.core.image.*;
+import boofcv.struct.image.DirectGrayU8;
+import boofcv.struct.image.DirectInterleavedU8;
 import boofcv.struct.image.ImageBase;
 import boofcv.struct.image.ImageGray;
 import boofcv.struct.image.ImageInterleaved;
@@ -106,6 +108,12 @@ public class TestImageMiscOps {
 		if( param.length < 1 )
 			return false;
 
+		// images stored in a ByteBuffer are tested in TestConvertByteBufferImage
+		for( int i = 0; i < param.length; i++ ) {
+			if( param[i] == DirectGrayU8.class || param[i] == DirectInterleavedU8.class )
+				return false;
+		}
+
 		for( int i = 0; i < param.length; i++ ) {
 			if( ImageBase.class.isAssignableFrom(param[i] ))
 				return true;
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.census;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.image.GrayS32;
+import boofcv.struct.image.GrayS64;
+import boofcv.struct.image.GrayU8;
+import boofcv.testing.BoofTesting;
+import georegression.struct.point.Point2D_I32;
+import org.ddogleg.struct.FastQueue;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestCensusTransform {
+	Random rand = new Random(234);
+	int width = 30, height = 25;
+
+	@Test
+	public void dense3x3() {
+		GrayU8 input = new GrayU8(width,height);
+		ImageMiscOps.fillUniform(input,rand,0,255);
+
+		GrayU8 found = CensusTransform.dense3x3(input,null);
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				assertEquals(naive(input,x,y,1),found.get(x,y));
+			}
+		}
+
+		// sub-images should produce the same result
+		GrayU8 inputSub = BoofTesting.createSubImageOf(input);
+		GrayU8 foundSub = BoofTesting.createSubImageOf(found);
+		ImageMiscOps.fill(foundSub,0);
+		CensusTransform.dense3x3(inputSub,foundSub);
+		BoofTesting.assertEquals(found,foundSub,0);
+	}
+
+	@Test
+	public void dense5x5() {
+		GrayU8 input = new GrayU8(width,height);
+		ImageMiscOps.fillUniform(input,rand,0,255);
+
+		GrayS32 found = CensusTransform.dense5x5(input,null);
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				assertEquals(naive(input,x,y,2),found.get(x,y));
+			}
+		}
+
+		GrayU8 inputSub = BoofTesting.createSubImageOf(input);
+		GrayS32 foundSub = BoofTesting.createSubImageOf(found);
+		ImageMiscOps.fill(foundSub,0);
+		CensusTransform.dense5x5(inputSub,foundSub);
+		BoofTesting.assertEquals(found,foundSub,0);
+	}
+
+	/**
+	 * Block samples should produce the same encoding as the dense transform
+	 */
+	@Test
+	public void sample_S64_block() {
+		GrayU8 input = new GrayU8(width,height);
+		ImageMiscOps.fillUniform(input,rand,0,255);
+
+		GrayS32 expected = CensusTransform.dense5x5(input,null);
+		GrayS64 found = CensusTransform.sample_S64(input,CensusTransform.createBlockSamples(2),null);
+
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				assertEquals(expected.get(x,y),found.get(x,y));
+			}
+		}
+	}
+
+	/**
+	 * Sparse pattern which uses more than 32 bits
+	 */
+	@Test
+	public void sample_S64_sparse() {
+		GrayU8 input = new GrayU8(width,height);
+		ImageMiscOps.fillUniform(input,rand,0,255);
+
+		FastQueue<Point2D_I32> samples = new FastQueue<>(Point2D_I32.class,true);
+		for (int i = 0; i < 60; i++) {
+			samples.grow().set(rand.nextInt(9)-4,rand.nextInt(7)-3);
+		}
+
+		GrayS64 found = CensusTransform.sample_S64(input,samples,null);
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				long expected = 0;
+				for (int i = 0; i < samples.size; i++) {
+					Point2D_I32 p = samples.get(i);
+					int xx = Math.min(width-1,Math.max(0,x+p.x));
+					int yy = Math.min(height-1,Math.max(0,y+p.y));
+					if( input.get(xx,yy) > input.get(x,y) )
+						expected |= 1L << i;
+				}
+				assertEquals(expected,found.get(x,y));
+			}
+		}
+
+		GrayU8 inputSub = BoofTesting.createSubImageOf(input);
+		GrayS64 foundSub = BoofTesting.createSubImageOf(found);
+		ImageMiscOps.fill(foundSub,0);
+		CensusTransform.sample_S64(inputSub,samples,foundSub);
+		BoofTesting.assertEquals(found,foundSub,0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void sample_S64_tooManySamples() {
+		FastQueue<Point2D_I32> samples = new FastQueue<>(Point2D_I32.class,true);
+		samples.resize(65);
+		CensusTransform.sample_S64(new GrayU8(width,height),samples,null);
+	}
+
+	@Test
+	public void createBlockSamples() {
+		FastQueue<Point2D_I32> samples = CensusTransform.createBlockSamples(3);
+		assertEquals(48,samples.size);
+		assertEquals(-3,samples.get(0).x);
+		assertEquals(-3,samples.get(0).y);
+		assertEquals(1,samples.get(24).x);
+		assertEquals(0,samples.get(24).y);
+	}
+
+	/**
+	 * A uniform image has no neighbor which is brighter than the center
+	 */
+	@Test
+	public void uniform() {
+		GrayU8 input = new GrayU8(width,height);
+		ImageMiscOps.fill(input,100);
+		input.set(10,12,101);
+
+		GrayS32 found = CensusTransform.dense5x5(input,null);
+		assertEquals(0,found.get(3,4));
+		// the bright pixel is the first neighbor for a pixel down and to the right of it
+		assertEquals(1,found.get(12,14));
+		// the bright pixel is the last neighbor for a pixel up and to the left of it
+		assertEquals(1<<23,found.get(8,10));
+	}
+
+	private static int naive( GrayU8 input , int cx , int cy , int radius ) {
+		int center = input.get(cx,cy);
+		int census = 0;
+		int bit = 0;
+		for (int y = -radius; y <= radius; y++) {
+			for (int x = -radius; x <= radius; x++) {
+				if( x == 0 && y == 0 )
+					continue;
+				int xx = Math.min(input.width-1,Math.max(0,cx+x));
+				int yy = Math.min(input.height-1,Math.max(0,cy+y));
+				if( input.get(xx,yy) > center )
+					census |= 1 << bit;
+				bit++;
+			}
+		}
+		return census;
+	}
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.concurrency;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestBoofConcurrency {
+
+	int originalThreads;
+
+	@Before
+	public void before() {
+		originalThreads = BoofConcurrency.getMaxThreads();
+		BoofConcurrency.setMaxThreads(4);
+	}
+
+	@After
+	public void after() {
+		BoofConcurrency.setMaxThreads(originalThreads);
+	}
+
+	@Test
+	public void setMaxThreads() {
+		BoofConcurrency.setMaxThreads(3);
+		assertEquals(3, BoofConcurrency.getMaxThreads());
+		BoofConcurrency.setMaxThreads(1);
+		assertEquals(1, BoofConcurrency.getMaxThreads());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void setMaxThreads_zero() {
+		BoofConcurrency.setMaxThreads(0);
+	}
+
+	/**
+	 * If invoked inside of a different pool that pool should be used
+	 */
+	@Test
+	public void callersPoolIsUsed() throws Exception {
+		ForkJoinPool custom = new ForkJoinPool(2);
+		try {
+			int found = custom.submit(BoofConcurrency::getMaxThreads).get();
+			assertEquals(2, found);
+		} finally {
+			custom.shutdown();
+		}
+	}
+
+	/**
+	 * The common pool is used by parallel streams and should not bypass the maximum number of threads
+	 */
+	@Test
+	public void commonPoolIsNotUsed() throws Exception {
+		int found = ForkJoinPool.commonPool().submit(BoofConcurrency::getMaxThreads).get();
+		assertEquals(4, found);
+
+		AtomicInteger total = new AtomicInteger();
+		IntStream.range(0,4).parallel().forEach(i->{
+			assertEquals(4, BoofConcurrency.getMaxThreads());
+			BoofConcurrency.loopFor(0, 10, j->total.incrementAndGet());
+		});
+		assertEquals(40, total.get());
+	}
+
+	@Test
+	public void loopFor() {
+		AtomicIntegerArray counts = new AtomicIntegerArray(100);
+		BoofConcurrency.loopFor(5, 95, counts::incrementAndGet);
+
+		for (int i = 0; i < counts.length(); i++) {
+			assertEquals(i >= 5 && i < 95 ? 1 : 0, counts.get(i));
+		}
+	}
+
+	@Test
+	public void loopBlocks() {
+		List<int[]> blocks = new ArrayList<>();
+		AtomicIntegerArray counts = new AtomicIntegerArray(100);
+		BoofConcurrency.loopBlocks(10, 90, 5, (y0, y1) -> {
+			synchronized (blocks) {
+				blocks.add(new int[]{y0, y1});
+			}
+			for (int i = y0; i < y1; i++) {
+				counts.incrementAndGet(i);
+			}
+		});
+
+		assertEquals(4, blocks.size());
+		for (int[] b : blocks) {
+			assertTrue(b[1]-b[0] >= 5);
+		}
+		for (int i = 0; i < counts.length(); i++) {
+			assertEquals(i >= 10 && i < 90 ? 1 : 0, counts.get(i));
+		}
+	}
+
+	/**
+	 * Blocks can't be smaller than the minimum so fewer blocks than threads should be used
+	 */
+	@Test
+	public void loopBlocks_minBlock() {
+		List<int[]> blocks = new ArrayList<>();
+		BoofConcurrency.loopBlocks(0, 20, 8, (y0, y1) -> {
+			synchronized (blocks) {
+				blocks.add(new int[]{y0, y1});
+			}
+		});
+
+		assertEquals(2, blocks.size());
+		for (int[] b : blocks) {
+			assertTrue(b[1]-b[0] >= 8);
+		}
+	}
+
+	@Test
+	public void loopBlocks_empty() {
+		BoofConcurrency.loopBlocks(5, 5, 1, (y0, y1) -> fail("Nothing to process"));
+	}
+
+	/**
+	 * Each block should get its own workspace and they should all be returned to the pool
+	 */
+	@Test
+	public void loopBlocks_workspace() {
+		AtomicInteger created = new AtomicInteger();
+		WorkspacePool<List<int[]>> pool = new WorkspacePool<>(()->{
+			created.incrementAndGet();
+			return new ArrayList<>();
+		});
+
+		for (int trial = 0; trial < 2; trial++) {
+			AtomicIntegerArray counts = new AtomicIntegerArray(100);
+			BoofConcurrency.loopBlocks(10, 90, 5, pool, (blocks, y0, y1) -> {
+				// a workspace is never shared by two blocks in the same loop
+				assertTrue(blocks.isEmpty());
+				blocks.add(new int[]{y0, y1});
+				for (int i = y0; i < y1; i++) {
+					counts.incrementAndGet(i);
+				}
+			});
+
+			List<List<int[]>> used = pool.getUsed();
+			assertEquals(4, used.size());
+			for( List<int[]> blocks : used ) {
+				assertEquals(1, blocks.size());
+				blocks.clear();
+			}
+			for (int i = 0; i < counts.length(); i++) {
+				assertEquals(i >= 10 && i < 90 ? 1 : 0, counts.get(i));
+			}
+		}
+
+		// workspaces from the first loop are reused in the second
+		assertEquals(4, created.get());
+	}
+
+	/**
+	 * Workspaces should be returned to the pool even if a block throws an exception
+	 */
+	@Test
+	public void loopBlocks_workspace_exception() {
+		WorkspacePool<int[]> pool = new WorkspacePool<>(()->new int[1]);
+
+		try {
+			BoofConcurrency.loopBlocks(0, 100, 1, pool, (work, y0, y1) -> {
+				throw new IllegalArgumentException("Bad stuff");
+			});
+			fail("Exception should have been thrown");
+		} catch( IllegalArgumentException ignore ) {}
+
+		// every workspace should be available again
+		List<int[]> taken = new ArrayList<>();
+		for (int i = 0; i < pool.getUsed().size(); i++) {
+			taken.add(pool.take());
+		}
+		for( int[] w : pool.getUsed() ) {
+			assertTrue(taken.contains(w));
+		}
+	}
+
+	/**
+	 * Exceptions thrown in a worker thread should be passed along unmodified
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void exceptionPassedToCaller() {
+		BoofConcurrency.loopBlocks(0, 100, 1, (y0, y1) -> {
+			throw new IllegalArgumentException("Bad stuff");
+		});
+	}
+}
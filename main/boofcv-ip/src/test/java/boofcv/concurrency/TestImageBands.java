@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.concurrency;
+
+import boofcv.struct.image.GrayU8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImageBands {
+
+	/**
+	 * Every row should be visited exactly once and each band should be a view into the original image
+	 */
+	@Test
+	public void rows() {
+		GrayU8 input = new GrayU8(10,30);
+		GrayU8 output = new GrayU8(10,30);
+
+		BoofTesting.checkConcurrent(() -> ImageBands.rows(input, output, (a, b) -> {
+			assertTrue(a.isSubimage());
+			assertEquals(a.startIndex, b.startIndex);
+			for (int y = 0; y < a.height; y++) {
+				for (int x = 0; x < a.width; x++) {
+					b.data[b.startIndex + y*b.stride + x]++;
+				}
+			}
+		}));
+
+		for (int y = 0; y < output.height; y++) {
+			for (int x = 0; x < output.width; x++) {
+				assertEquals(1, output.get(x, y));
+			}
+		}
+	}
+
+	/**
+	 * Bands should be padded by the number of rows before and after, with the padding rows left out
+	 */
+	@Test
+	public void rows_beforeAfter() {
+		GrayU8 input = new GrayU8(10,30);
+		GrayU8 output = new GrayU8(10,30);
+
+		List<Integer> found = Collections.synchronizedList(new ArrayList<>());
+
+		BoofTesting.checkConcurrent(() -> ImageBands.rows(input, output, 2, 3, (a, b) -> {
+			assertTrue(a.height > 5);
+			int y0 = a.startIndex/a.stride;
+			for (int y = y0 + 2; y < y0 + a.height - 3; y++) {
+				found.add(y);
+			}
+		}));
+
+		Collections.sort(found);
+		assertEquals(30-5, found.size());
+		for (int i = 0; i < found.size(); i++) {
+			assertEquals(i+2, (int)found.get(i));
+		}
+	}
+
+	/**
+	 * Small images aren't split and the original image is passed in
+	 */
+	@Test
+	public void rows_small() {
+		GrayU8 input = new GrayU8(10,30);
+		GrayU8 output = new GrayU8(10,30);
+
+		int original = ImageBands.MIN_BAND_PIXELS;
+		try {
+			ImageBands.MIN_BAND_PIXELS = 10*30;
+			List<GrayU8> found = Collections.synchronizedList(new ArrayList<>());
+			ImageBands.rows(input, output, (a, b) -> found.add(a));
+			assertEquals(1, found.size());
+			assertTrue(found.get(0) == input);
+		} finally {
+			ImageBands.MIN_BAND_PIXELS = original;
+		}
+	}
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.concurrency;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestWorkspacePool {
+
+	@Test
+	public void takeRelease() {
+		AtomicInteger created = new AtomicInteger();
+		WorkspacePool<int[]> pool = new WorkspacePool<>(()->{
+			created.incrementAndGet();
+			return new int[1];
+		});
+
+		int[] a = pool.take();
+		int[] b = pool.take();
+		assertNotSame(a, b);
+		assertEquals(2, created.get());
+
+		pool.release(a);
+		assertSame(a, pool.take());
+		assertEquals(2, created.get());
+	}
+
+	/**
+	 * Workspaces which were created elsewhere can be added
+	 */
+	@Test
+	public void release_external() {
+		WorkspacePool<int[]> pool = new WorkspacePool<>(()->{
+			throw new RuntimeException("Shouldn't be called");
+		});
+
+		int[] a = new int[1];
+		pool.release(a);
+		assertSame(a, pool.take());
+	}
+
+	/**
+	 * Workspaces taken directly aren't recorded as being used by a loop
+	 */
+	@Test
+	public void take_notUsed() {
+		WorkspacePool<int[]> pool = new WorkspacePool<>(()->new int[1]);
+		pool.take();
+		assertEquals(0, pool.getUsed().size());
+	}
+}
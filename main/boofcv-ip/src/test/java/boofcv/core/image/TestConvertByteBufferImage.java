@@ -0,0 +1,330 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.core.image;
+
+import boofcv.alg.filter.binary.ThresholdImageOps;
+import boofcv.alg.filter.blur.BlurImageOps;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.ImageBands;
+import boofcv.struct.ConfigLength;
+import boofcv.struct.image.*;
+import boofcv.testing.BoofTesting;
+import org.ddogleg.struct.GrowQueue_I8;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestConvertByteBufferImage {
+
+	Random rand = new Random(234);
+
+	int width = 10, height = 12;
+
+	/**
+	 * Creates a buffer which wraps an array with an offset and padding at the end of each row
+	 */
+	private ByteBuffer createBuffer( int numBands ) {
+		byte[] array = new byte[5 + (width*numBands+3)*height];
+		rand.nextBytes(array);
+		return ByteBuffer.wrap(array, 2, array.length-2).slice();
+	}
+
+	@Test
+	public void wrap_gray() {
+		ByteBuffer buffer = createBuffer(1);
+		int offset = 3, stride = width+3;
+
+		GrayU8 image = new GrayU8(2,3);
+		assertTrue(ConvertByteBufferImage.wrap(buffer, offset, stride, width, height, image));
+
+		assertSame(buffer.array(), image.data);
+		assertEquals(width, image.width);
+		assertEquals(height, image.height);
+		assertTrue(image.isSubimage());
+
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				assertEquals(buffer.get(offset+y*stride+x) & 0xFF, image.get(x,y));
+			}
+		}
+
+		// changes to the image should be seen in the buffer
+		ImageMiscOps.fill(image, 7);
+		assertEquals(7, buffer.get(offset+stride*2+4));
+	}
+
+	@Test
+	public void wrap_interleaved() {
+		ByteBuffer buffer = createBuffer(3);
+		int offset = 3, stride = width*3+3;
+
+		InterleavedU8 image = new InterleavedU8(2,3,1);
+		assertTrue(ConvertByteBufferImage.wrap(buffer, offset, stride, width, height, 3, image));
+
+		assertSame(buffer.array(), image.data);
+		assertEquals(3, image.getNumBands());
+		assertTrue(image.isSubimage());
+
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				for (int band = 0; band < 3; band++) {
+					assertEquals(buffer.get(offset+y*stride+x*3+band) & 0xFF, image.getBand(x,y,band));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void wrap_direct() {
+		ByteBuffer buffer = ByteBuffer.allocateDirect(width*height);
+		assertFalse(ConvertByteBufferImage.wrap(buffer, 0, width, width, height, new GrayU8(1,1)));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void wrap_tooSmall() {
+		ByteBuffer buffer = createBuffer(1);
+		ConvertByteBufferImage.wrap(buffer, 10, width+3, width, height, new GrayU8(1,1));
+	}
+
+	@Test
+	public void from_3BU8_to_3IU8() {
+		ByteBuffer buffer = createBuffer(3);
+		int offset = 3, stride = width*3+3;
+
+		InterleavedU8 expected = new InterleavedU8(1,1,3);
+		ConvertByteBufferImage.wrap(buffer, offset, stride, width, height, 3, expected);
+
+		InterleavedU8 found = new InterleavedU8(width,height,3);
+		ConvertByteBufferImage.from_3BU8_to_3IU8(buffer, offset, stride, found);
+
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				for (int band = 0; band < 3; band++) {
+					assertEquals(expected.getBand(x,y,band), found.getBand(x,y,band));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void from_3BU8_to_U8() {
+		ByteBuffer direct = ByteBuffer.allocateDirect(width*3*height);
+		byte[] array = new byte[width*3*height];
+		rand.nextBytes(array);
+		direct.put(array);
+
+		GrayU8 found = new GrayU8(width,height);
+		ConvertByteBufferImage.from_3BU8_to_U8(direct, 0, width*3, found, new GrowQueue_I8());
+
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				int i = y*width*3 + x*3;
+				int expected = ((array[i]&0xFF)+(array[i+1]&0xFF)+(array[i+2]&0xFF))/3;
+				assertEquals(expected, found.get(x,y));
+			}
+		}
+	}
+
+	/**
+	 * Creates a direct buffer with an offset and padding at the end of each row. 'heap' is filled with the same
+	 * bytes so that the results from the direct image can be compared against a regular image.
+	 */
+	private ByteBuffer createDirect( byte[] heap ) {
+		rand.nextBytes(heap);
+		ByteBuffer direct = ByteBuffer.allocateDirect(heap.length);
+		direct.put(heap);
+		direct.position(0);
+		return direct;
+	}
+
+	@Test
+	public void wrap_directGray() {
+		int offset = 3, stride = width+3;
+		byte[] array = new byte[offset + stride*height];
+		ByteBuffer buffer = createDirect(array);
+
+		DirectGrayU8 image = new DirectGrayU8(2,3);
+		ConvertByteBufferImage.wrap(buffer, offset, stride, width, height, image);
+
+		assertSame(buffer, image.data);
+		assertEquals(width, image.width);
+		assertEquals(height, image.height);
+		assertTrue(image.isSubimage());
+
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				assertEquals(array[offset+y*stride+x] & 0xFF, image.get(x,y));
+			}
+		}
+
+		// changes to the image should be seen in the buffer
+		image.set(4,2,7);
+		assertEquals(7, buffer.get(offset+stride*2+4));
+	}
+
+	@Test
+	public void wrap_directInterleaved() {
+		int offset = 3, stride = width*3+3;
+		byte[] array = new byte[offset + stride*height];
+		ByteBuffer buffer = createDirect(array);
+
+		DirectInterleavedU8 image = new DirectInterleavedU8(2,3,1);
+		ConvertByteBufferImage.wrap(buffer, offset, stride, width, height, 3, image);
+
+		assertSame(buffer, image.data);
+		assertEquals(3, image.numBands);
+		assertTrue(image.isSubimage());
+
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				for (int band = 0; band < 3; band++) {
+					assertEquals(array[offset+y*stride+x*3+band] & 0xFF, image.getBand(x,y,band));
+				}
+			}
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void wrap_directTooSmall() {
+		ByteBuffer buffer = ByteBuffer.allocateDirect(width*height);
+		ConvertByteBufferImage.wrap(buffer, 1, width, width, height, new DirectGrayU8());
+	}
+
+	/**
+	 * Functions in ConvertImage which read a direct image should produce the same results as the array version.
+	 * Bands are made small so that the concurrent code splits the images up.
+	 */
+	@Test
+	public void direct_ConvertImage() {
+		int originalPixels = ImageBands.MIN_BAND_PIXELS;
+		ImageBands.MIN_BAND_PIXELS = 1;
+		try {
+			DirectGrayU8 gray = new DirectGrayU8();
+			GrayU8 grayHeap = new GrayU8(1,1);
+			wrapBoth(1, gray, grayHeap);
+
+			BoofTesting.assertEquals(grayHeap, ConvertImage.convert(gray, (GrayU8)null), 0);
+			BoofTesting.assertEquals(ConvertImage.convert(grayHeap, (GrayF32)null),
+					ConvertImage.convert(gray, new GrayF32(width,height)), 0);
+
+			DirectInterleavedU8 inter = new DirectInterleavedU8();
+			InterleavedU8 interHeap = new InterleavedU8(1,1,1);
+			wrapBoth(3, inter, interHeap);
+
+			BoofTesting.assertEquals(interHeap, ConvertImage.convert(inter, (InterleavedU8)null), 0);
+			BoofTesting.assertEquals(ConvertImage.convert(interHeap, (Planar<GrayU8>)null),
+					ConvertImage.convert(inter, (Planar<GrayU8>)null), 0);
+			BoofTesting.assertEquals(ConvertImage.average(interHeap, null),
+					ConvertImage.average(inter, null), 0);
+
+			// sub-images
+			BoofTesting.assertEquals(grayHeap.subimage(2,3,8,9),
+					ConvertImage.convert(gray.subimage(2,3,8,9), (GrayU8)null), 0);
+			BoofTesting.assertEquals(interHeap.subimage(2,3,8,9),
+					ConvertImage.convert(inter.subimage(2,3,8,9), (InterleavedU8)null), 0);
+		} finally {
+			ImageBands.MIN_BAND_PIXELS = originalPixels;
+		}
+	}
+
+	@Test
+	public void direct_ImageMiscOps_copy() {
+		DirectGrayU8 gray = new DirectGrayU8();
+		GrayU8 grayHeap = new GrayU8(1,1);
+		wrapBoth(1, gray, grayHeap);
+
+		GrayU8 expected = new GrayU8(7,8);
+		GrayU8 found = new GrayU8(7,8);
+		ImageMiscOps.copy(2,3,1,2,5,6,grayHeap,expected);
+		ImageMiscOps.copy(2,3,1,2,5,6,gray,found);
+		BoofTesting.assertEquals(expected, found, 0);
+
+		DirectInterleavedU8 inter = new DirectInterleavedU8();
+		InterleavedU8 interHeap = new InterleavedU8(1,1,1);
+		wrapBoth(3, inter, interHeap);
+
+		InterleavedU8 expectedI = new InterleavedU8(7,8,3);
+		InterleavedU8 foundI = new InterleavedU8(7,8,3);
+		ImageMiscOps.copy(2,3,1,2,5,6,interHeap,expectedI);
+		ImageMiscOps.copy(2,3,1,2,5,6,inter,foundI);
+		BoofTesting.assertEquals(expectedI, foundI, 0);
+	}
+
+	/**
+	 * The blur is computed with integer math so the results must be identical. Includes kernels which are
+	 * wider than the image.
+	 */
+	@Test
+	public void direct_BlurImageOps() {
+		DirectGrayU8 gray = new DirectGrayU8();
+		GrayU8 grayHeap = new GrayU8(1,1);
+		wrapBoth(1, gray, grayHeap);
+
+		for( int radius : new int[]{1,2,4,7} ) {
+			BoofTesting.assertEquals(BlurImageOps.mean(grayHeap, null, radius, null),
+					BlurImageOps.mean(gray, null, radius, null), 0);
+			BoofTesting.assertEquals(BlurImageOps.gaussian(grayHeap, null, -1, radius, null),
+					BlurImageOps.gaussian(gray, null, -1, radius, null), 0);
+		}
+
+		GrayU8 sub = grayHeap.subimage(1,2,9,11);
+		BoofTesting.assertEquals(BlurImageOps.mean(sub, null, 2, null),
+				BlurImageOps.mean(gray.subimage(1,2,9,11), null, 2, null), 0);
+	}
+
+	@Test
+	public void direct_ThresholdImageOps() {
+		DirectGrayU8 gray = new DirectGrayU8();
+		GrayU8 grayHeap = new GrayU8(1,1);
+		wrapBoth(1, gray, grayHeap);
+
+		for( boolean down : new boolean[]{true,false}) {
+			BoofTesting.assertEquals(ThresholdImageOps.threshold(grayHeap, null, 100, down),
+					ThresholdImageOps.threshold(gray, null, 100, down), 0);
+
+			ConfigLength region = ConfigLength.fixed(5);
+			BoofTesting.assertEquals(ThresholdImageOps.localMean(grayHeap, null, region, 0.95f, down, null, null),
+					ThresholdImageOps.localMean(gray, null, region, 0.95f, down, null, null), 0);
+		}
+	}
+
+	/**
+	 * Wraps a direct buffer and a heap buffer which contain the same bytes
+	 */
+	private void wrapBoth( int numBands , ImageBase direct , ImageBase heap ) {
+		int offset = 3, stride = width*numBands+3;
+		byte[] array = new byte[offset + stride*height];
+		ByteBuffer buffer = createDirect(array);
+
+		if( numBands == 1 ) {
+			ConvertByteBufferImage.wrap(buffer, offset, stride, width, height, (DirectGrayU8)direct);
+			ConvertByteBufferImage.wrap(ByteBuffer.wrap(array), offset, stride, width, height, (GrayU8)heap);
+		} else {
+			ConvertByteBufferImage.wrap(buffer, offset, stride, width, height, numBands, (DirectInterleavedU8)direct);
+			ConvertByteBufferImage.wrap(ByteBuffer.wrap(array), offset, stride, width, height,
+					numBands, (InterleavedU8)heap);
+		}
+	}
+}
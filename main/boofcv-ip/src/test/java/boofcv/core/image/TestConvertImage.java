@@ -56,6 +56,10 @@ public class TestConvertImage {
 
 			Class<?> inputType = inputTypes[0];
 
+			// images stored in a ByteBuffer are tested in TestConvertByteBufferImage
+			if( inputType == DirectGrayU8.class || inputType == DirectInterleavedU8.class )
+				continue;
+
 //			System.out.println(m.getName()+" "+inputType.getSimpleName()+" "+outputType.getSimpleName()+" "+m.getReturnType());
 			
 			// make sure the return type equals the output type
@@ -479,4 +483,12 @@ public class TestConvertImage {
 		else
 			return 1;
 	}
+
+	/**
+	 * Process the image in several bands at once and see if the results are unchanged
+	 */
+	@Test
+	public void concurrent() {
+		BoofTesting.checkConcurrent(this::checkAllConvert);
+	}
 }
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.misc;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestCompareBenchmarkResults {
+
+	static String createJson( double scoreA , double scoreB , String mode ) {
+		return "[\n" +
+				"    {\n" +
+				"        \"jmhVersion\" : \"1.19\",\n" +
+				"        \"benchmark\" : \"boofcv.Foo.bar\",\n" +
+				"        \"mode\" : \""+mode+"\",\n" +
+				"        \"threads\" : 1,\n" +
+				"        \"jvmArgs\" : [ ],\n" +
+				"        \"params\" : {\n" +
+				"            \"width\" : \"640\",\n" +
+				"            \"concurrent\" : \"true\"\n" +
+				"        },\n" +
+				"        \"primaryMetric\" : {\n" +
+				"            \"score\" : "+scoreA+",\n" +
+				"            \"scoreError\" : \"NaN\",\n" +
+				"            \"scoreConfidence\" : [ 1.0, 2.0 ],\n" +
+				"            \"scoreUnit\" : \"ms/op\",\n" +
+				"            \"rawData\" : [ [ 1.5E-1, 1.2 ] ]\n" +
+				"        },\n" +
+				"        \"secondaryMetrics\" : { }\n" +
+				"    },\n" +
+				"    {\n" +
+				"        \"benchmark\" : \"boofcv.Foo.moo\",\n" +
+				"        \"mode\" : \""+mode+"\",\n" +
+				"        \"primaryMetric\" : {\n" +
+				"            \"score\" : "+scoreB+",\n" +
+				"            \"scoreError\" : 0.25,\n" +
+				"            \"scoreUnit\" : \"ms/op\"\n" +
+				"        }\n" +
+				"    }\n" +
+				"]\n";
+	}
+
+	@Test
+	public void parse() throws IOException {
+		List<CompareBenchmarkResults.Result> results =
+				CompareBenchmarkResults.parse(new StringReader(createJson(2.5,-3,"avgt")));
+
+		assertEquals(2, results.size());
+		CompareBenchmarkResults.Result a = results.get(0);
+		assertEquals("boofcv.Foo.bar{concurrent=true, width=640}", a.name);
+		assertEquals("avgt", a.mode);
+		assertEquals("ms/op", a.unit);
+		assertEquals(2.5, a.score, 1e-8);
+		assertTrue(Double.isNaN(a.error));
+
+		CompareBenchmarkResults.Result b = results.get(1);
+		assertEquals("boofcv.Foo.moo", b.name);
+		assertEquals(-3, b.score, 1e-8);
+		assertEquals(0.25, b.error, 1e-8);
+	}
+
+	@Test
+	public void compare_time() throws IOException {
+		CompareBenchmarkResults alg = new CompareBenchmarkResults();
+		alg.tolerance = 0.1;
+
+		List<CompareBenchmarkResults.Comparison> found = alg.compare(
+				CompareBenchmarkResults.parse(new StringReader(createJson(2.0,1.0,"avgt"))),
+				CompareBenchmarkResults.parse(new StringReader(createJson(2.1,1.6,"avgt"))));
+
+		assertEquals(2, found.size());
+		assertEquals(0.05, found.get(0).change, 1e-8);
+		assertFalse(found.get(0).regression);
+		assertEquals(0.6, found.get(1).change, 1e-8);
+		assertTrue(found.get(1).regression);
+		assertFalse(found.get(1).faster);
+	}
+
+	/**
+	 * A change which is larger than the tolerance but inside the score errors is noise
+	 */
+	@Test
+	public void compare_insideError() throws IOException {
+		CompareBenchmarkResults alg = new CompareBenchmarkResults();
+		alg.tolerance = 0.1;
+
+		// error is 0.25 in both, so the difference needs to be more than 0.5
+		List<CompareBenchmarkResults.Comparison> found = alg.compare(
+				CompareBenchmarkResults.parse(new StringReader(createJson(2.0,1.0,"avgt"))),
+				CompareBenchmarkResults.parse(new StringReader(createJson(2.0,1.4,"avgt"))));
+		assertEquals(0.4, found.get(1).change, 1e-8);
+		assertFalse(found.get(1).regression);
+
+		found = alg.compare(
+				CompareBenchmarkResults.parse(new StringReader(createJson(2.0,1.4,"avgt"))),
+				CompareBenchmarkResults.parse(new StringReader(createJson(2.0,1.0,"avgt"))));
+		assertFalse(found.get(1).faster);
+
+		found = alg.compare(
+				CompareBenchmarkResults.parse(new StringReader(createJson(2.0,1.6,"avgt"))),
+				CompareBenchmarkResults.parse(new StringReader(createJson(2.0,1.0,"avgt"))));
+		assertTrue(found.get(1).faster);
+		assertFalse(found.get(1).regression);
+	}
+
+	/**
+	 * For throughput a smaller score is slower
+	 */
+	@Test
+	public void compare_throughput() throws IOException {
+		CompareBenchmarkResults alg = new CompareBenchmarkResults();
+		alg.tolerance = 0.1;
+
+		List<CompareBenchmarkResults.Comparison> found = alg.compare(
+				CompareBenchmarkResults.parse(new StringReader(createJson(2.0,1.0,"thrpt"))),
+				CompareBenchmarkResults.parse(new StringReader(createJson(1.0,2.0,"thrpt"))));
+
+		assertEquals(2, found.size());
+		assertTrue(found.get(0).regression);
+		assertFalse(found.get(1).regression);
+	}
+
+	/**
+	 * Benchmarks which are only in one of the results are returned as new or missing
+	 */
+	@Test
+	public void compare_newAndMissing() throws IOException {
+		CompareBenchmarkResults alg = new CompareBenchmarkResults();
+
+		List<CompareBenchmarkResults.Result> baseline =
+				CompareBenchmarkResults.parse(new StringReader(createJson(2.0,1.0,"avgt")));
+		baseline.remove(1);
+		List<CompareBenchmarkResults.Result> current =
+				CompareBenchmarkResults.parse(new StringReader(createJson(2.0,1.0,"avgt")));
+
+		List<CompareBenchmarkResults.Comparison> found = alg.compare(baseline,current);
+		assertEquals(2, found.size());
+		assertFalse(found.get(0).isNew());
+		assertFalse(found.get(0).isMissing());
+		assertTrue(found.get(1).isNew());
+		assertEquals("boofcv.Foo.moo", found.get(1).current.name);
+		assertFalse(found.get(1).regression);
+
+		// swap them so the benchmark is missing
+		found = alg.compare(current,baseline);
+		assertEquals(2, found.size());
+		assertTrue(found.get(1).isMissing());
+		assertEquals("boofcv.Foo.moo", found.get(1).baseline.name);
+
+		// make sure the report can handle them
+		alg.printReport(found, new PrintStream(new ByteArrayOutputStream()));
+	}
+}
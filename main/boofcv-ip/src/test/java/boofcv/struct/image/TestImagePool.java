@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.image;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImagePool {
+
+	@Test
+	public void borrow_declare() {
+		ImagePool pool = new ImagePool();
+
+		GrayU8 a = pool.borrow(GrayU8.class, 10, 15);
+		GrayU8 b = pool.borrow(GrayU8.class, 10, 15);
+
+		assertTrue(a != b);
+		assertEquals(10, a.width);
+		assertEquals(15, a.height);
+		assertEquals(2, pool.getDeclaredCount());
+		assertEquals(2, pool.getBorrowedCount());
+	}
+
+	@Test
+	public void borrow_recycled() {
+		ImagePool pool = new ImagePool();
+
+		GrayF32 a = pool.borrow(GrayF32.class, 10, 15);
+		pool.recycle(a);
+		assertEquals(0, pool.getBorrowedCount());
+		assertEquals(1, pool.getAvailableCount());
+
+		pool.resetCounters();
+		assertSame(a, pool.borrow(GrayF32.class, 10, 15));
+		assertEquals(0, pool.getDeclaredCount());
+		assertEquals(0, pool.getAvailableCount());
+	}
+
+	/**
+	 * Only images with the same type and shape should be returned
+	 */
+	@Test
+	public void borrow_matchTypeAndShape() {
+		ImagePool pool = new ImagePool();
+
+		pool.recycle(new GrayU8(10, 15));
+		pool.recycle(new Planar<>(GrayU8.class, 10, 15, 2));
+		pool.recycle(new InterleavedU8(10, 15, 2));
+
+		assertTrue(pool.borrow(GrayS8.class, 10, 15) != null);
+		assertTrue(pool.borrow(GrayU8.class, 15, 10) != null);
+		assertTrue(pool.borrow(ImageType.pl(3, GrayU8.class), 10, 15) != null);
+		assertTrue(pool.borrow(ImageType.il(3, InterleavedU8.class), 10, 15) != null);
+		assertEquals(4, pool.getDeclaredCount());
+		assertEquals(3, pool.getAvailableCount());
+
+		Planar<GrayU8> planar = pool.borrow(ImageType.pl(2, GrayU8.class), 10, 15);
+		assertEquals(2, planar.getNumBands());
+		InterleavedU8 interleaved = pool.borrow(ImageType.il(2, InterleavedU8.class), 10, 15);
+		assertEquals(2, interleaved.getNumBands());
+		GrayU8 gray = pool.borrow(GrayU8.class, 10, 15);
+		assertEquals(4, pool.getDeclaredCount());
+		assertEquals(0, pool.getAvailableCount());
+
+		pool.recycle(gray);
+		assertSame(gray, pool.borrowLike(new GrayU8(10, 15)));
+	}
+
+	/**
+	 * Simulates processing several frames and checks that only the first declares images
+	 */
+	@Test
+	public void steadyState() {
+		ImagePool pool = new ImagePool();
+
+		for (int frame = 0; frame < 4; frame++) {
+			pool.resetCounters();
+			GrayF32 a = pool.borrow(GrayF32.class, 20, 30);
+			GrayF32 b = pool.borrow(GrayF32.class, 20, 30);
+			Planar<GrayF32> c = pool.borrow(ImageType.pl(3, GrayF32.class), 20, 30);
+			pool.recycle(a);
+			pool.recycle(c);
+			pool.recycle(b);
+
+			assertEquals(frame == 0 ? 3 : 0, pool.getDeclaredCount());
+			assertEquals(0, pool.getBorrowedCount());
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void recycle_twice() {
+		ImagePool pool = new ImagePool();
+		GrayU8 a = pool.borrow(GrayU8.class, 10, 15);
+		pool.recycle(a);
+		pool.recycle(a);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void recycle_subimage() {
+		ImagePool pool = new ImagePool();
+		GrayU8 a = pool.borrow(GrayU8.class, 10, 15);
+		pool.recycle(a.subimage(0, 0, 5, 5));
+	}
+
+	@Test
+	public void clear() {
+		ImagePool pool = new ImagePool();
+		pool.recycle(pool.borrow(GrayU8.class, 10, 15));
+		pool.clear();
+		assertEquals(0, pool.getAvailableCount());
+		pool.borrow(GrayU8.class, 10, 15);
+		assertEquals(2, pool.getDeclaredCount());
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -22,66 +22,54 @@ import boofcv.abst.geo.calibration.DetectorFiducialCalibration;
 import boofcv.factory.fiducial.FactoryFiducialCalibration;
 import boofcv.io.UtilIO;
 import boofcv.io.image.ConvertBufferedImage;
-import boofcv.misc.PerformerBase;
-import boofcv.misc.ProfileOperation;
 import boofcv.struct.image.GrayF32;
+import org.openjdk.jmh.annotations.*;
 
 import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author Peter Abeles
  */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value=1)
 public class BenchmarkCalibrationDetectors {
 
-	public static final int TEST_TIME = 1000;
+	GrayF32 imageChess;
+	GrayF32 imageSquare;
 
-	public static GrayF32 imageChess;
-	public static GrayF32 imageSquare;
+	DetectorFiducialCalibration chessboard = FactoryFiducialCalibration.
+			chessboard(new ConfigChessboard(7, 5, 30));
+	DetectorFiducialCalibration square = FactoryFiducialCalibration.
+			squareGrid(new ConfigSquareGrid(4, 3, 30, 30));
 
-	public static class Chessboard extends PerformerBase {
-		DetectorFiducialCalibration detector = FactoryFiducialCalibration.
-				chessboard(new ConfigChessboard(7, 5, 30));
-
-		@Override
-		public void process() {
-			if( !detector.process(imageChess) )
-				throw new RuntimeException("Can't find target!");
-		}
+	@Setup
+	public void setup() throws IOException {
+		imageChess = loadImage(UtilIO.pathExample("calibration/stereo/Bumblebee2_Chess/left01.jpg"));
+		imageSquare = loadImage(UtilIO.pathExample("calibration/stereo/Bumblebee2_Square/left01.jpg"));
 	}
 
-	public static class Square extends PerformerBase {
-		DetectorFiducialCalibration detector = FactoryFiducialCalibration.
-				squareGrid(new ConfigSquareGrid(4, 3, 30, 30));
-
-		@Override
-		public void process() {
-			if( !detector.process(imageSquare) )
-				throw new RuntimeException("Can't find target!");
-		}
+	@Benchmark
+	public void chessboard() {
+		if( !chessboard.process(imageChess) )
+			throw new RuntimeException("Can't find target!");
 	}
 
-	public static GrayF32 loadImage(String fileName) {
-		BufferedImage img;
-		try {
-			img = ImageIO.read(new File(fileName));
-		} catch (IOException e) {
-			return null;
-		}
-
-		return ConvertBufferedImage.convertFrom(img, (GrayF32) null);
+	@Benchmark
+	public void square() {
+		if( !square.process(imageSquare) )
+			throw new RuntimeException("Can't find target!");
 	}
 
-	public static void main(String[] args) {
-		String chess = UtilIO.pathExample("calibration/stereo/Bumblebee2_Chess/left01.jpg");
-		String square = UtilIO.pathExample("calibration/stereo/Bumblebee2_Square/left01.jpg");
-
-		imageChess = loadImage(chess);
-		imageSquare = loadImage(square);
-
-		ProfileOperation.printOpsPerSec(new Chessboard(), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new Square(), TEST_TIME);
+	private static GrayF32 loadImage(String fileName) throws IOException {
+		BufferedImage img = ImageIO.read(new File(fileName));
+		return ConvertBufferedImage.convertFrom(img, (GrayF32) null);
 	}
 }
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2011-2018, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.sfm.d2;
+
+import boofcv.abst.feature.detect.interest.ConfigGeneralDetector;
+import boofcv.abst.feature.tracker.PointTracker;
+import boofcv.alg.filter.blur.BlurImageOps;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.factory.feature.tracker.FactoryPointTracker;
+import boofcv.factory.sfm.FactoryMotion2D;
+import boofcv.struct.image.GrayF32;
+import georegression.struct.InvertibleTransform;
+import georegression.struct.affine.Affine2D_F64;
+import georegression.struct.homography.Homography2D_F64;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Estimates the 2D motion across a synthetic sequence of frames. Each frame is a window into a larger
+ * textured image which slides a few pixels every frame, so no example data is needed.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value=1)
+public class BenchmarkImageMotion2D {
+
+	@Param({"640", "1920"})
+	public int width;
+
+	@Param({"Affine", "Homography"})
+	public String model;
+
+	int numFrames = 10;
+	int step = 3;
+
+	List<GrayF32> frames = new ArrayList<>();
+
+	ImageMotion2D<GrayF32,? extends InvertibleTransform> motion2D;
+
+	@Setup
+	public void setup() {
+		Random rand = new Random(234);
+		int height = width*3/4;
+
+		// smooth random texture which the KLT tracker can follow
+		GrayF32 noise = new GrayF32(width+numFrames*step,height+numFrames*step);
+		ImageMiscOps.fillUniform(noise, rand, 0, 255);
+		GrayF32 background = BlurImageOps.gaussian(noise, null, -1, 3, null);
+
+		frames.clear();
+		for (int i = 0; i < numFrames; i++) {
+			GrayF32 frame = new GrayF32(width,height);
+			frame.setTo(background.subimage(i*step,i*step/2,i*step+width,i*step/2+height));
+			frames.add(frame);
+		}
+
+		ConfigGeneralDetector confDetector = new ConfigGeneralDetector();
+		confDetector.threshold = 10;
+		confDetector.maxFeatures = 300;
+		confDetector.radius = 2;
+
+		PointTracker<GrayF32> tracker = FactoryPointTracker.klt(new int[]{1,2,4,8},confDetector,3,
+				GrayF32.class,GrayF32.class);
+
+		InvertibleTransform motionModel = model.equals("Affine") ? new Affine2D_F64() : new Homography2D_F64();
+		motion2D = FactoryMotion2D.createMotion2D(200,3,2,30,0.6,0.5,false,tracker,motionModel);
+	}
+
+	@Benchmark
+	public void sequence() {
+		motion2D.reset();
+		for (int i = 0; i < frames.size(); i++) {
+			if( !motion2D.process(frames.get(i)) )
+				throw new RuntimeException("Motion estimation failed");
+		}
+	}
+}